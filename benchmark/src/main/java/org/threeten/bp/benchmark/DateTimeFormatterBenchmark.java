@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.OffsetDateTime;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+import org.threeten.bp.format.DateTimeFormatter;
+import org.threeten.bp.format.DateTimeFormatterSession;
+import org.threeten.bp.format.DateTimeParseException;
+import org.threeten.bp.format.MultiFormatParser;
+
+/**
+ * Benchmarks formatting and parsing with {@code DateTimeFormatter}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateTimeFormatterBenchmark {
+
+    /** Size of the input data, a power of two. */
+    private static final int SIZE = 1024;
+    /** A custom pattern typical of log output. */
+    private static final DateTimeFormatter PATTERN =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS", Locale.ENGLISH);
+    /** A pattern with text, which is printed without compiling. */
+    private static final DateTimeFormatter TEXT_PATTERN =
+            DateTimeFormatter.ofPattern("EEE, d MMM uuuu HH:mm:ss.SSSSSS", Locale.ENGLISH);
+    /** A pattern with a zone name. */
+    private static final DateTimeFormatter ZONE_NAME_PATTERN =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss z", Locale.ENGLISH);
+    /** Date formats found in mixed input. */
+    private static final DateTimeFormatter[] MIXED_DATE_FORMATS = {
+        DateTimeFormatter.ISO_LOCAL_DATE,
+        DateTimeFormatter.ofPattern("dd/MM/uuuu", Locale.ENGLISH),
+        DateTimeFormatter.BASIC_ISO_DATE,
+    };
+    /** A parser for the mixed date formats. */
+    private static final MultiFormatParser MIXED_DATE_PARSER = MultiFormatParser.of(MIXED_DATE_FORMATS);
+
+    private final LocalDate[] dates = new LocalDate[SIZE];
+    private final LocalDateTime[] dateTimes = new LocalDateTime[SIZE];
+    private final ZonedDateTime[] zonedDateTimes = new ZonedDateTime[SIZE];
+    private final Instant[] instants = new Instant[SIZE];
+    private final String[] isoDates = new String[SIZE];
+    private final String[] isoDateTimes = new String[SIZE];
+    private final String[] isoOffsetDateTimes = new String[SIZE];
+    private final String[] isoZonedDateTimes = new String[SIZE];
+    private final String[] isoInstants = new String[SIZE];
+    private final String[] patternDateTimes = new String[SIZE];
+    private final byte[][] patternDateTimeBytes = new byte[SIZE][];
+    private final String[] zoneNameDateTimes = new String[SIZE];
+    private final String[] mixedDates = new String[SIZE];
+    private final String[] partlyInvalidDates = new String[SIZE];
+    private DateTimeFormatterSession zoneNameSession;
+    private DateTimeFormatterSession patternSession;
+    private final ByteBuffer byteBuffer = ByteBuffer.allocateDirect(64);
+    private int index;
+
+    @Setup
+    public void setup() {
+        ZoneId zone = ZoneId.of("Europe/Paris");
+        zoneNameSession = ZONE_NAME_PATTERN.newSession();
+        patternSession = PATTERN.newSession();
+        Random random = new Random(47658758756875687L);
+        for (int i = 0; i < SIZE; i++) {
+            dateTimes[i] = LocalDateTime.of(
+                    1970 + random.nextInt(100), random.nextInt(12) + 1, random.nextInt(28) + 1,
+                    random.nextInt(24), random.nextInt(60), random.nextInt(60), random.nextInt(1000) * 1000000);
+            dates[i] = dateTimes[i].toLocalDate();
+            zonedDateTimes[i] = dateTimes[i].atZone(zone);
+            instants[i] = zonedDateTimes[i].toInstant();
+            isoDates[i] = DateTimeFormatter.ISO_LOCAL_DATE.format(dates[i]);
+            isoDateTimes[i] = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTimes[i]);
+            isoOffsetDateTimes[i] = DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(zonedDateTimes[i]);
+            isoZonedDateTimes[i] = DateTimeFormatter.ISO_ZONED_DATE_TIME.format(zonedDateTimes[i]);
+            isoInstants[i] = DateTimeFormatter.ISO_INSTANT.format(instants[i]);
+            patternDateTimes[i] = PATTERN.format(dateTimes[i]);
+            patternDateTimeBytes[i] = patternDateTimes[i].getBytes(StandardCharsets.US_ASCII);
+            zoneNameDateTimes[i] = ZONE_NAME_PATTERN.format(zonedDateTimes[i]);
+            mixedDates[i] = MIXED_DATE_FORMATS[random.nextInt(MIXED_DATE_FORMATS.length)].format(dates[i]);
+            partlyInvalidDates[i] = (random.nextInt(10) < 3 ? isoDates[i].replace('-', '/') : isoDates[i]);
+        }
+    }
+
+    private int next() {
+        return index = (index + 1) & (SIZE - 1);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public String format_isoLocalDate() {
+        return DateTimeFormatter.ISO_LOCAL_DATE.format(dates[next()]);
+    }
+
+    @Benchmark
+    public String format_isoLocalDateTime() {
+        return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTimes[next()]);
+    }
+
+    @Benchmark
+    public String format_isoOffsetDateTime() {
+        return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(zonedDateTimes[next()]);
+    }
+
+    @Benchmark
+    public String format_isoInstant() {
+        return DateTimeFormatter.ISO_INSTANT.format(instants[next()]);
+    }
+
+    @Benchmark
+    public String format_pattern() {
+        return PATTERN.format(dateTimes[next()]);
+    }
+
+    @Benchmark
+    public String format_textPattern() {
+        return TEXT_PATTERN.format(dateTimes[next()]);
+    }
+
+    @Benchmark
+    public ByteBuffer format_patternToBytes() {
+        byteBuffer.clear();
+        byteBuffer.put(PATTERN.format(dateTimes[next()]).getBytes(StandardCharsets.US_ASCII));
+        return byteBuffer;
+    }
+
+    @Benchmark
+    public ByteBuffer format_patternAscii() {
+        byteBuffer.clear();
+        PATTERN.formatAscii(dateTimes[next()], byteBuffer);
+        return byteBuffer;
+    }
+
+    @Benchmark
+    public ByteBuffer format_patternAsciiSession() {
+        byteBuffer.clear();
+        patternSession.formatAscii(dateTimes[next()], byteBuffer);
+        return byteBuffer;
+    }
+
+    @Benchmark
+    public String format_zoneName() {
+        return ZONE_NAME_PATTERN.format(zonedDateTimes[next()]);
+    }
+
+    @Benchmark
+    public String format_zoneNameSession() {
+        return zoneNameSession.format(zonedDateTimes[next()]);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public LocalDate parse_isoLocalDate() {
+        return LocalDate.parse(isoDates[next()]);
+    }
+
+    @Benchmark
+    public LocalDateTime parse_isoLocalDateTime() {
+        return LocalDateTime.parse(isoDateTimes[next()]);
+    }
+
+    @Benchmark
+    public OffsetDateTime parse_isoOffsetDateTime() {
+        return OffsetDateTime.parse(isoOffsetDateTimes[next()]);
+    }
+
+    @Benchmark
+    public ZonedDateTime parse_isoZonedDateTime() {
+        return ZonedDateTime.parse(isoZonedDateTimes[next()]);
+    }
+
+    @Benchmark
+    public Instant parse_isoInstant() {
+        return Instant.parse(isoInstants[next()]);
+    }
+
+    @Benchmark
+    public LocalDateTime parse_pattern() {
+        return LocalDateTime.parse(patternDateTimes[next()], PATTERN);
+    }
+
+    @Benchmark
+    public LocalDateTime parse_patternAscii() {
+        byte[] bytes = patternDateTimeBytes[next()];
+        return PATTERN.parseAscii(bytes, 0, bytes.length, LocalDateTime.FROM);
+    }
+
+    @Benchmark
+    public ZonedDateTime parse_zoneName() {
+        return ZonedDateTime.parse(zoneNameDateTimes[next()], ZONE_NAME_PATTERN);
+    }
+
+    @Benchmark
+    public ZonedDateTime parse_zoneNameSession() {
+        return zoneNameSession.parse(zoneNameDateTimes[next()]).getZonedDateTime();
+    }
+
+    @Benchmark
+    public boolean validate_isoLocalDate() {
+        try {
+            LocalDate.parse(partlyInvalidDates[next()]);
+            return true;
+        } catch (DateTimeParseException ex) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public boolean validate_isoLocalDateOrNull() {
+        return LocalDate.parseOrNull(partlyInvalidDates[next()]) != null;
+    }
+
+    @Benchmark
+    public LocalDate parse_mixedFormats() {
+        return MIXED_DATE_PARSER.parse(mixedDates[next()], LocalDate.FROM);
+    }
+
+    @Benchmark
+    public LocalDate parse_mixedFormatsTryCatch() {
+        String text = mixedDates[next()];
+        for (DateTimeFormatter formatter : MIXED_DATE_FORMATS) {
+            try {
+                return LocalDate.parse(text, formatter);
+            } catch (DateTimeParseException ex) {
+                // try the next format
+            }
+        }
+        throw new IllegalStateException(text);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public DateTimeFormatter ofPattern() {
+        return DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS", Locale.ENGLISH);
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.ZoneOffset;
+
+/**
+ * Benchmarks creation and arithmetic of {@code LocalDate} and {@code LocalDateTime}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalDateBenchmark {
+
+    /** Size of the input data, a power of two. */
+    private static final int SIZE = 1024;
+
+    private final int[] years = new int[SIZE];
+    private final int[] months = new int[SIZE];
+    private final int[] days = new int[SIZE];
+    private final int[] hours = new int[SIZE];
+    private final int[] minutes = new int[SIZE];
+    private final int[] seconds = new int[SIZE];
+    private final long[] epochDays = new long[SIZE];
+    private final long[] epochSeconds = new long[SIZE];
+    private final LocalDate[] dates = new LocalDate[SIZE];
+    private final LocalDateTime[] dateTimes = new LocalDateTime[SIZE];
+    private int index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(47658758756875687L);
+        for (int i = 0; i < SIZE; i++) {
+            years[i] = 1900 + random.nextInt(250);
+            months[i] = random.nextInt(12) + 1;
+            days[i] = random.nextInt(28) + 1;
+            hours[i] = random.nextInt(24);
+            minutes[i] = random.nextInt(60);
+            seconds[i] = random.nextInt(60);
+            dates[i] = LocalDate.of(years[i], months[i], days[i]);
+            dateTimes[i] = LocalDateTime.of(years[i], months[i], days[i], hours[i], minutes[i], seconds[i]);
+            epochDays[i] = dates[i].toEpochDay();
+            epochSeconds[i] = epochDays[i] * 86400L + dateTimes[i].toLocalTime().toSecondOfDay();
+        }
+    }
+
+    private int next() {
+        return index = (index + 1) & (SIZE - 1);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public LocalDate localDate_of() {
+        int i = next();
+        return LocalDate.of(years[i], months[i], days[i]);
+    }
+
+    @Benchmark
+    public LocalDate localDate_ofEpochDay() {
+        return LocalDate.ofEpochDay(epochDays[next()]);
+    }
+
+    @Benchmark
+    public long localDate_toEpochDay() {
+        return dates[next()].toEpochDay();
+    }
+
+    @Benchmark
+    public LocalDate localDate_plusDays() {
+        return dates[next()].plusDays(45);
+    }
+
+    @Benchmark
+    public LocalDate localDate_plusMonths() {
+        return dates[next()].plusMonths(7);
+    }
+
+    @Benchmark
+    public LocalDate localDate_plusYears() {
+        return dates[next()].plusYears(3);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public LocalDateTime localDateTime_of() {
+        int i = next();
+        return LocalDateTime.of(years[i], months[i], days[i], hours[i], minutes[i], seconds[i]);
+    }
+
+    @Benchmark
+    public LocalDateTime localDateTime_ofEpochSecond() {
+        return LocalDateTime.ofEpochSecond(epochSeconds[next()], 0, ZoneOffset.UTC);
+    }
+
+    @Benchmark
+    public LocalDateTime localDateTime_plusSeconds() {
+        return dateTimes[next()].plusSeconds(3700);
+    }
+
+    @Benchmark
+    public LocalDateTime localDateTime_plusHours() {
+        return dateTimes[next()].plusHours(5);
+    }
+
+    @Benchmark
+    public LocalDateTime localDateTime_plusDays() {
+        return dateTimes[next()].plusDays(45);
+    }
+
+}
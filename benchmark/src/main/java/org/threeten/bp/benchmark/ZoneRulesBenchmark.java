@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZoneOffset;
+import org.threeten.bp.zone.ZoneRules;
+
+/**
+ * Benchmarks offset lookup in {@code ZoneRules}.
+ * <p>
+ * The historic data covers the period of explicit transitions,
+ * the future data covers the period handled by the last rules.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZoneRulesBenchmark {
+
+    /** Size of the input data, a power of two. */
+    private static final int SIZE = 1024;
+
+    @Param({"Europe/London", "America/New_York", "Australia/Sydney"})
+    public String zoneId;
+
+    private ZoneRules rules;
+    private final Instant[] historicInstants = new Instant[SIZE];
+    private final Instant[] futureInstants = new Instant[SIZE];
+    private final LocalDateTime[] historicDateTimes = new LocalDateTime[SIZE];
+    private final LocalDateTime[] futureDateTimes = new LocalDateTime[SIZE];
+    private final long[] sortedEpochSeconds = new long[SIZE];
+    private final int[] offsetSeconds = new int[SIZE];
+    private int index;
+
+    @Setup
+    public void setup() {
+        rules = ZoneId.of(zoneId).getRules();
+        Random random = new Random(47658758756875687L);
+        long historicStart = LocalDateTime.of(1970, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        long futureStart = LocalDateTime.of(2040, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        long range = 60L * 365 * 86400;
+        for (int i = 0; i < SIZE; i++) {
+            historicInstants[i] = Instant.ofEpochSecond(historicStart + (long) (random.nextDouble() * range));
+            futureInstants[i] = Instant.ofEpochSecond(futureStart + (long) (random.nextDouble() * range));
+            historicDateTimes[i] = LocalDateTime.ofEpochSecond(historicInstants[i].getEpochSecond(), 0, ZoneOffset.UTC);
+            futureDateTimes[i] = LocalDateTime.ofEpochSecond(futureInstants[i].getEpochSecond(), 0, ZoneOffset.UTC);
+        }
+        for (int i = 0; i < SIZE; i++) {
+            sortedEpochSeconds[i] = historicInstants[i].getEpochSecond();
+        }
+        Arrays.sort(sortedEpochSeconds);
+    }
+
+    private int next() {
+        return index = (index + 1) & (SIZE - 1);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public ZoneOffset getOffset_instant_historic() {
+        return rules.getOffset(historicInstants[next()]);
+    }
+
+    @Benchmark
+    public ZoneOffset getOffset_instant_future() {
+        return rules.getOffset(futureInstants[next()]);
+    }
+
+    @Benchmark
+    public ZoneOffset getOffset_localDateTime_historic() {
+        return rules.getOffset(historicDateTimes[next()]);
+    }
+
+    @Benchmark
+    public ZoneOffset getOffset_localDateTime_future() {
+        return rules.getOffset(futureDateTimes[next()]);
+    }
+
+    @Benchmark
+    public Object getValidOffsets_historic() {
+        return rules.getValidOffsets(historicDateTimes[next()]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int[] getOffsets_sorted() {
+        rules.getOffsets(sortedEpochSeconds, offsetSeconds);
+        return offsetSeconds;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int[] getOffsets_sortedLoop() {
+        for (int i = 0; i < SIZE; i++) {
+            offsetSeconds[i] = rules.getOffset(Instant.ofEpochSecond(sortedEpochSeconds[i])).getTotalSeconds();
+        }
+        return offsetSeconds;
+    }
+
+}
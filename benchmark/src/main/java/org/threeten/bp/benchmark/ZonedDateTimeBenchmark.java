@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.threeten.bp.Duration;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+import org.threeten.bp.ZonedDateTimeSeries;
+import org.threeten.bp.ZonedDateTimeVector;
+import org.threeten.bp.temporal.ChronoField;
+
+/**
+ * Benchmarks creation and arithmetic of {@code ZonedDateTime}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZonedDateTimeBenchmark {
+
+    /** Size of the input data, a power of two. */
+    private static final int SIZE = 1024;
+
+    @Param({"Europe/London", "America/New_York", "UTC"})
+    public String zoneId;
+
+    private ZoneId zone;
+    private final LocalDateTime[] localDateTimes = new LocalDateTime[SIZE];
+    private final Instant[] instants = new Instant[SIZE];
+    private final ZonedDateTime[] zonedDateTimes = new ZonedDateTime[SIZE];
+    private final long[] epochSeconds = new long[SIZE];
+    private final int[] values = new int[SIZE];
+    private ZonedDateTimeVector vector;
+    private ZonedDateTimeVector vectorResult;
+    private int index;
+
+    @Setup
+    public void setup() {
+        zone = ZoneId.of(zoneId);
+        Random random = new Random(47658758756875687L);
+        for (int i = 0; i < SIZE; i++) {
+            localDateTimes[i] = LocalDateTime.of(
+                    1970 + random.nextInt(130), random.nextInt(12) + 1, random.nextInt(28) + 1,
+                    random.nextInt(24), random.nextInt(60), random.nextInt(60));
+            zonedDateTimes[i] = ZonedDateTime.of(localDateTimes[i], zone);
+            instants[i] = zonedDateTimes[i].toInstant();
+            epochSeconds[i] = instants[i].getEpochSecond();
+        }
+        vector = ZonedDateTimeVector.allocate(SIZE, zone);
+        vectorResult = ZonedDateTimeVector.allocate(SIZE, zone);
+        for (int i = 0; i < SIZE; i++) {
+            vector.set(i, zonedDateTimes[i]);
+        }
+    }
+
+    private int next() {
+        return index = (index + 1) & (SIZE - 1);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public ZonedDateTime of_localDateTime() {
+        return ZonedDateTime.of(localDateTimes[next()], zone);
+    }
+
+    @Benchmark
+    public ZonedDateTime ofInstant() {
+        return ZonedDateTime.ofInstant(instants[next()], zone);
+    }
+
+    @Benchmark
+    public ZonedDateTime plusSeconds() {
+        return zonedDateTimes[next()].plusSeconds(3700);
+    }
+
+    @Benchmark
+    public ZonedDateTime plusHours() {
+        return zonedDateTimes[next()].plusHours(1);
+    }
+
+    @Benchmark
+    public ZonedDateTime plusDays() {
+        return zonedDateTimes[next()].plusDays(1);
+    }
+
+    @Benchmark
+    public ZonedDateTime plusMonths() {
+        return zonedDateTimes[next()].plusMonths(1);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public int[] column_monthOfYear_objects() {
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSeconds[i]), zone).getMonthValue();
+        }
+        return values;
+    }
+
+    @Benchmark
+    public int[] column_monthOfYear_vector() {
+        vector.get(ChronoField.MONTH_OF_YEAR, values);
+        return values;
+    }
+
+    @Benchmark
+    public ZonedDateTimeVector column_plusDays_vector() {
+        return vector.plusDays(1, vectorResult);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public ZonedDateTime[] series_quarterHours_plus() {
+        ZonedDateTime start = zonedDateTimes[0];
+        Duration step = Duration.ofMinutes(15);
+        for (int i = 0; i < SIZE; i++) {
+            zonedDateTimes[i] = start.plus(step.multipliedBy(i));
+        }
+        return zonedDateTimes;
+    }
+
+    @Benchmark
+    public ZonedDateTime[] series_quarterHours_iterator() {
+        ZonedDateTime start = zonedDateTimes[0];
+        int i = 0;
+        for (ZonedDateTime dateTime : start.series(Duration.ofMinutes(15), SIZE)) {
+            zonedDateTimes[i++] = dateTime;
+        }
+        return zonedDateTimes;
+    }
+
+    @Benchmark
+    public long[] series_quarterHours_epochSeconds() {
+        ZonedDateTimeSeries.EpochSecondIterator it = zonedDateTimes[0].series(Duration.ofMinutes(15), SIZE).epochSecondIterator();
+        for (int i = 0; it.hasNext(); i++) {
+            epochSeconds[i] = it.next();
+        }
+        return epochSeconds;
+    }
+
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.threeten.bp.LocalTime.MICROS_PER_DAY;
+
+import org.threeten.bp.jdk8.Jdk8Methods;
+
+/**
+ * Order-preserving encodings of temporal values as primitives.
+ * <p>
+ * Each encoding converts a temporal value to an {@code int} or {@code long}
+ * such that the natural signed order of the primitives is the same as the
+ * chronological order of the values. Encoded values can therefore be stored
+ * in primitive arrays and compared, sorted or searched without decoding.
+ * The encodings are:
+ * <ul>
+ * <li>{@code LocalDate} - the epoch-day as an {@code int}, see {@link LocalDate#toEpochDay()}
+ * <li>{@code LocalTime} - the nano-of-day as a {@code long}, see {@link LocalTime#toNanoOfDay()}
+ * <li>{@code LocalDateTime} - the microseconds from 1970-01-01T00:00 in the local time-line as a {@code long}
+ * <li>{@code Instant} - the microseconds from 1970-01-01T00:00:00Z as a {@code long},
+ *  or the pair of epoch-second and nano-of-second, see {@link Instant#getEpochSecond()}
+ * </ul>
+ * The microsecond encodings truncate any nanosecond part of the value.
+ * They cover approximately 292,000 years either side of 1970.
+ * <p>
+ * The encodings are part of the public API and will not change.
+ *
+ * <h3>Specification for implementors</h3>
+ * This is a thread-safe utility class.
+ */
+public final class DateTimeCodec {
+
+    /**
+     * Microseconds per second.
+     */
+    private static final long MICROS_PER_SECOND = 1000000L;
+    /**
+     * Nanoseconds per microsecond.
+     */
+    private static final int NANOS_PER_MICRO = 1000;
+
+    /**
+     * Restricted constructor.
+     */
+    private DateTimeCodec() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Encodes a date as its epoch-day in an {@code int}.
+     * <p>
+     * The range of an {@code int} covers dates approximately 5.8 million years
+     * either side of 1970. For the full range of {@code LocalDate}
+     * use {@link LocalDate#toEpochDay()}, which is also order-preserving.
+     *
+     * @param date  the date to encode, not null
+     * @return the epoch-day
+     * @throws ArithmeticException if the epoch-day does not fit in an {@code int}
+     */
+    public static int encodeDate(LocalDate date) {
+        return Jdk8Methods.safeToInt(date.toEpochDay());
+    }
+
+    /**
+     * Decodes a date from its epoch-day.
+     * <p>
+     * Every {@code int} value decodes to a valid date.
+     *
+     * @param epochDay  the epoch-day, as returned by {@link #encodeDate(LocalDate)}
+     * @return the date, not null
+     */
+    public static LocalDate decodeDate(int epochDay) {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Encodes a time as its nano-of-day.
+     *
+     * @param time  the time to encode, not null
+     * @return the nano-of-day, from 0 to 24 * 60 * 60 * 1,000,000,000 - 1
+     */
+    public static long encodeTime(LocalTime time) {
+        return time.toNanoOfDay();
+    }
+
+    /**
+     * Decodes a time from its nano-of-day.
+     *
+     * @param nanoOfDay  the nano-of-day, as returned by {@link #encodeTime(LocalTime)}
+     * @return the time, not null
+     * @throws DateTimeException if the nano-of-day is invalid
+     */
+    public static LocalTime decodeTime(long nanoOfDay) {
+        return LocalTime.ofNanoOfDay(nanoOfDay);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Encodes a date-time as microseconds from 1970-01-01T00:00 in the local time-line.
+     * <p>
+     * Any nanosecond part of the time is truncated.
+     *
+     * @param dateTime  the date-time to encode, not null
+     * @return the local epoch-microsecond
+     * @throws ArithmeticException if numeric overflow occurs
+     */
+    public static long encodeDateTime(LocalDateTime dateTime) {
+        long epochDay = dateTime.toLocalDate().toEpochDay();
+        long microOfDay = dateTime.toLocalTime().toNanoOfDay() / NANOS_PER_MICRO;
+        if (epochDay >= 0) {
+            return Jdk8Methods.safeAdd(Jdk8Methods.safeMultiply(epochDay, MICROS_PER_DAY), microOfDay);
+        }
+        // work from the day closer to 0 to stay in the range of a long
+        return Jdk8Methods.safeSubtract(Jdk8Methods.safeMultiply(epochDay + 1, MICROS_PER_DAY), MICROS_PER_DAY - microOfDay);
+    }
+
+    /**
+     * Decodes a date-time from microseconds from 1970-01-01T00:00 in the local time-line.
+     * <p>
+     * Every {@code long} value decodes to a valid date-time.
+     *
+     * @param localEpochMicro  the local epoch-microsecond, as returned by {@link #encodeDateTime(LocalDateTime)}
+     * @return the date-time, not null
+     */
+    public static LocalDateTime decodeDateTime(long localEpochMicro) {
+        LocalDate date = LocalDate.ofEpochDay(Jdk8Methods.floorDiv(localEpochMicro, MICROS_PER_DAY));
+        LocalTime time = LocalTime.ofNanoOfDay(Jdk8Methods.floorMod(localEpochMicro, MICROS_PER_DAY) * NANOS_PER_MICRO);
+        return LocalDateTime.of(date, time);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Encodes an instant as microseconds from 1970-01-01T00:00:00Z.
+     * <p>
+     * Any nanosecond part of the instant is truncated.
+     * To encode without loss use the pair of {@link Instant#getEpochSecond()}
+     * and {@link Instant#getNano()}, which can be compared using
+     * {@link #compare(long, int, long, int)}.
+     *
+     * @param instant  the instant to encode, not null
+     * @return the epoch-microsecond
+     * @throws ArithmeticException if numeric overflow occurs
+     */
+    public static long encodeInstant(Instant instant) {
+        long seconds = instant.getEpochSecond();
+        long microOfSecond = instant.getNano() / NANOS_PER_MICRO;
+        if (seconds >= 0) {
+            return Jdk8Methods.safeAdd(Jdk8Methods.safeMultiply(seconds, MICROS_PER_SECOND), microOfSecond);
+        }
+        // work from the second closer to 0 to stay in the range of a long
+        return Jdk8Methods.safeSubtract(Jdk8Methods.safeMultiply(seconds + 1, MICROS_PER_SECOND), MICROS_PER_SECOND - microOfSecond);
+    }
+
+    /**
+     * Decodes an instant from microseconds from 1970-01-01T00:00:00Z.
+     * <p>
+     * Every {@code long} value decodes to a valid instant.
+     *
+     * @param epochMicro  the epoch-microsecond, as returned by {@link #encodeInstant(Instant)}
+     * @return the instant, not null
+     */
+    public static Instant decodeInstant(long epochMicro) {
+        long seconds = Jdk8Methods.floorDiv(epochMicro, MICROS_PER_SECOND);
+        int nanos = (int) Jdk8Methods.floorMod(epochMicro, MICROS_PER_SECOND) * NANOS_PER_MICRO;
+        return Instant.ofEpochSecond(seconds, nanos);
+    }
+
+    /**
+     * Decodes an instant from its epoch-second and nano-of-second.
+     *
+     * @param epochSecond  the epoch-second, as returned by {@link Instant#getEpochSecond()}
+     * @param nanoOfSecond  the nano-of-second, from 0 to 999,999,999
+     * @return the instant, not null
+     * @throws DateTimeException if the instant exceeds the maximum or minimum instant
+     */
+    public static Instant decodeInstant(long epochSecond, int nanoOfSecond) {
+        return Instant.ofEpochSecond(epochSecond, nanoOfSecond);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Compares two encoded dates.
+     * <p>
+     * The result is the same as comparing the decoded values.
+     *
+     * @param encoded1  the first encoded value
+     * @param encoded2  the second encoded value
+     * @return negative if the first is before the second, positive if after, zero if equal
+     */
+    public static int compare(int encoded1, int encoded2) {
+        return Jdk8Methods.compareInts(encoded1, encoded2);
+    }
+
+    /**
+     * Compares two encoded times, date-times or instants.
+     * <p>
+     * The result is the same as comparing the decoded values,
+     * provided both values use the same encoding.
+     *
+     * @param encoded1  the first encoded value
+     * @param encoded2  the second encoded value
+     * @return negative if the first is before the second, positive if after, zero if equal
+     */
+    public static int compare(long encoded1, long encoded2) {
+        return Jdk8Methods.compareLongs(encoded1, encoded2);
+    }
+
+    /**
+     * Compares two instants encoded as epoch-second and nano-of-second.
+     * <p>
+     * The result is the same as comparing the decoded values.
+     *
+     * @param epochSecond1  the epoch-second of the first instant
+     * @param nanoOfSecond1  the nano-of-second of the first instant
+     * @param epochSecond2  the epoch-second of the second instant
+     * @param nanoOfSecond2  the nano-of-second of the second instant
+     * @return negative if the first is before the second, positive if after, zero if equal
+     */
+    public static int compare(long epochSecond1, int nanoOfSecond1, long epochSecond2, int nanoOfSecond2) {
+        int cmp = Jdk8Methods.compareLongs(epochSecond1, epochSecond2);
+        if (cmp != 0) {
+            return cmp;
+        }
+        return nanoOfSecond1 - nanoOfSecond2;
+    }
+
+}
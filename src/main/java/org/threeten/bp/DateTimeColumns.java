@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.threeten.bp.LocalTime.NANOS_PER_DAY;
+import static org.threeten.bp.LocalTime.NANOS_PER_HOUR;
+import static org.threeten.bp.LocalTime.NANOS_PER_MINUTE;
+import static org.threeten.bp.LocalTime.NANOS_PER_SECOND;
+import static org.threeten.bp.LocalTime.SECONDS_PER_DAY;
+import static org.threeten.bp.temporal.ChronoField.DAY_OF_MONTH;
+import static org.threeten.bp.temporal.ChronoField.EPOCH_DAY;
+import static org.threeten.bp.temporal.ChronoField.HOUR_OF_DAY;
+import static org.threeten.bp.temporal.ChronoField.MINUTE_OF_HOUR;
+import static org.threeten.bp.temporal.ChronoField.MONTH_OF_YEAR;
+import static org.threeten.bp.temporal.ChronoField.NANO_OF_DAY;
+import static org.threeten.bp.temporal.ChronoField.NANO_OF_SECOND;
+import static org.threeten.bp.temporal.ChronoField.SECOND_OF_MINUTE;
+import static org.threeten.bp.temporal.ChronoField.YEAR;
+
+import org.threeten.bp.chrono.IsoChronology;
+import org.threeten.bp.jdk8.Jdk8Methods;
+import org.threeten.bp.temporal.ChronoField;
+import org.threeten.bp.temporal.ChronoUnit;
+import org.threeten.bp.temporal.TemporalUnit;
+
+/**
+ * Bulk conversions between temporal values and columns of primitive fields.
+ * <p>
+ * Each method converts every element of its input arrays, storing the results
+ * at the same index of the output arrays. No objects are created per element,
+ * which suits the export of large columns of dates and times.
+ * The arithmetic is the same as that of {@link LocalDate#ofEpochDay(long)},
+ * {@link LocalDate#toEpochDay()}, {@link LocalTime#ofNanoOfDay(long)} and
+ * {@link LocalTime#toNanoOfDay()}.
+ * <p>
+ * The number of elements converted is the length of the first input array.
+ * The other arrays must be at least that long. If an exception is thrown
+ * the content of the output arrays is undefined.
+ *
+ * <h3>Specification for implementors</h3>
+ * This is a thread-safe utility class.
+ * All arrays are owned by the caller and must not be modified concurrently.
+ */
+public final class DateTimeColumns {
+
+    /**
+     * Restricted constructor.
+     */
+    private DateTimeColumns() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Converts epoch-days to year, month and day-of-month columns.
+     *
+     * @param epochDays  the epoch-days, based on the epoch 1970-01-01, not null
+     * @param years  the array to store the years in, not null
+     * @param months  the array to store the months-of-year in, from 1 to 12, not null
+     * @param days  the array to store the days-of-month in, from 1 to 31, not null
+     * @throws DateTimeException if an epoch-day exceeds the supported date range
+     * @throws IndexOutOfBoundsException if an output array is too short
+     */
+    public static void toDateFields(long[] epochDays, int[] years, int[] months, int[] days) {
+        int length = checkLength(epochDays.length, years, months, days);
+        for (int i = 0; i < length; i++) {
+            long packed = LocalDate.toPackedDate(epochDays[i]);
+            years[i] = LocalDate.packedYear(packed);
+            months[i] = LocalDate.packedMonth(packed);
+            days[i] = LocalDate.packedDay(packed);
+        }
+    }
+
+    /**
+     * Converts year, month and day-of-month columns to epoch-days.
+     *
+     * @param years  the years, from MIN_YEAR to MAX_YEAR, not null
+     * @param months  the months-of-year, from 1 to 12, not null
+     * @param days  the days-of-month, from 1 to 31, not null
+     * @param epochDays  the array to store the epoch-days in, not null
+     * @throws DateTimeException if the value of any field is out of range,
+     *  or if the day-of-month is invalid for the month-year
+     * @throws IndexOutOfBoundsException if an array is too short
+     */
+    public static void toEpochDays(int[] years, int[] months, int[] days, long[] epochDays) {
+        int length = checkLength(years.length, months, days, epochDays);
+        for (int i = 0; i < length; i++) {
+            int year = years[i];
+            int month = months[i];
+            int day = days[i];
+            YEAR.checkValidValue(year);
+            MONTH_OF_YEAR.checkValidValue(month);
+            DAY_OF_MONTH.checkValidValue(day);
+            if (day > 28 && day > Month.of(month).length(IsoChronology.INSTANCE.isLeapYear(year))) {
+                LocalDate.of(year, month, day);  // throws the standard exception
+            }
+            epochDays[i] = LocalDate.toEpochDay(year, month, day);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Converts nano-of-day values to hour, minute, second and nano-of-second columns.
+     *
+     * @param nanosOfDay  the nano-of-day values, from 0 to 24 * 60 * 60 * 1,000,000,000 - 1, not null
+     * @param hours  the array to store the hours-of-day in, not null
+     * @param minutes  the array to store the minutes-of-hour in, not null
+     * @param seconds  the array to store the seconds-of-minute in, not null
+     * @param nanos  the array to store the nanos-of-second in, not null
+     * @throws DateTimeException if a nano-of-day value is invalid
+     * @throws IndexOutOfBoundsException if an output array is too short
+     */
+    public static void toTimeFields(long[] nanosOfDay, int[] hours, int[] minutes, int[] seconds, int[] nanos) {
+        int length = checkLength(nanosOfDay.length, hours, minutes, seconds, nanos);
+        for (int i = 0; i < length; i++) {
+            long nanoOfDay = NANO_OF_DAY.checkValidValue(nanosOfDay[i]);
+            int hour = (int) (nanoOfDay / NANOS_PER_HOUR);
+            nanoOfDay -= hour * NANOS_PER_HOUR;
+            int minute = (int) (nanoOfDay / NANOS_PER_MINUTE);
+            nanoOfDay -= minute * NANOS_PER_MINUTE;
+            int second = (int) (nanoOfDay / NANOS_PER_SECOND);
+            nanoOfDay -= second * NANOS_PER_SECOND;
+            hours[i] = hour;
+            minutes[i] = minute;
+            seconds[i] = second;
+            nanos[i] = (int) nanoOfDay;
+        }
+    }
+
+    /**
+     * Converts hour, minute, second and nano-of-second columns to nano-of-day values.
+     *
+     * @param hours  the hours-of-day, from 0 to 23, not null
+     * @param minutes  the minutes-of-hour, from 0 to 59, not null
+     * @param seconds  the seconds-of-minute, from 0 to 59, not null
+     * @param nanos  the nanos-of-second, from 0 to 999,999,999, not null
+     * @param nanosOfDay  the array to store the nano-of-day values in, not null
+     * @throws DateTimeException if the value of any field is out of range
+     * @throws IndexOutOfBoundsException if an array is too short
+     */
+    public static void toNanosOfDay(int[] hours, int[] minutes, int[] seconds, int[] nanos, long[] nanosOfDay) {
+        int length = checkLength(hours.length, minutes, seconds, nanos, nanosOfDay);
+        for (int i = 0; i < length; i++) {
+            long total = HOUR_OF_DAY.checkValidIntValue(hours[i]) * NANOS_PER_HOUR;
+            total += MINUTE_OF_HOUR.checkValidIntValue(minutes[i]) * NANOS_PER_MINUTE;
+            total += SECOND_OF_MINUTE.checkValidIntValue(seconds[i]) * NANOS_PER_SECOND;
+            total += NANO_OF_SECOND.checkValidIntValue(nanos[i]);
+            nanosOfDay[i] = total;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Converts epoch-seconds to local epoch-seconds in a time-zone.
+     * <p>
+     * The local epoch-second is the number of seconds from 1970-01-01T00:00
+     * in the local time-line, which is the epoch-second plus the offset applicable
+     * in the zone at that instant. The offsets are found using
+     * {@link org.threeten.bp.zone.ZoneRules#getOffsets(long[], int[])}.
+     *
+     * @param epochSeconds  the epoch-seconds, from 1970-01-01T00:00:00Z, not null
+     * @param zone  the time-zone, not null
+     * @param localEpochSeconds  the array to store the local epoch-seconds in, not null
+     * @throws IndexOutOfBoundsException if the output array is too short
+     */
+    public static void toLocalEpochSeconds(long[] epochSeconds, ZoneId zone, long[] localEpochSeconds) {
+        Jdk8Methods.requireNonNull(zone, "zone");
+        int length = checkLength(epochSeconds.length, localEpochSeconds);
+        int[] offsets = new int[length];
+        zone.getRules().getOffsets(epochSeconds, offsets);
+        for (int i = 0; i < length; i++) {
+            localEpochSeconds[i] = epochSeconds[i] + offsets[i];
+        }
+    }
+
+    /**
+     * Converts local epoch-seconds to year, month, day-of-month and second-of-day columns.
+     *
+     * @param localEpochSeconds  the local epoch-seconds, from 1970-01-01T00:00, not null
+     * @param years  the array to store the years in, not null
+     * @param months  the array to store the months-of-year in, from 1 to 12, not null
+     * @param days  the array to store the days-of-month in, from 1 to 31, not null
+     * @param secondsOfDay  the array to store the seconds-of-day in, from 0 to 86,399, not null
+     * @throws DateTimeException if a date exceeds the supported date range
+     * @throws IndexOutOfBoundsException if an output array is too short
+     */
+    public static void toDateTimeFields(long[] localEpochSeconds, int[] years, int[] months, int[] days, int[] secondsOfDay) {
+        int length = checkLength(localEpochSeconds.length, years, months, days, secondsOfDay);
+        for (int i = 0; i < length; i++) {
+            long localSecond = localEpochSeconds[i];
+            long packed = LocalDate.toPackedDate(Jdk8Methods.floorDiv(localSecond, SECONDS_PER_DAY));
+            years[i] = LocalDate.packedYear(packed);
+            months[i] = LocalDate.packedMonth(packed);
+            days[i] = LocalDate.packedDay(packed);
+            secondsOfDay[i] = Jdk8Methods.floorMod(localSecond, SECONDS_PER_DAY);
+        }
+    }
+
+    /**
+     * Converts epoch-seconds to year, month, day-of-month and second-of-day
+     * columns in a time-zone.
+     * <p>
+     * This combines {@link #toLocalEpochSeconds(long[], ZoneId, long[])} and
+     * {@link #toDateTimeFields(long[], int[], int[], int[], int[])} without
+     * an intermediate column.
+     *
+     * @param epochSeconds  the epoch-seconds, from 1970-01-01T00:00:00Z, not null
+     * @param zone  the time-zone, not null
+     * @param years  the array to store the years in, not null
+     * @param months  the array to store the months-of-year in, from 1 to 12, not null
+     * @param days  the array to store the days-of-month in, from 1 to 31, not null
+     * @param secondsOfDay  the array to store the seconds-of-day in, from 0 to 86,399, not null
+     * @throws DateTimeException if a date exceeds the supported date range
+     * @throws IndexOutOfBoundsException if an output array is too short
+     */
+    public static void toDateTimeFields(long[] epochSeconds, ZoneId zone, int[] years, int[] months, int[] days, int[] secondsOfDay) {
+        Jdk8Methods.requireNonNull(zone, "zone");
+        int length = checkLength(epochSeconds.length, years, months, days, secondsOfDay);
+        // the offsets are stored in the second-of-day column until replaced
+        zone.getRules().getOffsets(epochSeconds, 0, secondsOfDay, 0, length);
+        for (int i = 0; i < length; i++) {
+            long localSecond = epochSeconds[i] + secondsOfDay[i];
+            long packed = LocalDate.toPackedDate(Jdk8Methods.floorDiv(localSecond, SECONDS_PER_DAY));
+            years[i] = LocalDate.packedYear(packed);
+            months[i] = LocalDate.packedMonth(packed);
+            days[i] = LocalDate.packedDay(packed);
+            secondsOfDay[i] = Jdk8Methods.floorMod(localSecond, SECONDS_PER_DAY);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Adds days to an epoch-day using the rules of {@link LocalDate#plusDays(long)}.
+     *
+     * @param epochDay  the epoch-day to add to
+     * @param daysToAdd  the days to add, may be negative
+     * @return the resulting epoch-day
+     * @throws DateTimeException if the result exceeds the supported date range
+     */
+    static long plusDays(long epochDay, long daysToAdd) {
+        return EPOCH_DAY.checkValidValue(Jdk8Methods.safeAdd(epochDay, daysToAdd));
+    }
+
+    /**
+     * Adds months to an epoch-day using the rules of {@link LocalDate#plusMonths(long)}.
+     *
+     * @param epochDay  the epoch-day to add to
+     * @param monthsToAdd  the months to add, may be negative
+     * @return the resulting epoch-day
+     * @throws DateTimeException if the epoch-day or the result exceeds the supported date range
+     */
+    static long plusMonths(long epochDay, long monthsToAdd) {
+        long packed = LocalDate.toPackedDate(epochDay);
+        long monthCount = LocalDate.packedYear(packed) * 12L + (LocalDate.packedMonth(packed) - 1);
+        long calcMonths = monthCount + monthsToAdd;  // safe overflow
+        int newYear = YEAR.checkValidIntValue(Jdk8Methods.floorDiv(calcMonths, 12));
+        int newMonth = Jdk8Methods.floorMod(calcMonths, 12) + 1;
+        int day = LocalDate.packedDay(packed);
+        if (day > 28) {
+            day = Math.min(day, Month.of(newMonth).length(IsoChronology.INSTANCE.isLeapYear(newYear)));
+        }
+        return LocalDate.toEpochDay(newYear, newMonth, day);
+    }
+
+    /**
+     * Gets the value of a date-based field from an epoch-day.
+     * <p>
+     * The common fields are calculated without creating a {@code LocalDate}.
+     *
+     * @param field  the field to get, not null
+     * @param epochDay  the epoch-day
+     * @return the value of the field, as per {@link LocalDate#get(org.threeten.bp.temporal.TemporalField)}
+     * @throws DateTimeException if the epoch-day is invalid or the value cannot be obtained
+     */
+    static int dateField(ChronoField field, long epochDay) {
+        switch (field) {
+            case DAY_OF_WEEK:
+                return Jdk8Methods.floorMod(EPOCH_DAY.checkValidValue(epochDay) + 3, 7) + 1;
+            case DAY_OF_MONTH:
+                return LocalDate.packedDay(LocalDate.toPackedDate(epochDay));
+            case MONTH_OF_YEAR:
+                return LocalDate.packedMonth(LocalDate.toPackedDate(epochDay));
+            case YEAR:
+                return LocalDate.packedYear(LocalDate.toPackedDate(epochDay));
+            case DAY_OF_YEAR: {
+                long packed = LocalDate.toPackedDate(epochDay);
+                boolean leapYear = IsoChronology.INSTANCE.isLeapYear(LocalDate.packedYear(packed));
+                return Month.of(LocalDate.packedMonth(packed)).firstDayOfYear(leapYear) + LocalDate.packedDay(packed) - 1;
+            }
+            default:
+                return LocalDate.ofEpochDay(epochDay).get(field);
+        }
+    }
+
+    /**
+     * Gets the value of a time-based field from a nano-of-day.
+     * <p>
+     * The common fields are calculated without creating a {@code LocalTime}.
+     *
+     * @param field  the field to get, not null
+     * @param nanoOfDay  the nano-of-day, validated
+     * @return the value of the field, as per {@link LocalTime#get(org.threeten.bp.temporal.TemporalField)}
+     * @throws DateTimeException if the value cannot be obtained
+     */
+    static int timeField(ChronoField field, long nanoOfDay) {
+        switch (field) {
+            case NANO_OF_SECOND: return (int) (nanoOfDay % NANOS_PER_SECOND);
+            case MICRO_OF_SECOND: return (int) (nanoOfDay % NANOS_PER_SECOND / 1000);
+            case MILLI_OF_SECOND: return (int) (nanoOfDay % NANOS_PER_SECOND / 1000000);
+            case SECOND_OF_MINUTE: return (int) (nanoOfDay / NANOS_PER_SECOND % 60);
+            case SECOND_OF_DAY: return (int) (nanoOfDay / NANOS_PER_SECOND);
+            case MINUTE_OF_HOUR: return (int) (nanoOfDay / NANOS_PER_MINUTE % 60);
+            case MINUTE_OF_DAY: return (int) (nanoOfDay / NANOS_PER_MINUTE);
+            case HOUR_OF_DAY: return (int) (nanoOfDay / NANOS_PER_HOUR);
+            default: return LocalTime.ofNanoOfDay(nanoOfDay).get(field);
+        }
+    }
+
+    /**
+     * Gets the length of a unit used for truncation,
+     * using the rules of {@link LocalTime#truncatedTo(TemporalUnit)}.
+     *
+     * @param unit  the unit to truncate to, not null
+     * @return the length of the unit in nanoseconds
+     * @throws DateTimeException if the unit is invalid for truncation
+     */
+    static long truncationNanos(TemporalUnit unit) {
+        if (unit == ChronoUnit.NANOS) {
+            return 1;
+        }
+        Duration unitDur = unit.getDuration();
+        if (unitDur.getSeconds() > SECONDS_PER_DAY) {
+            throw new DateTimeException("Unit is too large to be used for truncation");
+        }
+        long dur = unitDur.toNanos();
+        if ((NANOS_PER_DAY % dur) != 0) {
+            throw new DateTimeException("Unit must divide into a standard day without remainder");
+        }
+        return dur;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Checks that the arrays can hold the number of elements.
+     *
+     * @param length  the number of elements
+     * @param arrays  the arrays to check, not null
+     * @return the number of elements
+     * @throws IndexOutOfBoundsException if an array is too short
+     */
+    static int checkLength(int length, Object... arrays) {
+        for (Object array : arrays) {
+            int arrayLength = (array instanceof int[] ? ((int[]) array).length : ((long[]) array).length);
+            if (arrayLength < length) {
+                throw new IndexOutOfBoundsException("Array length " + arrayLength + " is less than " + length);
+            }
+        }
+        return length;
+    }
+
+}
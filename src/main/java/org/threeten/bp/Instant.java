@@ -362,6 +362,20 @@ public final class Instant
         return DateTimeFormatter.ISO_INSTANT.parse(text, Instant.FROM);
     }
 
+    /**
+     * Obtains an instance of {@code Instant} from a text string such as
+     * {@code 2007-12-23T10:15:30.000Z}, returning null if the text cannot be parsed.
+     * <p>
+     * This follows {@link #parse(CharSequence)}, but returns null instead of throwing
+     * an exception, which is faster when validating input that is often invalid.
+     *
+     * @param text  the text to parse, not null
+     * @return the parsed instant, null if the text cannot be parsed
+     */
+    public static Instant parseOrNull(CharSequence text) {
+        return DateTimeFormatter.ISO_INSTANT.parseOrNull(text, Instant.FROM);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Obtains an instance of {@code Instant} using seconds and nanoseconds.
@@ -0,0 +1,418 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.threeten.bp.LocalTime.NANOS_PER_SECOND;
+
+import java.io.InvalidObjectException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.threeten.bp.jdk8.Jdk8Methods;
+import org.threeten.bp.temporal.ChronoUnit;
+import org.threeten.bp.temporal.UnsupportedTemporalTypeException;
+
+/**
+ * A range of instants, from a start instant inclusive to an end instant exclusive.
+ * <p>
+ * A range can be divided into partitions aligned to a unit of the time-line,
+ * from nanoseconds up to days, such as the hours touched by the range.
+ * The partitions are aligned as per {@link Instant#truncatedTo(org.threeten.bp.temporal.TemporalUnit)},
+ * thus days are days of the UTC time-scale.
+ * The first and last partition are cut short where the range does not cover a whole unit.
+ * The number of partitions is computed without iterating, and a range can be divided
+ * in two at the partition boundary nearest its middle. This allows a large range to be
+ * split recursively into balanced pieces of work, for example by a fork-join task.
+ * <p>
+ * A range whose start is equal to its end is empty.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is immutable and thread-safe.
+ */
+public final class InstantRange implements Serializable {
+
+    /**
+     * Serialization version.
+     */
+    private static final long serialVersionUID = 8284913653412478L;
+
+    /**
+     * The start instant, inclusive.
+     */
+    private final Instant start;
+    /**
+     * The end instant, exclusive.
+     */
+    private final Instant end;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Obtains a range from a start instant, inclusive, to an end instant, exclusive.
+     *
+     * @param startInclusive  the start instant, inclusive, not null
+     * @param endExclusive  the end instant, exclusive, not null
+     * @return the range, not null
+     * @throws DateTimeException if the end is before the start
+     */
+    public static InstantRange of(Instant startInclusive, Instant endExclusive) {
+        Jdk8Methods.requireNonNull(startInclusive, "startInclusive");
+        Jdk8Methods.requireNonNull(endExclusive, "endExclusive");
+        if (endExclusive.isBefore(startInclusive)) {
+            throw new DateTimeException("End instant must not be before start instant: " + startInclusive + "/" + endExclusive);
+        }
+        return new InstantRange(startInclusive, endExclusive);
+    }
+
+    /**
+     * Obtains a range from a start instant, inclusive, and a duration.
+     *
+     * @param startInclusive  the start instant, inclusive, not null
+     * @param duration  the duration to add to the start to obtain the end, not null
+     * @return the range, not null
+     * @throws DateTimeException if the end is before the start or out of range
+     */
+    public static InstantRange of(Instant startInclusive, Duration duration) {
+        Jdk8Methods.requireNonNull(startInclusive, "startInclusive");
+        Jdk8Methods.requireNonNull(duration, "duration");
+        return of(startInclusive, startInclusive.plus(duration));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param start  the start instant, inclusive, validated
+     * @param end  the end instant, exclusive, validated
+     */
+    private InstantRange(Instant start, Instant end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Validate the range read from a stream.
+     *
+     * @return the valid range, not null
+     * @throws InvalidObjectException if invalid
+     */
+    private Object readResolve() throws InvalidObjectException {
+        try {
+            return InstantRange.of(start, end);
+        } catch (NullPointerException ex) {
+            throw new InvalidObjectException("Invalid InstantRange: " + ex.getMessage());
+        } catch (DateTimeException ex) {
+            throw new InvalidObjectException("Invalid InstantRange: " + ex.getMessage());
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the start of the range, inclusive.
+     *
+     * @return the start instant, not null
+     */
+    public Instant getStart() {
+        return start;
+    }
+
+    /**
+     * Gets the end of the range, exclusive.
+     *
+     * @return the end instant, not null
+     */
+    public Instant getEnd() {
+        return end;
+    }
+
+    /**
+     * Checks if the range is empty.
+     *
+     * @return true if the start is equal to the end
+     */
+    public boolean isEmpty() {
+        return start.equals(end);
+    }
+
+    /**
+     * Gets the duration from the start to the end of the range.
+     *
+     * @return the duration, not null
+     */
+    public Duration toDuration() {
+        return Duration.between(start, end);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Checks if the range contains an instant.
+     *
+     * @param instant  the instant to check, not null
+     * @return true if the instant is on or after the start and before the end
+     */
+    public boolean contains(Instant instant) {
+        Jdk8Methods.requireNonNull(instant, "instant");
+        return start.compareTo(instant) <= 0 && instant.compareTo(end) < 0;
+    }
+
+    /**
+     * Checks if this range is connected to another range.
+     * <p>
+     * Two ranges are connected if they overlap or abut, in which case they
+     * have an intersection, which may be empty.
+     *
+     * @param other  the other range, not null
+     * @return true if the ranges are connected
+     */
+    public boolean isConnected(InstantRange other) {
+        Jdk8Methods.requireNonNull(other, "other");
+        return start.compareTo(other.end) <= 0 && other.start.compareTo(end) <= 0;
+    }
+
+    /**
+     * Checks if this range overlaps another range.
+     * <p>
+     * Two ranges overlap if they have at least one instant in common,
+     * or if they are equal.
+     *
+     * @param other  the other range, not null
+     * @return true if the ranges overlap
+     */
+    public boolean overlaps(InstantRange other) {
+        Jdk8Methods.requireNonNull(other, "other");
+        return equals(other) || (start.compareTo(other.end) < 0 && other.start.compareTo(end) < 0);
+    }
+
+    /**
+     * Calculates the range of instants that are in both this range and another range.
+     *
+     * @param other  the other range, not null
+     * @return the intersection, which may be empty, not null
+     * @throws DateTimeException if the ranges are not connected
+     */
+    public InstantRange intersection(InstantRange other) {
+        if (isConnected(other) == false) {
+            throw new DateTimeException("Ranges are not connected: " + this + " and " + other);
+        }
+        Instant newStart = (start.compareTo(other.start) >= 0 ? start : other.start);
+        Instant newEnd = (end.compareTo(other.end) <= 0 ? end : other.end);
+        return new InstantRange(newStart, newEnd);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the number of partitions of the range by a unit.
+     * <p>
+     * This is the number of units of the time-line, aligned as per
+     * {@link Instant#truncatedTo(org.threeten.bp.temporal.TemporalUnit)},
+     * that contain at least one instant of the range.
+     * It is calculated without iterating the partitions.
+     *
+     * @param unit  the unit, from NANOS to DAYS, not null
+     * @return the number of partitions, zero if the range is empty
+     * @throws UnsupportedTemporalTypeException if the unit is not supported
+     * @throws ArithmeticException if numeric overflow occurs
+     */
+    public long size(ChronoUnit unit) {
+        long unitNanos = unitNanos(unit);
+        if (isEmpty()) {
+            return 0;
+        }
+        long last = partitionIndex(end, unitNanos);
+        if (isAligned(end, unitNanos)) {
+            last--;
+        }
+        return Jdk8Methods.safeAdd(Jdk8Methods.safeSubtract(last, partitionIndex(start, unitNanos)), 1);
+    }
+
+    /**
+     * Splits the range into partitions aligned to a unit.
+     * <p>
+     * Each partition is a unit of the time-line, aligned as per
+     * {@link Instant#truncatedTo(org.threeten.bp.temporal.TemporalUnit)},
+     * cut short to the range where necessary. The partitions are in order,
+     * connected and not overlapping, and together form this range.
+     *
+     * @param unit  the unit, from NANOS to DAYS, not null
+     * @return the partitions, empty if the range is empty, not null
+     * @throws UnsupportedTemporalTypeException if the unit is not supported
+     * @throws ArithmeticException if there are more than {@code Integer.MAX_VALUE} partitions
+     */
+    public List<InstantRange> split(ChronoUnit unit) {
+        int size = Jdk8Methods.safeToInt(size(unit));
+        long unitNanos = unitNanos(unit);
+        List<InstantRange> list = new ArrayList<InstantRange>(size);
+        long index = partitionIndex(start, unitNanos);
+        Instant partitionStart = start;
+        for (int i = 1; i < size; i++) {
+            Instant partitionEnd = partitionStart(index + i, unitNanos);
+            list.add(new InstantRange(partitionStart, partitionEnd));
+            partitionStart = partitionEnd;
+        }
+        if (size > 0) {
+            list.add(new InstantRange(partitionStart, end));
+        }
+        return list;
+    }
+
+    /**
+     * Divides the range in two at the boundary of a unit.
+     * <p>
+     * The boundary is chosen such that each half contains half of the partitions
+     * counted by {@link #size(ChronoUnit)}, with the second half containing the extra
+     * partition if the number is odd.
+     * If the range has fewer than two partitions it cannot be divided, and a list
+     * containing only this range is returned.
+     *
+     * @param unit  the unit, from NANOS to DAYS, not null
+     * @return the two halves in order, or this range alone, not null
+     * @throws UnsupportedTemporalTypeException if the unit is not supported
+     * @throws ArithmeticException if numeric overflow occurs
+     */
+    public List<InstantRange> bisect(ChronoUnit unit) {
+        long size = size(unit);
+        if (size < 2) {
+            return Collections.singletonList(this);
+        }
+        long unitNanos = unitNanos(unit);
+        Instant middle = partitionStart(partitionIndex(start, unitNanos) + size / 2, unitNanos);
+        return Arrays.asList(new InstantRange(start, middle), new InstantRange(middle, end));
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the length of a unit in nanoseconds.
+     *
+     * @param unit  the unit, not null
+     * @return the length of the unit, which divides a day exactly
+     * @throws UnsupportedTemporalTypeException if the unit is not supported
+     */
+    private static long unitNanos(ChronoUnit unit) {
+        Jdk8Methods.requireNonNull(unit, "unit");
+        if (unit.isTimeBased() == false && unit != ChronoUnit.DAYS) {
+            throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+        }
+        return unit.getDuration().toNanos();
+    }
+
+    /**
+     * Gets the index of the partition containing an instant, counting from the epoch.
+     *
+     * @param instant  the instant, not null
+     * @param unitNanos  the length of the unit in nanoseconds
+     * @return the index of the partition
+     * @throws ArithmeticException if numeric overflow occurs
+     */
+    private static long partitionIndex(Instant instant, long unitNanos) {
+        if (unitNanos % NANOS_PER_SECOND == 0) {
+            return Jdk8Methods.floorDiv(instant.getEpochSecond(), unitNanos / NANOS_PER_SECOND);
+        }
+        long perSecond = NANOS_PER_SECOND / unitNanos;
+        return Jdk8Methods.safeAdd(Jdk8Methods.safeMultiply(instant.getEpochSecond(), perSecond), instant.getNano() / unitNanos);
+    }
+
+    /**
+     * Checks if an instant is at the start of a partition.
+     *
+     * @param instant  the instant, not null
+     * @param unitNanos  the length of the unit in nanoseconds
+     * @return true if the instant is at the start of a partition
+     */
+    private static boolean isAligned(Instant instant, long unitNanos) {
+        if (unitNanos % NANOS_PER_SECOND == 0) {
+            return instant.getNano() == 0 && Jdk8Methods.floorMod(instant.getEpochSecond(), unitNanos / NANOS_PER_SECOND) == 0;
+        }
+        return instant.getNano() % unitNanos == 0;
+    }
+
+    /**
+     * Gets the first instant of a partition.
+     *
+     * @param index  the index of the partition, as per {@link #partitionIndex}
+     * @param unitNanos  the length of the unit in nanoseconds
+     * @return the first instant of the partition, not null
+     */
+    private static Instant partitionStart(long index, long unitNanos) {
+        if (unitNanos % NANOS_PER_SECOND == 0) {
+            return Instant.ofEpochSecond(index * (unitNanos / NANOS_PER_SECOND));
+        }
+        long perSecond = NANOS_PER_SECOND / unitNanos;
+        return Instant.ofEpochSecond(Jdk8Methods.floorDiv(index, perSecond), Jdk8Methods.floorMod(index, perSecond) * unitNanos);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Checks if this range is equal to another range.
+     * <p>
+     * Compares this {@code InstantRange} with another ensuring that the start and end are the same.
+     * Only objects of type {@code InstantRange} are compared, other types return false.
+     *
+     * @param obj  the object to check, null returns false
+     * @return true if this is equal to the other range
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof InstantRange) {
+            InstantRange other = (InstantRange) obj;
+            return start.equals(other.start) && end.equals(other.end);
+        }
+        return false;
+    }
+
+    /**
+     * A hash code for this range.
+     *
+     * @return a suitable hash code
+     */
+    @Override
+    public int hashCode() {
+        return start.hashCode() ^ end.hashCode();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Outputs this range as a {@code String}, such as {@code 2012-01-15T10:00:00Z/2012-01-15T12:30:00Z}.
+     * <p>
+     * The output is in the ISO-8601 format of an interval.
+     *
+     * @return a string representation of this range, not null
+     */
+    @Override
+    public String toString() {
+        return start + "/" + end;
+    }
+
+}
@@ -0,0 +1,408 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.threeten.bp.LocalTime.NANOS_PER_SECOND;
+import static org.threeten.bp.LocalTime.SECONDS_PER_DAY;
+import static org.threeten.bp.LocalTime.SECONDS_PER_HOUR;
+import static org.threeten.bp.LocalTime.SECONDS_PER_MINUTE;
+import static org.threeten.bp.temporal.ChronoField.NANO_OF_SECOND;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+
+import org.threeten.bp.jdk8.Jdk8Methods;
+import org.threeten.bp.temporal.ChronoField;
+import org.threeten.bp.temporal.ChronoUnit;
+import org.threeten.bp.temporal.TemporalUnit;
+import org.threeten.bp.temporal.UnsupportedTemporalTypeException;
+
+/**
+ * A fixed-size column of instants, stored as epoch-seconds and nanos.
+ * <p>
+ * Each element is a {@code long} epoch-second and an {@code int} nano-of-second,
+ * as per {@link Instant#getEpochSecond()} and {@link Instant#getNano()}.
+ * The elements are held in a {@link LongBuffer} and an {@link IntBuffer}, which may
+ * wrap arrays or be views of direct {@code ByteBuffer} instances.
+ * The bulk operations apply the arithmetic of {@code Instant} to every
+ * element without creating an {@code Instant} per element.
+ * <p>
+ * The bulk operations store their results in a vector of at least the same size,
+ * which may be this vector.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is mutable and not thread-safe.
+ */
+public final class InstantVector {
+
+    /**
+     * The minimum supported epoch second.
+     */
+    private static final long MIN_SECOND = Instant.MIN.getEpochSecond();
+    /**
+     * The maximum supported epoch second.
+     */
+    private static final long MAX_SECOND = Instant.MAX.getEpochSecond();
+
+    /**
+     * The epoch-seconds, indexed from zero.
+     */
+    private final LongBuffer epochSeconds;
+    /**
+     * The nano-of-second values, indexed from zero.
+     */
+    private final IntBuffer nanos;
+    /**
+     * The number of elements.
+     */
+    private final int size;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Obtains a vector backed by new arrays, with every element set to the epoch instant.
+     *
+     * @param size  the number of elements, zero or greater
+     * @return the vector, not null
+     * @throws IllegalArgumentException if the size is negative
+     */
+    public static InstantVector allocate(int size) {
+        LocalDateVector.checkSize(size);
+        return new InstantVector(LongBuffer.allocate(size), IntBuffer.allocate(size));
+    }
+
+    /**
+     * Obtains a vector backed by new direct buffers, with every element set to the epoch instant.
+     * <p>
+     * The buffers use the native byte order.
+     *
+     * @param size  the number of elements, zero or greater
+     * @return the vector, not null
+     * @throws IllegalArgumentException if the size is negative
+     */
+    public static InstantVector allocateDirect(int size) {
+        LocalDateVector.checkSize(size);
+        return new InstantVector(
+                ByteBuffer.allocateDirect(size * 8).order(ByteOrder.nativeOrder()).asLongBuffer(),
+                ByteBuffer.allocateDirect(size * 4).order(ByteOrder.nativeOrder()).asIntBuffer());
+    }
+
+    /**
+     * Obtains a vector backed by arrays of epoch-seconds and nanos.
+     * <p>
+     * Changes to the arrays are visible in the vector and vice versa.
+     *
+     * @param epochSeconds  the epoch-seconds, not null
+     * @param nanos  the nano-of-second values, from 0 to 999,999,999, the same length as the seconds, not null
+     * @return the vector, not null
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public static InstantVector wrap(long[] epochSeconds, int[] nanos) {
+        return wrap(LongBuffer.wrap(epochSeconds), IntBuffer.wrap(nanos));
+    }
+
+    /**
+     * Obtains a vector backed by buffers of epoch-seconds and nanos.
+     * <p>
+     * The vector contains the elements between the position and the limit of each buffer.
+     * Changes to the buffer content are visible in the vector and vice versa.
+     *
+     * @param epochSeconds  the epoch-seconds, not null
+     * @param nanos  the nano-of-second values, from 0 to 999,999,999, the same length as the seconds, not null
+     * @return the vector, not null
+     * @throws IllegalArgumentException if the buffers differ in length
+     */
+    public static InstantVector wrap(LongBuffer epochSeconds, IntBuffer nanos) {
+        Jdk8Methods.requireNonNull(epochSeconds, "epochSeconds");
+        Jdk8Methods.requireNonNull(nanos, "nanos");
+        if (epochSeconds.remaining() != nanos.remaining()) {
+            throw new IllegalArgumentException("Buffers differ in length: " + epochSeconds.remaining() + " and " + nanos.remaining());
+        }
+        return new InstantVector(epochSeconds.slice(), nanos.slice());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param epochSeconds  the epoch-seconds, indexed from zero, not null
+     * @param nanos  the nano-of-second values, indexed from zero, not null
+     */
+    private InstantVector(LongBuffer epochSeconds, IntBuffer nanos) {
+        this.epochSeconds = epochSeconds;
+        this.nanos = nanos;
+        this.size = epochSeconds.limit();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the number of elements.
+     *
+     * @return the size, zero or greater
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the epoch-second of an element.
+     *
+     * @param index  the index of the element
+     * @return the epoch-second
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public long getEpochSecond(int index) {
+        return epochSeconds.get(index);
+    }
+
+    /**
+     * Gets the nano-of-second of an element.
+     *
+     * @param index  the index of the element
+     * @return the nano-of-second
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public int getNano(int index) {
+        return nanos.get(index);
+    }
+
+    /**
+     * Gets an element as an instant.
+     *
+     * @param index  the index of the element
+     * @return the instant, not null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws DateTimeException if the stored instant is invalid
+     */
+    public Instant get(int index) {
+        return Instant.ofEpochSecond(epochSeconds.get(index), NANO_OF_SECOND.checkValidIntValue(nanos.get(index)));
+    }
+
+    /**
+     * Sets an element to an instant.
+     *
+     * @param index  the index of the element
+     * @param instant  the instant to store, not null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public void set(int index, Instant instant) {
+        epochSeconds.put(index, instant.getEpochSecond());
+        nanos.put(index, instant.getNano());
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Adds an amount to every element, as per {@link Instant#plus(long, TemporalUnit)}.
+     * <p>
+     * The supported units are those of {@code Instant}, from {@code NANOS} to {@code DAYS}.
+     *
+     * @param amountToAdd  the amount of the unit to add, may be negative
+     * @param unit  the unit of the amount to add, not null
+     * @param result  the vector to store the results in, may be this vector, not null
+     * @return the result vector, not null
+     * @throws IndexOutOfBoundsException if the result vector is too small
+     * @throws UnsupportedTemporalTypeException if the unit is not supported
+     * @throws DateTimeException if a result exceeds the maximum or minimum instant
+     * @throws ArithmeticException if numeric overflow occurs
+     */
+    public InstantVector plus(long amountToAdd, TemporalUnit unit, InstantVector result) {
+        Jdk8Methods.requireNonNull(unit, "unit");
+        long secondsToAdd = 0;
+        long nanosToAdd = 0;
+        if (unit instanceof ChronoUnit) {
+            switch ((ChronoUnit) unit) {
+                case NANOS: secondsToAdd = amountToAdd / NANOS_PER_SECOND; nanosToAdd = amountToAdd % NANOS_PER_SECOND; break;
+                case MICROS: secondsToAdd = amountToAdd / 1000000; nanosToAdd = (amountToAdd % 1000000) * 1000; break;
+                case MILLIS: secondsToAdd = amountToAdd / 1000; nanosToAdd = (amountToAdd % 1000) * 1000000; break;
+                case SECONDS: secondsToAdd = amountToAdd; break;
+                case MINUTES: secondsToAdd = Jdk8Methods.safeMultiply(amountToAdd, SECONDS_PER_MINUTE); break;
+                case HOURS: secondsToAdd = Jdk8Methods.safeMultiply(amountToAdd, SECONDS_PER_HOUR); break;
+                case HALF_DAYS: secondsToAdd = Jdk8Methods.safeMultiply(amountToAdd, SECONDS_PER_DAY / 2); break;
+                case DAYS: secondsToAdd = Jdk8Methods.safeMultiply(amountToAdd, SECONDS_PER_DAY); break;
+                default: throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+            }
+        } else {
+            throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+        }
+        InstantVector target = checkResult(result);
+        for (int i = 0; i < size; i++) {
+            long epochSec = Jdk8Methods.safeAdd(epochSeconds.get(i), secondsToAdd);
+            long nanoAdjustment = nanos.get(i) + nanosToAdd;  // safe int+NANOS_PER_SECOND
+            target.store(i, epochSec, nanoAdjustment);
+        }
+        return result;
+    }
+
+    /**
+     * Truncates every element to a unit, as per {@link Instant#truncatedTo(TemporalUnit)}.
+     *
+     * @param unit  the unit to truncate to, not null
+     * @param result  the vector to store the results in, may be this vector, not null
+     * @return the result vector, not null
+     * @throws IndexOutOfBoundsException if the result vector is too small
+     * @throws DateTimeException if the unit is invalid for truncation
+     */
+    public InstantVector truncatedTo(TemporalUnit unit, InstantVector result) {
+        long dur = DateTimeColumns.truncationNanos(Jdk8Methods.requireNonNull(unit, "unit"));
+        InstantVector target = checkResult(result);
+        for (int i = 0; i < size; i++) {
+            long seconds = epochSeconds.get(i);
+            int nano = nanos.get(i);
+            long nod = (seconds % SECONDS_PER_DAY) * NANOS_PER_SECOND + nano;
+            long truncated = Jdk8Methods.floorDiv(nod, dur) * dur;
+            target.store(i, seconds, nano + (truncated - nod));
+        }
+        return result;
+    }
+
+    /**
+     * Stores an element, normalizing the nanosecond adjustment.
+     *
+     * @param index  the index of the element
+     * @param epochSecond  the epoch-second
+     * @param nanoAdjustment  the nanosecond adjustment to the epoch-second, may be negative
+     * @throws DateTimeException if the instant exceeds the maximum or minimum instant
+     */
+    private void store(int index, long epochSecond, long nanoAdjustment) {
+        long secs = Jdk8Methods.safeAdd(epochSecond, Jdk8Methods.floorDiv(nanoAdjustment, NANOS_PER_SECOND));
+        if (secs < MIN_SECOND || secs > MAX_SECOND) {
+            throw new DateTimeException("Instant exceeds minimum or maximum instant");
+        }
+        epochSeconds.put(index, secs);
+        nanos.put(index, Jdk8Methods.floorMod(nanoAdjustment, 1000000000));
+    }
+
+    /**
+     * Checks that a result vector can hold the elements of this vector.
+     *
+     * @param result  the result vector, not null
+     * @return the result vector, not null
+     * @throws IndexOutOfBoundsException if the result vector is too small
+     */
+    private InstantVector checkResult(InstantVector result) {
+        Jdk8Methods.requireNonNull(result, "result");
+        if (result.size < size) {
+            throw new IndexOutOfBoundsException("Result size " + result.size + " is less than " + size);
+        }
+        return result;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the value of a field for every element.
+     * <p>
+     * The values are the same as those of {@link Instant#get(org.threeten.bp.temporal.TemporalField)}.
+     * To obtain the date and time fields in a time-zone use {@link ZonedDateTimeVector}.
+     *
+     * @param field  the field to get, not null
+     * @param values  the array to store the values in, not null
+     * @throws IndexOutOfBoundsException if the array is too short
+     * @throws UnsupportedTemporalTypeException if the field is not supported
+     * @throws DateTimeException if a stored nano-of-second is invalid
+     */
+    public void get(ChronoField field, int[] values) {
+        Jdk8Methods.requireNonNull(field, "field");
+        DateTimeColumns.checkLength(size, values);
+        switch (field) {
+            case NANO_OF_SECOND:
+            case MICRO_OF_SECOND:
+            case MILLI_OF_SECOND:
+                break;
+            default:
+                throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+        }
+        for (int i = 0; i < size; i++) {
+            values[i] = DateTimeColumns.timeField(field, NANO_OF_SECOND.checkValidValue(nanos.get(i)));
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Compares an element to an instant.
+     *
+     * @param index  the index of the element
+     * @param other  the instant to compare to, not null
+     * @return negative if the element is before the instant, positive if after, zero if equal
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public int compare(int index, Instant other) {
+        return DateTimeCodec.compare(epochSeconds.get(index), nanos.get(index), other.getEpochSecond(), other.getNano());
+    }
+
+    /**
+     * Finds the elements within a range of instants.
+     * <p>
+     * The indices of the elements on or after the start and before the end
+     * are stored in ascending order at the start of the array.
+     *
+     * @param startInclusive  the start of the range, inclusive, not null
+     * @param endExclusive  the end of the range, exclusive, not null
+     * @param indices  the array to store the indices in, at least as long as this vector, not null
+     * @return the number of indices stored
+     * @throws IndexOutOfBoundsException if the array is too short
+     */
+    public int indicesInRange(Instant startInclusive, Instant endExclusive, int[] indices) {
+        return indicesInRange(epochSeconds, nanos, size, startInclusive, endExclusive, indices);
+    }
+
+    /**
+     * Finds the elements of columns of epoch-seconds and nanos within a range of instants.
+     *
+     * @param epochSeconds  the epoch-seconds, not null
+     * @param nanos  the nano-of-second values, not null
+     * @param size  the number of elements
+     * @param startInclusive  the start of the range, inclusive, not null
+     * @param endExclusive  the end of the range, exclusive, not null
+     * @param indices  the array to store the indices in, not null
+     * @return the number of indices stored
+     * @throws IndexOutOfBoundsException if the array is too short
+     */
+    static int indicesInRange(LongBuffer epochSeconds, IntBuffer nanos, int size, Instant startInclusive, Instant endExclusive, int[] indices) {
+        long startSecond = startInclusive.getEpochSecond();
+        int startNano = startInclusive.getNano();
+        long endSecond = endExclusive.getEpochSecond();
+        int endNano = endExclusive.getNano();
+        DateTimeColumns.checkLength(size, indices);
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            long second = epochSeconds.get(i);
+            if (second >= startSecond && second <= endSecond) {
+                int nano = nanos.get(i);
+                if ((second > startSecond || nano >= startNano) && (second < endSecond || nano < endNano)) {
+                    indices[count++] = i;
+                }
+            }
+        }
+        return count;
+    }
+
+}
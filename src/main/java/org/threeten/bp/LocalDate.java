@@ -279,6 +279,23 @@ public final class LocalDate
      * @throws DateTimeException if the epoch days exceeds the supported date range
      */
     public static LocalDate ofEpochDay(long epochDay) {
+        long packed = toPackedDate(epochDay);
+        return new LocalDate(packedYear(packed), packedMonth(packed), packedDay(packed));
+    }
+
+    /**
+     * Converts an epoch-day to a packed year, month and day-of-month.
+     * <p>
+     * This is the arithmetic of {@link #ofEpochDay(long)} without the object creation,
+     * shared with the bulk conversions in {@link DateTimeColumns}.
+     * The parts are extracted using {@link #packedYear(long)}, {@link #packedMonth(long)}
+     * and {@link #packedDay(long)}.
+     *
+     * @param epochDay  the Epoch Day to convert, based on the epoch 1970-01-01
+     * @return the packed date
+     * @throws DateTimeException if the epoch days exceeds the supported date range
+     */
+    static long toPackedDate(long epochDay) {
         EPOCH_DAY.checkValidValue(epochDay);
         long zeroDay = epochDay + DAYS_0000_TO_1970;
         // find the march-based year
@@ -308,7 +325,37 @@ public final class LocalDate
 
         // check year now we are certain it is correct
         int year = YEAR.checkValidIntValue(yearEst);
-        return new LocalDate(year, month, dom);
+        return ((long) year << 9) | (month << 5) | dom;
+    }
+
+    /**
+     * Gets the year from a packed date.
+     *
+     * @param packed  the packed date from {@link #toPackedDate(long)}
+     * @return the year
+     */
+    static int packedYear(long packed) {
+        return (int) (packed >> 9);
+    }
+
+    /**
+     * Gets the month-of-year from a packed date.
+     *
+     * @param packed  the packed date from {@link #toPackedDate(long)}
+     * @return the month-of-year, from 1 to 12
+     */
+    static int packedMonth(long packed) {
+        return (int) (packed >> 5) & 15;
+    }
+
+    /**
+     * Gets the day-of-month from a packed date.
+     *
+     * @param packed  the packed date from {@link #toPackedDate(long)}
+     * @return the day-of-month, from 1 to 31
+     */
+    static int packedDay(long packed) {
+        return (int) packed & 31;
     }
 
     //-----------------------------------------------------------------------
@@ -367,6 +414,36 @@ public final class LocalDate
         return formatter.parse(text, LocalDate.FROM);
     }
 
+    /**
+     * Obtains an instance of {@code LocalDate} from a text string such as {@code 2007-12-23},
+     * returning null if the text cannot be parsed.
+     * <p>
+     * This follows {@link #parse(CharSequence)}, but returns null instead of throwing
+     * an exception, which is faster when validating input that is often invalid.
+     *
+     * @param text  the text to parse such as "2007-12-23", not null
+     * @return the parsed local date, null if the text cannot be parsed
+     */
+    public static LocalDate parseOrNull(CharSequence text) {
+        return DateTimeFormatter.ISO_LOCAL_DATE.parseOrNull(text, LocalDate.FROM);
+    }
+
+    /**
+     * Obtains an instance of {@code LocalDate} from a text string using a specific formatter,
+     * returning null if the text cannot be parsed.
+     * <p>
+     * This follows {@link #parse(CharSequence, DateTimeFormatter)}, but returns null
+     * instead of throwing an exception, which is faster when validating input that is often invalid.
+     *
+     * @param text  the text to parse, not null
+     * @param formatter  the formatter to use, not null
+     * @return the parsed local date, null if the text cannot be parsed
+     */
+    public static LocalDate parseOrNull(CharSequence text, DateTimeFormatter formatter) {
+        Jdk8Methods.requireNonNull(formatter, "formatter");
+        return formatter.parseOrNull(text, LocalDate.FROM);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Creates a local date from the year, month and day fields.
@@ -1493,6 +1570,41 @@ public final class LocalDate
         return Period.of(Jdk8Methods.safeToInt(years), months, days);
     }
 
+    /**
+     * Returns the series of dates from this date up to the end date, exclusive,
+     * stepping by one day.
+     * <p>
+     * The series is empty if the end date is equal to this date.
+     *
+     * @param endExclusive  the end date, exclusive, not null
+     * @return the series of dates, not null
+     * @throws IllegalArgumentException if the end date is before this date
+     */
+    public LocalDateSeries datesUntil(LocalDate endExclusive) {
+        return LocalDateSeries.of(this, endExclusive, Period.ofDays(1));
+    }
+
+    /**
+     * Returns the series of dates from this date up to the end date, exclusive,
+     * stepping by the specified period.
+     * <p>
+     * Element {@code n} of the series is equal to
+     * {@code plusMonths(step.toTotalMonths() * n).plusDays(step.getDays() * n)}.
+     * The series stops before reaching or passing the end date.
+     * A negative step produces a series of descending dates.
+     * For example, the last day of each month of 2012 is obtained by
+     * {@code LocalDate.of(2012, 1, 31).datesUntil(LocalDate.of(2013, 1, 1), Period.ofMonths(1))}.
+     *
+     * @param endExclusive  the end date, exclusive, not null
+     * @param step  the step between dates, not null
+     * @return the series of dates, not null
+     * @throws IllegalArgumentException if the step is zero, or has months and days of opposite sign,
+     *  or if the end date cannot be reached from this date by the step
+     */
+    public LocalDateSeries datesUntil(LocalDate endExclusive, Period step) {
+        return LocalDateSeries.of(this, endExclusive, step);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Combines this date with a time to create a {@code LocalDateTime}.
@@ -1632,6 +1744,21 @@ public final class LocalDate
     //-----------------------------------------------------------------------
     @Override
     public long toEpochDay() {
+        return toEpochDay(year, month, day);
+    }
+
+    /**
+     * Converts a valid year, month and day-of-month to an epoch-day.
+     * <p>
+     * This is the arithmetic of {@link #toEpochDay()} without the object,
+     * shared with the bulk conversions in {@link DateTimeColumns}.
+     *
+     * @param year  the year, validated
+     * @param month  the month-of-year, validated
+     * @param day  the day-of-month, validated
+     * @return the Epoch Day equivalent to the date
+     */
+    static long toEpochDay(int year, int month, int day) {
         long y = year;
         long m = month;
         long total = 0;
@@ -1645,7 +1772,7 @@ public final class LocalDate
         total += day - 1;
         if (m > 2) {
             total--;
-            if (isLeapYear() == false) {
+            if (IsoChronology.INSTANCE.isLeapYear(year) == false) {
                 total--;
             }
         }
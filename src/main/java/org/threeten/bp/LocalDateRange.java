@@ -0,0 +1,481 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import java.io.InvalidObjectException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.threeten.bp.jdk8.Jdk8Methods;
+import org.threeten.bp.temporal.ChronoUnit;
+import org.threeten.bp.temporal.UnsupportedTemporalTypeException;
+import org.threeten.bp.temporal.WeekFields;
+
+/**
+ * A range of dates, from a start date inclusive to an end date exclusive.
+ * <p>
+ * A range can be divided into partitions aligned to the days, weeks, months or years
+ * of the calendar, such as the calendar months touched by the range.
+ * The first and last partition are cut short where the range does not cover a whole unit.
+ * The number of partitions is computed without iterating, and a range can be divided
+ * in two at the partition boundary nearest its middle. This allows a large range to be
+ * split recursively into balanced pieces of work, for example by a fork-join task.
+ * <p>
+ * The start and end are held as {@code LocalDate}, thus the range is within the range
+ * of {@code LocalDate}. A range whose start is equal to its end is empty.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is immutable and thread-safe.
+ */
+public final class LocalDateRange implements Serializable {
+
+    /**
+     * Serialization version.
+     */
+    private static final long serialVersionUID = 3358656715467L;
+
+    /**
+     * The start date, inclusive.
+     */
+    private final LocalDate start;
+    /**
+     * The end date, exclusive.
+     */
+    private final LocalDate end;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Obtains a range from a start date, inclusive, to an end date, exclusive.
+     *
+     * @param startInclusive  the start date, inclusive, not null
+     * @param endExclusive  the end date, exclusive, not null
+     * @return the range, not null
+     * @throws DateTimeException if the end is before the start
+     */
+    public static LocalDateRange of(LocalDate startInclusive, LocalDate endExclusive) {
+        Jdk8Methods.requireNonNull(startInclusive, "startInclusive");
+        Jdk8Methods.requireNonNull(endExclusive, "endExclusive");
+        if (endExclusive.isBefore(startInclusive)) {
+            throw new DateTimeException("End date must not be before start date: " + startInclusive + "/" + endExclusive);
+        }
+        return new LocalDateRange(startInclusive, endExclusive);
+    }
+
+    /**
+     * Obtains a range from a start date, inclusive, and a period.
+     *
+     * @param startInclusive  the start date, inclusive, not null
+     * @param period  the period to add to the start to obtain the end, not null
+     * @return the range, not null
+     * @throws DateTimeException if the end is before the start or out of range
+     */
+    public static LocalDateRange of(LocalDate startInclusive, Period period) {
+        Jdk8Methods.requireNonNull(startInclusive, "startInclusive");
+        Jdk8Methods.requireNonNull(period, "period");
+        return of(startInclusive, startInclusive.plus(period));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param start  the start date, inclusive, validated
+     * @param end  the end date, exclusive, validated
+     */
+    private LocalDateRange(LocalDate start, LocalDate end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Validate the range read from a stream.
+     *
+     * @return the valid range, not null
+     * @throws InvalidObjectException if invalid
+     */
+    private Object readResolve() throws InvalidObjectException {
+        try {
+            return LocalDateRange.of(start, end);
+        } catch (NullPointerException ex) {
+            throw new InvalidObjectException("Invalid LocalDateRange: " + ex.getMessage());
+        } catch (DateTimeException ex) {
+            throw new InvalidObjectException("Invalid LocalDateRange: " + ex.getMessage());
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the start of the range, inclusive.
+     *
+     * @return the start date, not null
+     */
+    public LocalDate getStart() {
+        return start;
+    }
+
+    /**
+     * Gets the end of the range, exclusive.
+     *
+     * @return the end date, not null
+     */
+    public LocalDate getEnd() {
+        return end;
+    }
+
+    /**
+     * Checks if the range is empty.
+     *
+     * @return true if the start is equal to the end
+     */
+    public boolean isEmpty() {
+        return start.equals(end);
+    }
+
+    /**
+     * Gets the number of days in the range.
+     *
+     * @return the number of days, zero or greater
+     */
+    public long lengthInDays() {
+        return end.toEpochDay() - start.toEpochDay();
+    }
+
+    /**
+     * Gets the period from the start to the end of the range.
+     *
+     * @return the period, as per {@link LocalDate#until(org.threeten.bp.chrono.ChronoLocalDate)}, not null
+     */
+    public Period toPeriod() {
+        return start.until(end);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Checks if the range contains a date.
+     *
+     * @param date  the date to check, not null
+     * @return true if the date is on or after the start and before the end
+     */
+    public boolean contains(LocalDate date) {
+        Jdk8Methods.requireNonNull(date, "date");
+        return start.compareTo(date) <= 0 && date.compareTo(end) < 0;
+    }
+
+    /**
+     * Checks if this range is connected to another range.
+     * <p>
+     * Two ranges are connected if they overlap or abut, in which case they
+     * have an intersection, which may be empty.
+     *
+     * @param other  the other range, not null
+     * @return true if the ranges are connected
+     */
+    public boolean isConnected(LocalDateRange other) {
+        Jdk8Methods.requireNonNull(other, "other");
+        return start.compareTo(other.end) <= 0 && other.start.compareTo(end) <= 0;
+    }
+
+    /**
+     * Checks if this range overlaps another range.
+     * <p>
+     * Two ranges overlap if they have at least one date in common,
+     * or if they are equal.
+     *
+     * @param other  the other range, not null
+     * @return true if the ranges overlap
+     */
+    public boolean overlaps(LocalDateRange other) {
+        Jdk8Methods.requireNonNull(other, "other");
+        return equals(other) || (start.compareTo(other.end) < 0 && other.start.compareTo(end) < 0);
+    }
+
+    /**
+     * Calculates the range of dates that are in both this range and another range.
+     *
+     * @param other  the other range, not null
+     * @return the intersection, which may be empty, not null
+     * @throws DateTimeException if the ranges are not connected
+     */
+    public LocalDateRange intersection(LocalDateRange other) {
+        if (isConnected(other) == false) {
+            throw new DateTimeException("Ranges are not connected: " + this + " and " + other);
+        }
+        LocalDate newStart = (start.compareTo(other.start) >= 0 ? start : other.start);
+        LocalDate newEnd = (end.compareTo(other.end) <= 0 ? end : other.end);
+        return new LocalDateRange(newStart, newEnd);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the number of partitions of the range by a unit.
+     * <p>
+     * This is the number of days, ISO weeks, months or years that contain
+     * at least one date of the range. Weeks start on Monday.
+     * It is calculated without iterating the partitions.
+     *
+     * @param unit  the unit, one of DAYS, WEEKS, MONTHS or YEARS, not null
+     * @return the number of partitions, zero if the range is empty
+     * @throws UnsupportedTemporalTypeException if the unit is not supported
+     */
+    public long size(ChronoUnit unit) {
+        return size(unit, DayOfWeek.MONDAY);
+    }
+
+    /**
+     * Gets the number of weeks of the range, as defined by the week rules.
+     * <p>
+     * This is the number of weeks that contain at least one date of the range,
+     * where each week starts on the first day-of-week of the rules.
+     *
+     * @param weekFields  the week rules, not null
+     * @return the number of weeks, zero if the range is empty
+     */
+    public long size(WeekFields weekFields) {
+        Jdk8Methods.requireNonNull(weekFields, "weekFields");
+        return size(ChronoUnit.WEEKS, weekFields.getFirstDayOfWeek());
+    }
+
+    /**
+     * Splits the range into partitions aligned to a unit.
+     * <p>
+     * Each partition is a day, ISO week, month or year of the calendar, cut short to
+     * the range where necessary. Weeks start on Monday. The partitions are in order,
+     * connected and not overlapping, and together form this range.
+     * For example, splitting 2012-01-15 to 2012-03-10 by months returns
+     * 2012-01-15 to 2012-02-01, 2012-02-01 to 2012-03-01 and 2012-03-01 to 2012-03-10.
+     *
+     * @param unit  the unit, one of DAYS, WEEKS, MONTHS or YEARS, not null
+     * @return the partitions, empty if the range is empty, not null
+     * @throws UnsupportedTemporalTypeException if the unit is not supported
+     * @throws ArithmeticException if there are more than {@code Integer.MAX_VALUE} partitions
+     */
+    public List<LocalDateRange> split(ChronoUnit unit) {
+        return split(unit, DayOfWeek.MONDAY);
+    }
+
+    /**
+     * Splits the range into weeks, as defined by the week rules.
+     * <p>
+     * Each partition is a week starting on the first day-of-week of the rules,
+     * cut short to the range where necessary.
+     *
+     * @param weekFields  the week rules, not null
+     * @return the partitions, empty if the range is empty, not null
+     * @throws ArithmeticException if there are more than {@code Integer.MAX_VALUE} partitions
+     */
+    public List<LocalDateRange> split(WeekFields weekFields) {
+        Jdk8Methods.requireNonNull(weekFields, "weekFields");
+        return split(ChronoUnit.WEEKS, weekFields.getFirstDayOfWeek());
+    }
+
+    /**
+     * Divides the range in two at the boundary of a unit.
+     * <p>
+     * The boundary is chosen such that each half contains half of the partitions
+     * counted by {@link #size(ChronoUnit)}, with the second half containing the extra
+     * partition if the number is odd. Weeks start on Monday.
+     * If the range has fewer than two partitions it cannot be divided, and a list
+     * containing only this range is returned.
+     *
+     * @param unit  the unit, one of DAYS, WEEKS, MONTHS or YEARS, not null
+     * @return the two halves in order, or this range alone, not null
+     * @throws UnsupportedTemporalTypeException if the unit is not supported
+     */
+    public List<LocalDateRange> bisect(ChronoUnit unit) {
+        return bisect(unit, DayOfWeek.MONDAY);
+    }
+
+    /**
+     * Divides the range in two at the boundary of a week, as defined by the week rules.
+     * <p>
+     * This is equivalent to {@link #bisect(ChronoUnit)} with weeks that start on the
+     * first day-of-week of the rules.
+     *
+     * @param weekFields  the week rules, not null
+     * @return the two halves in order, or this range alone, not null
+     */
+    public List<LocalDateRange> bisect(WeekFields weekFields) {
+        Jdk8Methods.requireNonNull(weekFields, "weekFields");
+        return bisect(ChronoUnit.WEEKS, weekFields.getFirstDayOfWeek());
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the number of partitions of the range.
+     *
+     * @param unit  the unit, not null
+     * @param firstDayOfWeek  the first day of each week, not null
+     * @return the number of partitions, zero if the range is empty
+     */
+    private long size(ChronoUnit unit, DayOfWeek firstDayOfWeek) {
+        Jdk8Methods.requireNonNull(unit, "unit");
+        long first = partitionIndex(start, unit, firstDayOfWeek);
+        if (isEmpty()) {
+            return 0;
+        }
+        return partitionIndex(end.minusDays(1), unit, firstDayOfWeek) - first + 1;
+    }
+
+    /**
+     * Splits the range into partitions.
+     *
+     * @param unit  the unit, not null
+     * @param firstDayOfWeek  the first day of each week, not null
+     * @return the partitions, not null
+     */
+    private List<LocalDateRange> split(ChronoUnit unit, DayOfWeek firstDayOfWeek) {
+        int size = Jdk8Methods.safeToInt(size(unit, firstDayOfWeek));
+        List<LocalDateRange> list = new ArrayList<LocalDateRange>(size);
+        long index = partitionIndex(start, unit, firstDayOfWeek);
+        LocalDate partitionStart = start;
+        for (int i = 1; i < size; i++) {
+            LocalDate partitionEnd = partitionStart(index + i, unit, firstDayOfWeek);
+            list.add(new LocalDateRange(partitionStart, partitionEnd));
+            partitionStart = partitionEnd;
+        }
+        if (size > 0) {
+            list.add(new LocalDateRange(partitionStart, end));
+        }
+        return list;
+    }
+
+    /**
+     * Divides the range in two at a partition boundary.
+     *
+     * @param unit  the unit, not null
+     * @param firstDayOfWeek  the first day of each week, not null
+     * @return the two halves in order, or this range alone, not null
+     */
+    private List<LocalDateRange> bisect(ChronoUnit unit, DayOfWeek firstDayOfWeek) {
+        long size = size(unit, firstDayOfWeek);
+        if (size < 2) {
+            return Collections.singletonList(this);
+        }
+        long index = partitionIndex(start, unit, firstDayOfWeek) + size / 2;
+        LocalDate middle = partitionStart(index, unit, firstDayOfWeek);
+        return Arrays.asList(new LocalDateRange(start, middle), new LocalDateRange(middle, end));
+    }
+
+    /**
+     * Gets the index of the partition containing a date, counting from an arbitrary origin.
+     *
+     * @param date  the date, not null
+     * @param unit  the unit, not null
+     * @param firstDayOfWeek  the first day of each week, not null
+     * @return the index of the partition
+     * @throws UnsupportedTemporalTypeException if the unit is not supported
+     */
+    private static long partitionIndex(LocalDate date, ChronoUnit unit, DayOfWeek firstDayOfWeek) {
+        switch (unit) {
+            case DAYS:
+                return date.toEpochDay();
+            case WEEKS:
+                // 1970-01-01 was a Thursday
+                return Jdk8Methods.floorDiv(date.toEpochDay() + 4 - firstDayOfWeek.getValue(), 7);
+            case MONTHS:
+                return date.getYear() * 12L + date.getMonthValue() - 1;
+            case YEARS:
+                return date.getYear();
+            default:
+                throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+        }
+    }
+
+    /**
+     * Gets the first date of a partition.
+     *
+     * @param index  the index of the partition, as per {@link #partitionIndex}
+     * @param unit  the unit, not null
+     * @param firstDayOfWeek  the first day of each week, not null
+     * @return the first date of the partition, not null
+     */
+    private static LocalDate partitionStart(long index, ChronoUnit unit, DayOfWeek firstDayOfWeek) {
+        switch (unit) {
+            case DAYS:
+                return LocalDate.ofEpochDay(index);
+            case WEEKS:
+                return LocalDate.ofEpochDay(index * 7 - 4 + firstDayOfWeek.getValue());
+            case MONTHS:
+                return LocalDate.of((int) Jdk8Methods.floorDiv(index, 12), Jdk8Methods.floorMod(index, 12) + 1, 1);
+            default:
+                return LocalDate.of((int) index, 1, 1);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Checks if this range is equal to another range.
+     * <p>
+     * Compares this {@code LocalDateRange} with another ensuring that the start and end are the same.
+     * Only objects of type {@code LocalDateRange} are compared, other types return false.
+     *
+     * @param obj  the object to check, null returns false
+     * @return true if this is equal to the other range
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof LocalDateRange) {
+            LocalDateRange other = (LocalDateRange) obj;
+            return start.equals(other.start) && end.equals(other.end);
+        }
+        return false;
+    }
+
+    /**
+     * A hash code for this range.
+     *
+     * @return a suitable hash code
+     */
+    @Override
+    public int hashCode() {
+        return start.hashCode() ^ end.hashCode();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Outputs this range as a {@code String}, such as {@code 2012-01-15/2012-03-10}.
+     * <p>
+     * The output is in the ISO-8601 format of an interval.
+     *
+     * @return a string representation of this range, not null
+     */
+    @Override
+    public String toString() {
+        return start + "/" + end;
+    }
+
+}
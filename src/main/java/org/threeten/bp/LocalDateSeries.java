@@ -0,0 +1,478 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.threeten.bp.temporal.ChronoField.EPOCH_DAY;
+import static org.threeten.bp.temporal.ChronoField.YEAR;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.threeten.bp.chrono.IsoChronology;
+import org.threeten.bp.jdk8.Jdk8Methods;
+
+/**
+ * A sequence of dates separated by a fixed period, such as every day in a month or
+ * the last day of every quarter.
+ * <p>
+ * Element {@code n} of the series is the start date plus the months of the step
+ * multiplied by {@code n}, plus the days of the step multiplied by {@code n}.
+ * Adding the months clamps the day-of-month from the start date, thus a monthly
+ * series starting on the 31st contains the last day of each shorter month without
+ * drifting to an earlier day in the months that follow.
+ * <p>
+ * The elements are computed incrementally as the series is iterated.
+ * Where possible the year, month and day are carried forward from one element to the
+ * next rather than being derived from an epoch-day for every element.
+ * {@link #epochDayIterator()} iterates the elements as epoch-days without creating
+ * a {@code LocalDate} per element.
+ * <p>
+ * Instances are obtained from {@link LocalDate#datesUntil(LocalDate)} and
+ * {@link LocalDate#datesUntil(LocalDate, Period)}.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is immutable and thread-safe.
+ * The iterators are mutable and not thread-safe.
+ */
+public final class LocalDateSeries implements Iterable<LocalDate> {
+
+    /**
+     * The minimum proleptic-month, in January of the minimum year.
+     */
+    private static final long MIN_PROLEPTIC_MONTH = YEAR.range().getMinimum() * 12L;
+    /**
+     * The maximum proleptic-month, in December of the maximum year.
+     */
+    private static final long MAX_PROLEPTIC_MONTH = YEAR.range().getMaximum() * 12L + 11;
+
+    /**
+     * The first date.
+     */
+    private final LocalDate start;
+    /**
+     * The end date, exclusive, null if the series is defined by a count.
+     */
+    private final LocalDate endExclusive;
+    /**
+     * The step.
+     */
+    private final Period step;
+    /**
+     * The total months of the step.
+     */
+    private final long months;
+    /**
+     * The days of the step.
+     */
+    private final long days;
+    /**
+     * The number of elements.
+     */
+    private final long size;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Obtains a series of dates from a start date up to an end date.
+     *
+     * @param start  the first date, not null
+     * @param endExclusive  the end date, exclusive, not null
+     * @param step  the step between dates, not null
+     * @return the series, not null
+     * @throws IllegalArgumentException if the step is zero, or has months and days of opposite sign,
+     *  or if the end date cannot be reached from the start by the step
+     */
+    static LocalDateSeries of(LocalDate start, LocalDate endExclusive, Period step) {
+        Jdk8Methods.requireNonNull(endExclusive, "endExclusive");
+        Jdk8Methods.requireNonNull(step, "step");
+        if (step.isZero()) {
+            throw new IllegalArgumentException("Step must not be zero");
+        }
+        long months = step.toTotalMonths();
+        long days = step.getDays();
+        if ((months < 0 && days > 0) || (months > 0 && days < 0)) {
+            throw new IllegalArgumentException("Step must not have months and days of opposite sign: " + step);
+        }
+        long until = endExclusive.toEpochDay() - start.toEpochDay();
+        int sign = (months > 0 || days > 0 ? 1 : -1);
+        if (until != 0 && (until > 0) != (sign > 0)) {
+            throw new IllegalArgumentException("End date " + endExclusive +
+                    " cannot be reached from " + start + " by the step " + step);
+        }
+        LocalDateSeries series = new LocalDateSeries(start, endExclusive, step, 0);
+        long size;
+        if (until == 0) {
+            size = 0;
+        } else if (months == 0) {
+            size = (until - sign) / days + 1;
+        } else {
+            // estimate using the mean month length of 48699 / 1600 days,
+            // which may be up to two elements too high, but never too low
+            long last = until * 1600 / (months * 48699 + days * 1600) + 1;
+            while (series.isBeforeEnd(last) == false) {
+                last--;
+            }
+            size = last + 1;
+        }
+        return new LocalDateSeries(start, endExclusive, step, size);
+    }
+
+    /**
+     * Obtains a series of dates with the specified number of elements.
+     * <p>
+     * The step is not validated, thus the series may have mixed signs or a zero step.
+     *
+     * @param start  the first date, not null
+     * @param step  the step between dates, not null
+     * @param size  the number of elements, zero or greater
+     * @return the series, not null
+     */
+    static LocalDateSeries ofSize(LocalDate start, Period step, long size) {
+        return new LocalDateSeries(start, null, step, size);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param start  the first date, not null
+     * @param endExclusive  the end date, exclusive, null if defined by a count
+     * @param step  the step between dates, not null
+     * @param size  the number of elements, zero or greater
+     */
+    private LocalDateSeries(LocalDate start, LocalDate endExclusive, Period step, long size) {
+        this.start = start;
+        this.endExclusive = endExclusive;
+        this.step = step;
+        this.months = step.toTotalMonths();
+        this.days = step.getDays();
+        this.size = size;
+    }
+
+    /**
+     * Checks if an element is before the end date, in the direction of the step.
+     *
+     * @param index  the index of the element, zero or greater
+     * @return true if the element exists and is before the end date
+     */
+    private boolean isBeforeEnd(long index) {
+        long prolepticMonth = prolepticMonth(start) + months * index;
+        if (prolepticMonth < MIN_PROLEPTIC_MONTH || prolepticMonth > MAX_PROLEPTIC_MONTH) {
+            return false;
+        }
+        long epochDay = epochDayAt(index);
+        long end = endExclusive.toEpochDay();
+        return (months > 0 || days > 0 ? epochDay < end : epochDay > end);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the first date of the series.
+     * <p>
+     * The first date is returned even if the series is empty.
+     *
+     * @return the start date, not null
+     */
+    public LocalDate getStart() {
+        return start;
+    }
+
+    /**
+     * Gets the end date of the series, exclusive.
+     *
+     * @return the end date, not null
+     */
+    public LocalDate getEndExclusive() {
+        return endExclusive;
+    }
+
+    /**
+     * Gets the step between the dates.
+     *
+     * @return the step, not null
+     */
+    public Period getStep() {
+        return step;
+    }
+
+    /**
+     * Gets the number of dates in the series.
+     *
+     * @return the number of dates, zero or greater
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Gets the date at the specified index.
+     * <p>
+     * This computes the date directly, without iterating the earlier elements.
+     *
+     * @param index  the index, from zero to {@code size() - 1}
+     * @return the date, not null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public LocalDate get(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid index " + index + " for size " + size);
+        }
+        return LocalDate.ofEpochDay(epochDayAt(index));
+    }
+
+    /**
+     * Computes the epoch-day of an element.
+     *
+     * @param index  the index of the element
+     * @return the epoch-day
+     * @throws DateTimeException if the element is outside the supported range
+     */
+    long epochDayAt(long index) {
+        if (months == 0) {
+            return start.toEpochDay() + days * index;
+        }
+        long prolepticMonth = prolepticMonth(start) + months * index;
+        int year = YEAR.checkValidIntValue(Jdk8Methods.floorDiv(prolepticMonth, 12));
+        int month = Jdk8Methods.floorMod(prolepticMonth, 12) + 1;
+        int day = Math.min(start.getDayOfMonth(), lengthOfMonth(year, month));
+        return LocalDate.toEpochDay(year, month, day) + days * index;
+    }
+
+    /**
+     * Gets the proleptic-month of a date, counting months from year zero.
+     *
+     * @param date  the date, not null
+     * @return the proleptic-month
+     */
+    private static long prolepticMonth(LocalDate date) {
+        return date.getYear() * 12L + date.getMonthValue() - 1;
+    }
+
+    /**
+     * Gets the length of a month.
+     *
+     * @param year  the year, validated
+     * @param month  the month-of-year, validated
+     * @return the length of the month, from 28 to 31
+     */
+    private static int lengthOfMonth(int year, int month) {
+        return Month.of(month).length(IsoChronology.INSTANCE.isLeapYear(year));
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Returns an iterator over the dates of the series.
+     *
+     * @return the iterator, not null
+     */
+    public Iterator<LocalDate> iterator() {
+        return new DateIterator();
+    }
+
+    /**
+     * Returns an iterator over the dates of the series as epoch-days.
+     * <p>
+     * No {@code LocalDate} is created per element.
+     *
+     * @return the iterator, not null
+     */
+    public EpochDayIterator epochDayIterator() {
+        return new EpochDayIterator();
+    }
+
+    /**
+     * Copies the dates of the series to a new vector.
+     *
+     * @return the vector, not null
+     * @throws ArithmeticException if the series has more than {@code Integer.MAX_VALUE} elements
+     */
+    public LocalDateVector toVector() {
+        LocalDateVector vector = LocalDateVector.allocate(Jdk8Methods.safeToInt(size));
+        EpochDayIterator it = epochDayIterator();
+        for (int i = 0; it.hasNext(); i++) {
+            vector.setEpochDay(i, it.next());
+        }
+        return vector;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Outputs the series as a {@code String}, such as {@code 2012-01-31/2012-12-31/P1M}.
+     *
+     * @return a string representation of the series, not null
+     */
+    @Override
+    public String toString() {
+        return start + "/" + endExclusive + "/" + step;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * An iterator over the dates of a series as epoch-days.
+     * <p>
+     * This class is mutable and not thread-safe.
+     */
+    public final class EpochDayIterator {
+        /**
+         * The index of the next element.
+         */
+        private long index;
+        /**
+         * The proleptic-month of the next element, before adding the days.
+         */
+        private long prolepticMonth = prolepticMonth(start);
+
+        /**
+         * Restricted constructor.
+         */
+        private EpochDayIterator() {
+        }
+
+        /**
+         * Checks if there is another date in the series.
+         *
+         * @return true if {@link #next()} will return a date
+         */
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        /**
+         * Returns the epoch-day of the next date in the series.
+         *
+         * @return the epoch-day
+         * @throws NoSuchElementException if there are no more dates
+         * @throws DateTimeException if the date is outside the supported range
+         */
+        public long next() {
+            if (index >= size) {
+                throw new NoSuchElementException();
+            }
+            long n = index++;
+            if (months == 0) {
+                return EPOCH_DAY.checkValidValue(start.toEpochDay() + days * n);
+            }
+            int year = YEAR.checkValidIntValue(Jdk8Methods.floorDiv(prolepticMonth, 12));
+            int month = Jdk8Methods.floorMod(prolepticMonth, 12) + 1;
+            int day = Math.min(start.getDayOfMonth(), lengthOfMonth(year, month));
+            prolepticMonth += months;
+            return EPOCH_DAY.checkValidValue(LocalDate.toEpochDay(year, month, day) + days * n);
+        }
+    }
+
+    /**
+     * An iterator over the dates of a series.
+     */
+    private final class DateIterator implements Iterator<LocalDate> {
+        /**
+         * The index of the next element.
+         */
+        private long index;
+        /**
+         * The year of the next element, when carried forward.
+         */
+        private int year = start.getYear();
+        /**
+         * The month-of-year of the next element, when carried forward.
+         */
+        private int month = start.getMonthValue();
+        /**
+         * The day-of-month of the next element, when carried forward.
+         */
+        private int day = start.getDayOfMonth();
+        /**
+         * Whether the date is carried forward day by day, true if the step is
+         * a small number of days, such that it never skips a whole month.
+         */
+        private final boolean carryDays = (months == 0 && days >= -28 && days <= 28);
+
+        /**
+         * Constructor.
+         */
+        DateIterator() {
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public LocalDate next() {
+            if (index >= size) {
+                throw new NoSuchElementException();
+            }
+            long n = index++;
+            if (carryDays) {
+                LocalDate date = LocalDate.of(year, month, day);
+                carry();
+                return date;
+            }
+            if (months == 0) {
+                return LocalDate.ofEpochDay(start.toEpochDay() + days * n);
+            }
+            long prolepticMonth = prolepticMonth(start) + months * n;
+            int y = YEAR.checkValidIntValue(Jdk8Methods.floorDiv(prolepticMonth, 12));
+            int m = Jdk8Methods.floorMod(prolepticMonth, 12) + 1;
+            int d = Math.min(start.getDayOfMonth(), lengthOfMonth(y, m));
+            if (days == 0) {
+                return LocalDate.of(y, m, d);
+            }
+            return LocalDate.ofEpochDay(LocalDate.toEpochDay(y, m, d) + days * n);
+        }
+
+        /**
+         * Carries the year, month and day forward by the days of the step.
+         * The fields may leave the valid range of year after the last element.
+         */
+        private void carry() {
+            day += days;
+            if (day > 28 && day > lengthOfMonth(year, month)) {
+                day -= lengthOfMonth(year, month);
+                if (++month > 12) {
+                    month = 1;
+                    year++;
+                }
+            } else if (day < 1) {
+                if (--month < 1) {
+                    month = 12;
+                    year--;
+                }
+                day += lengthOfMonth(year, month);
+            }
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Series are immutable");
+        }
+    }
+
+}
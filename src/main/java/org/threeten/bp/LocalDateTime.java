@@ -444,6 +444,36 @@ public final class LocalDateTime
         return formatter.parse(text, LocalDateTime.FROM);
     }
 
+    /**
+     * Obtains an instance of {@code LocalDateTime} from a text string such as {@code 2007-12-23T10:15:30},
+     * returning null if the text cannot be parsed.
+     * <p>
+     * This follows {@link #parse(CharSequence)}, but returns null instead of throwing
+     * an exception, which is faster when validating input that is often invalid.
+     *
+     * @param text  the text to parse such as "2007-12-23T10:15:30", not null
+     * @return the parsed local date-time, null if the text cannot be parsed
+     */
+    public static LocalDateTime parseOrNull(CharSequence text) {
+        return DateTimeFormatter.ISO_LOCAL_DATE_TIME.parseOrNull(text, LocalDateTime.FROM);
+    }
+
+    /**
+     * Obtains an instance of {@code LocalDateTime} from a text string using a specific formatter,
+     * returning null if the text cannot be parsed.
+     * <p>
+     * This follows {@link #parse(CharSequence, DateTimeFormatter)}, but returns null
+     * instead of throwing an exception, which is faster when validating input that is often invalid.
+     *
+     * @param text  the text to parse, not null
+     * @param formatter  the formatter to use, not null
+     * @return the parsed local date-time, null if the text cannot be parsed
+     */
+    public static LocalDateTime parseOrNull(CharSequence text, DateTimeFormatter formatter) {
+        Jdk8Methods.requireNonNull(formatter, "formatter");
+        return formatter.parseOrNull(text, LocalDateTime.FROM);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Constructor.
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.threeten.bp.temporal.ChronoField.EPOCH_DAY;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+import org.threeten.bp.jdk8.Jdk8Methods;
+import org.threeten.bp.temporal.ChronoField;
+import org.threeten.bp.temporal.UnsupportedTemporalTypeException;
+
+/**
+ * A fixed-size column of dates, stored as epoch-days.
+ * <p>
+ * Each element is a {@code long} epoch-day, as per {@link LocalDate#toEpochDay()}.
+ * The elements are held in a {@link LongBuffer}, which may wrap a {@code long[]}
+ * or be a view of a direct {@code ByteBuffer}.
+ * The bulk operations apply the arithmetic of {@code LocalDate} to every
+ * element without creating a {@code LocalDate} per element.
+ * <p>
+ * The bulk operations store their results in a vector of at least the same size,
+ * which may be this vector.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is mutable and not thread-safe.
+ */
+public final class LocalDateVector {
+
+    /**
+     * The epoch-days, indexed from zero.
+     */
+    private final LongBuffer epochDays;
+    /**
+     * The number of elements.
+     */
+    private final int size;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Obtains a vector backed by a new array, with every element set to 1970-01-01.
+     *
+     * @param size  the number of elements, zero or greater
+     * @return the vector, not null
+     * @throws IllegalArgumentException if the size is negative
+     */
+    public static LocalDateVector allocate(int size) {
+        checkSize(size);
+        return new LocalDateVector(LongBuffer.allocate(size));
+    }
+
+    /**
+     * Obtains a vector backed by a new direct buffer, with every element set to 1970-01-01.
+     * <p>
+     * The buffer uses the native byte order.
+     *
+     * @param size  the number of elements, zero or greater
+     * @return the vector, not null
+     * @throws IllegalArgumentException if the size is negative
+     */
+    public static LocalDateVector allocateDirect(int size) {
+        checkSize(size);
+        return new LocalDateVector(ByteBuffer.allocateDirect(size * 8).order(ByteOrder.nativeOrder()).asLongBuffer());
+    }
+
+    /**
+     * Obtains a vector backed by an array of epoch-days.
+     * <p>
+     * Changes to the array are visible in the vector and vice versa.
+     *
+     * @param epochDays  the epoch-days, not null
+     * @return the vector, not null
+     */
+    public static LocalDateVector wrap(long[] epochDays) {
+        return new LocalDateVector(LongBuffer.wrap(epochDays));
+    }
+
+    /**
+     * Obtains a vector backed by a buffer of epoch-days.
+     * <p>
+     * The vector contains the elements between the position and the limit of the buffer.
+     * Changes to the buffer content are visible in the vector and vice versa.
+     * A direct {@code ByteBuffer} can be wrapped using {@link ByteBuffer#asLongBuffer()}.
+     *
+     * @param epochDays  the epoch-days, not null
+     * @return the vector, not null
+     */
+    public static LocalDateVector wrap(LongBuffer epochDays) {
+        Jdk8Methods.requireNonNull(epochDays, "epochDays");
+        return new LocalDateVector(epochDays.slice());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param epochDays  the epoch-days, indexed from zero, not null
+     */
+    private LocalDateVector(LongBuffer epochDays) {
+        this.epochDays = epochDays;
+        this.size = epochDays.limit();
+    }
+
+    /**
+     * Checks a requested size.
+     *
+     * @param size  the size to check
+     * @throws IllegalArgumentException if the size is negative
+     */
+    static void checkSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must not be negative: " + size);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the number of elements.
+     *
+     * @return the size, zero or greater
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the epoch-day of an element.
+     *
+     * @param index  the index of the element
+     * @return the epoch-day
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public long getEpochDay(int index) {
+        return epochDays.get(index);
+    }
+
+    /**
+     * Sets the epoch-day of an element.
+     *
+     * @param index  the index of the element
+     * @param epochDay  the epoch-day, from the epoch-day of {@code LocalDate.MIN} to that of {@code LocalDate.MAX}
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws DateTimeException if the epoch-day is invalid
+     */
+    public void setEpochDay(int index, long epochDay) {
+        epochDays.put(index, EPOCH_DAY.checkValidValue(epochDay));
+    }
+
+    /**
+     * Gets an element as a date.
+     *
+     * @param index  the index of the element
+     * @return the date, not null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws DateTimeException if the stored epoch-day is invalid
+     */
+    public LocalDate get(int index) {
+        return LocalDate.ofEpochDay(epochDays.get(index));
+    }
+
+    /**
+     * Sets an element to a date.
+     *
+     * @param index  the index of the element
+     * @param date  the date to store, not null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public void set(int index, LocalDate date) {
+        epochDays.put(index, date.toEpochDay());
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Adds days to every element, as per {@link LocalDate#plusDays(long)}.
+     *
+     * @param daysToAdd  the days to add, may be negative
+     * @param result  the vector to store the results in, may be this vector, not null
+     * @return the result vector, not null
+     * @throws IndexOutOfBoundsException if the result vector is too small
+     * @throws DateTimeException if a result exceeds the supported date range
+     */
+    public LocalDateVector plusDays(long daysToAdd, LocalDateVector result) {
+        LongBuffer results = checkResult(result).epochDays;
+        for (int i = 0; i < size; i++) {
+            results.put(i, DateTimeColumns.plusDays(epochDays.get(i), daysToAdd));
+        }
+        return result;
+    }
+
+    /**
+     * Adds months to every element, as per {@link LocalDate#plusMonths(long)}.
+     * <p>
+     * A day-of-month that is invalid in the resulting month is adjusted
+     * to the last valid day-of-month.
+     *
+     * @param monthsToAdd  the months to add, may be negative
+     * @param result  the vector to store the results in, may be this vector, not null
+     * @return the result vector, not null
+     * @throws IndexOutOfBoundsException if the result vector is too small
+     * @throws DateTimeException if a result exceeds the supported date range
+     */
+    public LocalDateVector plusMonths(long monthsToAdd, LocalDateVector result) {
+        LongBuffer results = checkResult(result).epochDays;
+        for (int i = 0; i < size; i++) {
+            results.put(i, DateTimeColumns.plusMonths(epochDays.get(i), monthsToAdd));
+        }
+        return result;
+    }
+
+    /**
+     * Checks that a result vector can hold the elements of this vector.
+     *
+     * @param result  the result vector, not null
+     * @return the result vector, not null
+     * @throws IndexOutOfBoundsException if the result vector is too small
+     */
+    private LocalDateVector checkResult(LocalDateVector result) {
+        Jdk8Methods.requireNonNull(result, "result");
+        if (result.size < size) {
+            throw new IndexOutOfBoundsException("Result size " + result.size + " is less than " + size);
+        }
+        return result;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the value of a field for every element.
+     * <p>
+     * The values are the same as those of {@link LocalDate#get(org.threeten.bp.temporal.TemporalField)}.
+     * The year, month, day-of-month, day-of-week and day-of-year are calculated
+     * directly from the epoch-day.
+     *
+     * @param field  the date-based field to get, not null
+     * @param values  the array to store the values in, not null
+     * @throws IndexOutOfBoundsException if the array is too short
+     * @throws UnsupportedTemporalTypeException if the field is not date-based
+     * @throws DateTimeException if a value cannot be obtained
+     */
+    public void get(ChronoField field, int[] values) {
+        Jdk8Methods.requireNonNull(field, "field");
+        if (field.isDateBased() == false) {
+            throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+        }
+        DateTimeColumns.checkLength(size, values);
+        for (int i = 0; i < size; i++) {
+            values[i] = DateTimeColumns.dateField(field, epochDays.get(i));
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Compares an element to a date.
+     *
+     * @param index  the index of the element
+     * @param other  the date to compare to, not null
+     * @return negative if the element is before the date, positive if after, zero if equal
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public int compare(int index, LocalDate other) {
+        return Jdk8Methods.compareLongs(epochDays.get(index), other.toEpochDay());
+    }
+
+    /**
+     * Finds the elements within a range of dates.
+     * <p>
+     * The indices of the elements on or after the start and before the end
+     * are stored in ascending order at the start of the array.
+     *
+     * @param startInclusive  the start of the range, inclusive, not null
+     * @param endExclusive  the end of the range, exclusive, not null
+     * @param indices  the array to store the indices in, at least as long as this vector, not null
+     * @return the number of indices stored
+     * @throws IndexOutOfBoundsException if the array is too short
+     */
+    public int indicesInRange(LocalDate startInclusive, LocalDate endExclusive, int[] indices) {
+        long start = startInclusive.toEpochDay();
+        long end = endExclusive.toEpochDay();
+        DateTimeColumns.checkLength(size, indices);
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            long epochDay = epochDays.get(i);
+            if (epochDay >= start && epochDay < end) {
+                indices[count++] = i;
+            }
+        }
+        return count;
+    }
+
+}
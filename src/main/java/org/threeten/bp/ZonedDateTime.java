@@ -417,8 +417,7 @@ public final class ZonedDateTime
      */
     private static ZonedDateTime create(long epochSecond, int nanoOfSecond, ZoneId zone) {
         ZoneRules rules = zone.getRules();
-        Instant instant = Instant.ofEpochSecond(epochSecond, nanoOfSecond);  // TODO: rules should be queryable by epochSeconds
-        ZoneOffset offset = rules.getOffset(instant);
+        ZoneOffset offset = rules.getOffset(epochSecond);
         LocalDateTime ldt = LocalDateTime.ofEpochSecond(epochSecond, nanoOfSecond, offset);
         return new ZonedDateTime(ldt, offset, zone);
     }
@@ -478,7 +477,7 @@ public final class ZonedDateTime
      * @param zone  the time-zone, not null
      * @return the zoned date-time, not null
      */
-    private static ZonedDateTime ofLenient(LocalDateTime localDateTime, ZoneOffset offset, ZoneId zone) {
+    static ZonedDateTime ofLenient(LocalDateTime localDateTime, ZoneOffset offset, ZoneId zone) {
         Jdk8Methods.requireNonNull(localDateTime, "localDateTime");
         Jdk8Methods.requireNonNull(offset, "offset");
         Jdk8Methods.requireNonNull(zone, "zone");
@@ -583,6 +582,9 @@ public final class ZonedDateTime
      * @return the zoned date-time, not null
      */
     private ZonedDateTime resolveLocal(LocalDateTime newDateTime) {
+        if (isOffsetRetained(newDateTime)) {
+            return new ZonedDateTime(newDateTime, offset, zone);
+        }
         return ofLocal(newDateTime, zone, offset);
     }
 
@@ -593,9 +595,33 @@ public final class ZonedDateTime
      * @return the zoned date-time, not null
      */
     private ZonedDateTime resolveInstant(LocalDateTime newDateTime) {
+        if (isOffsetRetained(newDateTime)) {
+            return new ZonedDateTime(newDateTime, offset, zone);
+        }
         return ofInstant(newDateTime, offset, zone);
     }
 
+    /**
+     * Checks if the offset of this date-time applies to the new local date-time.
+     * <p>
+     * If the offset applies at the instant formed by the new local date-time and the offset,
+     * then the offset is valid for the new local date-time. Both {@link #resolveLocal}
+     * and {@link #resolveInstant} then produce the new local date-time with the same offset,
+     * without searching for the valid offsets or converting the instant back.
+     * The check uses the epoch second query of the rules, which for most zones
+     * is a lookup in a precomputed table.
+     *
+     * @param newDateTime  the new local date-time, not null
+     * @return true if the new local date-time is valid with the offset of this date-time
+     */
+    private boolean isOffsetRetained(LocalDateTime newDateTime) {
+        if (zone instanceof ZoneOffset) {
+            return true;
+        }
+        ZoneRules rules = zone.getRules();
+        return offset.equals(rules.getOffset(newDateTime.toEpochSecond(offset)));
+    }
+
     /**
      * Resolves the offset into this zoned date-time.
      * <p>
@@ -1643,6 +1669,45 @@ public final class ZonedDateTime
         return resolveInstant(dateTime.plusNanos(nanos));
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Returns the series of date-times starting at this date-time, stepping by a duration.
+     * <p>
+     * Element {@code n} of the series is equal to {@code plus(step.multipliedBy(n))}.
+     * The step operates on the instant time-line, thus a series stepping by one hour
+     * contains each hour of elapsed time, including both hours of an overlap.
+     * <p>
+     * This instance is immutable and unaffected by this method call.
+     *
+     * @param step  the step between date-times, may be negative, not null
+     * @param count  the number of date-times, zero or greater
+     * @return the series of date-times, not null
+     * @throws IllegalArgumentException if the count is negative
+     */
+    public ZonedDateTimeSeries series(Duration step, int count) {
+        return ZonedDateTimeSeries.of(this, step, count);
+    }
+
+    /**
+     * Returns the series of date-times starting at this date-time, stepping by a period.
+     * <p>
+     * Element {@code n} of the series is the local date-time of this date-time plus
+     * {@code step.multipliedBy(n)}, resolved as per {@link #ofLocal(LocalDateTime, ZoneId, ZoneOffset)}
+     * with the offset of this date-time as the preferred offset.
+     * The step operates on the local time-line, thus a series stepping by one day
+     * keeps the local time of this date-time where it is valid.
+     * <p>
+     * This instance is immutable and unaffected by this method call.
+     *
+     * @param step  the step between date-times, may be negative, not null
+     * @param count  the number of date-times, zero or greater
+     * @return the series of date-times, not null
+     * @throws IllegalArgumentException if the count is negative
+     */
+    public ZonedDateTimeSeries series(Period step, int count) {
+        return ZonedDateTimeSeries.of(this, step, count);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Returns a copy of this date-time with the specified period subtracted.
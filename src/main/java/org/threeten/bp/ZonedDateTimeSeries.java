@@ -0,0 +1,555 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.threeten.bp.LocalTime.NANOS_PER_SECOND;
+import static org.threeten.bp.LocalTime.SECONDS_PER_DAY;
+import static org.threeten.bp.temporal.ChronoField.EPOCH_DAY;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.threeten.bp.jdk8.Jdk8Methods;
+import org.threeten.bp.temporal.TemporalAmount;
+import org.threeten.bp.zone.ZoneOffsetTransition;
+import org.threeten.bp.zone.ZoneRules;
+
+/**
+ * A sequence of zoned date-times separated by a fixed step, such as every fifteen
+ * minutes of a day or the same local time on every day of a month.
+ * <p>
+ * The step is either a {@link Duration} or a {@link Period}.
+ * Element {@code n} of a series stepping by a duration is
+ * {@code start.plus(step.multipliedBy(n))}, which is on the instant time-line.
+ * Element {@code n} of a series stepping by a period is the local date-time of the start
+ * plus {@code step.multipliedBy(n)}, resolved using
+ * {@link ZonedDateTime#ofLocal(LocalDateTime, ZoneId, ZoneOffset)} with the offset of the start
+ * as the preferred offset. That is the same as {@code start.plus(step.multipliedBy(n))}
+ * unless adding the months alone would land in a gap.
+ * <p>
+ * The elements are computed incrementally as the series is iterated.
+ * The offset found for one element is known to be valid up to the next transition
+ * of the rules, thus the rules are only searched again when an element passes that transition.
+ * {@link #epochSecondIterator()} iterates the elements as epoch-seconds without creating
+ * a {@code ZonedDateTime} per element.
+ * <p>
+ * Instances are obtained from {@link ZonedDateTime#series(Duration, int)} and
+ * {@link ZonedDateTime#series(Period, int)}.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is immutable and thread-safe.
+ * The iterators are mutable and not thread-safe.
+ */
+public final class ZonedDateTimeSeries implements Iterable<ZonedDateTime> {
+
+    /**
+     * The first date-time.
+     */
+    private final ZonedDateTime start;
+    /**
+     * The step, null if the step is a period.
+     */
+    private final Duration duration;
+    /**
+     * The step, null if the step is a duration.
+     */
+    private final Period period;
+    /**
+     * The number of elements.
+     */
+    private final int size;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Obtains a series stepping by a duration.
+     *
+     * @param start  the first date-time, not null
+     * @param step  the step between date-times, not null
+     * @param count  the number of elements, zero or greater
+     * @return the series, not null
+     * @throws IllegalArgumentException if the count is negative
+     */
+    static ZonedDateTimeSeries of(ZonedDateTime start, Duration step, int count) {
+        Jdk8Methods.requireNonNull(step, "step");
+        checkCount(count);
+        return new ZonedDateTimeSeries(start, step, null, count);
+    }
+
+    /**
+     * Obtains a series stepping by a period.
+     *
+     * @param start  the first date-time, not null
+     * @param step  the step between date-times, not null
+     * @param count  the number of elements, zero or greater
+     * @return the series, not null
+     * @throws IllegalArgumentException if the count is negative
+     */
+    static ZonedDateTimeSeries of(ZonedDateTime start, Period step, int count) {
+        Jdk8Methods.requireNonNull(step, "step");
+        checkCount(count);
+        return new ZonedDateTimeSeries(start, null, step, count);
+    }
+
+    /**
+     * Checks a requested count.
+     *
+     * @param count  the count to check
+     * @throws IllegalArgumentException if the count is negative
+     */
+    private static void checkCount(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative: " + count);
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param start  the first date-time, not null
+     * @param duration  the step, null if the step is a period
+     * @param period  the step, null if the step is a duration
+     * @param size  the number of elements, zero or greater
+     */
+    private ZonedDateTimeSeries(ZonedDateTime start, Duration duration, Period period, int size) {
+        this.start = start;
+        this.duration = duration;
+        this.period = period;
+        this.size = size;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the first date-time of the series.
+     * <p>
+     * The first date-time is returned even if the series is empty.
+     *
+     * @return the start date-time, not null
+     */
+    public ZonedDateTime getStart() {
+        return start;
+    }
+
+    /**
+     * Gets the step between the date-times.
+     *
+     * @return the step, a {@code Duration} or a {@code Period}, not null
+     */
+    public TemporalAmount getStep() {
+        return (duration != null ? duration : period);
+    }
+
+    /**
+     * Gets the number of date-times in the series.
+     *
+     * @return the number of date-times, zero or greater
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the date-time at the specified index.
+     * <p>
+     * This computes the date-time directly, without iterating the earlier elements.
+     *
+     * @param index  the index, from zero to {@code size() - 1}
+     * @return the date-time, not null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws DateTimeException if the date-time is outside the supported range
+     */
+    public ZonedDateTime get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid index " + index + " for size " + size);
+        }
+        if (duration != null) {
+            return start.plus(duration.multipliedBy(index));
+        }
+        return resolveLocal(start.toLocalDateTime().plus(period.multipliedBy(index)));
+    }
+
+    /**
+     * Resolves a local date-time, preferring the offset of the start.
+     *
+     * @param localDateTime  the local date-time, not null
+     * @return the zoned date-time, not null
+     */
+    private ZonedDateTime resolveLocal(LocalDateTime localDateTime) {
+        return ZonedDateTime.ofLocal(localDateTime, start.getZone(), start.getOffset());
+    }
+
+    /**
+     * Checks if the series moves forward along the time-line.
+     *
+     * @return true if the step is zero or positive
+     */
+    private boolean isForward() {
+        if (duration != null) {
+            return duration.isNegative() == false;
+        }
+        long months = period.toTotalMonths();
+        return months > 0 || (months == 0 && period.getDays() >= 0);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Returns an iterator over the date-times of the series.
+     *
+     * @return the iterator, not null
+     */
+    public Iterator<ZonedDateTime> iterator() {
+        return new DateTimeIterator();
+    }
+
+    /**
+     * Returns an iterator over the date-times of the series as epoch-seconds.
+     * <p>
+     * No {@code ZonedDateTime} is created per element, except where a local date-time
+     * falls in a gap or overlap of the zone rules.
+     * The iterator throws an exception at the same element as {@link #iterator()}
+     * if the series passes the range of {@code LocalDateTime}.
+     *
+     * @return the iterator, not null
+     */
+    public EpochSecondIterator epochSecondIterator() {
+        return new EpochSecondIterator();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Outputs the series as a {@code String}, such as
+     * {@code 2012-03-25T00:00+01:00[Europe/Paris]/PT15M/#96}.
+     *
+     * @return a string representation of the series, not null
+     */
+    @Override
+    public String toString() {
+        return start + "/" + getStep() + "/#" + size;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * An iterator over the date-times of a series as epoch-seconds.
+     * <p>
+     * Each call to {@link #next()} returns the epoch-second of the next element,
+     * after which {@link #getNano()} and {@link #getOffset()} describe the same element.
+     * <p>
+     * This class is mutable and not thread-safe.
+     */
+    public final class EpochSecondIterator {
+        /**
+         * The source of offsets.
+         */
+        private final OffsetCache offsets = new OffsetCache(start.getZone().getRules(), isForward());
+        /**
+         * The epoch-days of the local dates, null if the step is a duration.
+         */
+        private final LocalDateSeries.EpochDayIterator epochDays =
+                (period != null ? LocalDateSeries.ofSize(start.toLocalDate(), period, size).epochDayIterator() : null);
+        /**
+         * The index of the next element.
+         */
+        private int index;
+        /**
+         * The epoch-second of the next element, if the step is a duration.
+         */
+        private long nextSecond = start.toEpochSecond();
+        /**
+         * The nano-of-second of the next element, if the step is a duration.
+         */
+        private int nextNano = start.getNano();
+        /**
+         * The nano-of-second of the current element.
+         */
+        private int nano;
+        /**
+         * The offset of the current element.
+         */
+        private ZoneOffset offset;
+
+        /**
+         * Restricted constructor.
+         */
+        private EpochSecondIterator() {
+        }
+
+        /**
+         * Checks if there is another date-time in the series.
+         *
+         * @return true if {@link #next()} will return a date-time
+         */
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        /**
+         * Returns the epoch-second of the next date-time in the series.
+         *
+         * @return the epoch-second
+         * @throws NoSuchElementException if there are no more date-times
+         * @throws DateTimeException if the date-time is outside the supported range
+         */
+        public long next() {
+            if (index >= size) {
+                throw new NoSuchElementException();
+            }
+            int n = index++;
+            if (period != null) {
+                return nextByPeriod(n);
+            }
+            long second = nextSecond;
+            nano = nextNano;
+            offset = (n == 0 ? start.getOffset() : offsets.getOffset(second));
+            // the same check as creating the local date of the element
+            EPOCH_DAY.checkValidValue(Jdk8Methods.floorDiv(second + offset.getTotalSeconds(), SECONDS_PER_DAY));
+            if (index < size) {
+                nextSecond = Jdk8Methods.safeAdd(nextSecond, duration.getSeconds());
+                nextNano += duration.getNano();
+                if (nextNano >= NANOS_PER_SECOND) {
+                    nextNano -= NANOS_PER_SECOND;
+                    nextSecond = Jdk8Methods.safeAdd(nextSecond, 1);
+                }
+            }
+            return second;
+        }
+
+        /**
+         * Computes the next element of a series stepping by a period.
+         *
+         * @param n  the index of the element
+         * @return the epoch-second
+         */
+        private long nextByPeriod(int n) {
+            long epochDay = epochDays.next();
+            ZoneOffset startOffset = start.getOffset();
+            long second = epochDay * SECONDS_PER_DAY + start.toLocalTime().toSecondOfDay() - startOffset.getTotalSeconds();
+            if (n == 0 || offsets.getOffset(second).equals(startOffset)) {
+                nano = start.getNano();
+                offset = startOffset;
+                return second;
+            }
+            ZonedDateTime resolved = resolveLocal(LocalDateTime.of(LocalDate.ofEpochDay(epochDay), start.toLocalTime()));
+            nano = resolved.getNano();
+            offset = resolved.getOffset();
+            return resolved.toEpochSecond();
+        }
+
+        /**
+         * Gets the nano-of-second of the element last returned by {@link #next()}.
+         *
+         * @return the nano-of-second, from 0 to 999,999,999
+         */
+        public int getNano() {
+            return nano;
+        }
+
+        /**
+         * Gets the offset of the element last returned by {@link #next()}.
+         *
+         * @return the offset, null if {@code next()} has not been called
+         */
+        public ZoneOffset getOffset() {
+            return offset;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * An iterator over the date-times of a series.
+     */
+    private final class DateTimeIterator implements Iterator<ZonedDateTime> {
+        /**
+         * The source of offsets.
+         */
+        private final OffsetCache offsets = new OffsetCache(start.getZone().getRules(), isForward());
+        /**
+         * The local dates, null if the step is a duration.
+         */
+        private final Iterator<LocalDate> dates =
+                (period != null ? LocalDateSeries.ofSize(start.toLocalDate(), period, size).iterator() : null);
+        /**
+         * The index of the next element.
+         */
+        private int index;
+        /**
+         * The epoch-second of the next element, if the step is a duration.
+         */
+        private long nextSecond = start.toEpochSecond();
+        /**
+         * The nano-of-second of the next element, if the step is a duration.
+         */
+        private int nextNano = start.getNano();
+        /**
+         * The local date of the previous element, if the step is a duration.
+         */
+        private LocalDate date = start.toLocalDate();
+
+        /**
+         * Constructor.
+         */
+        DateTimeIterator() {
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public ZonedDateTime next() {
+            if (index >= size) {
+                throw new NoSuchElementException();
+            }
+            int n = index++;
+            if (period != null) {
+                return nextByPeriod(n);
+            }
+            ZonedDateTime result;
+            if (n == 0) {
+                result = start;
+            } else {
+                ZoneOffset offset = offsets.getOffset(nextSecond);
+                long localSecond = nextSecond + offset.getTotalSeconds();
+                long epochDay = Jdk8Methods.floorDiv(localSecond, SECONDS_PER_DAY);
+                if (epochDay != date.toEpochDay()) {
+                    date = LocalDate.ofEpochDay(epochDay);
+                }
+                long secondOfDay = Jdk8Methods.floorMod(localSecond, SECONDS_PER_DAY);
+                LocalTime time = LocalTime.ofNanoOfDay(secondOfDay * NANOS_PER_SECOND + nextNano);
+                result = ZonedDateTime.ofLenient(LocalDateTime.of(date, time), offset, start.getZone());
+            }
+            if (index < size) {
+                nextSecond = Jdk8Methods.safeAdd(nextSecond, duration.getSeconds());
+                nextNano += duration.getNano();
+                if (nextNano >= NANOS_PER_SECOND) {
+                    nextNano -= NANOS_PER_SECOND;
+                    nextSecond = Jdk8Methods.safeAdd(nextSecond, 1);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Computes the next element of a series stepping by a period.
+         *
+         * @param n  the index of the element
+         * @return the date-time, not null
+         */
+        private ZonedDateTime nextByPeriod(int n) {
+            LocalDate localDate = dates.next();
+            if (n == 0) {
+                return start;
+            }
+            ZoneOffset startOffset = start.getOffset();
+            LocalDateTime localDateTime = LocalDateTime.of(localDate, start.toLocalTime());
+            long second = localDate.toEpochDay() * SECONDS_PER_DAY + start.toLocalTime().toSecondOfDay() - startOffset.getTotalSeconds();
+            if (offsets.getOffset(second).equals(startOffset)) {
+                return ZonedDateTime.ofLenient(localDateTime, startOffset, start.getZone());
+            }
+            return resolveLocal(localDateTime);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Series are immutable");
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A cache of the offset that applies over an interval of the time-line.
+     * <p>
+     * Each lookup records the interval around the queried instant in which the offset
+     * cannot change, extending from the queried instant to the neighbouring transition
+     * in the direction of the series. Later lookups in that interval return the offset
+     * without consulting the rules.
+     */
+    private static final class OffsetCache {
+        /**
+         * The rules.
+         */
+        private final ZoneRules rules;
+        /**
+         * Whether the lookups move forward along the time-line.
+         */
+        private final boolean forward;
+        /**
+         * The cached offset.
+         */
+        private ZoneOffset offset;
+        /**
+         * The epoch-second from which the offset applies, inclusive.
+         */
+        private long validFrom = Long.MAX_VALUE;
+        /**
+         * The epoch-second up to which the offset applies, exclusive.
+         */
+        private long validUntil = Long.MIN_VALUE;
+
+        /**
+         * Constructor.
+         *
+         * @param rules  the rules, not null
+         * @param forward  true if the lookups move forward along the time-line
+         */
+        OffsetCache(ZoneRules rules, boolean forward) {
+            this.rules = rules;
+            this.forward = forward;
+        }
+
+        /**
+         * Gets the offset at an instant.
+         *
+         * @param epochSecond  the epoch-second of the instant
+         * @return the offset, not null
+         */
+        ZoneOffset getOffset(long epochSecond) {
+            if (epochSecond >= validFrom && epochSecond < validUntil) {
+                return offset;
+            }
+            offset = rules.getOffset(epochSecond);
+            if (rules.isFixedOffset()) {
+                validFrom = Long.MIN_VALUE;
+                validUntil = Long.MAX_VALUE;
+            } else if (forward) {
+                ZoneOffsetTransition trans = rules.nextTransition(Instant.ofEpochSecond(epochSecond));
+                validFrom = epochSecond;
+                validUntil = (trans != null ? trans.toEpochSecond() : Long.MAX_VALUE);
+            } else {
+                ZoneOffsetTransition trans = rules.previousTransition(Instant.ofEpochSecond(epochSecond + 1));
+                validFrom = (trans != null ? trans.toEpochSecond() : Long.MIN_VALUE);
+                validUntil = epochSecond + 1;
+            }
+            return offset;
+        }
+    }
+
+}
@@ -0,0 +1,505 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.threeten.bp.LocalTime.NANOS_PER_SECOND;
+import static org.threeten.bp.LocalTime.SECONDS_PER_DAY;
+import static org.threeten.bp.temporal.ChronoField.NANO_OF_SECOND;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.threeten.bp.jdk8.Jdk8Methods;
+import org.threeten.bp.temporal.ChronoField;
+import org.threeten.bp.temporal.TemporalUnit;
+import org.threeten.bp.zone.ZoneRules;
+
+/**
+ * A fixed-size column of zoned date-times, stored as epoch-seconds, nanos and zones.
+ * <p>
+ * Each element is a {@code long} epoch-second, an {@code int} nano-of-second and an
+ * {@code int} index into a dictionary of time-zones held by the vector.
+ * The offset of each element is not stored, but derived from the rules of its zone.
+ * The primitive elements are held in buffers, which may wrap arrays or be views
+ * of direct {@code ByteBuffer} instances.
+ * <p>
+ * The bulk operations apply the arithmetic of {@code ZonedDateTime} to every element.
+ * Date-based arithmetic and truncation operate on the local time-line, retaining
+ * the offset where possible, exactly as {@link ZonedDateTime#plusDays(long)} does.
+ * A {@code ZonedDateTime} is only created for an element whose result
+ * falls in a gap or overlap of its zone.
+ * <p>
+ * The bulk operations store their results in a vector of at least the same size,
+ * which may be this vector. Zones are added to the dictionary of the result as needed.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is mutable and not thread-safe.
+ */
+public final class ZonedDateTimeVector {
+
+    /**
+     * Operation adding days.
+     */
+    private static final int PLUS_DAYS = 0;
+    /**
+     * Operation adding months.
+     */
+    private static final int PLUS_MONTHS = 1;
+    /**
+     * Operation truncating the time.
+     */
+    private static final int TRUNCATE = 2;
+
+    /**
+     * The epoch-seconds, indexed from zero.
+     */
+    private final LongBuffer epochSeconds;
+    /**
+     * The nano-of-second values, indexed from zero.
+     */
+    private final IntBuffer nanos;
+    /**
+     * The indices into the zone dictionary, indexed from zero.
+     */
+    private final IntBuffer zoneIndexes;
+    /**
+     * The number of elements.
+     */
+    private final int size;
+    /**
+     * The zone dictionary.
+     */
+    private final List<ZoneId> zones = new ArrayList<ZoneId>();
+    /**
+     * The rules of each zone in the dictionary.
+     */
+    private final List<ZoneRules> rules = new ArrayList<ZoneRules>();
+    /**
+     * The index of each zone in the dictionary.
+     */
+    private final Map<ZoneId, Integer> zoneLookup = new HashMap<ZoneId, Integer>();
+
+    //-----------------------------------------------------------------------
+    /**
+     * Obtains a vector backed by new arrays, with every element set to the
+     * epoch instant in the specified zone.
+     *
+     * @param size  the number of elements, zero or greater
+     * @param zone  the initial time-zone of every element, not null
+     * @return the vector, not null
+     * @throws IllegalArgumentException if the size is negative
+     */
+    public static ZonedDateTimeVector allocate(int size, ZoneId zone) {
+        LocalDateVector.checkSize(size);
+        return new ZonedDateTimeVector(LongBuffer.allocate(size), IntBuffer.allocate(size), IntBuffer.allocate(size),
+                Collections.singletonList(zone));
+    }
+
+    /**
+     * Obtains a vector backed by new direct buffers, with every element set to the
+     * epoch instant in the specified zone.
+     * <p>
+     * The buffers use the native byte order.
+     *
+     * @param size  the number of elements, zero or greater
+     * @param zone  the initial time-zone of every element, not null
+     * @return the vector, not null
+     * @throws IllegalArgumentException if the size is negative
+     */
+    public static ZonedDateTimeVector allocateDirect(int size, ZoneId zone) {
+        LocalDateVector.checkSize(size);
+        return new ZonedDateTimeVector(
+                ByteBuffer.allocateDirect(size * 8).order(ByteOrder.nativeOrder()).asLongBuffer(),
+                ByteBuffer.allocateDirect(size * 4).order(ByteOrder.nativeOrder()).asIntBuffer(),
+                ByteBuffer.allocateDirect(size * 4).order(ByteOrder.nativeOrder()).asIntBuffer(),
+                Collections.singletonList(zone));
+    }
+
+    /**
+     * Obtains a vector backed by arrays of epoch-seconds, nanos and zone indices.
+     * <p>
+     * Changes to the arrays are visible in the vector and vice versa.
+     * Each zone index refers to an element of the list of zones,
+     * which initializes the dictionary of the vector.
+     *
+     * @param epochSeconds  the epoch-seconds, not null
+     * @param nanos  the nano-of-second values, from 0 to 999,999,999, the same length as the seconds, not null
+     * @param zoneIndexes  the indices into the list of zones, the same length as the seconds, not null
+     * @param zones  the distinct zones referred to by the indices, not null
+     * @return the vector, not null
+     * @throws IllegalArgumentException if the arrays differ in length or the zones are not distinct
+     */
+    public static ZonedDateTimeVector wrap(long[] epochSeconds, int[] nanos, int[] zoneIndexes, List<ZoneId> zones) {
+        return wrap(LongBuffer.wrap(epochSeconds), IntBuffer.wrap(nanos), IntBuffer.wrap(zoneIndexes), zones);
+    }
+
+    /**
+     * Obtains a vector backed by buffers of epoch-seconds, nanos and zone indices.
+     * <p>
+     * The vector contains the elements between the position and the limit of each buffer.
+     * Changes to the buffer content are visible in the vector and vice versa.
+     * Each zone index refers to an element of the list of zones,
+     * which initializes the dictionary of the vector.
+     *
+     * @param epochSeconds  the epoch-seconds, not null
+     * @param nanos  the nano-of-second values, from 0 to 999,999,999, the same length as the seconds, not null
+     * @param zoneIndexes  the indices into the list of zones, the same length as the seconds, not null
+     * @param zones  the distinct zones referred to by the indices, not null
+     * @return the vector, not null
+     * @throws IllegalArgumentException if the buffers differ in length or the zones are not distinct
+     */
+    public static ZonedDateTimeVector wrap(LongBuffer epochSeconds, IntBuffer nanos, IntBuffer zoneIndexes, List<ZoneId> zones) {
+        Jdk8Methods.requireNonNull(epochSeconds, "epochSeconds");
+        Jdk8Methods.requireNonNull(nanos, "nanos");
+        Jdk8Methods.requireNonNull(zoneIndexes, "zoneIndexes");
+        Jdk8Methods.requireNonNull(zones, "zones");
+        if (epochSeconds.remaining() != nanos.remaining() || epochSeconds.remaining() != zoneIndexes.remaining()) {
+            throw new IllegalArgumentException("Buffers differ in length: " + epochSeconds.remaining() + ", " +
+                    nanos.remaining() + " and " + zoneIndexes.remaining());
+        }
+        return new ZonedDateTimeVector(epochSeconds.slice(), nanos.slice(), zoneIndexes.slice(), zones);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param epochSeconds  the epoch-seconds, indexed from zero, not null
+     * @param nanos  the nano-of-second values, indexed from zero, not null
+     * @param zoneIndexes  the zone indices, indexed from zero, not null
+     * @param zones  the initial zone dictionary, not null
+     * @throws IllegalArgumentException if the zones are not distinct
+     */
+    private ZonedDateTimeVector(LongBuffer epochSeconds, IntBuffer nanos, IntBuffer zoneIndexes, List<ZoneId> zones) {
+        this.epochSeconds = epochSeconds;
+        this.nanos = nanos;
+        this.zoneIndexes = zoneIndexes;
+        this.size = epochSeconds.limit();
+        for (ZoneId zone : zones) {
+            int expected = this.zones.size();
+            if (zoneIndex(zone) != expected) {
+                throw new IllegalArgumentException("Duplicate zone: " + zone);
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the number of elements.
+     *
+     * @return the size, zero or greater
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the zone dictionary.
+     * <p>
+     * The zone of each element is the entry at its zone index.
+     * Zones are added to the end of the dictionary as they are first stored.
+     *
+     * @return an unmodifiable copy of the zones, not null
+     */
+    public List<ZoneId> getZones() {
+        return Collections.unmodifiableList(new ArrayList<ZoneId>(zones));
+    }
+
+    /**
+     * Gets the epoch-second of an element.
+     *
+     * @param index  the index of the element
+     * @return the epoch-second
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public long getEpochSecond(int index) {
+        return epochSeconds.get(index);
+    }
+
+    /**
+     * Gets the nano-of-second of an element.
+     *
+     * @param index  the index of the element
+     * @return the nano-of-second
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public int getNano(int index) {
+        return nanos.get(index);
+    }
+
+    /**
+     * Gets the time-zone of an element.
+     *
+     * @param index  the index of the element
+     * @return the time-zone, not null
+     * @throws IndexOutOfBoundsException if the index or the stored zone index is invalid
+     */
+    public ZoneId getZone(int index) {
+        return zones.get(zoneIndexes.get(index));
+    }
+
+    /**
+     * Gets an element as a zoned date-time.
+     *
+     * @param index  the index of the element
+     * @return the zoned date-time, not null
+     * @throws IndexOutOfBoundsException if the index or the stored zone index is invalid
+     * @throws DateTimeException if the stored instant is invalid
+     */
+    public ZonedDateTime get(int index) {
+        Instant instant = Instant.ofEpochSecond(epochSeconds.get(index), NANO_OF_SECOND.checkValidIntValue(nanos.get(index)));
+        return ZonedDateTime.ofInstant(instant, getZone(index));
+    }
+
+    /**
+     * Sets an element to a zoned date-time.
+     * <p>
+     * The zone is added to the dictionary if not already present.
+     *
+     * @param index  the index of the element
+     * @param dateTime  the zoned date-time to store, not null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public void set(int index, ZonedDateTime dateTime) {
+        int zoneIndex = zoneIndex(dateTime.getZone());
+        epochSeconds.put(index, dateTime.toEpochSecond());
+        nanos.put(index, dateTime.getNano());
+        zoneIndexes.put(index, zoneIndex);
+    }
+
+    /**
+     * Finds a zone in the dictionary, adding it if necessary.
+     *
+     * @param zone  the zone to find, not null
+     * @return the index of the zone
+     */
+    private int zoneIndex(ZoneId zone) {
+        Integer index = zoneLookup.get(Jdk8Methods.requireNonNull(zone, "zone"));
+        if (index == null) {
+            index = zones.size();
+            zones.add(zone);
+            rules.add(zone.getRules());
+            zoneLookup.put(zone, index);
+        }
+        return index;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Adds days to every element, as per {@link ZonedDateTime#plusDays(long)}.
+     *
+     * @param daysToAdd  the days to add, may be negative
+     * @param result  the vector to store the results in, may be this vector, not null
+     * @return the result vector, not null
+     * @throws IndexOutOfBoundsException if the result vector is too small
+     * @throws DateTimeException if a result exceeds the supported date range
+     */
+    public ZonedDateTimeVector plusDays(long daysToAdd, ZonedDateTimeVector result) {
+        return adjustLocal(PLUS_DAYS, daysToAdd, result);
+    }
+
+    /**
+     * Adds months to every element, as per {@link ZonedDateTime#plusMonths(long)}.
+     *
+     * @param monthsToAdd  the months to add, may be negative
+     * @param result  the vector to store the results in, may be this vector, not null
+     * @return the result vector, not null
+     * @throws IndexOutOfBoundsException if the result vector is too small
+     * @throws DateTimeException if a result exceeds the supported date range
+     */
+    public ZonedDateTimeVector plusMonths(long monthsToAdd, ZonedDateTimeVector result) {
+        return adjustLocal(PLUS_MONTHS, monthsToAdd, result);
+    }
+
+    /**
+     * Truncates every element to a unit, as per {@link ZonedDateTime#truncatedTo(TemporalUnit)}.
+     *
+     * @param unit  the unit to truncate to, not null
+     * @param result  the vector to store the results in, may be this vector, not null
+     * @return the result vector, not null
+     * @throws IndexOutOfBoundsException if the result vector is too small
+     * @throws DateTimeException if the unit is invalid for truncation
+     */
+    public ZonedDateTimeVector truncatedTo(TemporalUnit unit, ZonedDateTimeVector result) {
+        return adjustLocal(TRUNCATE, DateTimeColumns.truncationNanos(Jdk8Methods.requireNonNull(unit, "unit")), result);
+    }
+
+    /**
+     * Adjusts every element on the local time-line, resolving the result with
+     * the offset of the element as the preferred offset.
+     *
+     * @param operation  the operation, PLUS_DAYS, PLUS_MONTHS or TRUNCATE
+     * @param amount  the days or months to add, or the length of the truncation unit in nanoseconds
+     * @param result  the vector to store the results in, not null
+     * @return the result vector, not null
+     */
+    private ZonedDateTimeVector adjustLocal(int operation, long amount, ZonedDateTimeVector result) {
+        Jdk8Methods.requireNonNull(result, "result");
+        if (result.size < size) {
+            throw new IndexOutOfBoundsException("Result size " + result.size + " is less than " + size);
+        }
+        int[] zoneMap = new int[zones.size()];
+        for (int i = 0; i < zoneMap.length; i++) {
+            zoneMap[i] = result.zoneIndex(zones.get(i));
+        }
+        for (int i = 0; i < size; i++) {
+            int zoneIndex = zoneIndexes.get(i);
+            ZoneRules zoneRules = rules.get(zoneIndex);
+            long epochSecond = epochSeconds.get(i);
+            int nano = nanos.get(i);
+            int offset = offsetSeconds(zoneRules, epochSecond);
+            long localSecond = epochSecond + offset;
+            long epochDay = Jdk8Methods.floorDiv(localSecond, SECONDS_PER_DAY);
+            long secondOfDay = Jdk8Methods.floorMod(localSecond, SECONDS_PER_DAY);
+            switch (operation) {
+                case PLUS_DAYS:
+                    epochDay = DateTimeColumns.plusDays(epochDay, amount);
+                    break;
+                case PLUS_MONTHS:
+                    epochDay = DateTimeColumns.plusMonths(epochDay, amount);
+                    break;
+                default: {
+                    long nanoOfDay = secondOfDay * NANOS_PER_SECOND + nano;
+                    nanoOfDay = (nanoOfDay / amount) * amount;
+                    secondOfDay = nanoOfDay / NANOS_PER_SECOND;
+                    nano = (int) (nanoOfDay % NANOS_PER_SECOND);
+                }
+            }
+            localSecond = epochDay * SECONDS_PER_DAY + secondOfDay;
+            epochSecond = localSecond - offset;
+            if (offset != offsetSeconds(zoneRules, epochSecond)) {
+                epochSecond = resolveLocal(zones.get(zoneIndex), localSecond, nano, offset);
+            }
+            result.epochSeconds.put(i, epochSecond);
+            result.nanos.put(i, nano);
+            result.zoneIndexes.put(i, zoneMap[zoneIndex]);
+        }
+        return result;
+    }
+
+    /**
+     * Resolves a local date-time in a gap or overlap, as per
+     * {@link ZonedDateTime#ofLocal(LocalDateTime, ZoneId, ZoneOffset)}.
+     *
+     * @param zone  the time-zone, not null
+     * @param localSecond  the local epoch-second
+     * @param nano  the nano-of-second
+     * @param preferredOffset  the preferred offset in seconds
+     * @return the epoch-second of the resolved date-time
+     */
+    private static long resolveLocal(ZoneId zone, long localSecond, int nano, int preferredOffset) {
+        LocalDateTime localDateTime = LocalDateTime.ofEpochSecond(localSecond, nano, ZoneOffset.UTC);
+        return ZonedDateTime.ofLocal(localDateTime, zone, ZoneOffset.ofTotalSeconds(preferredOffset)).toEpochSecond();
+    }
+
+    /**
+     * Gets the offset applicable at an epoch-second.
+     *
+     * @param zoneRules  the rules of the zone, not null
+     * @param epochSecond  the epoch-second
+     * @return the offset in seconds
+     */
+    private static int offsetSeconds(ZoneRules zoneRules, long epochSecond) {
+        return zoneRules.getOffset(epochSecond).getTotalSeconds();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the value of a field for every element.
+     * <p>
+     * The values are the same as those of {@link ZonedDateTime#get(org.threeten.bp.temporal.TemporalField)}.
+     * The common date and time fields are calculated directly from the local epoch-second.
+     *
+     * @param field  the field to get, not null
+     * @param values  the array to store the values in, not null
+     * @throws IndexOutOfBoundsException if the array is too short
+     * @throws DateTimeException if a value cannot be obtained
+     */
+    public void get(ChronoField field, int[] values) {
+        Jdk8Methods.requireNonNull(field, "field");
+        if (field == ChronoField.INSTANT_SECONDS) {
+            throw new DateTimeException("Field too large for an int: " + field);
+        }
+        DateTimeColumns.checkLength(size, values);
+        for (int i = 0; i < size; i++) {
+            long epochSecond = epochSeconds.get(i);
+            int offset = offsetSeconds(rules.get(zoneIndexes.get(i)), epochSecond);
+            long localSecond = epochSecond + offset;
+            if (field == ChronoField.OFFSET_SECONDS) {
+                values[i] = offset;
+            } else if (field.isDateBased()) {
+                values[i] = DateTimeColumns.dateField(field, Jdk8Methods.floorDiv(localSecond, SECONDS_PER_DAY));
+            } else {
+                long nanoOfDay = Jdk8Methods.floorMod(localSecond, SECONDS_PER_DAY) * NANOS_PER_SECOND;
+                values[i] = DateTimeColumns.timeField(field, nanoOfDay + NANO_OF_SECOND.checkValidIntValue(nanos.get(i)));
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Compares the instant of an element to the instant of a zoned date-time.
+     * <p>
+     * This is the comparison of {@link ZonedDateTime#isBefore} and {@link ZonedDateTime#isAfter}.
+     *
+     * @param index  the index of the element
+     * @param other  the date-time to compare to, not null
+     * @return negative if the element is before the date-time, positive if after, zero if the same instant
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public int compare(int index, ZonedDateTime other) {
+        return DateTimeCodec.compare(epochSeconds.get(index), nanos.get(index), other.toEpochSecond(), other.getNano());
+    }
+
+    /**
+     * Finds the elements within a range of instants.
+     * <p>
+     * The indices of the elements on or after the start and before the end
+     * are stored in ascending order at the start of the array.
+     *
+     * @param startInclusive  the start of the range, inclusive, not null
+     * @param endExclusive  the end of the range, exclusive, not null
+     * @param indices  the array to store the indices in, at least as long as this vector, not null
+     * @return the number of indices stored
+     * @throws IndexOutOfBoundsException if the array is too short
+     */
+    public int indicesInRange(Instant startInclusive, Instant endExclusive, int[] indices) {
+        return InstantVector.indicesInRange(epochSeconds, nanos, size, startInclusive, endExclusive, indices);
+    }
+
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+import org.threeten.bp.DateTimeException;
+
+/**
+ * A view of a region of ASCII bytes as a sequence of characters.
+ * <p>
+ * Each byte is treated as a character in the ISO-8859-1 encoding.
+ * This allows date-time text to be parsed without decoding it into a string.
+ * The static {@code encode} methods perform the reverse, allowing formatted
+ * text to be written as US-ASCII bytes without encoding a string.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is mutable if the underlying buffer is mutable.
+ * It is only intended for use during a single parse.
+ */
+final class AsciiCharSequence implements CharSequence {
+
+    /**
+     * The array containing the bytes, null if held in a buffer.
+     */
+    private final byte[] array;
+    /**
+     * The buffer containing the bytes, null if held in an array.
+     */
+    private final ByteBuffer buffer;
+    /**
+     * The index of the first byte in the array or buffer.
+     */
+    private final int start;
+    /**
+     * The number of bytes.
+     */
+    private final int length;
+
+    /**
+     * Constructor for an array.
+     *
+     * @param array  the array containing the bytes, not null
+     * @param start  the index of the first byte, validated
+     * @param length  the number of bytes, validated
+     */
+    AsciiCharSequence(byte[] array, int start, int length) {
+        this.array = array;
+        this.buffer = null;
+        this.start = start;
+        this.length = length;
+    }
+
+    /**
+     * Constructor for a buffer.
+     *
+     * @param buffer  the buffer containing the bytes, not null
+     * @param start  the index of the first byte, validated
+     * @param length  the number of bytes, validated
+     */
+    AsciiCharSequence(ByteBuffer buffer, int start, int length) {
+        this.array = null;
+        this.buffer = buffer;
+        this.start = start;
+        this.length = length;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        return byteAt(start + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || start > end || end > length) {
+            throw new IndexOutOfBoundsException("Invalid range: " + start + " to " + end);
+        }
+        if (array != null) {
+            return new AsciiCharSequence(array, this.start + start, end - start);
+        }
+        return new AsciiCharSequence(buffer, this.start + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = byteAt(start + i);
+        }
+        return new String(chars);
+    }
+
+    private char byteAt(int index) {
+        return (char) ((array != null ? array[index] : buffer.get(index)) & 0xFF);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Writes the text to the array, one byte per character in the US-ASCII encoding.
+     * <p>
+     * The text and the space available are checked before any byte is written.
+     *
+     * @param text  the text to write from the position to the limit, with an accessible array, not null
+     * @param array  the array to write to, not null
+     * @param offset  the index to write the first byte to, validated
+     * @return the index after the last byte written
+     * @throws DateTimeException if the text contains a character that cannot be encoded
+     * @throws IndexOutOfBoundsException if the array does not have enough space
+     */
+    static int encode(CharBuffer text, byte[] array, int offset) {
+        int length = text.remaining();
+        if (length > array.length - offset) {
+            throw new IndexOutOfBoundsException("Unable to format, " + length + " bytes required but only " +
+                    (array.length - offset) + " available");
+        }
+        char[] chars = text.array();
+        int start = text.arrayOffset() + text.position();
+        checkEncodable(chars, start, length);
+        for (int i = 0; i < length; i++) {
+            array[offset + i] = (byte) chars[start + i];
+        }
+        return offset + length;
+    }
+
+    /**
+     * Writes the text to the buffer, one byte per character in the US-ASCII encoding.
+     * <p>
+     * The text and the space available are checked before any byte is written.
+     * The bytes are written from the position of the buffer, which is advanced.
+     * A buffer without an accessible array, such as a direct buffer, is written
+     * in bulk from the scratch array, which is replaced if too small.
+     *
+     * @param text  the text to write from the position to the limit, with an accessible array, not null
+     * @param buffer  the buffer to write to, not null
+     * @param scratch  the array to use for a buffer without an accessible array, may be null
+     * @throws DateTimeException if the text contains a character that cannot be encoded
+     * @throws BufferOverflowException if the buffer does not have enough space
+     */
+    static void encode(CharBuffer text, ByteBuffer buffer, byte[] scratch) {
+        int length = text.remaining();
+        if (length > buffer.remaining()) {
+            throw new BufferOverflowException();
+        }
+        int position = buffer.position();
+        if (buffer.hasArray()) {
+            encode(text, buffer.array(), buffer.arrayOffset() + position);
+            buffer.position(position + length);
+        } else {
+            byte[] bytes = (scratch != null && scratch.length >= length ? scratch : new byte[length]);
+            encode(text, bytes, 0);
+            buffer.put(bytes, 0, length);
+        }
+    }
+
+    private static void checkEncodable(char[] chars, int start, int length) {
+        int bits = 0;
+        for (int i = 0; i < length; i++) {
+            bits |= chars[start + i];
+        }
+        if (bits > 0x7F) {
+            for (int i = 0; i < length; i++) {
+                if (chars[start + i] > 0x7F) {
+                    throw new DateTimeException("Unable to format as bytes, character '" + chars[start + i] +
+                            "' is not in the US-ASCII encoding: " + new String(chars, start, length));
+                }
+            }
+        }
+    }
+
+}
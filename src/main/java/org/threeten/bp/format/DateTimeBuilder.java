@@ -50,7 +50,6 @@ import static org.threeten.bp.temporal.ChronoField.OFFSET_SECONDS;
 import static org.threeten.bp.temporal.ChronoField.SECOND_OF_DAY;
 import static org.threeten.bp.temporal.ChronoField.SECOND_OF_MINUTE;
 
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -99,7 +98,7 @@ final class DateTimeBuilder
     /**
      * The map of other fields.
      */
-    final Map<TemporalField, Long> fieldValues = new HashMap<TemporalField, Long>();
+    final FieldValueMap fieldValues = new FieldValueMap();
     /**
      * The chronology.
      */
@@ -145,10 +144,6 @@ final class DateTimeBuilder
     }
 
     //-----------------------------------------------------------------------
-    private Long getFieldValue0(TemporalField field) {
-        return fieldValues.get(field);
-    }
-
     /**
      * Adds a field-value pair to the builder.
      * <p>
@@ -165,16 +160,27 @@ final class DateTimeBuilder
      */
     DateTimeBuilder addFieldValue(TemporalField field, long value) {
         Jdk8Methods.requireNonNull(field, "field");
-        Long old = getFieldValue0(field);  // check first for better error message
-        if (old != null && old.longValue() != value) {
-            throw new DateTimeException("Conflict found: " + field + " " + old + " differs from " + field + " " + value + ": " + this);
+        if (fieldValues.contains(field)) {  // check first for better error message
+            long old = fieldValues.getLong(field);
+            if (old != value) {
+                throw new DateTimeException("Conflict found: " + field + " " + old + " differs from " + field + " " + value + ": " + this);
+            }
         }
-        return putFieldValue0(field, value);
+        fieldValues.putLong(field, value);
+        return this;
     }
 
-    private DateTimeBuilder putFieldValue0(TemporalField field, long value) {
-        fieldValues.put(field, value);
-        return this;
+    /**
+     * Clears the builder so that it can be reused.
+     */
+    void clear() {
+        fieldValues.clear();
+        chrono = null;
+        zone = null;
+        date = null;
+        time = null;
+        leapSecond = false;
+        excessDays = null;
     }
 
     //-----------------------------------------------------------------------
@@ -222,6 +228,9 @@ final class DateTimeBuilder
     }
 
     private boolean resolveFields(ResolverStyle resolverStyle) {
+        if (fieldValues.hasOtherFields() == false) {
+            return false;  // a chrono field does not resolve itself
+        }
         int changes = 0;
         outer:
         while (changes < 100) {
@@ -296,8 +305,8 @@ final class DateTimeBuilder
         if (chrono instanceof IsoChronology) {
             checkDate(IsoChronology.INSTANCE.resolveDate(fieldValues, resolverStyle));
         } else {
-            if (fieldValues.containsKey(EPOCH_DAY)) {
-                checkDate(LocalDate.ofEpochDay(fieldValues.remove(EPOCH_DAY)));
+            if (fieldValues.contains(EPOCH_DAY)) {
+                checkDate(LocalDate.ofEpochDay(fieldValues.removeLong(EPOCH_DAY)));
                 return;
             }
         }
@@ -306,19 +315,17 @@ final class DateTimeBuilder
     private void checkDate(LocalDate date) {
         if (date != null) {
             addObject(date);
-            for (TemporalField field : fieldValues.keySet()) {
-                if (field instanceof ChronoField) {
-                    if (field.isDateBased()) {
-                        long val1;
-                        try {
-                            val1 = date.getLong(field);
-                        } catch (DateTimeException ex) {
-                            continue;
-                        }
-                        Long val2 = fieldValues.get(field);
-                        if (val1 != val2) {
-                            throw new DateTimeException("Conflict found: Field " + field + " " + val1 + " differs from " + field + " " + val2 + " derived from " + date);
-                        }
+            for (ChronoField field : FieldValueMap.CHRONO_FIELDS) {
+                if (field.isDateBased() && fieldValues.contains(field)) {
+                    long val1;
+                    try {
+                        val1 = date.getLong(field);
+                    } catch (DateTimeException ex) {
+                        continue;
+                    }
+                    long val2 = fieldValues.getLong(field);
+                    if (val1 != val2) {
+                        throw new DateTimeException("Conflict found: Field " + field + " " + val1 + " differs from " + field + " " + val2 + " derived from " + date);
                     }
                 }
             }
@@ -326,8 +333,8 @@ final class DateTimeBuilder
     }
 
     private void mergeTime(ResolverStyle resolverStyle) {
-        if (fieldValues.containsKey(CLOCK_HOUR_OF_DAY)) {
-            long ch = fieldValues.remove(CLOCK_HOUR_OF_DAY);
+        if (fieldValues.contains(CLOCK_HOUR_OF_DAY)) {
+            long ch = fieldValues.removeLong(CLOCK_HOUR_OF_DAY);
             if (resolverStyle != ResolverStyle.LENIENT) {
                 if (resolverStyle == ResolverStyle.SMART && ch == 0) {
                     // ok
@@ -337,8 +344,8 @@ final class DateTimeBuilder
             }
             addFieldValue(HOUR_OF_DAY, ch == 24 ? 0 : ch);
         }
-        if (fieldValues.containsKey(CLOCK_HOUR_OF_AMPM)) {
-            long ch = fieldValues.remove(CLOCK_HOUR_OF_AMPM);
+        if (fieldValues.contains(CLOCK_HOUR_OF_AMPM)) {
+            long ch = fieldValues.removeLong(CLOCK_HOUR_OF_AMPM);
             if (resolverStyle != ResolverStyle.LENIENT) {
                 if (resolverStyle == ResolverStyle.SMART && ch == 0) {
                     // ok
@@ -349,16 +356,16 @@ final class DateTimeBuilder
             addFieldValue(HOUR_OF_AMPM, ch == 12 ? 0 : ch);
         }
         if (resolverStyle != ResolverStyle.LENIENT) {
-            if (fieldValues.containsKey(AMPM_OF_DAY)) {
-                AMPM_OF_DAY.checkValidValue(fieldValues.get(AMPM_OF_DAY));
+            if (fieldValues.contains(AMPM_OF_DAY)) {
+                AMPM_OF_DAY.checkValidValue(fieldValues.getLong(AMPM_OF_DAY));
             }
-            if (fieldValues.containsKey(HOUR_OF_AMPM)) {
-                HOUR_OF_AMPM.checkValidValue(fieldValues.get(HOUR_OF_AMPM));
+            if (fieldValues.contains(HOUR_OF_AMPM)) {
+                HOUR_OF_AMPM.checkValidValue(fieldValues.getLong(HOUR_OF_AMPM));
             }
         }
-        if (fieldValues.containsKey(AMPM_OF_DAY) && fieldValues.containsKey(HOUR_OF_AMPM)) {
-            long ap = fieldValues.remove(AMPM_OF_DAY);
-            long hap = fieldValues.remove(HOUR_OF_AMPM);
+        if (fieldValues.contains(AMPM_OF_DAY) && fieldValues.contains(HOUR_OF_AMPM)) {
+            long ap = fieldValues.removeLong(AMPM_OF_DAY);
+            long hap = fieldValues.removeLong(HOUR_OF_AMPM);
             addFieldValue(HOUR_OF_DAY, ap * 12 + hap);
         }
 //        if (timeFields.containsKey(HOUR_OF_DAY) && timeFields.containsKey(MINUTE_OF_HOUR)) {
@@ -371,32 +378,32 @@ final class DateTimeBuilder
 //            long som = timeFields.remove(SECOND_OF_MINUTE);
 //            addFieldValue(SECOND_OF_DAY, mod * 60 + som);
 //        }
-        if (fieldValues.containsKey(NANO_OF_DAY)) {
-            long nod = fieldValues.remove(NANO_OF_DAY);
+        if (fieldValues.contains(NANO_OF_DAY)) {
+            long nod = fieldValues.removeLong(NANO_OF_DAY);
             if (resolverStyle != ResolverStyle.LENIENT) {
                 NANO_OF_DAY.checkValidValue(nod);
             }
             addFieldValue(SECOND_OF_DAY, nod / 1000000000L);
             addFieldValue(NANO_OF_SECOND, nod % 1000000000L);
         }
-        if (fieldValues.containsKey(MICRO_OF_DAY)) {
-            long cod = fieldValues.remove(MICRO_OF_DAY);
+        if (fieldValues.contains(MICRO_OF_DAY)) {
+            long cod = fieldValues.removeLong(MICRO_OF_DAY);
             if (resolverStyle != ResolverStyle.LENIENT) {
                 MICRO_OF_DAY.checkValidValue(cod);
             }
             addFieldValue(SECOND_OF_DAY, cod / 1000000L);
             addFieldValue(MICRO_OF_SECOND, cod % 1000000L);
         }
-        if (fieldValues.containsKey(MILLI_OF_DAY)) {
-            long lod = fieldValues.remove(MILLI_OF_DAY);
+        if (fieldValues.contains(MILLI_OF_DAY)) {
+            long lod = fieldValues.removeLong(MILLI_OF_DAY);
             if (resolverStyle != ResolverStyle.LENIENT) {
                 MILLI_OF_DAY.checkValidValue(lod);
             }
             addFieldValue(SECOND_OF_DAY, lod / 1000);
             addFieldValue(MILLI_OF_SECOND, lod % 1000);
         }
-        if (fieldValues.containsKey(SECOND_OF_DAY)) {
-            long sod = fieldValues.remove(SECOND_OF_DAY);
+        if (fieldValues.contains(SECOND_OF_DAY)) {
+            long sod = fieldValues.removeLong(SECOND_OF_DAY);
             if (resolverStyle != ResolverStyle.LENIENT) {
                 SECOND_OF_DAY.checkValidValue(sod);
             }
@@ -404,8 +411,8 @@ final class DateTimeBuilder
             addFieldValue(MINUTE_OF_HOUR, (sod / 60) % 60);
             addFieldValue(SECOND_OF_MINUTE, sod % 60);
         }
-        if (fieldValues.containsKey(MINUTE_OF_DAY)) {
-            long mod = fieldValues.remove(MINUTE_OF_DAY);
+        if (fieldValues.contains(MINUTE_OF_DAY)) {
+            long mod = fieldValues.removeLong(MINUTE_OF_DAY);
             if (resolverStyle != ResolverStyle.LENIENT) {
                 MINUTE_OF_DAY.checkValidValue(mod);
             }
@@ -419,138 +426,124 @@ final class DateTimeBuilder
 //            addFieldValue(SECOND_OF_MINUTE, sod % 60);
 //            addFieldValue(NANO_OF_SECOND, nod % 1000000000L);
         if (resolverStyle != ResolverStyle.LENIENT) {
-            if (fieldValues.containsKey(MILLI_OF_SECOND)) {
-                MILLI_OF_SECOND.checkValidValue(fieldValues.get(MILLI_OF_SECOND));
+            if (fieldValues.contains(MILLI_OF_SECOND)) {
+                MILLI_OF_SECOND.checkValidValue(fieldValues.getLong(MILLI_OF_SECOND));
             }
-            if (fieldValues.containsKey(MICRO_OF_SECOND)) {
-                MICRO_OF_SECOND.checkValidValue(fieldValues.get(MICRO_OF_SECOND));
+            if (fieldValues.contains(MICRO_OF_SECOND)) {
+                MICRO_OF_SECOND.checkValidValue(fieldValues.getLong(MICRO_OF_SECOND));
             }
         }
-        if (fieldValues.containsKey(MILLI_OF_SECOND) && fieldValues.containsKey(MICRO_OF_SECOND)) {
-            long los = fieldValues.remove(MILLI_OF_SECOND);
-            long cos = fieldValues.get(MICRO_OF_SECOND);
+        if (fieldValues.contains(MILLI_OF_SECOND) && fieldValues.contains(MICRO_OF_SECOND)) {
+            long los = fieldValues.removeLong(MILLI_OF_SECOND);
+            long cos = fieldValues.getLong(MICRO_OF_SECOND);
             addFieldValue(MICRO_OF_SECOND, los * 1000 + (cos % 1000));
         }
-        if (fieldValues.containsKey(MICRO_OF_SECOND) && fieldValues.containsKey(NANO_OF_SECOND)) {
-            long nos = fieldValues.get(NANO_OF_SECOND);
+        if (fieldValues.contains(MICRO_OF_SECOND) && fieldValues.contains(NANO_OF_SECOND)) {
+            long nos = fieldValues.getLong(NANO_OF_SECOND);
             addFieldValue(MICRO_OF_SECOND, nos / 1000);
-            fieldValues.remove(MICRO_OF_SECOND);
+            fieldValues.removeLong(MICRO_OF_SECOND);
         }
-        if (fieldValues.containsKey(MILLI_OF_SECOND) && fieldValues.containsKey(NANO_OF_SECOND)) {
-            long nos = fieldValues.get(NANO_OF_SECOND);
+        if (fieldValues.contains(MILLI_OF_SECOND) && fieldValues.contains(NANO_OF_SECOND)) {
+            long nos = fieldValues.getLong(NANO_OF_SECOND);
             addFieldValue(MILLI_OF_SECOND, nos / 1000000);
-            fieldValues.remove(MILLI_OF_SECOND);
+            fieldValues.removeLong(MILLI_OF_SECOND);
         }
-        if (fieldValues.containsKey(MICRO_OF_SECOND)) {
-            long cos = fieldValues.remove(MICRO_OF_SECOND);
+        if (fieldValues.contains(MICRO_OF_SECOND)) {
+            long cos = fieldValues.removeLong(MICRO_OF_SECOND);
             addFieldValue(NANO_OF_SECOND, cos * 1000);
-        } else if (fieldValues.containsKey(MILLI_OF_SECOND)) {
-            long los = fieldValues.remove(MILLI_OF_SECOND);
+        } else if (fieldValues.contains(MILLI_OF_SECOND)) {
+            long los = fieldValues.removeLong(MILLI_OF_SECOND);
             addFieldValue(NANO_OF_SECOND, los * 1000000);
         }
     }
 
     private void resolveTimeInferZeroes(ResolverStyle resolverStyle) {
-        Long hod = fieldValues.get(HOUR_OF_DAY);
-        Long moh = fieldValues.get(MINUTE_OF_HOUR);
-        Long som = fieldValues.get(SECOND_OF_MINUTE);
-        Long nos = fieldValues.get(NANO_OF_SECOND);
-        if (hod == null) {
+        boolean hasHod = fieldValues.contains(HOUR_OF_DAY);
+        boolean hasMoh = fieldValues.contains(MINUTE_OF_HOUR);
+        boolean hasSom = fieldValues.contains(SECOND_OF_MINUTE);
+        boolean hasNos = fieldValues.contains(NANO_OF_SECOND);
+        if (hasHod == false) {
             return;
         }
-        if (moh == null && (som != null || nos != null)) {
+        if (hasMoh == false && (hasSom || hasNos)) {
             return;
         }
-        if (moh != null && som == null && nos != null) {
+        if (hasMoh && hasSom == false && hasNos) {
             return;
         }
+        long hod = fieldValues.getLong(HOUR_OF_DAY);
+        long moh = (hasMoh ? fieldValues.getLong(MINUTE_OF_HOUR) : 0);
+        long som = (hasSom ? fieldValues.getLong(SECOND_OF_MINUTE) : 0);
+        long nos = (hasNos ? fieldValues.getLong(NANO_OF_SECOND) : 0);
         if (resolverStyle != ResolverStyle.LENIENT) {
-            if (hod != null) {
-                if (resolverStyle == ResolverStyle.SMART &&
-                                hod.longValue() == 24 && 
-                                (moh == null || moh.longValue() == 0) && 
-                                (som == null || som.longValue() == 0) && 
-                                (nos == null || nos.longValue() == 0)) {
-                    hod = 0L;
-                    excessDays = Period.ofDays(1);
-                }
-                int hodVal = HOUR_OF_DAY.checkValidIntValue(hod);
-                if (moh != null) {
-                    int mohVal = MINUTE_OF_HOUR.checkValidIntValue(moh);
-                    if (som != null) {
-                        int somVal = SECOND_OF_MINUTE.checkValidIntValue(som);
-                        if (nos != null) {
-                            int nosVal = NANO_OF_SECOND.checkValidIntValue(nos);
-                            addObject(LocalTime.of(hodVal, mohVal, somVal, nosVal));
-                        } else {
-                            addObject(LocalTime.of(hodVal, mohVal, somVal));
-                        }
+            if (resolverStyle == ResolverStyle.SMART && hod == 24 && moh == 0 && som == 0 && nos == 0) {
+                hod = 0;
+                excessDays = Period.ofDays(1);
+            }
+            int hodVal = HOUR_OF_DAY.checkValidIntValue(hod);
+            if (hasMoh) {
+                int mohVal = MINUTE_OF_HOUR.checkValidIntValue(moh);
+                if (hasSom) {
+                    int somVal = SECOND_OF_MINUTE.checkValidIntValue(som);
+                    if (hasNos) {
+                        int nosVal = NANO_OF_SECOND.checkValidIntValue(nos);
+                        addObject(LocalTime.of(hodVal, mohVal, somVal, nosVal));
                     } else {
-                        if (nos == null) {
-                            addObject(LocalTime.of(hodVal, mohVal));
-                        }
+                        addObject(LocalTime.of(hodVal, mohVal, somVal));
                     }
                 } else {
-                    if (som == null && nos == null) {
-                        addObject(LocalTime.of(hodVal, 0));
-                    }
+                    addObject(LocalTime.of(hodVal, mohVal));
                 }
+            } else {
+                addObject(LocalTime.of(hodVal, 0));
             }
         } else {
-            if (hod != null) {
-                long hodVal = hod;
-                if (moh != null) {
-                    if (som != null) {
-                        if (nos == null) {
-                            nos = 0L;
-                        }
-                        long totalNanos = Jdk8Methods.safeMultiply(hodVal, 3600000000000L);
-                        totalNanos = Jdk8Methods.safeAdd(totalNanos, Jdk8Methods.safeMultiply(moh, 60000000000L));
-                        totalNanos = Jdk8Methods.safeAdd(totalNanos, Jdk8Methods.safeMultiply(som, 1000000000L));
-                        totalNanos = Jdk8Methods.safeAdd(totalNanos, nos);
-                        int excessDays = (int) Jdk8Methods.floorDiv(totalNanos, 86400000000000L);  // safe int cast
-                        long nod = Jdk8Methods.floorMod(totalNanos, 86400000000000L);
-                        addObject(LocalTime.ofNanoOfDay(nod));
-                        this.excessDays = Period.ofDays(excessDays);
-                    } else {
-                        long totalSecs = Jdk8Methods.safeMultiply(hodVal, 3600L);
-                        totalSecs = Jdk8Methods.safeAdd(totalSecs, Jdk8Methods.safeMultiply(moh, 60L));
-                        int excessDays = (int) Jdk8Methods.floorDiv(totalSecs, 86400L);  // safe int cast
-                        long sod = Jdk8Methods.floorMod(totalSecs, 86400L);
-                        addObject(LocalTime.ofSecondOfDay(sod));
-                        this.excessDays = Period.ofDays(excessDays);
-                    }
+            long hodVal = hod;
+            if (hasMoh) {
+                if (hasSom) {
+                    long totalNanos = Jdk8Methods.safeMultiply(hodVal, 3600000000000L);
+                    totalNanos = Jdk8Methods.safeAdd(totalNanos, Jdk8Methods.safeMultiply(moh, 60000000000L));
+                    totalNanos = Jdk8Methods.safeAdd(totalNanos, Jdk8Methods.safeMultiply(som, 1000000000L));
+                    totalNanos = Jdk8Methods.safeAdd(totalNanos, nos);
+                    int excessDays = (int) Jdk8Methods.floorDiv(totalNanos, 86400000000000L);  // safe int cast
+                    long nod = Jdk8Methods.floorMod(totalNanos, 86400000000000L);
+                    addObject(LocalTime.ofNanoOfDay(nod));
+                    this.excessDays = Period.ofDays(excessDays);
                 } else {
-                    int excessDays = Jdk8Methods.safeToInt(Jdk8Methods.floorDiv(hodVal, 24L));
-                    hodVal = Jdk8Methods.floorMod(hodVal, 24);
-                    addObject(LocalTime.of((int) hodVal, 0));
+                    long totalSecs = Jdk8Methods.safeMultiply(hodVal, 3600L);
+                    totalSecs = Jdk8Methods.safeAdd(totalSecs, Jdk8Methods.safeMultiply(moh, 60L));
+                    int excessDays = (int) Jdk8Methods.floorDiv(totalSecs, 86400L);  // safe int cast
+                    long sod = Jdk8Methods.floorMod(totalSecs, 86400L);
+                    addObject(LocalTime.ofSecondOfDay(sod));
                     this.excessDays = Period.ofDays(excessDays);
                 }
+            } else {
+                int excessDays = Jdk8Methods.safeToInt(Jdk8Methods.floorDiv(hodVal, 24L));
+                hodVal = Jdk8Methods.floorMod(hodVal, 24);
+                addObject(LocalTime.of((int) hodVal, 0));
+                this.excessDays = Period.ofDays(excessDays);
             }
         }
-        fieldValues.remove(HOUR_OF_DAY);
-        fieldValues.remove(MINUTE_OF_HOUR);
-        fieldValues.remove(SECOND_OF_MINUTE);
-        fieldValues.remove(NANO_OF_SECOND);
+        fieldValues.removeLong(HOUR_OF_DAY);
+        fieldValues.removeLong(MINUTE_OF_HOUR);
+        fieldValues.removeLong(SECOND_OF_MINUTE);
+        fieldValues.removeLong(NANO_OF_SECOND);
     }
 
     //-----------------------------------------------------------------------
     private void mergeInstantFields() {
-        if (fieldValues.containsKey(INSTANT_SECONDS)) {
+        if (fieldValues.contains(INSTANT_SECONDS)) {
             if (zone != null) {
                 mergeInstantFields0(zone);
-            } else {
-                Long offsetSecs = fieldValues.get(OFFSET_SECONDS);
-                if (offsetSecs != null) {
-                    ZoneOffset offset = ZoneOffset.ofTotalSeconds(offsetSecs.intValue());
-                    mergeInstantFields0(offset);
-                }
+            } else if (fieldValues.contains(OFFSET_SECONDS)) {
+                ZoneOffset offset = ZoneOffset.ofTotalSeconds((int) fieldValues.getLong(OFFSET_SECONDS));
+                mergeInstantFields0(offset);
             }
         }
     }
 
     private void mergeInstantFields0(ZoneId selectedZone) {
-        Instant instant = Instant.ofEpochSecond(fieldValues.remove(INSTANT_SECONDS));
+        Instant instant = Instant.ofEpochSecond(fieldValues.removeLong(INSTANT_SECONDS));
         ChronoZonedDateTime<?> zdt = chrono.zonedDateTime(instant, selectedZone);
         if (date == null) {
             addObject(zdt.toLocalDate());
@@ -562,7 +555,7 @@ final class DateTimeBuilder
 
     //-----------------------------------------------------------------------
     private void crossCheck() {
-        if (fieldValues.size() > 0) {
+        if (fieldValues.isEmpty() == false) {
             if (date != null && time != null) {
                 crossCheck(date.atTime(time));
             } else if (date != null) {
@@ -597,31 +590,30 @@ final class DateTimeBuilder
 
     private void resolveFractional() {
         if (time == null &&
-                (fieldValues.containsKey(INSTANT_SECONDS) ||
-                    fieldValues.containsKey(SECOND_OF_DAY) ||
-                    fieldValues.containsKey(SECOND_OF_MINUTE))) {
-            if (fieldValues.containsKey(NANO_OF_SECOND)) {
-                long nos = fieldValues.get(NANO_OF_SECOND);
-                fieldValues.put(MICRO_OF_SECOND, nos / 1000);
-                fieldValues.put(MILLI_OF_SECOND, nos / 1000000);
+                (fieldValues.contains(INSTANT_SECONDS) ||
+                    fieldValues.contains(SECOND_OF_DAY) ||
+                    fieldValues.contains(SECOND_OF_MINUTE))) {
+            if (fieldValues.contains(NANO_OF_SECOND)) {
+                long nos = fieldValues.getLong(NANO_OF_SECOND);
+                fieldValues.putLong(MICRO_OF_SECOND, nos / 1000);
+                fieldValues.putLong(MILLI_OF_SECOND, nos / 1000000);
             } else {
-                fieldValues.put(NANO_OF_SECOND, 0L);
-                fieldValues.put(MICRO_OF_SECOND, 0L);
-                fieldValues.put(MILLI_OF_SECOND, 0L);
+                fieldValues.putLong(NANO_OF_SECOND, 0L);
+                fieldValues.putLong(MICRO_OF_SECOND, 0L);
+                fieldValues.putLong(MILLI_OF_SECOND, 0L);
             }
         }
     }
 
     private void resolveInstant() {
         if (date != null && time != null) {
-            Long offsetSecs = fieldValues.get(OFFSET_SECONDS);
-            if (offsetSecs != null) {
-                ZoneOffset offset = ZoneOffset.ofTotalSeconds(offsetSecs.intValue());
+            if (fieldValues.contains(OFFSET_SECONDS)) {
+                ZoneOffset offset = ZoneOffset.ofTotalSeconds((int) fieldValues.getLong(OFFSET_SECONDS));
                 long instant = date.atTime(time).atZone(offset).getLong(ChronoField.INSTANT_SECONDS);
-                fieldValues.put(INSTANT_SECONDS, instant);
+                fieldValues.putLong(INSTANT_SECONDS, instant);
             }  else if (zone != null) {
                 long instant = date.atTime(time).atZone(zone).getLong(ChronoField.INSTANT_SECONDS);
-                fieldValues.put(INSTANT_SECONDS, instant);
+                fieldValues.putLong(INSTANT_SECONDS, instant);
             }
         }
     }
@@ -648,7 +640,7 @@ final class DateTimeBuilder
         if (field == null) {
             return false;
         }
-        return fieldValues.containsKey(field) ||
+        return fieldValues.contains(field) ||
                 (date != null && date.isSupported(field)) ||
                 (time != null && time.isSupported(field));
     }
@@ -656,8 +648,7 @@ final class DateTimeBuilder
     @Override
     public long getLong(TemporalField field) {
         Jdk8Methods.requireNonNull(field, "field");
-        Long value = getFieldValue0(field);
-        if (value == null) {
+        if (fieldValues.contains(field) == false) {
             if (date != null && date.isSupported(field)) {
                 return date.getLong(field);
             }
@@ -666,7 +657,7 @@ final class DateTimeBuilder
             }
             throw new DateTimeException("Field not found: " + field);
         }
-        return value;
+        return fieldValues.getLong(field);
     }
 
     @SuppressWarnings("unchecked")
@@ -695,7 +686,7 @@ final class DateTimeBuilder
     public String toString() {
         StringBuilder buf = new StringBuilder(128);
         buf.append("DateTimeBuilder[");
-        if (fieldValues.size() > 0) {
+        if (fieldValues.isEmpty() == false) {
             buf.append("fields=").append(fieldValues);
         }
         buf.append(", ").append(chrono);
@@ -42,6 +42,10 @@ import static org.threeten.bp.temporal.ChronoField.SECOND_OF_MINUTE;
 import static org.threeten.bp.temporal.ChronoField.YEAR;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.text.FieldPosition;
 import java.text.Format;
 import java.text.ParseException;
@@ -60,6 +64,8 @@ import org.threeten.bp.ZoneId;
 import org.threeten.bp.ZoneOffset;
 import org.threeten.bp.chrono.Chronology;
 import org.threeten.bp.chrono.IsoChronology;
+import org.threeten.bp.format.DateTimeFormatterBuilder.CompiledParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.CompiledPrinter;
 import org.threeten.bp.format.DateTimeFormatterBuilder.CompositePrinterParser;
 import org.threeten.bp.format.DateTimeParseContext.Parsed;
 import org.threeten.bp.jdk8.Jdk8Methods;
@@ -757,6 +763,10 @@ public final class DateTimeFormatter {
      * Any non-letter character, other than '[', ']', '{', '}' and the single quote will be output directly.
      * Despite this, it is recommended to use single quotes around all characters that you want to
      * output directly to ensure that future changes do not break your application.
+     * <p>
+     * Formatters created by this method are cached by pattern and locale,
+     * so calling this method repeatedly with the same pattern is cheap.
+     * See {@link #getPatternCacheStatistics()}.
      *
      * @param pattern  the pattern to use, not null
      * @return the formatter based on the pattern, not null
@@ -764,7 +774,7 @@ public final class DateTimeFormatter {
      * @see DateTimeFormatterBuilder#appendPattern(String)
      */
     public static DateTimeFormatter ofPattern(String pattern) {
-        return new DateTimeFormatterBuilder().appendPattern(pattern).toFormatter();
+        return PatternCache.INSTANCE.get(pattern, Locale.getDefault());
     }
 
     /**
@@ -777,6 +787,10 @@ public final class DateTimeFormatter {
      * <p>
      * The returned formatter will use the specified locale, but this can be changed
      * using {@link DateTimeFormatter#withLocale(Locale)}.
+     * <p>
+     * Formatters created by this method are cached by pattern and locale,
+     * so calling this method repeatedly with the same pattern is cheap.
+     * See {@link #getPatternCacheStatistics()}.
      *
      * @param pattern  the pattern to use, not null
      * @param locale  the locale to use, not null
@@ -785,7 +799,21 @@ public final class DateTimeFormatter {
      * @see DateTimeFormatterBuilder#appendPattern(String)
      */
     public static DateTimeFormatter ofPattern(String pattern, Locale locale) {
-        return new DateTimeFormatterBuilder().appendPattern(pattern).toFormatter(locale);
+        return PatternCache.INSTANCE.get(pattern, locale);
+    }
+
+    /**
+     * Gets the statistics of the cache used by {@link #ofPattern(String, Locale)}.
+     * <p>
+     * The cache holds the most recently used formatters, up to a maximum size.
+     * The maximum size defaults to 256 and can be changed using the system property
+     * {@code org.threeten.bp.format.DateTimeFormatter.patternCacheSize},
+     * which is read when this class is initialized. A size of zero disables the cache.
+     *
+     * @return a snapshot of the statistics, not null
+     */
+    public static PatternCacheStatistics getPatternCacheStatistics() {
+        return PatternCache.INSTANCE.statistics();
     }
 
     //-----------------------------------------------------------------------
@@ -1013,6 +1041,14 @@ public final class DateTimeFormatter {
      * The zone to use for formatting, null for no override.
      */
     private final ZoneId zone;
+    /**
+     * The compiled printer, null if the printer-parser must be used to format.
+     */
+    private final CompiledPrinter compiledPrinter;
+    /**
+     * The compiled parser, null if the printer-parser must be used to parse.
+     */
+    private final CompiledParser compiledParser;
 
     //-----------------------------------------------------------------------
     /**
@@ -1036,6 +1072,11 @@ public final class DateTimeFormatter {
         this.resolverFields = resolverFields;
         this.chrono = chrono;
         this.zone = zone;
+        this.compiledPrinter = (zone == null && (chrono == null || chrono == IsoChronology.INSTANCE) &&
+                decimalStyle.equals(DecimalStyle.STANDARD) ? CompiledPrinter.compile(printerParser) : null);
+        this.compiledParser = (zone == null && (chrono == null || chrono == IsoChronology.INSTANCE) &&
+                resolverFields == null && decimalStyle.equals(DecimalStyle.STANDARD) ?
+                CompiledParser.compile(printerParser, resolverStyle) : null);
     }
 
     //-----------------------------------------------------------------------
@@ -1355,6 +1396,12 @@ public final class DateTimeFormatter {
      * @throws DateTimeException if an error occurs during formatting
      */
     public String format(TemporalAccessor temporal) {
+        if (compiledPrinter != null) {
+            String str = compiledPrinter.format(temporal);
+            if (str != null) {
+                return str;
+            }
+        }
         StringBuilder buf = new StringBuilder(32);
         formatTo(temporal, buf);
         return buf.toString();
@@ -1371,6 +1418,10 @@ public final class DateTimeFormatter {
      * <p>
      * Although {@code Appendable} methods throw an {@code IOException}, this method does not.
      * Instead, any {@code IOException} is wrapped in a runtime exception.
+     * <p>
+     * Nothing is appended if an error occurs during formatting. A {@code Writer} receives
+     * the text in a single call. A {@code CharBuffer} with an accessible array may have
+     * its content after the position overwritten, even if an error occurs.
      *
      * @param temporal  the temporal object to print, not null
      * @param appendable  the appendable to print to, not null
@@ -1380,6 +1431,34 @@ public final class DateTimeFormatter {
         Jdk8Methods.requireNonNull(temporal, "temporal");
         Jdk8Methods.requireNonNull(appendable, "appendable");
         try {
+            if (compiledPrinter != null) {
+                if (appendable instanceof CharBuffer) {
+                    // print directly into the array, only moving the position once complete
+                    CharBuffer target = (CharBuffer) appendable;
+                    if (target.hasArray() && target.remaining() >= compiledPrinter.maxLength()) {
+                        int start = target.arrayOffset() + target.position();
+                        int end = compiledPrinter.print(temporal, target.array(), start);
+                        if (end >= 0) {
+                            target.position(target.position() + end - start);
+                            return;
+                        }
+                    }
+                }
+                char[] buf = new char[compiledPrinter.maxLength()];
+                int end = compiledPrinter.print(temporal, buf, 0);
+                if (end >= 0) {
+                    if (appendable instanceof StringBuilder) {
+                        ((StringBuilder) appendable).append(buf, 0, end);
+                    } else if (appendable instanceof Writer) {
+                        ((Writer) appendable).write(buf, 0, end);
+                    } else if (appendable instanceof CharBuffer) {
+                        ((CharBuffer) appendable).put(buf, 0, end);
+                    } else {
+                        appendable.append(CharBuffer.wrap(buf, 0, end));
+                    }
+                    return;
+                }
+            }
             DateTimePrintContext context = new DateTimePrintContext(temporal, this);
             if (appendable instanceof StringBuilder) {
                 printerParser.print(context, (StringBuilder) appendable);
@@ -1394,6 +1473,100 @@ public final class DateTimeFormatter {
         }
     }
 
+    /**
+     * Formats a date-time object to an array as ASCII bytes using this formatter.
+     * <p>
+     * This formats the date-time, writing each character as a single byte in the
+     * US-ASCII encoding, which is also valid UTF-8. The text is not encoded from a string,
+     * allowing a date-time to be written directly to a buffer, such as one used to write
+     * a log or a network message.
+     * <p>
+     * Nothing is written if an error occurs during formatting, or if the text
+     * contains a character that is not in the US-ASCII encoding, such as the
+     * accented month names of some locales.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @param buf  the array to write to, not null
+     * @param offset  the index to write the first byte to
+     * @return the index after the last byte written
+     * @throws IndexOutOfBoundsException if the offset is invalid, or the array does not have enough space
+     * @throws DateTimeException if an error occurs during formatting, or the text is not US-ASCII
+     */
+    public int formatAscii(TemporalAccessor temporal, byte[] buf, int offset) {
+        Jdk8Methods.requireNonNull(temporal, "temporal");
+        Jdk8Methods.requireNonNull(buf, "buf");
+        if (offset < 0 || offset > buf.length) {
+            throw new IndexOutOfBoundsException("Invalid offset: " + offset + ", array length " + buf.length);
+        }
+        return AsciiCharSequence.encode(formatToChars(temporal), buf, offset);
+    }
+
+    /**
+     * Formats a date-time object to a buffer as ASCII bytes using this formatter.
+     * <p>
+     * This formats the date-time in the same way as {@link #formatAscii(TemporalAccessor, byte[], int)},
+     * writing the bytes from the position of the buffer, which is advanced.
+     * Nothing is written if an error occurs.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @param buf  the buffer to write to, not null
+     * @throws java.nio.BufferOverflowException if the buffer does not have enough space
+     * @throws DateTimeException if an error occurs during formatting, or the text is not US-ASCII
+     */
+    public void formatAscii(TemporalAccessor temporal, ByteBuffer buf) {
+        Jdk8Methods.requireNonNull(temporal, "temporal");
+        Jdk8Methods.requireNonNull(buf, "buf");
+        AsciiCharSequence.encode(formatToChars(temporal), buf, null);
+    }
+
+    /**
+     * Formats a date-time object to a stream as ASCII bytes using this formatter.
+     * <p>
+     * This formats the date-time in the same way as {@link #formatAscii(TemporalAccessor, byte[], int)},
+     * writing the bytes to the stream in a single call. Nothing is written if an error
+     * occurs during formatting.
+     * <p>
+     * Although {@code OutputStream} methods throw an {@code IOException}, this method does not.
+     * Instead, any {@code IOException} is wrapped in a runtime exception.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @param out  the stream to write to, not null
+     * @throws DateTimeException if an error occurs during formatting, or the text is not US-ASCII
+     */
+    public void formatAscii(TemporalAccessor temporal, OutputStream out) {
+        Jdk8Methods.requireNonNull(temporal, "temporal");
+        Jdk8Methods.requireNonNull(out, "out");
+        CharBuffer text = formatToChars(temporal);
+        byte[] bytes = new byte[text.remaining()];
+        AsciiCharSequence.encode(text, bytes, 0);
+        try {
+            out.write(bytes);
+        } catch (IOException ex) {
+            throw new DateTimeException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Formats a date-time object to an array of characters.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @return the printed text, wrapping an accessible array, not null
+     */
+    private CharBuffer formatToChars(TemporalAccessor temporal) {
+        if (compiledPrinter != null) {
+            char[] buf = new char[compiledPrinter.maxLength()];
+            int end = compiledPrinter.print(temporal, buf, 0);
+            if (end >= 0) {
+                return CharBuffer.wrap(buf, 0, end);
+            }
+        }
+        StringBuilder buf = new StringBuilder(32);
+        printerParser.print(new DateTimePrintContext(temporal, this), buf);
+        char[] chars = new char[buf.length()];
+        buf.getChars(0, chars.length, chars, 0);
+        return CharBuffer.wrap(chars);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Fully parses the text producing a temporal object.
@@ -1477,6 +1650,10 @@ public final class DateTimeFormatter {
      * </pre>
      * If the parse completes without reading the entire length of the text,
      * or a problem occurs during parsing or merging, then an exception is thrown.
+     * <p>
+     * Any {@code CharSequence} may be parsed, avoiding the need to create a string.
+     * For example, a {@link CharBuffer} parses the characters between its position
+     * and limit, without changing the position.
      *
      * @param <T> the type to extract
      * @param text  the text to parse, not null
@@ -1487,6 +1664,12 @@ public final class DateTimeFormatter {
     public <T> T parse(CharSequence text, TemporalQuery<T> type) {
         Jdk8Methods.requireNonNull(text, "text");
         Jdk8Methods.requireNonNull(type, "type");
+        if (compiledParser != null) {
+            T result = compiledParser.parse(text, 0, text.length(), type);
+            if (result != null) {
+                return result;
+            }
+        }
         try {
             DateTimeBuilder builder = parseToBuilder(text, null).resolve(resolverStyle, resolverFields);
             return builder.build(type);
@@ -1497,6 +1680,80 @@ public final class DateTimeFormatter {
         }
     }
 
+    /**
+     * Fully parses a region of a character array producing an object of the specified type.
+     * <p>
+     * This parses the characters from {@code offset} to {@code offset + length}
+     * as though they were a string passed to {@link #parse(CharSequence, TemporalQuery)}.
+     * The characters are not copied, allowing a date-time to be parsed directly
+     * from a buffer, such as one used to read a file.
+     * Any error index in the exception is relative to the offset.
+     *
+     * @param <T> the type to extract
+     * @param text  the array containing the text to parse, not null
+     * @param offset  the index of the first character to parse
+     * @param length  the number of characters to parse
+     * @param type  the type to extract, not null
+     * @return the parsed date-time, not null
+     * @throws IndexOutOfBoundsException if the offset or length is invalid for the array
+     * @throws DateTimeParseException if unable to parse the requested result
+     */
+    public <T> T parse(char[] text, int offset, int length, TemporalQuery<T> type) {
+        Jdk8Methods.requireNonNull(text, "text");
+        if (offset < 0 || length < 0 || offset > text.length - length) {
+            throw new IndexOutOfBoundsException("Invalid region: offset " + offset + ", length " + length +
+                    ", array length " + text.length);
+        }
+        return parse(CharBuffer.wrap(text, offset, length), type);
+    }
+
+    /**
+     * Fully parses a region of ASCII bytes producing an object of the specified type.
+     * <p>
+     * This parses the bytes from {@code offset} to {@code offset + length}, each of
+     * which is treated as a single character in the ISO-8859-1 encoding, which matches
+     * US-ASCII for the characters used in typical date-time text.
+     * The bytes are not decoded into a string, allowing a date-time to be parsed
+     * directly from a buffer, such as one used to read a file or a network message.
+     * Any error index in the exception is relative to the offset.
+     *
+     * @param <T> the type to extract
+     * @param text  the array containing the text to parse, not null
+     * @param offset  the index of the first byte to parse
+     * @param length  the number of bytes to parse
+     * @param type  the type to extract, not null
+     * @return the parsed date-time, not null
+     * @throws IndexOutOfBoundsException if the offset or length is invalid for the array
+     * @throws DateTimeParseException if unable to parse the requested result
+     */
+    public <T> T parseAscii(byte[] text, int offset, int length, TemporalQuery<T> type) {
+        Jdk8Methods.requireNonNull(text, "text");
+        if (offset < 0 || length < 0 || offset > text.length - length) {
+            throw new IndexOutOfBoundsException("Invalid region: offset " + offset + ", length " + length +
+                    ", array length " + text.length);
+        }
+        return parse(new AsciiCharSequence(text, offset, length), type);
+    }
+
+    /**
+     * Fully parses the remaining ASCII bytes of a buffer producing an object of the specified type.
+     * <p>
+     * This parses the bytes from the position to the limit of the buffer, each of
+     * which is treated as a single character in the ISO-8859-1 encoding.
+     * The position of the buffer is not changed.
+     * Any error index in the exception is relative to the position.
+     *
+     * @param <T> the type to extract
+     * @param text  the buffer containing the text to parse, not null
+     * @param type  the type to extract, not null
+     * @return the parsed date-time, not null
+     * @throws DateTimeParseException if unable to parse the requested result
+     */
+    public <T> T parseAscii(ByteBuffer text, TemporalQuery<T> type) {
+        Jdk8Methods.requireNonNull(text, "text");
+        return parse(new AsciiCharSequence(text, text.position(), text.remaining()), type);
+    }
+
     /**
      * Fully parses the text producing an object of one of the specified types.
      * <p>
@@ -1549,7 +1806,84 @@ public final class DateTimeFormatter {
         }
     }
 
-    private DateTimeParseException createError(CharSequence text, RuntimeException ex) {
+    /**
+     * Fully parses the text producing an object of the specified type,
+     * returning null instead of throwing an exception if unable to parse.
+     * <p>
+     * This parses the entire text in the same way as {@link #parse(CharSequence, TemporalQuery)},
+     * but returns null where that method would throw {@link DateTimeParseException}.
+     * It is intended for validating input where a large proportion may be invalid,
+     * as creating an exception for each invalid text is expensive.
+     * <p>
+     * No exception is created when the text does not match the layout of this formatter.
+     * An exception may still be created and caught internally when the text matches
+     * but the parsed values are invalid, such as the 30th of February.
+     *
+     * @param <T> the type of the parsed date-time
+     * @param text  the text to parse, not null
+     * @param type  the query defining the type to parse to, not null
+     * @return the parsed date-time, null if unable to parse the requested result
+     */
+    public <T> T parseOrNull(CharSequence text, TemporalQuery<T> type) {
+        return parseOrNull(text, type, new ParsePosition(0));
+    }
+
+    /**
+     * Parses the text from the position to the end producing an object of the
+     * specified type, returning null instead of throwing an exception if unable to parse.
+     * <p>
+     * This parses the text from the index of the position to the end of the text,
+     * in the same way as {@link #parseOrNull(CharSequence, TemporalQuery)}.
+     * On success, the index of the position is set to the length of the text.
+     * On failure, the error index of the position is set to the index that
+     * {@link DateTimeParseException#getErrorIndex()} would have held, and the index
+     * is not meaningful. The error index is the start index where the text matches
+     * the layout of this formatter but the parsed values are invalid.
+     * <p>
+     * The position is typically reused to parse many texts, in which case the
+     * index and error index must be reset before each call.
+     *
+     * @param <T> the type of the parsed date-time
+     * @param text  the text to parse, not null
+     * @param type  the query defining the type to parse to, not null
+     * @param position  the position to parse from, updated with the length parsed
+     *  or the index of any error, not null
+     * @return the parsed date-time, null if unable to parse the requested result
+     * @throws IndexOutOfBoundsException if the position is invalid
+     */
+    public <T> T parseOrNull(CharSequence text, TemporalQuery<T> type, ParsePosition position) {
+        Jdk8Methods.requireNonNull(text, "text");
+        Jdk8Methods.requireNonNull(type, "type");
+        Jdk8Methods.requireNonNull(position, "position");
+        int start = position.getIndex();
+        int length = text.length();
+        if (start < 0 || start > length) {
+            throw new IndexOutOfBoundsException("Invalid position: " + start);
+        }
+        if (compiledParser != null) {
+            T result = compiledParser.parse(text, start, length, type);
+            if (result != null) {
+                position.setIndex(length);
+                return result;
+            }
+        }
+        try {
+            Parsed parsed = parseUnresolved0(new DateTimeParseContext(this), text, position);
+            if (parsed == null) {
+                return null;
+            }
+            if (position.getIndex() < length) {
+                position.setErrorIndex(position.getIndex());
+                return null;
+            }
+            return parsed.toBuilder().resolve(resolverStyle, resolverFields).build(type);
+        } catch (RuntimeException ex) {
+            position.setErrorIndex(start);
+            return null;
+        }
+    }
+
+    DateTimeParseException createError(CharSequence text, RuntimeException ex) {
         String abbr = "";
         if (text.length() > 64) {
             abbr = text.subSequence(0, 64).toString() + "...";
@@ -1575,8 +1909,26 @@ public final class DateTimeFormatter {
      */
     private DateTimeBuilder parseToBuilder(final CharSequence text, final ParsePosition position) {
         ParsePosition pos = (position != null ? position : new ParsePosition(0));
-        Parsed result = parseUnresolved0(text, pos);
-        if (result == null || pos.getErrorIndex() >= 0 || (position == null && pos.getIndex() < text.length())) {
+        return parseToBuilder(new DateTimeParseContext(this), text, pos, position == null, new DateTimeBuilder());
+    }
+
+    /**
+     * Parses the text to a builder using the specified context and builder.
+     * <p>
+     * This allows a {@link DateTimeFormatterSession} to reuse the parse state.
+     *
+     * @param context  the context to parse with, not null
+     * @param text  the text to parse, not null
+     * @param pos  the position to parse from, updated with length parsed
+     *  and the index of any error, not null
+     * @param whole  whether the whole of the text must be parsed
+     * @param builder  the empty builder to populate, not null
+     * @return the builder, not null
+     * @throws DateTimeParseException if the parse fails
+     */
+    DateTimeBuilder parseToBuilder(DateTimeParseContext context, CharSequence text, ParsePosition pos, boolean whole, DateTimeBuilder builder) {
+        Parsed result = parseUnresolved0(context, text, pos);
+        if (result == null || pos.getErrorIndex() >= 0 || (whole && pos.getIndex() < text.length())) {
             String abbr = "";
             if (text.length() > 64) {
                 abbr = text.subSequence(0, 64).toString() + "...";
@@ -1591,7 +1943,7 @@ public final class DateTimeFormatter {
                         pos.getIndex(), text, pos.getIndex());
             }
         }
-        return result.toBuilder();
+        return result.toBuilder(builder);
     }
 
     /**
@@ -1640,7 +1992,10 @@ public final class DateTimeFormatter {
     private Parsed parseUnresolved0(CharSequence text, ParsePosition position) {
         Jdk8Methods.requireNonNull(text, "text");
         Jdk8Methods.requireNonNull(position, "position");
-        DateTimeParseContext context = new DateTimeParseContext(this);
+        return parseUnresolved0(new DateTimeParseContext(this), text, position);
+    }
+
+    private Parsed parseUnresolved0(DateTimeParseContext context, CharSequence text, ParsePosition position) {
         int pos = position.getIndex();
         pos = printerParser.parse(context, text, pos);
         if (pos < 0) {
@@ -1651,6 +2006,43 @@ public final class DateTimeFormatter {
         return context.toParsed();
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Creates a session that reuses its formatting and parsing state across calls.
+     * <p>
+     * Each call to {@code format} or {@code parse} on this formatter creates new
+     * internal state, which is discarded when the call completes. A session holds
+     * that state instead and resets it on each call, which reduces the garbage
+     * created when formatting or parsing many values in a loop.
+     * <p>
+     * This formatter remains immutable and thread-safe. The returned session is
+     * mutable and must only be used by one thread at a time, such as by holding
+     * one session per thread or per connection.
+     *
+     * @return a new session using this formatter, not null
+     */
+    public DateTimeFormatterSession newSession() {
+        return new DateTimeFormatterSession(this);
+    }
+
+    /**
+     * Gets the compiled printer.
+     *
+     * @return the compiled printer, null if this formatter cannot be compiled
+     */
+    CompiledPrinter getCompiledPrinter() {
+        return compiledPrinter;
+    }
+
+    /**
+     * Gets the compiled parser.
+     *
+     * @return the compiled parser, null if this formatter cannot be compiled
+     */
+    CompiledParser getCompiledParser() {
+        return compiledParser;
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Returns the formatter as a composite printer parser.
@@ -48,6 +48,7 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -62,13 +63,20 @@ import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.threeten.bp.DateTimeException;
 import org.threeten.bp.Instant;
 import org.threeten.bp.LocalDate;
 import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.LocalTime;
+import org.threeten.bp.Month;
+import org.threeten.bp.OffsetDateTime;
+import org.threeten.bp.Year;
 import org.threeten.bp.ZoneId;
 import org.threeten.bp.ZoneOffset;
+import org.threeten.bp.ZonedDateTime;
 import org.threeten.bp.chrono.ChronoLocalDate;
 import org.threeten.bp.chrono.Chronology;
 import org.threeten.bp.format.SimpleDateTimeTextProvider.LocaleStore;
@@ -2283,6 +2291,20 @@ public final class DateTimeFormatterBuilder {
             100000000,
             1000000000,
         };
+        /**
+         * The tens digit of each number from 0 to 99.
+         */
+        static final char[] DIGIT_TENS = new char[100];
+        /**
+         * The ones digit of each number from 0 to 99.
+         */
+        static final char[] DIGIT_ONES = new char[100];
+        static {
+            for (int i = 0; i < 100; i++) {
+                DIGIT_TENS[i] = (char) ('0' + i / 10);
+                DIGIT_ONES[i] = (char) ('0' + i % 10);
+            }
+        }
 
         final TemporalField field;
         final int minWidth;
@@ -2356,13 +2378,12 @@ public final class DateTimeFormatterBuilder {
             }
             long value = getValue(context, valueLong);
             DecimalStyle symbols = context.getSymbols();
-            String str = (value == Long.MIN_VALUE ? "9223372036854775808" : Long.toString(Math.abs(value)));
-            if (str.length() > maxWidth) {
+            int digits = (value == Long.MIN_VALUE ? 19 : digitCount(Math.abs(value)));
+            if (digits > maxWidth) {
                 throw new DateTimeException("Field " + field +
                     " cannot be printed as the value " + value +
                     " exceeds the maximum print width of " + maxWidth);
             }
-            str = symbols.convertNumberToI18N(str);
 
             if (value >= 0) {
                 switch (signStyle) {
@@ -2388,13 +2409,87 @@ public final class DateTimeFormatterBuilder {
                             " cannot be negative according to the SignStyle");
                 }
             }
-            for (int i = 0; i < minWidth - str.length(); i++) {
-                buf.append(symbols.getZeroDigit());
+            char zeroDigit = symbols.getZeroDigit();
+            for (int i = 0; i < minWidth - digits; i++) {
+                buf.append(zeroDigit);
+            }
+            if (value == Long.MIN_VALUE) {
+                buf.append(symbols.convertNumberToI18N("9223372036854775808"));
+            } else {
+                appendDigits(buf, Math.abs(value), digits, zeroDigit);
             }
-            buf.append(str);
             return true;
         }
 
+        /**
+         * Counts the decimal digits of a non-negative value.
+         *
+         * @param value  the value, not negative
+         * @return the number of digits, from 1 to 19
+         */
+        static int digitCount(long value) {
+            if (value < 1000000000) {
+                int digits = 1;
+                while (digits < 9 && value >= EXCEED_POINTS[digits]) {
+                    digits++;
+                }
+                return digits;
+            }
+            int digits = 10;
+            for (long limit = 10000000000L; digits < 19 && value >= limit; limit *= 10) {
+                digits++;
+            }
+            return digits;
+        }
+
+        /**
+         * Appends the digits of a non-negative value, two at a time from the digit tables.
+         * <p>
+         * This avoids creating a string, and converts to the zero digit as
+         * {@link DecimalStyle#convertNumberToI18N(String)} does.
+         *
+         * @param buf  the buffer to append to, not null
+         * @param value  the value, not negative
+         * @param digits  the number of digits to append, at least the number in the value,
+         *  padding with zeros on the left
+         * @param zeroDigit  the character to use for zero
+         */
+        static void appendDigits(StringBuilder buf, long value, int digits, char zeroDigit) {
+            int start = buf.length();
+            int pos = start + digits;
+            buf.setLength(pos);
+            while (value > Integer.MAX_VALUE) {
+                long quotient = value / 100;
+                int pair = (int) (value - quotient * 100);
+                buf.setCharAt(--pos, DIGIT_ONES[pair]);
+                buf.setCharAt(--pos, DIGIT_TENS[pair]);
+                value = quotient;
+            }
+            int intValue = (int) value;
+            while (intValue >= 100) {
+                int quotient = intValue / 100;
+                int pair = intValue - quotient * 100;
+                buf.setCharAt(--pos, DIGIT_ONES[pair]);
+                buf.setCharAt(--pos, DIGIT_TENS[pair]);
+                intValue = quotient;
+            }
+            if (intValue >= 10) {
+                buf.setCharAt(--pos, DIGIT_ONES[intValue]);
+                buf.setCharAt(--pos, DIGIT_TENS[intValue]);
+            } else {
+                buf.setCharAt(--pos, (char) ('0' + intValue));
+            }
+            while (pos > start) {
+                buf.setCharAt(--pos, '0');
+            }
+            if (zeroDigit != '0') {
+                int diff = zeroDigit - '0';
+                for (int i = start; i < start + digits; i++) {
+                    buf.setCharAt(i, (char) (buf.charAt(i) + diff));
+                }
+            }
+        }
+
         /**
          * Gets the value to output.
          *
@@ -2658,6 +2753,12 @@ public final class DateTimeFormatterBuilder {
      * Prints and parses a numeric date-time field with optional padding.
      */
     static final class FractionPrinterParser implements DateTimePrinterParser {
+        /**
+         * The largest range that can be converted using {@code long} arithmetic.
+         * Fields with a larger range, such as nano-of-day, use {@code BigDecimal}.
+         */
+        private static final long MAX_LONG_RANGE = Long.MAX_VALUE / 1000000000L;
+
         private final TemporalField field;
         private final int minWidth;
         private final int maxWidth;
@@ -2699,6 +2800,35 @@ public final class DateTimeFormatterBuilder {
                 return false;
             }
             DecimalStyle symbols = context.getSymbols();
+            ValueRange range = field.range();
+            long rangeSize = range.getMaximum() - range.getMinimum() + 1;
+            if (rangeSize > 0 && rangeSize <= MAX_LONG_RANGE) {
+                range.checkValidValue(value, field);
+                // the fraction to 9 decimal places, rounded down
+                int nines = (int) (((value - range.getMinimum()) * 1000000000L) / rangeSize);
+                if (nines == 0) {
+                    if (minWidth > 0) {
+                        if (decimalPoint) {
+                            buf.append(symbols.getDecimalSeparator());
+                        }
+                        for (int i = 0; i < minWidth; i++) {
+                            buf.append(symbols.getZeroDigit());
+                        }
+                    }
+                } else {
+                    int scale = 9;
+                    while (nines % CompiledPrinter.POWERS_OF_TEN[10 - scale] == 0) {
+                        scale--;
+                    }
+                    int outputScale = Math.min(Math.max(scale, minWidth), maxWidth);
+                    if (decimalPoint) {
+                        buf.append(symbols.getDecimalSeparator());
+                    }
+                    NumberPrinterParser.appendDigits(buf, nines / CompiledPrinter.POWERS_OF_TEN[9 - outputScale],
+                            outputScale, symbols.getZeroDigit());
+                }
+                return true;
+            }
             BigDecimal fraction = convertToFraction(value);
             if (fraction.scale() == 0) {  // scale is zero if value is zero
                 if (minWidth > 0) {
@@ -2757,8 +2887,16 @@ public final class DateTimeFormatterBuilder {
                 }
                 total = total * 10 + digit;
             }
-            BigDecimal fraction = new BigDecimal(total).movePointLeft(pos - position);
-            long value = convertFromFraction(fraction);
+            ValueRange range = field.range();
+            long rangeSize = range.getMaximum() - range.getMinimum() + 1;
+            long value;
+            if (rangeSize > 0 && rangeSize <= MAX_LONG_RANGE) {
+                // the fraction multiplied by the range, rounded down
+                value = (total * rangeSize) / CompiledPrinter.POWERS_OF_TEN[pos - position] + range.getMinimum();
+            } else {
+                BigDecimal fraction = new BigDecimal(total).movePointLeft(pos - position);
+                value = convertFromFraction(fraction);
+            }
             return context.setParsedField(field, value, position, pos);
         }
 
@@ -3353,10 +3491,32 @@ public final class DateTimeFormatterBuilder {
         /** The text style to output. */
         private final TextStyle textStyle;
 
+        /** The cached display names for the long style, by locale. */
+        private static final ConcurrentMap<Locale, ZoneNames> LONG_NAMES = new ConcurrentHashMap<Locale, ZoneNames>(16, 0.75f, 2);
+        /** The cached display names for the short style, by locale. */
+        private static final ConcurrentMap<Locale, ZoneNames> SHORT_NAMES = new ConcurrentHashMap<Locale, ZoneNames>(16, 0.75f, 2);
+
         ZoneTextPrinterParser(TextStyle textStyle) {
             this.textStyle = Jdk8Methods.requireNonNull(textStyle, "textStyle");
         }
 
+        /**
+         * Gets the cached display names for the locale and the style of this parser.
+         *
+         * @param locale  the locale, not null
+         * @return the display names, not null
+         */
+        private ZoneNames zoneNames(Locale locale) {
+            boolean full = (textStyle.asNormal() == TextStyle.FULL);
+            ConcurrentMap<Locale, ZoneNames> cache = (full ? LONG_NAMES : SHORT_NAMES);
+            ZoneNames names = cache.get(locale);
+            if (names == null) {
+                cache.putIfAbsent(locale, new ZoneNames(full ? TimeZone.LONG : TimeZone.SHORT, locale));
+                names = cache.get(locale);
+            }
+            return names;
+        }
+
         //-----------------------------------------------------------------------
         @Override
         public boolean print(DateTimePrintContext context, StringBuilder buf) {
@@ -3374,9 +3534,7 @@ public final class DateTimeFormatterBuilder {
                 Instant instant = Instant.ofEpochSecond(temporal.getLong(INSTANT_SECONDS));
                 daylight = zone.getRules().isDaylightSavings(instant);
             }
-            TimeZone tz = TimeZone.getTimeZone(zone.getId());
-            int tzstyle = (textStyle.asNormal() == TextStyle.FULL ? TimeZone.LONG : TimeZone.SHORT);
-            String text = tz.getDisplayName(daylight, tzstyle, context.getLocale());
+            String text = zoneNames(context.getLocale()).getDisplayName(zone.getId(), daylight);
             buf.append(text);
             return true;
         }
@@ -3410,26 +3568,11 @@ public final class DateTimeFormatterBuilder {
 
             // this is a poor implementation that handles some but not all of the spec
             // JDK8 has a lot of extra information here
-            Map<String, String> ids = new TreeMap<String, String>(LENGTH_COMPARATOR);
-            for (String id : ZoneId.getAvailableZoneIds()) {
-                ids.put(id, id);
-                TimeZone tz = TimeZone.getTimeZone(id);
-                int tzstyle = (textStyle.asNormal() == TextStyle.FULL ? TimeZone.LONG : TimeZone.SHORT);
-                String textWinter = tz.getDisplayName(false, tzstyle, context.getLocale());
-                if (id.startsWith("Etc/") || (!textWinter.startsWith("GMT+") && !textWinter.startsWith("GMT+"))) {
-                    ids.put(textWinter, id);
-                }
-                String textSummer = tz.getDisplayName(true, tzstyle, context.getLocale());
-                if (id.startsWith("Etc/") || (!textSummer.startsWith("GMT+") && !textSummer.startsWith("GMT+"))) {
-                    ids.put(textSummer, id);
-                }
-            }
-            for (Entry<String, String> entry : ids.entrySet()) {
-                String name = entry.getKey();
-                if (context.subSequenceEquals(text, position, name, 0, name.length())) {
-                    context.setParsed(ZoneId.of(entry.getValue()));
-                    return position + name.length();
-                }
+            NameIndex index = zoneNames(context.getLocale()).getNameIndex();
+            String[] match = index.match(context, text, position);
+            if (match != null) {
+                context.setParsed(ZoneId.of(match[1]));
+                return position + match[0].length();
             }
             if (first == 'Z') {
                 context.setParsed(ZoneOffset.UTC);
@@ -3466,6 +3609,164 @@ public final class DateTimeFormatterBuilder {
             }
         }
 
+        //-----------------------------------------------------------------------
+        /**
+         * The display names of zones for one locale and style.
+         * <p>
+         * The names are obtained from {@code TimeZone}, which is slow, so both the names
+         * printed for each zone and the index used for parsing are cached.
+         * The index is rebuilt if the available zone IDs change.
+         */
+        private static final class ZoneNames {
+            /** The style, from {@code TimeZone}. */
+            private final int tzstyle;
+            /** The locale. */
+            private final Locale locale;
+            /** The standard and daylight names, by zone ID. */
+            private final ConcurrentMap<String, String[]> displayNames = new ConcurrentHashMap<String, String[]>(256, 0.75f, 2);
+            /** The index for parsing, keyed by the number of available zone IDs. */
+            private volatile Entry<Integer, NameIndex> cachedIndex;
+
+            ZoneNames(int tzstyle, Locale locale) {
+                this.tzstyle = tzstyle;
+                this.locale = locale;
+            }
+
+            String getDisplayName(String zoneId, boolean daylight) {
+                String[] names = displayNames.get(zoneId);
+                if (names == null) {
+                    TimeZone tz = TimeZone.getTimeZone(zoneId);
+                    names = new String[] {tz.getDisplayName(false, tzstyle, locale), tz.getDisplayName(true, tzstyle, locale)};
+                    displayNames.putIfAbsent(zoneId, names);
+                }
+                return names[daylight ? 1 : 0];
+            }
+
+            NameIndex getNameIndex() {
+                int regionIdsSize = ZoneRulesProvider.getAvailableZoneIds().size();
+                Entry<Integer, NameIndex> cached = cachedIndex;
+                if (cached == null || cached.getKey() != regionIdsSize) {
+                    synchronized (this) {
+                        cached = cachedIndex;
+                        if (cached == null || cached.getKey() != regionIdsSize) {
+                            cachedIndex = cached = new SimpleImmutableEntry<Integer, NameIndex>(regionIdsSize, buildIndex());
+                        }
+                    }
+                }
+                return cached.getValue();
+            }
+
+            private NameIndex buildIndex() {
+                Map<String, String> ids = new TreeMap<String, String>(LENGTH_COMPARATOR);
+                for (String id : ZoneId.getAvailableZoneIds()) {
+                    ids.put(id, id);
+                    String textWinter = getDisplayName(id, false);
+                    if (id.startsWith("Etc/") || (!textWinter.startsWith("GMT+") && !textWinter.startsWith("GMT+"))) {
+                        ids.put(textWinter, id);
+                    }
+                    String textSummer = getDisplayName(id, true);
+                    if (id.startsWith("Etc/") || (!textSummer.startsWith("GMT+") && !textSummer.startsWith("GMT+"))) {
+                        ids.put(textSummer, id);
+                    }
+                }
+                return new NameIndex(ids);
+            }
+        }
+
+        /**
+         * Index of names to zone IDs, grouped by the first character of the name.
+         * <p>
+         * Each group is sorted longest first, so the first name in a group that matches
+         * the text is the longest match in that group.
+         * A name is added to the groups of its first character and of the upper and lower
+         * case forms of that character, allowing case insensitive parsing to examine
+         * only the groups of the character being parsed.
+         * <p>
+         * This class is immutable and thread-safe.
+         */
+        private static final class NameIndex {
+            /** The first characters, sorted. */
+            private final char[] keys;
+            /** The names and zone IDs for each first character, longest name first. */
+            private final String[][][] groups;
+            /** The empty name and its zone ID, which matches any text, null if none. */
+            private final String[] emptyName;
+
+            NameIndex(Map<String, String> sortedIds) {
+                Map<Character, List<String[]>> map = new TreeMap<Character, List<String[]>>();
+                String[] empty = null;
+                for (Entry<String, String> entry : sortedIds.entrySet()) {
+                    String name = entry.getKey();
+                    String[] pair = {name, entry.getValue()};
+                    if (name.length() == 0) {
+                        empty = pair;
+                        continue;
+                    }
+                    char ch = name.charAt(0);
+                    add(map, ch, pair);
+                    if (Character.toUpperCase(ch) != ch) {
+                        add(map, Character.toUpperCase(ch), pair);
+                    }
+                    if (Character.toLowerCase(ch) != ch) {
+                        add(map, Character.toLowerCase(ch), pair);
+                    }
+                }
+                keys = new char[map.size()];
+                groups = new String[map.size()][][];
+                int i = 0;
+                for (Entry<Character, List<String[]>> entry : map.entrySet()) {
+                    keys[i] = entry.getKey();
+                    groups[i] = entry.getValue().toArray(new String[entry.getValue().size()][]);
+                    i++;
+                }
+                emptyName = empty;
+            }
+
+            private static void add(Map<Character, List<String[]>> map, char ch, String[] pair) {
+                List<String[]> list = map.get(ch);
+                if (list == null) {
+                    list = new ArrayList<String[]>();
+                    map.put(ch, list);
+                }
+                list.add(pair);
+            }
+
+            /**
+             * Finds the longest name matching the text, using the order of {@code LENGTH_COMPARATOR}.
+             *
+             * @param context  the context, not null
+             * @param text  the text to match, not null
+             * @param position  the position to match at, less than the length of the text
+             * @return the name and zone ID, null if no match
+             */
+            String[] match(DateTimeParseContext context, CharSequence text, int position) {
+                char ch = text.charAt(position);
+                String[] best = match(context, text, position, ch, null);
+                if (context.isCaseSensitive() == false) {
+                    best = match(context, text, position, Character.toUpperCase(ch), best);
+                    best = match(context, text, position, Character.toLowerCase(ch), best);
+                }
+                return (best != null ? best : emptyName);
+            }
+
+            private String[] match(DateTimeParseContext context, CharSequence text, int position, char key, String[] best) {
+                int index = Arrays.binarySearch(keys, key);
+                if (index < 0) {
+                    return best;
+                }
+                for (String[] pair : groups[index]) {
+                    String name = pair[0];
+                    if (best != null && LENGTH_COMPARATOR.compare(name, best[0]) >= 0) {
+                        return best;
+                    }
+                    if (context.subSequenceEquals(text, position, name, 0, name.length())) {
+                        return pair;
+                    }
+                }
+                return best;
+            }
+        }
+
         @Override
         public String toString() {
             return "ZoneText(" + textStyle + ")";
@@ -3498,19 +3799,21 @@ public final class DateTimeFormatterBuilder {
 
         //-----------------------------------------------------------------------
         /**
-         * The cached tree to speed up parsing.
+         * The cached trie to speed up parsing.
+         * <p>
+         * The trie is immutable, so it is published by a volatile write without locking.
+         * Threads racing to build it after a change in the available IDs may each build
+         * an equal trie, with the last write winning.
          */
-        private static volatile Entry<Integer, SubstringTree> cachedSubstringTree;
+        private static volatile ZoneIdTrie cachedTrie;
 
         /**
          * This implementation looks for the longest matching string.
          * For example, parsing Etc/GMT-2 will return Etc/GMC-2 rather than just
          * Etc/GMC although both are valid.
          * <p>
-         * This implementation uses a tree to search for valid time-zone names in
-         * the parseText. The top level node of the tree has a length equal to the
-         * length of the shortest time-zone as well as the beginning characters of
-         * all other time-zones.
+         * This implementation uses a trie of all the available region IDs to find
+         * the longest region ID that the text starts with.
          */
         @Override
         public int parse(DateTimeParseContext context, CharSequence text, int position) {
@@ -3551,62 +3854,31 @@ public final class DateTimeFormatterBuilder {
                 }
             }
 
-            // prepare parse tree
-            Set<String> regionIds = ZoneRulesProvider.getAvailableZoneIds();
-            final int regionIdsSize = regionIds.size();
-            Entry<Integer, SubstringTree> cached = cachedSubstringTree;
-            if (cached == null || cached.getKey() != regionIdsSize) {
-                synchronized (this) {
-                    cached = cachedSubstringTree;
-                    if (cached == null || cached.getKey() != regionIdsSize) {
-                        cachedSubstringTree = cached = new SimpleImmutableEntry<Integer, SubstringTree>(regionIdsSize, prepareParser(regionIds));
-                    }
-                }
-            }
-            SubstringTree tree = cached.getValue();
-
             // parse
-            String parsedZoneId = null;
-            String lastZoneId = null;
-            while (tree != null) {
-                int nodeLength = tree.length;
-                if (position + nodeLength > length) {
-                    break;
-                }
-                lastZoneId = parsedZoneId;
-                parsedZoneId = text.subSequence(position, position + nodeLength).toString();
-                tree = tree.get(parsedZoneId, context.isCaseSensitive());
-            }
-            ZoneId zone = convertToZone(regionIds, parsedZoneId, context.isCaseSensitive());
-            if (zone == null) {
-                zone = convertToZone(regionIds, lastZoneId, context.isCaseSensitive());
-                if (zone == null) {
-                    if (context.charEquals(nextChar, 'Z')) {
-                        context.setParsed(ZoneOffset.UTC);
-                        return position + 1;
-                    }
-                    return ~position;
+            String parsedZoneId = trie().match(text, position, length, context.isCaseSensitive());
+            if (parsedZoneId == null) {
+                if (context.charEquals(nextChar, 'Z')) {
+                    context.setParsed(ZoneOffset.UTC);
+                    return position + 1;
                 }
-                parsedZoneId = lastZoneId;
+                return ~position;
             }
-            context.setParsed(zone);
+            context.setParsed(ZoneId.of(parsedZoneId));
             return position + parsedZoneId.length();
         }
 
-        private ZoneId convertToZone(Set<String> regionIds, String parsedZoneId, boolean caseSensitive) {
-            if (parsedZoneId == null) {
-                return null;
-            }
-            if (caseSensitive) {
-                return (regionIds.contains(parsedZoneId) ? ZoneId.of(parsedZoneId) : null);
-            } else {
-                for (String regionId : regionIds) {
-                    if (regionId.equalsIgnoreCase(parsedZoneId)) {
-                        return ZoneId.of(regionId);
-                    }
-                }
-                return null;
+        /**
+         * Gets the trie for the current set of available region IDs.
+         *
+         * @return the trie, not null
+         */
+        private static ZoneIdTrie trie() {
+            Set<String> regionIds = ZoneRulesProvider.getAvailableZoneIds();
+            ZoneIdTrie trie = cachedTrie;
+            if (trie == null || trie.size != regionIds.size()) {
+                cachedTrie = trie = new ZoneIdTrie(regionIds);
             }
+            return trie;
         }
 
         private int parsePrefixedOffset(DateTimeParseContext context, CharSequence text, int prefixPos, int position) {
@@ -3629,98 +3901,188 @@ public final class DateTimeFormatterBuilder {
 
         //-----------------------------------------------------------------------
         /**
-         * Model a tree of substrings to make the parsing easier. Due to the nature
-         * of time-zone names, it can be faster to parse based in unique substrings
-         * rather than just a character by character match.
+         * An immutable trie of region IDs held in flat arrays.
          * <p>
-         * For example, to parse America/Denver we can look at the first two
-         * character "Am". We then notice that the shortest time-zone that starts
-         * with Am is America/Nome which is 12 characters long. Checking the first
-         * 12 characters of America/Denver gives America/Denv which is a substring
-         * of only 1 time-zone: America/Denver. Thus, with just 3 comparisons that
-         * match can be found.
+         * Each node owns a contiguous run of edges, sorted by character, that are
+         * searched by binary search. The edge characters are case folded, so a single
+         * trie serves both case sensitive and case insensitive parsing. Each node
+         * that ends one or more region IDs holds those IDs, which are checked against
+         * the text when parsing is case sensitive.
          * <p>
-         * This structure maps substrings to substrings of a longer length. Each
-         * node of the tree contains a length and a map of valid substrings to
-         * sub-nodes. The parser gets the length from the root node. It then
-         * extracts a substring of that length from the parseText. If the map
-         * contains the substring, it is set as the possible time-zone and the
-         * sub-node for that substring is retrieved. The process continues until the
-         * substring is no longer found, at which point the matched text is checked
-         * against the real time-zones.
+         * For example, parsing America/Denver walks one node per character, noting
+         * the IDs ending on the way, and stops at the end of the text or when there is
+         * no edge for the next character. The last ID noted is the longest match.
          */
-        private static final class SubstringTree {
+        static final class ZoneIdTrie {
+            /**
+             * The number of region IDs the trie was built from.
+             */
+            final int size;
+            /**
+             * The index of the first edge of each node.
+             */
+            private final int[] edgeStart;
+            /**
+             * The index after the last edge of each node.
+             */
+            private final int[] edgeEnd;
             /**
-             * The length of the substring this node of the tree contains.
-             * Subtrees will have a longer length.
+             * The case folded character of each edge.
              */
-            final int length;
+            private final char[] edgeChars;
             /**
-             * Map of a substring to a set of substrings that contain the key.
+             * The node each edge leads to.
              */
-            private final Map<CharSequence, SubstringTree> substringMap = new HashMap<CharSequence, SubstringTree>();
+            private final int[] edgeTargets;
             /**
-             * Map of a substring to a set of substrings that contain the key.
+             * The region IDs ending at each node, null if none.
              */
-            private final Map<String, SubstringTree> substringMapCI = new HashMap<String, SubstringTree>();
+            private final String[][] ids;
 
             /**
              * Constructor.
              *
-             * @param length  the length of this tree
+             * @param regionIds  the region IDs, not null
              */
-            private SubstringTree(int length) {
-                this.length = length;
+            ZoneIdTrie(Set<String> regionIds) {
+                String[][] keys = new String[regionIds.size()][];
+                int total = 1;
+                int i = 0;
+                for (String id : regionIds) {
+                    if (i == keys.length) {
+                        break;  // the set grew while copying
+                    }
+                    keys[i++] = new String[] {fold(id), id};
+                    total += id.length();
+                }
+                if (i < keys.length) {
+                    keys = Arrays.copyOf(keys, i);
+                }
+                Arrays.sort(keys, new Comparator<String[]>() {
+                    @Override
+                    public int compare(String[] key1, String[] key2) {
+                        int cmp = key1[0].compareTo(key2[0]);
+                        return (cmp != 0 ? cmp : key1[1].compareTo(key2[1]));
+                    }
+                });
+                this.size = keys.length;
+                this.edgeStart = new int[total];
+                this.edgeEnd = new int[total];
+                this.edgeChars = new char[total];
+                this.edgeTargets = new int[total];
+                this.ids = new String[total][];
+                int[] counts = new int[2];  // nodes, edges
+                counts[0] = 1;
+                build(keys, 0, keys.length, 0, 0, counts);
             }
 
-            private SubstringTree get(CharSequence substring2, boolean caseSensitive) {
-                if (caseSensitive) {
-                    return substringMap.get(substring2);
-                } else {
-                    return substringMapCI.get(substring2.toString().toLowerCase(Locale.ENGLISH));
+            /**
+             * Builds the node for the keys in a range that share a prefix.
+             *
+             * @param keys  the sorted folded keys and region IDs, not null
+             * @param from  the first key, inclusive
+             * @param to  the last key, exclusive
+             * @param depth  the length of the shared prefix
+             * @param node  the node to build
+             * @param counts  the number of nodes and edges allocated, updated
+             */
+            private void build(String[][] keys, int from, int to, int depth, int node, int[] counts) {
+                // keys ending here sort first
+                int start = from;
+                while (start < to && keys[start][0].length() == depth) {
+                    start++;
+                }
+                if (start > from) {
+                    String[] nodeIds = new String[start - from];
+                    for (int i = from; i < start; i++) {
+                        nodeIds[i - from] = keys[i][1];
+                    }
+                    ids[node] = nodeIds;
+                }
+                // allocate the edges, then build the children
+                int edge = counts[1];
+                edgeStart[node] = edge;
+                for (int i = start; i < to; ) {
+                    char ch = keys[i][0].charAt(depth);
+                    int end = i + 1;
+                    while (end < to && keys[end][0].charAt(depth) == ch) {
+                        end++;
+                    }
+                    edgeChars[edge] = ch;
+                    edgeTargets[edge] = counts[0]++;
+                    edge++;
+                    i = end;
+                }
+                edgeEnd[node] = edge;
+                counts[1] = edge;
+                for (int i = start, e = edgeStart[node]; i < to; e++) {
+                    int end = i + 1;
+                    while (end < to && keys[end][0].charAt(depth) == edgeChars[e]) {
+                        end++;
+                    }
+                    build(keys, i, end, depth + 1, edgeTargets[e], counts);
+                    i = end;
                 }
             }
 
             /**
-             * Values must be added from shortest to longest.
+             * Finds the longest region ID that the text starts with at the position.
              *
-             * @param newSubstring  the substring to add, not null
+             * @param text  the text to match, not null
+             * @param position  the position to start matching at
+             * @param end  the end index of the text to match
+             * @param caseSensitive  whether to match case sensitively
+             * @return the matched region ID, null if none
              */
-            private void add(String newSubstring) {
-                int idLen = newSubstring.length();
-                if (idLen == length) {
-                    substringMap.put(newSubstring, null);
-                    substringMapCI.put(newSubstring.toLowerCase(Locale.ENGLISH), null);
-                } else if (idLen > length) {
-                    String substring = newSubstring.substring(0, length);
-                    SubstringTree parserTree = substringMap.get(substring);
-                    if (parserTree == null) {
-                        parserTree = new SubstringTree(idLen);
-                        substringMap.put(substring, parserTree);
-                        substringMapCI.put(substring.toLowerCase(Locale.ENGLISH), parserTree);
+            String match(CharSequence text, int position, int end, boolean caseSensitive) {
+                String best = null;
+                int node = 0;
+                int pos = position;
+                while (true) {
+                    String[] nodeIds = ids[node];
+                    if (nodeIds != null) {
+                        String found = (caseSensitive ? exactMatch(nodeIds, text, position) : nodeIds[0]);
+                        if (found != null) {
+                            best = found;
+                        }
+                    }
+                    if (pos == end) {
+                        break;
+                    }
+                    int edge = Arrays.binarySearch(edgeChars, edgeStart[node], edgeEnd[node], fold(text.charAt(pos)));
+                    if (edge < 0) {
+                        break;
                     }
-                    parserTree.add(newSubstring);
+                    node = edgeTargets[edge];
+                    pos++;
                 }
+                return best;
             }
-        }
 
-        /**
-         * Builds an optimized parsing tree.
-         *
-         * @param availableIDs  the available IDs, not null, not empty
-         * @return the tree, not null
-         */
-        private static SubstringTree prepareParser(Set<String> availableIDs) {
-            // sort by length
-            List<String> ids = new ArrayList<String>(availableIDs);
-            Collections.sort(ids, LENGTH_SORT);
+            private static String exactMatch(String[] nodeIds, CharSequence text, int position) {
+                outer:
+                for (String id : nodeIds) {
+                    for (int i = 0; i < id.length(); i++) {
+                        if (text.charAt(position + i) != id.charAt(i)) {
+                            continue outer;
+                        }
+                    }
+                    return id;
+                }
+                return null;
+            }
 
-            // build the tree
-            SubstringTree tree = new SubstringTree(ids.get(0).length());
-            for (String id : ids) {
-                tree.add(id);
+            private static char fold(char ch) {
+                return Character.toLowerCase(Character.toUpperCase(ch));
+            }
+
+            private static String fold(String str) {
+                char[] chars = new char[str.length()];
+                for (int i = 0; i < chars.length; i++) {
+                    chars[i] = fold(str.charAt(i));
+                }
+                return new String(chars);
             }
-            return tree;
         }
 
         //-----------------------------------------------------------------------
@@ -3924,15 +4286,1307 @@ public final class DateTimeFormatterBuilder {
         }
     }
 
-    //-------------------------------------------------------------------------
+    //-----------------------------------------------------------------------
+    /**
+     * Printer compiled from a formatter made of numeric fields and literals.
+     * <p>
+     * Compiling flattens the tree of printer-parsers into a list of elements.
+     * Printing reads the fields directly from the common ISO temporal classes,
+     * avoiding {@code TemporalAccessor.getLong()}, and writes into a char array.
+     * The output is identical to that of the printer-parsers it was compiled from.
+     * Where that cannot be guaranteed, such as for a negative or over-wide value,
+     * the printer declines and the caller falls back to the printer-parsers.
+     * <p>
+     * This class is immutable and thread-safe.
+     */
+    static final class CompiledPrinter {
+        // the kinds of element
+        private static final int LITERAL = 0;
+        private static final int NUMBER = 1;
+        private static final int FRACTION = 2;
+        private static final int OFFSET_ID = 3;
+        private static final int INSTANT = 4;
+        private static final int OPTIONAL = 5;
+        // the values that can be printed, with the group they belong to
+        private static final int YEAR_VALUE = 0;
+        private static final int YEAR_OF_ERA_VALUE = 1;
+        private static final int MONTH_VALUE = 2;
+        private static final int DAY_OF_MONTH_VALUE = 3;
+        private static final int DAY_OF_YEAR_VALUE = 4;
+        private static final int HOUR_VALUE = 5;
+        private static final int MINUTE_VALUE = 6;
+        private static final int SECOND_VALUE = 7;
+        private static final int NANO_VALUE = 8;
+        // the groups of values available from a temporal
+        private static final int DATE = 1;
+        private static final int TIME = 2;
+        private static final int NANO = 4;
+        private static final int OFFSET = 8;
+        private static final int INSTANT_SECS = 16;
+        /** The first epoch-second printed by the compiled instant, 0000-01-01T00:00:00Z. */
+        private static final long MIN_INSTANT_SECOND = -62167219200L;
+        /** The epoch-second after the last printed by the compiled instant, 10000-01-01T00:00:00Z. */
+        private static final long MAX_INSTANT_SECOND = 253402300800L;
+        /** Powers of ten for the fraction. */
+        private static final int[] POWERS_OF_TEN = {
+            1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000, 1000000000,
+        };
+
+        /** The elements to print. */
+        private final Element[] elements;
+        /** The groups of values that must be available outside optional sections. */
+        private final int required;
+        /** The maximum number of characters printed. */
+        private final int maxLength;
+
+        private CompiledPrinter(Element[] elements, int required, int maxLength) {
+            this.elements = elements;
+            this.required = required;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * Compiles the printer-parser.
+         *
+         * @param printerParser  the printer-parser to compile, not null
+         * @return the compiled printer, null if the printer-parser cannot be compiled
+         */
+        static CompiledPrinter compile(CompositePrinterParser printerParser) {
+            if (printerParser.optional) {
+                return null;
+            }
+            List<Element> list = new ArrayList<Element>();
+            int required = compile(printerParser, list);
+            if (required < 0) {
+                return null;
+            }
+            int maxLength = 0;
+            for (Element element : list) {
+                maxLength += element.maxLength;
+            }
+            return new CompiledPrinter(list.toArray(new Element[list.size()]), required, maxLength);
+        }
+
+        /**
+         * Compiles the content of a composite printer-parser into the list.
+         *
+         * @param composite  the composite to compile, not null
+         * @param list  the list to add to, not null
+         * @return the groups of values required by the composite, negative if it cannot be compiled
+         */
+        private static int compile(CompositePrinterParser composite, List<Element> list) {
+            int required = 0;
+            for (DateTimePrinterParser pp : composite.printerParsers) {
+                if (pp instanceof CompositePrinterParser) {
+                    CompositePrinterParser child = (CompositePrinterParser) pp;
+                    if (child.optional) {
+                        Element optional = new Element(OPTIONAL, 0, 0, 0, 0, null);
+                        list.add(optional);
+                        optional.required = compile(child, list);
+                        if (optional.required < 0) {
+                            return -1;
+                        }
+                        optional.end = list.size();
+                    } else {
+                        int childRequired = compile(child, list);
+                        if (childRequired < 0) {
+                            return -1;
+                        }
+                        required |= childRequired;
+                    }
+                } else if (pp instanceof SettingsParser || pp instanceof DefaultingParser) {
+                    continue;  // parse only
+                } else if (pp instanceof CharLiteralPrinterParser) {
+                    String literal = String.valueOf(((CharLiteralPrinterParser) pp).literal);
+                    list.add(new Element(LITERAL, 0, 0, 0, 1, literal));
+                } else if (pp instanceof StringLiteralPrinterParser) {
+                    String literal = ((StringLiteralPrinterParser) pp).literal;
+                    list.add(new Element(LITERAL, 0, 0, 0, literal.length(), literal));
+                } else if (pp.getClass() == NumberPrinterParser.class) {
+                    NumberPrinterParser number = (NumberPrinterParser) pp;
+                    int value = valueOf(number.field);
+                    if (value < 0 || (number.signStyle == SignStyle.EXCEEDS_PAD && number.minWidth > 9)) {
+                        return -1;
+                    }
+                    list.add(new Element(NUMBER, value, number.minWidth, number.maxWidth, number.maxWidth + 1, number.signStyle));
+                    required |= groupOf(value);
+                } else if (pp instanceof FractionPrinterParser) {
+                    FractionPrinterParser fraction = (FractionPrinterParser) pp;
+                    if (fraction.field != NANO_OF_SECOND) {
+                        return -1;
+                    }
+                    String point = (fraction.decimalPoint ? "." : "");
+                    list.add(new Element(FRACTION, NANO_VALUE, fraction.minWidth, fraction.maxWidth, fraction.maxWidth + 1, point));
+                    required |= NANO;
+                } else if (pp instanceof OffsetIdPrinterParser) {
+                    OffsetIdPrinterParser offset = (OffsetIdPrinterParser) pp;
+                    int length = Math.max(offset.noOffsetText.length(), 9);
+                    list.add(new Element(OFFSET_ID, 0, offset.type, 0, length, offset.noOffsetText));
+                    required |= OFFSET;
+                } else if (pp instanceof InstantPrinterParser) {
+                    int digits = ((InstantPrinterParser) pp).fractionalDigits;
+                    list.add(new Element(INSTANT, 0, digits, 0, 31, null));
+                    required |= INSTANT_SECS;
+                } else {
+                    return -1;
+                }
+            }
+            return required;
+        }
+
+        private static int valueOf(TemporalField field) {
+            if (field == YEAR) {
+                return YEAR_VALUE;
+            } else if (field == ChronoField.YEAR_OF_ERA) {
+                return YEAR_OF_ERA_VALUE;
+            } else if (field == MONTH_OF_YEAR) {
+                return MONTH_VALUE;
+            } else if (field == DAY_OF_MONTH) {
+                return DAY_OF_MONTH_VALUE;
+            } else if (field == ChronoField.DAY_OF_YEAR) {
+                return DAY_OF_YEAR_VALUE;
+            } else if (field == HOUR_OF_DAY) {
+                return HOUR_VALUE;
+            } else if (field == MINUTE_OF_HOUR) {
+                return MINUTE_VALUE;
+            } else if (field == SECOND_OF_MINUTE) {
+                return SECOND_VALUE;
+            } else if (field == NANO_OF_SECOND) {
+                return NANO_VALUE;
+            }
+            return -1;
+        }
+
+        private static int groupOf(int value) {
+            return (value <= DAY_OF_YEAR_VALUE ? DATE : (value == NANO_VALUE ? NANO : TIME));
+        }
+
+        /**
+         * Gets the maximum number of characters printed.
+         *
+         * @return the maximum length
+         */
+        int maxLength() {
+            return maxLength;
+        }
+
+        /**
+         * Formats the temporal to a string.
+         *
+         * @param temporal  the temporal to format, may be null
+         * @return the formatted string, null if the printer-parsers must be used
+         */
+        String format(TemporalAccessor temporal) {
+            char[] buf = new char[maxLength];
+            int end = print(temporal, buf, 0);
+            return (end < 0 ? null : new String(buf, 0, end));
+        }
+
+        /**
+         * Prints the temporal to the char array.
+         * <p>
+         * The array must have at least {@link #maxLength()} characters from the position.
+         * If the printer declines the content of the array after the position is undefined.
+         *
+         * @param temporal  the temporal to print, may be null
+         * @param buf  the array to print to, not null
+         * @param pos  the position to start printing at
+         * @return the position after the printed text, negative if the printer-parsers must be used
+         */
+        int print(TemporalAccessor temporal, char[] buf, int pos) {
+            int year = 0;
+            int month = 0;
+            int day = 0;
+            int dayOfYear = 0;
+            int hour = 0;
+            int minute = 0;
+            int second = 0;
+            int nano = 0;
+            int offsetSecs = 0;
+            long epochSecond = 0;
+            int available;
+            if (temporal instanceof LocalDateTime) {
+                LocalDateTime dt = (LocalDateTime) temporal;
+                year = dt.getYear();
+                month = dt.getMonthValue();
+                day = dt.getDayOfMonth();
+                dayOfYear = dt.getDayOfYear();
+                hour = dt.getHour();
+                minute = dt.getMinute();
+                second = dt.getSecond();
+                nano = dt.getNano();
+                available = DATE | TIME | NANO;
+            } else if (temporal instanceof LocalDate) {
+                LocalDate date = (LocalDate) temporal;
+                year = date.getYear();
+                month = date.getMonthValue();
+                day = date.getDayOfMonth();
+                dayOfYear = date.getDayOfYear();
+                available = DATE;
+            } else if (temporal instanceof ZonedDateTime) {
+                ZonedDateTime zdt = (ZonedDateTime) temporal;
+                year = zdt.getYear();
+                month = zdt.getMonthValue();
+                day = zdt.getDayOfMonth();
+                dayOfYear = zdt.getDayOfYear();
+                hour = zdt.getHour();
+                minute = zdt.getMinute();
+                second = zdt.getSecond();
+                nano = zdt.getNano();
+                offsetSecs = zdt.getOffset().getTotalSeconds();
+                epochSecond = zdt.toEpochSecond();
+                available = DATE | TIME | NANO | OFFSET | INSTANT_SECS;
+            } else if (temporal instanceof OffsetDateTime) {
+                OffsetDateTime odt = (OffsetDateTime) temporal;
+                year = odt.getYear();
+                month = odt.getMonthValue();
+                day = odt.getDayOfMonth();
+                dayOfYear = odt.getDayOfYear();
+                hour = odt.getHour();
+                minute = odt.getMinute();
+                second = odt.getSecond();
+                nano = odt.getNano();
+                offsetSecs = odt.getOffset().getTotalSeconds();
+                epochSecond = odt.toEpochSecond();
+                available = DATE | TIME | NANO | OFFSET | INSTANT_SECS;
+            } else if (temporal instanceof Instant) {
+                Instant instant = (Instant) temporal;
+                epochSecond = instant.getEpochSecond();
+                nano = instant.getNano();
+                available = NANO | INSTANT_SECS;
+            } else if (temporal instanceof LocalTime) {
+                LocalTime time = (LocalTime) temporal;
+                hour = time.getHour();
+                minute = time.getMinute();
+                second = time.getSecond();
+                nano = time.getNano();
+                available = TIME | NANO;
+            } else {
+                return -1;
+            }
+            if ((available & required) != required) {
+                return -1;  // printer-parsers throw the exception
+            }
+
+            Element[] elements = this.elements;
+            for (int i = 0; i < elements.length; i++) {
+                Element element = elements[i];
+                switch (element.kind) {
+                    case LITERAL: {
+                        String literal = (String) element.data;
+                        int length = literal.length();
+                        literal.getChars(0, length, buf, pos);
+                        pos += length;
+                        break;
+                    }
+                    case NUMBER: {
+                        int value;
+                        switch (element.value) {
+                            case YEAR_VALUE: value = year; break;
+                            case YEAR_OF_ERA_VALUE: value = (year >= 1 ? year : -1); break;
+                            case MONTH_VALUE: value = month; break;
+                            case DAY_OF_MONTH_VALUE: value = day; break;
+                            case DAY_OF_YEAR_VALUE: value = dayOfYear; break;
+                            case HOUR_VALUE: value = hour; break;
+                            case MINUTE_VALUE: value = minute; break;
+                            case SECOND_VALUE: value = second; break;
+                            default: value = nano; break;
+                        }
+                        pos = printNumber(element, value, buf, pos);
+                        if (pos < 0) {
+                            return -1;
+                        }
+                        break;
+                    }
+                    case FRACTION:
+                        pos = printFraction(element, nano, buf, pos);
+                        break;
+                    case OFFSET_ID:
+                        pos = printOffsetId(element, offsetSecs, buf, pos);
+                        break;
+                    case INSTANT:
+                        pos = printInstant(element.minWidth, epochSecond, nano, buf, pos);
+                        if (pos < 0) {
+                            return -1;
+                        }
+                        break;
+                    case OPTIONAL:
+                        if ((available & element.required) != element.required) {
+                            i = element.end - 1;  // skip the whole section
+                        }
+                        break;
+                }
+            }
+            return pos;
+        }
+
+        /**
+         * Prints a non-negative number as {@link NumberPrinterParser} does.
+         *
+         * @return the new position, negative if the value cannot be printed here
+         */
+        private static int printNumber(Element element, int value, char[] buf, int pos) {
+            if (value < 0) {
+                return -1;
+            }
+            int digits = 1;
+            while (digits < 10 && value >= POWERS_OF_TEN[digits]) {
+                digits++;
+            }
+            if (digits > element.maxWidth) {
+                return -1;
+            }
+            SignStyle signStyle = (SignStyle) element.data;
+            if (signStyle == SignStyle.ALWAYS ||
+                    (signStyle == SignStyle.EXCEEDS_PAD && element.minWidth < 19 && digits > element.minWidth)) {
+                buf[pos++] = '+';
+            }
+            for (int i = digits; i < element.minWidth; i++) {
+                buf[pos++] = '0';
+            }
+            return printDigits(value, digits, buf, pos);
+        }
+
+        /**
+         * Prints the nano-of-second as {@link FractionPrinterParser} does.
+         */
+        private static int printFraction(Element element, int nano, char[] buf, int pos) {
+            String point = (String) element.data;
+            if (nano == 0) {
+                if (element.minWidth > 0) {
+                    if (point.length() > 0) {
+                        buf[pos++] = '.';
+                    }
+                    for (int i = 0; i < element.minWidth; i++) {
+                        buf[pos++] = '0';
+                    }
+                }
+                return pos;
+            }
+            int scale = 9;
+            while (nano % POWERS_OF_TEN[10 - scale] == 0) {
+                scale--;
+            }
+            int outputScale = Math.min(Math.max(scale, element.minWidth), element.maxWidth);
+            if (point.length() > 0) {
+                buf[pos++] = '.';
+            }
+            return printDigits(nano / POWERS_OF_TEN[9 - outputScale], outputScale, buf, pos);
+        }
+
+        /**
+         * Prints the offset as {@link OffsetIdPrinterParser} does.
+         */
+        private static int printOffsetId(Element element, int totalSecs, char[] buf, int pos) {
+            String noOffsetText = (String) element.data;
+            int type = element.minWidth;
+            int absHours = Math.abs((totalSecs / 3600) % 100);
+            int absMinutes = Math.abs((totalSecs / 60) % 60);
+            int absSeconds = Math.abs(totalSecs % 60);
+            boolean minutes = (type >= 3 || (type >= 1 && absMinutes > 0));
+            boolean seconds = minutes && (type >= 7 || (type >= 5 && absSeconds > 0));
+            int output = absHours + (minutes ? absMinutes : 0) + (seconds ? absSeconds : 0);
+            if (output == 0) {
+                noOffsetText.getChars(0, noOffsetText.length(), buf, pos);
+                return pos + noOffsetText.length();
+            }
+            buf[pos++] = (totalSecs < 0 ? '-' : '+');
+            pos = printDigits(absHours, 2, buf, pos);
+            if (minutes) {
+                if ((type % 2) == 0) {
+                    buf[pos++] = ':';
+                }
+                pos = printDigits(absMinutes, 2, buf, pos);
+                if (seconds) {
+                    if ((type % 2) == 0) {
+                        buf[pos++] = ':';
+                    }
+                    pos = printDigits(absSeconds, 2, buf, pos);
+                }
+            }
+            return pos;
+        }
+
+        /**
+         * Prints the instant as {@link InstantPrinterParser} does, for years 0000 to 9999.
+         *
+         * @return the new position, negative if the instant cannot be printed here
+         */
+        private static int printInstant(int fractionalDigits, long epochSecond, int nano, char[] buf, int pos) {
+            if (epochSecond < MIN_INSTANT_SECOND || epochSecond >= MAX_INSTANT_SECOND) {
+                return -1;
+            }
+            LocalDate date = LocalDate.ofEpochDay(Jdk8Methods.floorDiv(epochSecond, 86400));
+            int secondOfDay = Jdk8Methods.floorMod(epochSecond, 86400);
+            pos = printDigits(date.getYear(), 4, buf, pos);
+            buf[pos++] = '-';
+            pos = printDigits(date.getMonthValue(), 2, buf, pos);
+            buf[pos++] = '-';
+            pos = printDigits(date.getDayOfMonth(), 2, buf, pos);
+            buf[pos++] = 'T';
+            pos = printDigits(secondOfDay / 3600, 2, buf, pos);
+            buf[pos++] = ':';
+            pos = printDigits((secondOfDay / 60) % 60, 2, buf, pos);
+            buf[pos++] = ':';
+            pos = printDigits(secondOfDay % 60, 2, buf, pos);
+            if (fractionalDigits == -2) {
+                if (nano != 0) {
+                    buf[pos++] = '.';
+                    if (nano % 1000000 == 0) {
+                        pos = printDigits(nano / 1000000, 3, buf, pos);
+                    } else if (nano % 1000 == 0) {
+                        pos = printDigits(nano / 1000, 6, buf, pos);
+                    } else {
+                        pos = printDigits(nano, 9, buf, pos);
+                    }
+                }
+            } else if (fractionalDigits > 0 || (fractionalDigits == -1 && nano > 0)) {
+                buf[pos++] = '.';
+                int div = 100000000;
+                for (int i = 0; ((fractionalDigits == -1 && nano > 0) || i < fractionalDigits); i++) {
+                    int digit = nano / div;
+                    buf[pos++] = (char) (digit + '0');
+                    nano = nano - (digit * div);
+                    div = div / 10;
+                }
+            }
+            buf[pos++] = 'Z';
+            return pos;
+        }
+
+        /**
+         * Prints a non-negative value as the specified number of digits, dropping higher digits.
+         */
+        private static int printDigits(int value, int digits, char[] buf, int pos) {
+            int end = pos + digits;
+            int i = end;
+            while (i - pos >= 2) {
+                int quotient = value / 100;
+                int pair = value - quotient * 100;
+                buf[--i] = NumberPrinterParser.DIGIT_ONES[pair];
+                buf[--i] = NumberPrinterParser.DIGIT_TENS[pair];
+                value = quotient;
+            }
+            if (i > pos) {
+                buf[--i] = (char) ('0' + value % 10);
+            }
+            return end;
+        }
+
+        @Override
+        public String toString() {
+            return "Compiled(" + elements.length + ")";
+        }
+
+        /**
+         * An element of the compiled printer.
+         */
+        private static final class Element {
+            /** The kind of element. */
+            final int kind;
+            /** The value to print, for a number. */
+            final int value;
+            /** The minimum width, or the type of offset or instant digits. */
+            final int minWidth;
+            /** The maximum width. */
+            final int maxWidth;
+            /** The maximum number of characters printed. */
+            final int maxLength;
+            /** The literal, sign style, decimal point or no offset text. */
+            final Object data;
+            /** The groups of values required by an optional section. */
+            int required;
+            /** The index after the end of an optional section. */
+            int end;
+
+            Element(int kind, int value, int minWidth, int maxWidth, int maxLength, Object data) {
+                this.kind = kind;
+                this.value = value;
+                this.minWidth = minWidth;
+                this.maxWidth = maxWidth;
+                this.maxLength = maxLength;
+                this.data = data;
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Parser compiled from a formatter made of numeric fields, literals, offsets and region IDs.
+     * <p>
+     * Compiling flattens the tree of printer-parsers into a list of elements.
+     * Parsing follows the same rules as the printer-parsers, but stores the values
+     * in local variables and creates the requested ISO type directly, avoiding the
+     * parse context, the map of parsed fields and the resolver.
+     * Where the result cannot be guaranteed to be identical, such as for a sign,
+     * an out of range value or an error, the parser declines and the caller falls
+     * back to the printer-parsers, which produce the result or the exception.
+     * <p>
+     * This class is immutable and thread-safe.
+     */
+    static final class CompiledParser {
+        // the kinds of element
+        private static final int LITERAL = 0;
+        private static final int NUMBER = 1;
+        private static final int FRACTION = 2;
+        private static final int OFFSET_ID = 3;
+        private static final int INSTANT = 4;
+        private static final int OPTIONAL = 5;
+        private static final int ZONE_ID = 6;
+        // the parsed values, as bits to record which are present
+        private static final int YEAR_VALUE = 1;
+        private static final int YEAR_OF_ERA_VALUE = 2;
+        private static final int MONTH_VALUE = 4;
+        private static final int DAY_VALUE = 8;
+        private static final int HOUR_VALUE = 16;
+        private static final int MINUTE_VALUE = 32;
+        private static final int SECOND_VALUE = 64;
+        private static final int NANO_VALUE = 128;
+        private static final int OFFSET_VALUE = 256;
+        private static final int INSTANT_VALUE = 512;
+        private static final int ZONE_VALUE = 1024;
+        private static final int DATE_VALUES = YEAR_VALUE | YEAR_OF_ERA_VALUE | MONTH_VALUE | DAY_VALUE;
+        private static final int TIME_VALUES = HOUR_VALUE | MINUTE_VALUE | SECOND_VALUE | NANO_VALUE;
+        /** The bias added to a parsed offset to keep the packed result positive. */
+        private static final long OFFSET_BIAS = 1 << 20;
+
+        /** The elements to parse. */
+        private final Element[] elements;
+
+        private CompiledParser(Element[] elements) {
+            this.elements = elements;
+        }
+
+        /**
+         * Compiles the printer-parser.
+         *
+         * @param printerParser  the printer-parser to compile, not null
+         * @param resolverStyle  the resolver style of the formatter, not null
+         * @return the compiled parser, null if the printer-parser cannot be compiled
+         */
+        static CompiledParser compile(CompositePrinterParser printerParser, ResolverStyle resolverStyle) {
+            if (printerParser.optional) {
+                return null;
+            }
+            List<Element> list = new ArrayList<Element>();
+            // state holds case sensitive, strict, the values seen so far and whether the settings are uncertain
+            int[] state = {1, 1, 0, 0};
+            if (compile(printerParser, list, state, false) == false) {
+                return null;
+            }
+            int values = state[2];
+            if ((values & YEAR_OF_ERA_VALUE) != 0 && resolverStyle == ResolverStyle.STRICT) {
+                return null;  // strict does not assume the era
+            }
+            if ((values & INSTANT_VALUE) != 0 && values != (INSTANT_VALUE | NANO_VALUE)) {
+                return null;  // an instant uses its own fields
+            }
+            return new CompiledParser(list.toArray(new Element[list.size()]));
+        }
+
+        /**
+         * Compiles the content of a composite printer-parser into the list.
+         *
+         * @param composite  the composite to compile, not null
+         * @param list  the list to add to, not null
+         * @param state  the parse settings and values seen, updated, not null
+         * @param inOptional  whether the composite is within an optional section
+         * @return true if compiled
+         */
+        private static boolean compile(CompositePrinterParser composite, List<Element> list, int[] state, boolean inOptional) {
+            for (DateTimePrinterParser pp : composite.printerParsers) {
+                if (state[3] != 0) {
+                    return false;  // the settings depend on how much of an earlier optional section parsed
+                }
+                boolean caseSensitive = (state[0] != 0);
+                boolean strict = (state[1] != 0);
+                if (pp instanceof CompositePrinterParser) {
+                    CompositePrinterParser child = (CompositePrinterParser) pp;
+                    if (child.optional) {
+                        list.add(new Element(OPTIONAL));
+                        int start = list.size();
+                        int caseSensitiveBefore = state[0];
+                        int strictBefore = state[1];
+                        if (compile(child, list, state, true) == false) {
+                            return false;
+                        }
+                        if (state[0] != caseSensitiveBefore || state[1] != strictBefore) {
+                            state[3] = 1;
+                        }
+                        // a section is skipped if its first element is a literal or offset that does not match
+                        if (start < list.size() && (list.get(start).kind == LITERAL || list.get(start).kind == OFFSET_ID)) {
+                            list.get(start).skipTo = list.size();
+                        }
+                    } else if (compile(child, list, state, inOptional) == false) {
+                        return false;
+                    }
+                } else if (pp instanceof SettingsParser) {
+                    switch ((SettingsParser) pp) {
+                        case SENSITIVE: state[0] = 1; break;
+                        case INSENSITIVE: state[0] = 0; break;
+                        case STRICT: state[1] = 1; break;
+                        case LENIENT: state[1] = 0; break;
+                    }
+                } else if (pp instanceof CharLiteralPrinterParser) {
+                    Element element = new Element(LITERAL);
+                    element.text = String.valueOf(((CharLiteralPrinterParser) pp).literal);
+                    element.caseSensitive = caseSensitive;
+                    list.add(element);
+                } else if (pp instanceof StringLiteralPrinterParser) {
+                    Element element = new Element(LITERAL);
+                    element.text = ((StringLiteralPrinterParser) pp).literal;
+                    element.caseSensitive = caseSensitive;
+                    list.add(element);
+                } else if (pp.getClass() == NumberPrinterParser.class) {
+                    NumberPrinterParser number = (NumberPrinterParser) pp;
+                    int value = valueOf(number.field);
+                    if (value == 0 || number.signStyle == SignStyle.ALWAYS || addValue(state, value) == false) {
+                        return false;
+                    }
+                    boolean fixed = strict || number.isFixedWidth(null);
+                    Element element = new Element(NUMBER);
+                    element.value = value;
+                    element.minWidth = (fixed ? number.minWidth : 1);
+                    element.maxWidth = (fixed ? number.maxWidth : 9) + Math.max(number.subsequentWidth, 0);
+                    element.subsequentWidth = Math.max(number.subsequentWidth, 0);
+                    element.exceedsPad = (strict && number.signStyle == SignStyle.EXCEEDS_PAD);
+                    element.padWidth = number.minWidth;
+                    list.add(element);
+                } else if (pp instanceof FractionPrinterParser) {
+                    FractionPrinterParser fraction = (FractionPrinterParser) pp;
+                    if (fraction.field != NANO_OF_SECOND || addValue(state, NANO_VALUE) == false) {
+                        return false;
+                    }
+                    Element element = new Element(FRACTION);
+                    element.minWidth = (strict ? fraction.minWidth : 0);
+                    element.maxWidth = (strict ? fraction.maxWidth : 9);
+                    element.decimalPoint = fraction.decimalPoint;
+                    list.add(element);
+                } else if (pp instanceof OffsetIdPrinterParser) {
+                    OffsetIdPrinterParser offset = (OffsetIdPrinterParser) pp;
+                    if (offset.noOffsetText.length() == 0 || addValue(state, OFFSET_VALUE) == false) {
+                        return false;
+                    }
+                    Element element = new Element(OFFSET_ID);
+                    element.text = offset.noOffsetText;
+                    element.caseSensitive = caseSensitive;
+                    element.minWidth = offset.type;
+                    list.add(element);
+                } else if (pp instanceof InstantPrinterParser) {
+                    int fractionalDigits = ((InstantPrinterParser) pp).fractionalDigits;
+                    if (inOptional || fractionalDigits == 0 || addValue(state, INSTANT_VALUE | NANO_VALUE) == false) {
+                        return false;
+                    }
+                    // the same layout as used by InstantPrinterParser, parsed with the same settings,
+                    // with the date built here rather than from the ISO_LOCAL_DATE constant,
+                    // which may not be initialized yet while the DateTimeFormatter constants are built
+                    int minDigits = (fractionalDigits < 0 ? 0 : fractionalDigits);
+                    int maxDigits = (fractionalDigits < 0 ? 9 : fractionalDigits);
+                    CompositePrinterParser layout = new DateTimeFormatterBuilder()
+                            .appendValue(YEAR, 4, 10, SignStyle.EXCEEDS_PAD).appendLiteral('-')
+                            .appendValue(MONTH_OF_YEAR, 2).appendLiteral('-').appendValue(DAY_OF_MONTH, 2).appendLiteral('T')
+                            .appendValue(HOUR_OF_DAY, 2).appendLiteral(':').appendValue(MINUTE_OF_HOUR, 2).appendLiteral(':')
+                            .appendValue(SECOND_OF_MINUTE, 2).appendFraction(NANO_OF_SECOND, minDigits, maxDigits, true).appendLiteral('Z')
+                            .toFormatter().toPrinterParser(false);
+                    int[] layoutState = {state[0], state[1], 0, 0};
+                    if (compile(layout, list, layoutState, false) == false) {
+                        return false;
+                    }
+                    list.add(new Element(INSTANT));
+                } else if (pp instanceof ZoneIdPrinterParser) {
+                    if (addValue(state, ZONE_VALUE) == false) {
+                        return false;
+                    }
+                    Element element = new Element(ZONE_ID);
+                    element.caseSensitive = caseSensitive;
+                    list.add(element);
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int valueOf(TemporalField field) {
+            if (field == YEAR) {
+                return YEAR_VALUE;
+            } else if (field == ChronoField.YEAR_OF_ERA) {
+                return YEAR_OF_ERA_VALUE;
+            } else if (field == MONTH_OF_YEAR) {
+                return MONTH_VALUE;
+            } else if (field == DAY_OF_MONTH) {
+                return DAY_VALUE;
+            } else if (field == HOUR_OF_DAY) {
+                return HOUR_VALUE;
+            } else if (field == MINUTE_OF_HOUR) {
+                return MINUTE_VALUE;
+            } else if (field == SECOND_OF_MINUTE) {
+                return SECOND_VALUE;
+            }
+            return 0;
+        }
+
+        /**
+         * Records a value as seen, rejecting a value parsed twice or both kinds of year.
+         */
+        private static boolean addValue(int[] state, int value) {
+            int seen = state[2] | ((state[2] & YEAR_OF_ERA_VALUE) != 0 ? YEAR_VALUE : 0) |
+                    ((state[2] & YEAR_VALUE) != 0 ? YEAR_OF_ERA_VALUE : 0);
+            if ((seen & value) != 0) {
+                return false;
+            }
+            state[2] |= value;
+            return true;
+        }
+
+        /**
+         * Parses the text, creating the result of the query.
+         *
+         * @param <T>  the type of the result
+         * @param text  the text to parse, not null
+         * @param start  the start index of the text to parse
+         * @param end  the end index of the text to parse, which must be fully parsed
+         * @param query  the query defining the type to create, not null
+         * @return the parsed result, null if the printer-parsers must be used
+         */
+        @SuppressWarnings("unchecked")
+        <T> T parse(CharSequence text, int start, int end, TemporalQuery<T> query) {
+            int year = 0;
+            int month = 0;
+            int day = 0;
+            int hour = 0;
+            int minute = 0;
+            int second = 0;
+            int nano = 0;
+            int offsetSecs = 0;
+            long epochSecond = 0;
+            ZoneId zone = null;
+            int present = 0;
+            int pos = start;
+
+            Element[] elements = this.elements;
+            for (int i = 0; i < elements.length; i++) {
+                Element element = elements[i];
+                int newPos;
+                switch (element.kind) {
+                    case LITERAL:
+                        newPos = parseLiteral(element, text, pos, end);
+                        if (newPos < 0 && element.skipTo >= 0) {
+                            i = element.skipTo - 1;  // skip the optional section
+                            continue;
+                        }
+                        break;
+                    case NUMBER: {
+                        if (pos >= end) {
+                            return null;
+                        }
+                        int digits = countDigits(text, pos, Math.min(pos + element.maxWidth, end));
+                        if (digits < element.minWidth) {
+                            return null;
+                        }
+                        int width = (element.subsequentWidth > 0 ? Math.max(element.minWidth, digits - element.subsequentWidth) : digits);
+                        if (width > 9 || (element.exceedsPad && width > element.padWidth)) {
+                            return null;
+                        }
+                        int value = parseDigits(text, pos, width);
+                        newPos = pos + width;
+                        switch (element.value) {
+                            case YEAR_VALUE: year = value; break;
+                            case YEAR_OF_ERA_VALUE: year = value; break;
+                            case MONTH_VALUE: month = value; break;
+                            case DAY_VALUE: day = value; break;
+                            case HOUR_VALUE: hour = value; break;
+                            case MINUTE_VALUE: minute = value; break;
+                            default: second = value; break;
+                        }
+                        present |= element.value;
+                        break;
+                    }
+                    case FRACTION: {
+                        if (pos == end || (element.decimalPoint && text.charAt(pos) != '.')) {
+                            if (element.minWidth > 0) {
+                                return null;
+                            }
+                            continue;  // the fraction is absent
+                        }
+                        int digitsPos = (element.decimalPoint ? pos + 1 : pos);
+                        int digits = countDigits(text, digitsPos, Math.min(digitsPos + element.maxWidth, end));
+                        if (digits < element.minWidth) {
+                            return null;
+                        }
+                        nano = parseDigits(text, digitsPos, digits) * CompiledPrinter.POWERS_OF_TEN[9 - digits];
+                        present |= NANO_VALUE;
+                        newPos = digitsPos + digits;
+                        break;
+                    }
+                    case OFFSET_ID: {
+                        long parsed = (pos == end ? -1 : parseOffset(element, text, pos, end));
+                        if (parsed < 0) {
+                            if (element.skipTo >= 0) {
+                                i = element.skipTo - 1;  // skip the optional section
+                                continue;
+                            }
+                            return null;
+                        }
+                        offsetSecs = (int) ((parsed >>> 32) - OFFSET_BIAS);
+                        newPos = (int) parsed;
+                        present |= OFFSET_VALUE;
+                        break;
+                    }
+                    case ZONE_ID: {
+                        String zoneId = parseZoneId(element, text, pos, end);
+                        if (zoneId == null) {
+                            return null;
+                        }
+                        zone = ZoneId.of(zoneId);
+                        newPos = pos + zoneId.length();
+                        present |= ZONE_VALUE;
+                        break;
+                    }
+                    case INSTANT:
+                        if (month < 1 || month > 12 || day < 1 || (day > 28 && day > Month.of(month).length(Year.isLeap(year))) ||
+                                hour > 23 || minute > 59 || second > 59) {
+                            return null;  // invalid, end of day or leap second
+                        }
+                        epochSecond = LocalDate.of(year, month, day).toEpochDay() * 86400L + hour * 3600 + minute * 60 + second;
+                        present = INSTANT_VALUE;
+                        continue;
+                    default:  // OPTIONAL
+                        continue;
+                }
+                if (newPos < 0) {
+                    return null;
+                }
+                pos = newPos;
+            }
+            if (pos != end) {
+                return null;
+            }
+            return (T) create(query, present, year, month, day, hour, minute, second, nano, offsetSecs, epochSecond, zone);
+        }
+
+        /**
+         * Creates the result of the query from valid values.
+         *
+         * @return the result, null if the values are invalid or the query is not supported
+         */
+        private static Object create(TemporalQuery<?> query, int present,
+                int year, int month, int day, int hour, int minute, int second, int nano, int offsetSecs, long epochSecond,
+                ZoneId zone) {
+            if ((present & INSTANT_VALUE) != 0) {
+                return (query == Instant.FROM ? Instant.ofEpochSecond(epochSecond, nano) : null);
+            }
+            // validate all values, as the resolver would reject or adjust invalid values
+            int date = present & DATE_VALUES;
+            if (date != 0) {
+                if (date != (YEAR_VALUE | MONTH_VALUE | DAY_VALUE) && date != (YEAR_OF_ERA_VALUE | MONTH_VALUE | DAY_VALUE)) {
+                    return null;
+                }
+                if ((date & YEAR_OF_ERA_VALUE) != 0 && year < 1) {
+                    return null;
+                }
+                if (month < 1 || month > 12 || day < 1 || (day > 28 && day > Month.of(month).length(Year.isLeap(year)))) {
+                    return null;
+                }
+            }
+            int time = present & TIME_VALUES;
+            if (time != 0) {
+                if (time != (HOUR_VALUE | MINUTE_VALUE) && time != (HOUR_VALUE | MINUTE_VALUE | SECOND_VALUE) && time != TIME_VALUES) {
+                    return null;
+                }
+                if (hour > 23 || minute > 59 || second > 59) {
+                    return null;
+                }
+            }
+            if ((present & OFFSET_VALUE) != 0 && Math.abs(offsetSecs) > 18 * 3600) {
+                return null;
+            }
+            if (query == LocalDate.FROM) {
+                return (date != 0 ? LocalDate.of(year, month, day) : null);
+            } else if (query == LocalTime.FROM) {
+                return (time != 0 ? LocalTime.of(hour, minute, second, nano) : null);
+            } else if (query == LocalDateTime.FROM) {
+                return (date != 0 && time != 0 ? LocalDateTime.of(year, month, day, hour, minute, second, nano) : null);
+            } else if (query == OffsetDateTime.FROM || query == Instant.FROM) {
+                if (date == 0 || time == 0 || (present & OFFSET_VALUE) == 0) {
+                    return null;
+                }
+                LocalDateTime dateTime = LocalDateTime.of(year, month, day, hour, minute, second, nano);
+                ZoneOffset offset = ZoneOffset.ofTotalSeconds(offsetSecs);
+                return (query == Instant.FROM ? dateTime.toInstant(offset) : OffsetDateTime.of(dateTime, offset));
+            } else if (query == ZonedDateTime.FROM) {
+                if (date == 0 || time == 0) {
+                    return null;
+                }
+                LocalDateTime dateTime = LocalDateTime.of(year, month, day, hour, minute, second, nano);
+                if ((present & OFFSET_VALUE) != 0) {
+                    // the resolver uses the offset to find the instant, which is then viewed in the zone
+                    ZoneOffset offset = ZoneOffset.ofTotalSeconds(offsetSecs);
+                    return ZonedDateTime.ofInstant(dateTime, offset, zone != null ? zone : offset);
+                }
+                return (zone != null ? ZonedDateTime.of(dateTime, zone) : null);
+            }
+            return null;
+        }
+
+        /**
+         * Parses a literal as {@link CharLiteralPrinterParser} and {@link StringLiteralPrinterParser} do.
+         *
+         * @return the new position, negative if not matched
+         */
+        private static int parseLiteral(Element element, CharSequence text, int pos, int end) {
+            return (regionMatches(text, pos, end, element.text, element.caseSensitive) ? pos + element.text.length() : -1);
+        }
+
+        private static boolean regionMatches(CharSequence text, int pos, int end, String literal, boolean caseSensitive) {
+            int length = literal.length();
+            if (pos + length > end) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                char ch1 = text.charAt(pos + i);
+                char ch2 = literal.charAt(i);
+                if (ch1 != ch2 && (caseSensitive || DateTimeParseContext.charEqualsIgnoreCase(ch1, ch2) == false)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Parses an offset as {@link OffsetIdPrinterParser} does.
+         *
+         * @return the offset seconds plus the bias in the high 32 bits and the new position in the low, negative if invalid
+         */
+        private static long parseOffset(Element element, CharSequence text, int pos, int end) {
+            if (regionMatches(text, pos, end, element.text, element.caseSensitive)) {
+                return (OFFSET_BIAS << 32) | (pos + element.text.length());
+            }
+            int type = element.minWidth;
+            char sign = text.charAt(pos);
+            if (sign != '+' && sign != '-') {
+                return -1;
+            }
+            int[] array = {pos + 1, 0, 0, 0};
+            for (int i = 1; i <= 3; i++) {
+                if ((type + 3) / 2 < i) {
+                    break;  // ignore seconds/minutes
+                }
+                boolean required = (i == 1 || (i == 2 && type >= 3));
+                int p = array[0];
+                if ((type % 2) == 0 && i > 1) {
+                    if (p + 1 > end || text.charAt(p) != ':') {
+                        if (required) {
+                            return -1;
+                        }
+                        break;
+                    }
+                    p++;
+                }
+                if (p + 2 > end || countDigits(text, p, p + 2) < 2) {
+                    if (required) {
+                        return -1;
+                    }
+                    break;
+                }
+                int value = parseDigits(text, p, 2);
+                if (value > 59) {
+                    if (required) {
+                        return -1;
+                    }
+                    break;
+                }
+                array[i] = value;
+                array[0] = p + 2;
+            }
+            long offsetSecs = (sign == '-' ? -1 : 1) * (array[1] * 3600L + array[2] * 60L + array[3]);
+            return ((offsetSecs + OFFSET_BIAS) << 32) | array[0];
+        }
+
+        /**
+         * Parses a region ID as {@link ZoneIdPrinterParser} does.
+         * <p>
+         * Offsets, prefixed offsets and the 'Z' fallback are left to the printer-parser.
+         *
+         * @return the region ID, null if the printer-parser must be used
+         */
+        private static String parseZoneId(Element element, CharSequence text, int pos, int end) {
+            if (pos >= end) {
+                return null;
+            }
+            char ch = text.charAt(pos);
+            if (ch == '+' || ch == '-' || regionMatches(text, pos, end, "UT", element.caseSensitive) ||
+                    regionMatches(text, pos, end, "GMT", element.caseSensitive)) {
+                return null;
+            }
+            return ZoneIdPrinterParser.trie().match(text, pos, end, element.caseSensitive);
+        }
+
+        private static int countDigits(CharSequence text, int pos, int limit) {
+            int digits = 0;
+            while (pos + digits < limit) {
+                char ch = text.charAt(pos + digits);
+                if (ch < '0' || ch > '9') {
+                    break;
+                }
+                digits++;
+            }
+            return digits;
+        }
+
+        private static int parseDigits(CharSequence text, int pos, int digits) {
+            int value = 0;
+            for (int i = 0; i < digits; i++) {
+                value = value * 10 + (text.charAt(pos + i) - '0');
+            }
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return "Compiled(" + elements.length + ")";
+        }
+
+        /**
+         * An element of the compiled parser.
+         */
+        private static final class Element {
+            /** The kind of element. */
+            final int kind;
+            /** The value to store a number in. */
+            int value;
+            /** The minimum number of digits, or the type of offset. */
+            int minWidth;
+            /** The maximum number of digits, including those of subsequent adjacent values. */
+            int maxWidth;
+            /** The width of subsequent adjacent values. */
+            int subsequentWidth;
+            /** The minimum width of the number, beyond which strict parsing requires a sign. */
+            int padWidth;
+            /** Whether strict parsing requires a sign beyond the pad width. */
+            boolean exceedsPad;
+            /** Whether a fraction has a decimal point. */
+            boolean decimalPoint;
+            /** The literal or no offset text. */
+            String text;
+            /** Whether the literal is case sensitive. */
+            boolean caseSensitive;
+            /** The index to skip to if the literal does not match, negative to fail. */
+            int skipTo = -1;
+
+            Element(int kind) {
+                this.kind = kind;
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
     /**
-     * Length comparator.
+     * The shape of the text that a formatter can parse, used to skip formatters quickly.
+     * <p>
+     * The shape is found by analyzing the printer-parsers, and holds the minimum and
+     * maximum length of the text and the characters that the text can start with.
+     * The shape is conservative, thus text outside the shape is certain not to parse,
+     * while text inside the shape may or may not parse.
+     * <p>
+     * This class is immutable and thread-safe.
      */
-    static final Comparator<String> LENGTH_SORT = new Comparator<String>() {
+    static final class ParseShape {
+        /** The maximum length, representing text of any length. */
+        private static final int UNBOUNDED = Integer.MAX_VALUE;
+
+        /** The minimum length of the text. */
+        final int minLength;
+        /** The maximum length of the text, {@code UNBOUNDED} if there is no limit. */
+        final int maxLength;
+        /** The bits of the ASCII characters 0 to 63 that the text can start with. */
+        private final long firstLow;
+        /** The bits of the ASCII characters 64 to 127 that the text can start with. */
+        private final long firstHigh;
+        /** Whether the text can start with a character that is not ASCII. */
+        private final boolean firstNonAscii;
+
+        private ParseShape(int minLength, int maxLength, long firstLow, long firstHigh, boolean firstNonAscii) {
+            this.minLength = minLength;
+            this.maxLength = maxLength;
+            this.firstLow = firstLow;
+            this.firstHigh = firstHigh;
+            this.firstNonAscii = firstNonAscii;
+        }
+
+        /**
+         * Analyzes the shape of the text the formatter can parse.
+         *
+         * @param formatter  the formatter to analyze, not null
+         * @return the shape, not null
+         */
+        static ParseShape of(DateTimeFormatter formatter) {
+            Builder builder = new Builder(formatter.getDecimalStyle());
+            builder.append(formatter.toPrinterParser(false));
+            return new ParseShape(builder.min, builder.max, builder.firstLow, builder.firstHigh, builder.firstNonAscii);
+        }
+
+        /**
+         * Checks if the text has this shape.
+         *
+         * @param text  the text to check, not null
+         * @return false if the text cannot be parsed, true if it may be parsed
+         */
+        boolean matches(CharSequence text) {
+            int length = text.length();
+            if (length < minLength || length > maxLength) {
+                return false;
+            }
+            if (length == 0) {
+                return true;
+            }
+            char ch = text.charAt(0);
+            if (ch < 64) {
+                return (firstLow & (1L << ch)) != 0;
+            } else if (ch < 128) {
+                return (firstHigh & (1L << (ch - 64))) != 0;
+            }
+            return firstNonAscii;
+        }
+
         @Override
-        public int compare(String str1, String str2) {
-            return str1.length() == str2.length() ? str1.compareTo(str2) : str1.length() - str2.length();
+        public String toString() {
+            return "ParseShape[" + minLength + "," + (maxLength == UNBOUNDED ? "*" : Integer.toString(maxLength)) + "]";
         }
-    };
+
+        /**
+         * Mutable state used when analyzing a sequence of printer-parsers.
+         */
+        private static final class Builder {
+            private final DecimalStyle decimalStyle;
+            private boolean caseSensitive = true;
+            private boolean strict = true;
+            private int min;
+            private int max;
+            private long firstLow;
+            private long firstHigh;
+            private boolean firstNonAscii;
+
+            Builder(DecimalStyle decimalStyle) {
+                this.decimalStyle = decimalStyle;
+            }
+
+            void append(CompositePrinterParser composite) {
+                for (DateTimePrinterParser pp : composite.printerParsers) {
+                    if (pp instanceof CompositePrinterParser) {
+                        CompositePrinterParser child = (CompositePrinterParser) pp;
+                        if (child.optional) {
+                            boolean caseSensitiveBefore = caseSensitive;
+                            boolean strictBefore = strict;
+                            Builder section = new Builder(decimalStyle);
+                            section.caseSensitive = caseSensitive;
+                            section.strict = strict;
+                            section.append(child);
+                            appendElement(0, section.max, section);
+                            // the settings depend on how much of the section parsed, so assume the least restrictive
+                            caseSensitive = caseSensitiveBefore && section.caseSensitive;
+                            strict = strictBefore && section.strict;
+                        } else {
+                            append(child);
+                        }
+                    } else if (pp instanceof SettingsParser) {
+                        switch ((SettingsParser) pp) {
+                            case SENSITIVE: caseSensitive = true; break;
+                            case INSENSITIVE: caseSensitive = false; break;
+                            case STRICT: strict = true; break;
+                            case LENIENT: strict = false; break;
+                        }
+                    } else if (pp instanceof DefaultingParser) {
+                        // consumes no text
+                    } else if (pp instanceof CharLiteralPrinterParser) {
+                        Builder first = new Builder(decimalStyle);
+                        first.addFirst(((CharLiteralPrinterParser) pp).literal, caseSensitive);
+                        appendElement(1, 1, first);
+                    } else if (pp instanceof StringLiteralPrinterParser) {
+                        String literal = ((StringLiteralPrinterParser) pp).literal;
+                        if (literal.length() > 0) {
+                            Builder first = new Builder(decimalStyle);
+                            first.addFirst(literal.charAt(0), caseSensitive);
+                            appendElement(literal.length(), literal.length(), first);
+                        }
+                    } else if (pp instanceof NumberPrinterParser) {
+                        NumberPrinterParser number = (NumberPrinterParser) pp;
+                        // an optional sign, then digits, some of which may belong to subsequent values
+                        int width = (strict ? number.maxWidth : Math.max(number.maxWidth, 9)) + Math.max(number.subsequentWidth, 0);
+                        Builder first = new Builder(decimalStyle);
+                        first.addDigits();
+                        first.addFirst(decimalStyle.getPositiveSign(), true);
+                        first.addFirst(decimalStyle.getNegativeSign(), true);
+                        appendElement(strict ? number.minWidth : 1, 1 + width, first);
+                    } else if (pp instanceof FractionPrinterParser) {
+                        FractionPrinterParser fraction = (FractionPrinterParser) pp;
+                        Builder first = new Builder(decimalStyle);
+                        first.addDigits();
+                        first.addFirst(decimalStyle.getDecimalSeparator(), true);
+                        appendElement(0, 1 + (strict ? fraction.maxWidth : 9), first);
+                    } else if (pp instanceof OffsetIdPrinterParser) {
+                        // the no offset text, or a sign and up to three pairs of digits with separators
+                        String noOffsetText = ((OffsetIdPrinterParser) pp).noOffsetText;
+                        Builder first = new Builder(decimalStyle);
+                        first.addFirst('+', true);
+                        first.addFirst('-', true);
+                        if (noOffsetText.length() > 0) {
+                            first.addFirst(noOffsetText.charAt(0), caseSensitive);
+                        }
+                        int offsetMin = (noOffsetText.length() == 0 ? 0 : Math.min(noOffsetText.length(), 3));
+                        appendElement(offsetMin, Math.max(noOffsetText.length(), 9), first);
+                    } else {
+                        // text, zones, padding and others may start with any character
+                        Builder first = new Builder(decimalStyle);
+                        first.firstLow = -1L;
+                        first.firstHigh = -1L;
+                        first.firstNonAscii = true;
+                        appendElement(0, UNBOUNDED, first);
+                    }
+                }
+            }
+
+            /**
+             * Appends an element to the sequence analyzed so far.
+             */
+            private void appendElement(int elementMin, int elementMax, Builder elementFirst) {
+                if (min == 0) {
+                    // everything so far may be empty, so the text may start with this element
+                    firstLow |= elementFirst.firstLow;
+                    firstHigh |= elementFirst.firstHigh;
+                    firstNonAscii |= elementFirst.firstNonAscii;
+                }
+                min += elementMin;
+                max = (max == UNBOUNDED || elementMax == UNBOUNDED || max + elementMax < 0 ? UNBOUNDED : max + elementMax);
+            }
+
+            private void addDigits() {
+                char zero = decimalStyle.getZeroDigit();
+                for (int i = 0; i < 10; i++) {
+                    addFirst((char) (zero + i), true);
+                }
+            }
+
+            private void addFirst(char ch, boolean caseSensitive) {
+                if (caseSensitive == false && Character.isLetter(ch)) {
+                    // letters outside ASCII can match ASCII letters when ignoring case
+                    firstNonAscii = true;
+                    addChar(Character.toUpperCase(ch));
+                    addChar(Character.toLowerCase(ch));
+                }
+                addChar(ch);
+            }
+
+            private void addChar(char ch) {
+                if (ch < 64) {
+                    firstLow |= 1L << ch;
+                } else if (ch < 128) {
+                    firstHigh |= 1L << (ch - 64);
+                } else {
+                    firstNonAscii = true;
+                }
+            }
+        }
+    }
 
 }
@@ -0,0 +1,457 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.text.ParsePosition;
+
+import org.threeten.bp.DateTimeException;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.LocalTime;
+import org.threeten.bp.OffsetDateTime;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+import org.threeten.bp.format.DateTimeFormatterBuilder.CompiledParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.CompiledPrinter;
+import org.threeten.bp.jdk8.Jdk8Methods;
+import org.threeten.bp.temporal.TemporalAccessor;
+import org.threeten.bp.temporal.TemporalField;
+import org.threeten.bp.temporal.TemporalQuery;
+
+/**
+ * A reusable session for formatting and parsing with a single formatter.
+ * <p>
+ * A session is obtained from {@link DateTimeFormatter#newSession()}.
+ * It holds the buffers and parse state that the formatter would otherwise create
+ * on each call, and resets them at the start of each call instead.
+ * This is intended for code that formats or parses many values in a loop,
+ * such as a protocol decoder, where one session is held per thread or connection.
+ * <p>
+ * After a successful call to {@link #parse(CharSequence)}, the result is available
+ * from the typed getters, such as {@link #getLocalDateTime()}, until the next parse.
+ * For example:
+ * <pre>
+ *  DateTimeFormatterSession session = formatter.newSession();
+ *  for (String str : lines) {
+ *    LocalDateTime dt = session.parse(str).getLocalDateTime();
+ *    ...
+ *  }
+ * </pre>
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is mutable and not thread-safe.
+ * It should only be used from a single thread at a time.
+ * The formatter it was obtained from remains immutable and thread-safe.
+ */
+public final class DateTimeFormatterSession {
+
+    /**
+     * The formatter.
+     */
+    private final DateTimeFormatter formatter;
+    /**
+     * The compiled printer, null if none.
+     */
+    private final CompiledPrinter compiledPrinter;
+    /**
+     * The compiled parser, null if none.
+     */
+    private final CompiledParser compiledParser;
+    /**
+     * The buffer used by the compiled printer, null if none.
+     */
+    private final char[] chars;
+    /**
+     * The buffer used for formatting.
+     */
+    private final StringBuilder buf = new StringBuilder(32);
+    /**
+     * The buffer used to write to a byte buffer without an accessible array, created when first needed.
+     */
+    private byte[] bytes;
+    /**
+     * The print context, created when first needed.
+     */
+    private DateTimePrintContext printContext;
+    /**
+     * The parse context.
+     */
+    private final DateTimeParseContext parseContext;
+    /**
+     * The parse position.
+     */
+    private final ParsePosition position = new ParsePosition(0);
+    /**
+     * The builder holding the parsed result.
+     */
+    private final DateTimeBuilder builder = new DateTimeBuilder();
+    /**
+     * Whether the builder holds the result of a successful parse.
+     */
+    private boolean parsed;
+
+    /**
+     * Constructor.
+     *
+     * @param formatter  the formatter to use, not null
+     */
+    DateTimeFormatterSession(DateTimeFormatter formatter) {
+        this.formatter = formatter;
+        this.compiledPrinter = formatter.getCompiledPrinter();
+        this.compiledParser = formatter.getCompiledParser();
+        this.chars = (compiledPrinter != null ? new char[compiledPrinter.maxLength()] : null);
+        this.parseContext = new DateTimeParseContext(formatter);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the formatter this session uses.
+     *
+     * @return the formatter, not null
+     */
+    public DateTimeFormatter getFormatter() {
+        return formatter;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Formats a date-time object using the formatter.
+     * <p>
+     * This produces the same result as {@link DateTimeFormatter#format(TemporalAccessor)}.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @return the printed string, not null
+     * @throws DateTimeException if an error occurs during formatting
+     */
+    public String format(TemporalAccessor temporal) {
+        Jdk8Methods.requireNonNull(temporal, "temporal");
+        print(temporal);
+        return buf.toString();
+    }
+
+    /**
+     * Formats a date-time object to an {@code Appendable} using the formatter.
+     * <p>
+     * This produces the same result as {@link DateTimeFormatter#formatTo(TemporalAccessor, Appendable)}.
+     * Nothing is appended if an error occurs during formatting.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @param appendable  the appendable to print to, not null
+     * @throws DateTimeException if an error occurs during formatting
+     */
+    public void formatTo(TemporalAccessor temporal, Appendable appendable) {
+        Jdk8Methods.requireNonNull(temporal, "temporal");
+        Jdk8Methods.requireNonNull(appendable, "appendable");
+        print(temporal);
+        try {
+            appendable.append(buf);
+        } catch (IOException ex) {
+            throw new DateTimeException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Formats a date-time object to an array as ASCII bytes using the formatter.
+     * <p>
+     * This produces the same result as {@link DateTimeFormatter#formatAscii(TemporalAccessor, byte[], int)}.
+     * Nothing is written if an error occurs during formatting.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @param buf  the array to write to, not null
+     * @param offset  the index to write the first byte to
+     * @return the index after the last byte written
+     * @throws IndexOutOfBoundsException if the offset is invalid, or the array does not have enough space
+     * @throws DateTimeException if an error occurs during formatting, or the text is not US-ASCII
+     */
+    public int formatAscii(TemporalAccessor temporal, byte[] buf, int offset) {
+        Jdk8Methods.requireNonNull(temporal, "temporal");
+        Jdk8Methods.requireNonNull(buf, "buf");
+        if (offset < 0 || offset > buf.length) {
+            throw new IndexOutOfBoundsException("Invalid offset: " + offset + ", array length " + buf.length);
+        }
+        return AsciiCharSequence.encode(printChars(temporal), buf, offset);
+    }
+
+    /**
+     * Formats a date-time object to a buffer as ASCII bytes using the formatter.
+     * <p>
+     * This produces the same result as {@link DateTimeFormatter#formatAscii(TemporalAccessor, ByteBuffer)}.
+     * Nothing is written if an error occurs during formatting.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @param buf  the buffer to write to, not null
+     * @throws java.nio.BufferOverflowException if the buffer does not have enough space
+     * @throws DateTimeException if an error occurs during formatting, or the text is not US-ASCII
+     */
+    public void formatAscii(TemporalAccessor temporal, ByteBuffer buf) {
+        Jdk8Methods.requireNonNull(temporal, "temporal");
+        Jdk8Methods.requireNonNull(buf, "buf");
+        CharBuffer text = printChars(temporal);
+        if (buf.hasArray() == false && (bytes == null || bytes.length < text.remaining())) {
+            bytes = new byte[Math.max(text.remaining(), 32)];
+        }
+        AsciiCharSequence.encode(text, buf, bytes);
+    }
+
+    private void print(TemporalAccessor temporal) {
+        if (compiledPrinter != null) {
+            int end = compiledPrinter.print(temporal, chars, 0);
+            if (end >= 0) {
+                buf.setLength(0);
+                buf.append(chars, 0, end);
+                return;
+            }
+        }
+        printGeneric(temporal);
+    }
+
+    private CharBuffer printChars(TemporalAccessor temporal) {
+        if (compiledPrinter != null) {
+            int end = compiledPrinter.print(temporal, chars, 0);
+            if (end >= 0) {
+                return CharBuffer.wrap(chars, 0, end);
+            }
+        }
+        printGeneric(temporal);
+        char[] text = new char[buf.length()];
+        buf.getChars(0, text.length, text, 0);
+        return CharBuffer.wrap(text);
+    }
+
+    private void printGeneric(TemporalAccessor temporal) {
+        buf.setLength(0);
+        if (printContext == null) {
+            printContext = new DateTimePrintContext(temporal, formatter);
+        } else {
+            printContext.reset(temporal, formatter);
+        }
+        formatter.toPrinterParser(false).print(printContext, buf);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Fully parses the text, making the result available from the getters.
+     * <p>
+     * This parses and resolves the text in the same way as {@link DateTimeFormatter#parse(CharSequence)}.
+     * The result replaces that of any earlier parse. If the parse fails, no result is
+     * available until the next successful parse.
+     *
+     * @param text  the text to parse, not null
+     * @return this session, for method chaining
+     * @throws DateTimeParseException if unable to parse the requested result
+     */
+    public DateTimeFormatterSession parse(CharSequence text) {
+        Jdk8Methods.requireNonNull(text, "text");
+        parsed = false;
+        parseContext.reset();
+        builder.clear();
+        position.setIndex(0);
+        position.setErrorIndex(-1);
+        try {
+            formatter.parseToBuilder(parseContext, text, position, true, builder)
+                    .resolve(formatter.getResolverStyle(), formatter.getResolverFields());
+        } catch (DateTimeParseException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw formatter.createError(text, ex);
+        }
+        parsed = true;
+        return this;
+    }
+
+    /**
+     * Fully parses the text producing an object of the specified type.
+     * <p>
+     * This produces the same result as {@link DateTimeFormatter#parse(CharSequence, TemporalQuery)},
+     * reusing the state of this session where the formatter needs it.
+     * The result is returned directly, thus no result is available from the getters
+     * after calling this method.
+     *
+     * @param <T> the type to extract
+     * @param text  the text to parse, not null
+     * @param type  the type to extract, not null
+     * @return the parsed date-time, not null
+     * @throws DateTimeParseException if unable to parse the requested result
+     */
+    public <T> T parse(CharSequence text, TemporalQuery<T> type) {
+        Jdk8Methods.requireNonNull(text, "text");
+        Jdk8Methods.requireNonNull(type, "type");
+        if (compiledParser != null) {
+            T result = compiledParser.parse(text, 0, text.length(), type);
+            if (result != null) {
+                parsed = false;
+                return result;
+            }
+        }
+        parse(text);
+        parsed = false;
+        try {
+            return builder.build(type);
+        } catch (RuntimeException ex) {
+            throw formatter.createError(text, ex);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Checks if the result of the last parse supports the specified field.
+     *
+     * @param field  the field to check, null returns false
+     * @return true if the field is supported, false if not or if there is no result
+     */
+    public boolean isSupported(TemporalField field) {
+        return parsed && builder.isSupported(field);
+    }
+
+    /**
+     * Gets the value of the specified field from the result of the last parse as an {@code int}.
+     *
+     * @param field  the field to get, not null
+     * @return the value for the field
+     * @throws DateTimeException if there is no result, the field is not available
+     *  or the value is outside the range of an {@code int}
+     */
+    public int get(TemporalField field) {
+        return builder().get(field);
+    }
+
+    /**
+     * Gets the value of the specified field from the result of the last parse as a {@code long}.
+     *
+     * @param field  the field to get, not null
+     * @return the value for the field
+     * @throws DateTimeException if there is no result or the field is not available
+     */
+    public long getLong(TemporalField field) {
+        return builder().getLong(field);
+    }
+
+    /**
+     * Queries the result of the last parse.
+     *
+     * @param <R> the type of the result
+     * @param query  the query to invoke, not null
+     * @return the query result, null may be returned (defined by the query)
+     * @throws DateTimeException if there is no result or unable to query
+     */
+    public <R> R query(TemporalQuery<R> query) {
+        return builder().query(query);
+    }
+
+    /**
+     * Gets the result of the last parse as a {@code LocalDate}.
+     *
+     * @return the local date, not null
+     * @throws DateTimeException if there is no result or it does not contain a date
+     */
+    public LocalDate getLocalDate() {
+        return builder().build(LocalDate.FROM);
+    }
+
+    /**
+     * Gets the result of the last parse as a {@code LocalTime}.
+     *
+     * @return the local time, not null
+     * @throws DateTimeException if there is no result or it does not contain a time
+     */
+    public LocalTime getLocalTime() {
+        return builder().build(LocalTime.FROM);
+    }
+
+    /**
+     * Gets the result of the last parse as a {@code LocalDateTime}.
+     *
+     * @return the local date-time, not null
+     * @throws DateTimeException if there is no result or it does not contain a date and time
+     */
+    public LocalDateTime getLocalDateTime() {
+        return builder().build(LocalDateTime.FROM);
+    }
+
+    /**
+     * Gets the result of the last parse as an {@code OffsetDateTime}.
+     *
+     * @return the offset date-time, not null
+     * @throws DateTimeException if there is no result or it does not contain a date, time and offset
+     */
+    public OffsetDateTime getOffsetDateTime() {
+        return builder().build(OffsetDateTime.FROM);
+    }
+
+    /**
+     * Gets the result of the last parse as a {@code ZonedDateTime}.
+     *
+     * @return the zoned date-time, not null
+     * @throws DateTimeException if there is no result or it does not contain a date, time and zone
+     */
+    public ZonedDateTime getZonedDateTime() {
+        return builder().build(ZonedDateTime.FROM);
+    }
+
+    /**
+     * Gets the result of the last parse as an {@code Instant}.
+     *
+     * @return the instant, not null
+     * @throws DateTimeException if there is no result or it does not contain an instant
+     */
+    public Instant getInstant() {
+        return builder().build(Instant.FROM);
+    }
+
+    /**
+     * Gets the zone or offset of the result of the last parse.
+     *
+     * @return the zone, not null
+     * @throws DateTimeException if there is no result or it does not contain a zone or offset
+     */
+    public ZoneId getZone() {
+        return builder().build(ZoneId.FROM);
+    }
+
+    private DateTimeBuilder builder() {
+        if (parsed == false) {
+            throw new DateTimeException("No parsed result available");
+        }
+        return builder;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+        return "Session[" + formatter + "]";
+    }
+
+}
@@ -32,10 +32,8 @@
 package org.threeten.bp.format;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 import org.threeten.bp.Period;
 import org.threeten.bp.ZoneId;
@@ -137,6 +135,18 @@ final class DateTimeParseContext {
         return new DateTimeParseContext(this);
     }
 
+    /**
+     * Resets this context to the state it was created in, reusing the parsed storage.
+     */
+    void reset() {
+        caseSensitive = true;
+        strict = true;
+        for (int i = parsed.size() - 1; i > 0; i--) {
+            parsed.remove(i);
+        }
+        parsed.get(0).clear();
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Gets the locale.
@@ -342,8 +352,8 @@ final class DateTimeParseContext {
      */
     int setParsedField(TemporalField field, long value, int errorPos, int successPos) {
         Jdk8Methods.requireNonNull(field, "field");
-        Long old = currentParsed().fieldValues.put(field, value);
-        return (old != null && old.longValue() != value) ? ~errorPos : successPos;
+        boolean conflict = currentParsed().fieldValues.putLong(field, value);
+        return conflict ? ~errorPos : successPos;
     }
 
     /**
@@ -425,13 +435,21 @@ final class DateTimeParseContext {
     final class Parsed extends DefaultInterfaceTemporalAccessor {
         Chronology chrono = null;
         ZoneId zone = null;
-        final Map<TemporalField, Long> fieldValues = new HashMap<TemporalField, Long>();
+        final FieldValueMap fieldValues = new FieldValueMap();
         boolean leapSecond;
         Period excessDays = Period.ZERO;
         List<Object[]> callbacks;
 
         private Parsed() {
         }
+        private void clear() {
+            chrono = null;
+            zone = null;
+            fieldValues.clear();
+            leapSecond = false;
+            excessDays = Period.ZERO;
+            callbacks = null;
+        }
         protected Parsed copy() {
             Parsed cloned = new Parsed();
             cloned.chrono = this.chrono;
@@ -446,22 +464,22 @@ final class DateTimeParseContext {
         }
         @Override
         public boolean isSupported(TemporalField field) {
-            return fieldValues.containsKey(field);
+            return fieldValues.contains(field);
         }
         @Override
         public int get(TemporalField field) {
-            if (fieldValues.containsKey(field) == false) {
+            if (fieldValues.contains(field) == false) {
                 throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
             }
-            long value = fieldValues.get(field);
+            long value = fieldValues.getLong(field);
             return Jdk8Methods.safeToInt(value);
         }
         @Override
         public long getLong(TemporalField field) {
-            if (fieldValues.containsKey(field) == false) {
+            if (fieldValues.contains(field) == false) {
                 throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
             }
-            return fieldValues.get(field);
+            return fieldValues.getLong(field);
         }
         @SuppressWarnings("unchecked")
         @Override
@@ -488,7 +506,10 @@ final class DateTimeParseContext {
          * @return a new builder with the results of the parse, not null
          */
         DateTimeBuilder toBuilder() {
-            DateTimeBuilder builder = new DateTimeBuilder();
+            return toBuilder(new DateTimeBuilder());
+        }
+
+        DateTimeBuilder toBuilder(DateTimeBuilder builder) {
             builder.fieldValues.putAll(fieldValues);
             builder.chrono = getEffectiveChronology();
             if (zone != null) {
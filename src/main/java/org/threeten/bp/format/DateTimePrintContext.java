@@ -101,6 +101,17 @@ final class DateTimePrintContext {
         this.symbols = symbols;
     }
 
+    /**
+     * Resets this context to print another temporal, used when the context is reused.
+     *
+     * @param temporal  the temporal object being output, not null
+     * @param formatter  the formatter controlling the print, not null
+     */
+    void reset(TemporalAccessor temporal, DateTimeFormatter formatter) {
+        this.temporal = adjust(temporal, formatter);
+        this.optional = 0;
+    }
+
     private static TemporalAccessor adjust(final TemporalAccessor temporal, DateTimeFormatter formatter) {
         // normal case first
         Chronology overrideChrono = formatter.getChronology();
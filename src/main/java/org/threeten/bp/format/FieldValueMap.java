@@ -0,0 +1,387 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.threeten.bp.temporal.ChronoField;
+import org.threeten.bp.temporal.TemporalField;
+
+/**
+ * Map of field to value optimized for {@link ChronoField}.
+ * <p>
+ * The value of each {@code ChronoField} is held in an array indexed by the ordinal
+ * of the field, with a bit mask recording the fields that are present.
+ * Any other field, such as those of {@code IsoFields} and {@code WeekFields},
+ * is held in a separate map that is only created when needed.
+ * <p>
+ * The {@code long} methods allow a value to be stored and retrieved without boxing.
+ * The {@code Map} methods allow the values to be passed to {@link TemporalField#resolve}
+ * and {@link org.threeten.bp.chrono.Chronology#resolveDate}.
+ * Iteration returns the {@code ChronoField} values in ordinal order, followed by
+ * the other fields.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is mutable and not thread-safe.
+ * It should only be used from a single thread.
+ */
+final class FieldValueMap extends AbstractMap<TemporalField, Long> {
+
+    /**
+     * The chrono fields, indexed by ordinal.
+     */
+    static final ChronoField[] CHRONO_FIELDS = ChronoField.values();
+    static {
+        if (CHRONO_FIELDS.length > 64) {
+            throw new ExceptionInInitializerError("Too many fields for bit mask");
+        }
+    }
+
+    /**
+     * The bit mask of the chrono fields that are present.
+     */
+    private long present;
+    /**
+     * The values of the chrono fields, indexed by ordinal.
+     */
+    private final long[] values = new long[CHRONO_FIELDS.length];
+    /**
+     * The values of other fields, null if none have been added.
+     */
+    private Map<TemporalField, Long> otherValues;
+    /**
+     * The entry set, lazily created.
+     */
+    private Set<Entry<TemporalField, Long>> entrySet;
+
+    /**
+     * Creates an empty instance.
+     */
+    FieldValueMap() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Checks if the field is present.
+     *
+     * @param field  the field to check, null returns false
+     * @return true if the field has a value
+     */
+    boolean contains(TemporalField field) {
+        if (field instanceof ChronoField) {
+            return (present & (1L << ((ChronoField) field).ordinal())) != 0;
+        }
+        return otherValues != null && otherValues.containsKey(field);
+    }
+
+    /**
+     * Gets the value of a field that is known to be present.
+     *
+     * @param field  the field to get, which must be present, not null
+     * @return the value of the field
+     */
+    long getLong(TemporalField field) {
+        if (field instanceof ChronoField) {
+            return values[((ChronoField) field).ordinal()];
+        }
+        return otherValues.get(field);
+    }
+
+    /**
+     * Sets the value of a field.
+     *
+     * @param field  the field to set, not null
+     * @param value  the value to set
+     * @return true if the field was already present with a different value
+     */
+    boolean putLong(TemporalField field, long value) {
+        if (field instanceof ChronoField) {
+            int ordinal = ((ChronoField) field).ordinal();
+            long bit = 1L << ordinal;
+            boolean conflict = (present & bit) != 0 && values[ordinal] != value;
+            values[ordinal] = value;
+            present |= bit;
+            return conflict;
+        }
+        if (otherValues == null) {
+            otherValues = new HashMap<TemporalField, Long>();
+        }
+        Long old = otherValues.put(field, value);
+        return old != null && old.longValue() != value;
+    }
+
+    /**
+     * Removes a field that is known to be present, returning its value.
+     *
+     * @param field  the field to remove, which must be present, not null
+     * @return the value of the field
+     */
+    long removeLong(TemporalField field) {
+        if (field instanceof ChronoField) {
+            int ordinal = ((ChronoField) field).ordinal();
+            present &= ~(1L << ordinal);
+            return values[ordinal];
+        }
+        return otherValues.remove(field);
+    }
+
+    /**
+     * Checks if any field other than a {@code ChronoField} is present.
+     *
+     * @return true if there is a field that is not a {@code ChronoField}
+     */
+    boolean hasOtherFields() {
+        return otherValues != null && otherValues.isEmpty() == false;
+    }
+
+    /**
+     * Copies all the values from another instance, replacing any existing values.
+     *
+     * @param other  the map to copy from, not null
+     */
+    void putAll(FieldValueMap other) {
+        long bits = other.present;
+        while (bits != 0) {
+            int ordinal = Long.numberOfTrailingZeros(bits);
+            values[ordinal] = other.values[ordinal];
+            bits &= bits - 1;
+        }
+        present |= other.present;
+        if (other.otherValues != null && other.otherValues.isEmpty() == false) {
+            if (otherValues == null) {
+                otherValues = new HashMap<TemporalField, Long>();
+            }
+            otherValues.putAll(other.otherValues);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public int size() {
+        return Long.bitCount(present) + (otherValues != null ? otherValues.size() : 0);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return present == 0 && (otherValues == null || otherValues.isEmpty());
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (key instanceof ChronoField) {
+            return (present & (1L << ((ChronoField) key).ordinal())) != 0;
+        }
+        return otherValues != null && otherValues.containsKey(key);
+    }
+
+    @Override
+    public Long get(Object key) {
+        if (key instanceof ChronoField) {
+            int ordinal = ((ChronoField) key).ordinal();
+            return (present & (1L << ordinal)) != 0 ? Long.valueOf(values[ordinal]) : null;
+        }
+        return otherValues != null ? otherValues.get(key) : null;
+    }
+
+    @Override
+    public Long put(TemporalField key, Long value) {
+        if (key instanceof ChronoField) {
+            int ordinal = ((ChronoField) key).ordinal();
+            long bit = 1L << ordinal;
+            Long old = (present & bit) != 0 ? Long.valueOf(values[ordinal]) : null;
+            values[ordinal] = value.longValue();
+            present |= bit;
+            return old;
+        }
+        if (key == null || value == null) {
+            throw new NullPointerException();
+        }
+        if (otherValues == null) {
+            otherValues = new HashMap<TemporalField, Long>();
+        }
+        return otherValues.put(key, value);
+    }
+
+    @Override
+    public Long remove(Object key) {
+        if (key instanceof ChronoField) {
+            int ordinal = ((ChronoField) key).ordinal();
+            long bit = 1L << ordinal;
+            if ((present & bit) == 0) {
+                return null;
+            }
+            present &= ~bit;
+            return values[ordinal];
+        }
+        return otherValues != null ? otherValues.remove(key) : null;
+    }
+
+    @Override
+    public void clear() {
+        present = 0;
+        if (otherValues != null) {
+            otherValues.clear();
+        }
+    }
+
+    @Override
+    public Set<Entry<TemporalField, Long>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Entry<TemporalField, Long>>() {
+                @Override
+                public Iterator<Entry<TemporalField, Long>> iterator() {
+                    return new EntryIterator();
+                }
+                @Override
+                public int size() {
+                    return FieldValueMap.this.size();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Iterator over the entries, the chrono fields first.
+     */
+    private final class EntryIterator implements Iterator<Entry<TemporalField, Long>> {
+        /** The chrono fields not yet returned. */
+        private long remaining = present;
+        /** The ordinal of the last chrono field returned, negative if none. */
+        private int lastOrdinal = -1;
+        /** The iterator of the other fields, null until the chrono fields are complete. */
+        private Iterator<Entry<TemporalField, Long>> otherIterator;
+
+        @Override
+        public boolean hasNext() {
+            if (remaining != 0) {
+                return true;
+            }
+            return otherIterator().hasNext();
+        }
+
+        @Override
+        public Entry<TemporalField, Long> next() {
+            if (remaining != 0) {
+                int ordinal = Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                lastOrdinal = ordinal;
+                return new ChronoFieldEntry(ordinal);
+            }
+            lastOrdinal = -1;
+            if (otherIterator().hasNext() == false) {
+                throw new NoSuchElementException();
+            }
+            return otherIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (lastOrdinal >= 0) {
+                present &= ~(1L << lastOrdinal);
+                lastOrdinal = -1;
+            } else if (otherIterator != null) {
+                otherIterator.remove();
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+
+        private Iterator<Entry<TemporalField, Long>> otherIterator() {
+            if (otherIterator == null) {
+                Map<TemporalField, Long> map = otherValues;
+                if (map == null) {
+                    return Collections.<Entry<TemporalField, Long>>emptySet().iterator();
+                }
+                otherIterator = map.entrySet().iterator();
+            }
+            return otherIterator;
+        }
+    }
+
+    /**
+     * Entry for a chrono field, writing through to the map.
+     */
+    private final class ChronoFieldEntry implements Entry<TemporalField, Long> {
+        /** The ordinal of the field. */
+        private final int ordinal;
+
+        ChronoFieldEntry(int ordinal) {
+            this.ordinal = ordinal;
+        }
+
+        @Override
+        public TemporalField getKey() {
+            return CHRONO_FIELDS[ordinal];
+        }
+
+        @Override
+        public Long getValue() {
+            return values[ordinal];
+        }
+
+        @Override
+        public Long setValue(Long value) {
+            Long old = values[ordinal];
+            values[ordinal] = value.longValue();
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof Entry) {
+                Entry<?, ?> other = (Entry<?, ?>) obj;
+                return getKey().equals(other.getKey()) && getValue().equals(other.getValue());
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ getValue().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + values[ordinal];
+        }
+    }
+
+}
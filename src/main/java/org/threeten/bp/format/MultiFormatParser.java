@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import java.text.ParsePosition;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.threeten.bp.format.DateTimeFormatterBuilder.ParseShape;
+import org.threeten.bp.jdk8.Jdk8Methods;
+import org.threeten.bp.temporal.TemporalQuery;
+
+/**
+ * Parser that tries a list of formatters, returning the result of the first that matches.
+ * <p>
+ * This is used where text may be in one of several formats, such as when reading
+ * data from different sources. For example:
+ * <pre>
+ *  MultiFormatParser parser = MultiFormatParser.of(
+ *      DateTimeFormatter.ISO_LOCAL_DATE,
+ *      DateTimeFormatter.ofPattern("dd/MM/uuuu"),
+ *      DateTimeFormatter.BASIC_ISO_DATE);
+ *  LocalDate date = parser.parse(str, LocalDate.FROM);
+ * </pre>
+ * Calling {@link DateTimeFormatter#parse(CharSequence, TemporalQuery)} for each
+ * formatter in turn creates an exception for each formatter that does not match.
+ * This parser avoids that in two ways. Firstly, each formatter is analyzed when
+ * this parser is created, finding the length of text and the first characters it
+ * can accept, so formatters that cannot match are not tried. Secondly, failed
+ * attempts are reported without creating an exception.
+ * <p>
+ * Where the text can be parsed by more than one formatter, the first in the list is
+ * used. The result does not depend on any text parsed previously.
+ * <p>
+ * An exception is thrown only when none of the formatters can parse the text.
+ * An exception may still be created internally when the text matches the layout
+ * of a formatter but the values are invalid, such as the 30th of February.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is immutable and thread-safe.
+ * An instance is typically held in a static final field, one per call site.
+ */
+public final class MultiFormatParser {
+
+    /**
+     * The formatters.
+     */
+    private final DateTimeFormatter[] formatters;
+    /**
+     * The shapes of the text each formatter can parse.
+     */
+    private final ParseShape[] shapes;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Obtains a parser that tries the specified formatters in order.
+     *
+     * @param formatters  the formatters to try, not null, not empty
+     * @return the parser, not null
+     * @throws IllegalArgumentException if no formatters are specified
+     */
+    public static MultiFormatParser of(DateTimeFormatter... formatters) {
+        Jdk8Methods.requireNonNull(formatters, "formatters");
+        return of(Arrays.asList(formatters));
+    }
+
+    /**
+     * Obtains a parser that tries the specified formatters in order.
+     *
+     * @param formatters  the formatters to try, not null, not empty
+     * @return the parser, not null
+     * @throws IllegalArgumentException if no formatters are specified
+     */
+    public static MultiFormatParser of(List<DateTimeFormatter> formatters) {
+        Jdk8Methods.requireNonNull(formatters, "formatters");
+        if (formatters.isEmpty()) {
+            throw new IllegalArgumentException("At least one formatter must be specified");
+        }
+        DateTimeFormatter[] array = formatters.toArray(new DateTimeFormatter[formatters.size()]);
+        for (DateTimeFormatter formatter : array) {
+            Jdk8Methods.requireNonNull(formatter, "formatter");
+        }
+        return new MultiFormatParser(array);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param formatters  the formatters, validated, not null
+     */
+    private MultiFormatParser(DateTimeFormatter[] formatters) {
+        this.formatters = formatters;
+        this.shapes = new ParseShape[formatters.length];
+        for (int i = 0; i < formatters.length; i++) {
+            shapes[i] = ParseShape.of(formatters[i]);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the formatters tried by this parser.
+     *
+     * @return the unmodifiable list of formatters, in order, not null
+     */
+    public List<DateTimeFormatter> getFormatters() {
+        return Collections.unmodifiableList(Arrays.asList(formatters));
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Fully parses the text producing an object of the specified type, using
+     * the first formatter that matches.
+     * <p>
+     * Each formatter is tried as though by {@link DateTimeFormatter#parse(CharSequence, TemporalQuery)},
+     * skipping those that cannot match the length or first character of the text.
+     * The result is from the first that succeeds.
+     *
+     * @param <T> the type to extract
+     * @param text  the text to parse, not null
+     * @param type  the type to extract, not null
+     * @return the parsed date-time, not null
+     * @throws DateTimeParseException if none of the formatters can parse the requested result
+     */
+    public <T> T parse(CharSequence text, TemporalQuery<T> type) {
+        Jdk8Methods.requireNonNull(text, "text");
+        Jdk8Methods.requireNonNull(type, "type");
+        ParsePosition position = new ParsePosition(0);
+        T result = parse0(text, type, position);
+        if (result != null) {
+            return result;
+        }
+        String abbr = (text.length() > 64 ? text.subSequence(0, 64).toString() + "..." : text.toString());
+        throw new DateTimeParseException("Text '" + abbr + "' could not be parsed by any of " + formatters.length +
+                " formatters", text, position.getErrorIndex());
+    }
+
+    /**
+     * Fully parses the text producing an object of the specified type, using
+     * the first formatter that matches, returning null if none match.
+     * <p>
+     * This follows {@link #parse(CharSequence, TemporalQuery)}, but returns null
+     * where that method would throw an exception.
+     * See {@link DateTimeFormatter#parseOrNull(CharSequence, TemporalQuery)}.
+     *
+     * @param <T> the type to extract
+     * @param text  the text to parse, not null
+     * @param type  the type to extract, not null
+     * @return the parsed date-time, null if none of the formatters can parse the requested result
+     */
+    public <T> T parseOrNull(CharSequence text, TemporalQuery<T> type) {
+        Jdk8Methods.requireNonNull(text, "text");
+        Jdk8Methods.requireNonNull(type, "type");
+        return parse0(text, type, new ParsePosition(0));
+    }
+
+    /**
+     * Parses the text using the first formatter that matches.
+     *
+     * @return the result, null if none of the formatters can parse the text,
+     *  with the error index of the position set to the furthest error
+     */
+    private <T> T parse0(CharSequence text, TemporalQuery<T> type, ParsePosition position) {
+        int errorIndex = -1;
+        for (int i = 0; i < formatters.length; i++) {
+            T result = tryParse(i, text, type, position);
+            if (result != null) {
+                return result;
+            }
+            errorIndex = Math.max(errorIndex, position.getErrorIndex());
+        }
+        position.setErrorIndex(Math.max(errorIndex, 0));
+        return null;
+    }
+
+    /**
+     * Tries to parse the text using one formatter.
+     *
+     * @return the result, null if the formatter cannot parse the text
+     */
+    private <T> T tryParse(int index, CharSequence text, TemporalQuery<T> type, ParsePosition position) {
+        position.setIndex(0);
+        position.setErrorIndex(-1);
+        if (shapes[index].matches(text) == false) {
+            return null;
+        }
+        return formatters[index].parseOrNull(text, type, position);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+        return "MultiFormatParser" + Arrays.toString(formatters);
+    }
+
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.threeten.bp.jdk8.Jdk8Methods;
+
+/**
+ * Bounded cache of the formatters created by {@link DateTimeFormatter#ofPattern(String, Locale)}.
+ * <p>
+ * Parsing a pattern and analyzing the resulting formatter is relatively expensive,
+ * yet many applications call {@code ofPattern} each time a value is formatted.
+ * As formatters are immutable, the formatter for a pattern and locale can be shared.
+ * <p>
+ * The cache holds two generations of entries. New entries are added to the current
+ * generation, and entries found in the previous generation are copied to the current one.
+ * When the current generation is full, it becomes the previous generation and the old
+ * previous generation is discarded. This bounds the size of the cache without locking
+ * on lookup, while retaining the entries that are in active use.
+ * <p>
+ * The maximum size is read from the system property
+ * {@code org.threeten.bp.format.DateTimeFormatter.patternCacheSize}, defaulting to 256.
+ * A size of zero disables the cache.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is thread-safe.
+ */
+final class PatternCache {
+
+    /**
+     * The system property used to set the maximum size.
+     */
+    private static final String SIZE_PROPERTY = "org.threeten.bp.format.DateTimeFormatter.patternCacheSize";
+    /**
+     * The default maximum size.
+     */
+    private static final int DEFAULT_SIZE = 256;
+    /**
+     * The singleton instance used by {@code DateTimeFormatter}.
+     */
+    static final PatternCache INSTANCE = new PatternCache(sizeProperty());
+
+    /**
+     * The maximum number of entries, zero if disabled.
+     */
+    private final int maximumSize;
+    /**
+     * The number of entries in each generation.
+     */
+    private final int generationSize;
+    /**
+     * The current generation, which receives new entries.
+     */
+    private volatile ConcurrentMap<Key, DateTimeFormatter> current;
+    /**
+     * The previous generation.
+     */
+    private volatile ConcurrentMap<Key, DateTimeFormatter> previous;
+    /**
+     * The number of requests found in the cache.
+     */
+    private final AtomicLong hits = new AtomicLong();
+    /**
+     * The number of requests not found in the cache.
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Reads the maximum size from the system property.
+     *
+     * @return the size, not negative
+     */
+    private static int sizeProperty() {
+        try {
+            Integer size = Integer.getInteger(SIZE_PROPERTY);
+            if (size != null && size >= 0) {
+                return size;
+            }
+        } catch (SecurityException ex) {
+            // use default
+        }
+        return DEFAULT_SIZE;
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param maximumSize  the maximum number of entries, zero to disable
+     */
+    PatternCache(int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.generationSize = Math.max((maximumSize + 1) / 2, 1);
+        this.current = newGeneration();
+        this.previous = newGeneration();
+    }
+
+    private ConcurrentMap<Key, DateTimeFormatter> newGeneration() {
+        return new ConcurrentHashMap<Key, DateTimeFormatter>(16, 0.75f, 2);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the formatter for the pattern and locale, creating it if not cached.
+     *
+     * @param pattern  the pattern to use, not null
+     * @param locale  the locale to use, not null
+     * @return the formatter based on the pattern, not null
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    DateTimeFormatter get(String pattern, Locale locale) {
+        Jdk8Methods.requireNonNull(pattern, "pattern");
+        Jdk8Methods.requireNonNull(locale, "locale");
+        if (maximumSize == 0) {
+            misses.incrementAndGet();
+            return create(pattern, locale);
+        }
+        Key key = new Key(pattern, locale);
+        DateTimeFormatter formatter = current.get(key);
+        if (formatter != null) {
+            hits.incrementAndGet();
+            return formatter;
+        }
+        formatter = previous.get(key);
+        if (formatter != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            formatter = create(pattern, locale);
+        }
+        put(key, formatter);
+        return formatter;
+    }
+
+    private static DateTimeFormatter create(String pattern, Locale locale) {
+        return new DateTimeFormatterBuilder().appendPattern(pattern).toFormatter(locale);
+    }
+
+    /**
+     * Adds an entry to the current generation, starting a new generation if full.
+     *
+     * @param key  the key, not null
+     * @param formatter  the formatter, not null
+     */
+    private void put(Key key, DateTimeFormatter formatter) {
+        ConcurrentMap<Key, DateTimeFormatter> map = current;
+        map.put(key, formatter);
+        if (map.size() >= generationSize) {
+            synchronized (this) {
+                if (current == map) {
+                    previous = map;
+                    current = newGeneration();
+                }
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the statistics of this cache.
+     *
+     * @return the statistics, not null
+     */
+    PatternCacheStatistics statistics() {
+        // an entry found in the previous generation is copied forward, thus may be in both
+        ConcurrentMap<Key, DateTimeFormatter> currentMap = current;
+        int size = currentMap.size();
+        for (Key key : previous.keySet()) {
+            if (currentMap.containsKey(key) == false) {
+                size++;
+            }
+        }
+        size = Math.min(size, maximumSize);
+        return new PatternCacheStatistics(hits.get(), misses.get(), size, maximumSize);
+    }
+
+    /**
+     * Removes all entries and resets the statistics.
+     */
+    synchronized void clear() {
+        current = newGeneration();
+        previous = newGeneration();
+        hits.set(0);
+        misses.set(0);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The key of the cache.
+     */
+    private static final class Key {
+        private final String pattern;
+        private final Locale locale;
+        private final int hash;
+
+        Key(String pattern, Locale locale) {
+            this.pattern = pattern;
+            this.locale = locale;
+            this.hash = pattern.hashCode() * 31 + locale.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj instanceof Key) {
+                Key other = (Key) obj;
+                return hash == other.hash && pattern.equals(other.pattern) && locale.equals(other.locale);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import java.util.Locale;
+
+/**
+ * Statistics of the cache used by {@link DateTimeFormatter#ofPattern(String, Locale)}.
+ * <p>
+ * This is a snapshot of the cache, obtained from {@link DateTimeFormatter#getPatternCacheStatistics()}.
+ * It can be used to check whether an application benefits from the cache, and to choose
+ * the maximum size using the system property
+ * {@code org.threeten.bp.format.DateTimeFormatter.patternCacheSize}.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is immutable and thread-safe.
+ */
+public final class PatternCacheStatistics {
+
+    /**
+     * The number of requests found in the cache.
+     */
+    private final long hitCount;
+    /**
+     * The number of requests not found in the cache.
+     */
+    private final long missCount;
+    /**
+     * The approximate number of entries.
+     */
+    private final int size;
+    /**
+     * The maximum number of entries.
+     */
+    private final int maximumSize;
+
+    /**
+     * Creates an instance.
+     *
+     * @param hitCount  the number of requests found in the cache
+     * @param missCount  the number of requests not found in the cache
+     * @param size  the approximate number of entries
+     * @param maximumSize  the maximum number of entries
+     */
+    PatternCacheStatistics(long hitCount, long missCount, int size, int maximumSize) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.size = size;
+        this.maximumSize = maximumSize;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the number of requests that returned a cached formatter.
+     *
+     * @return the hit count, not negative
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of requests that created a new formatter.
+     * <p>
+     * This includes requests that failed due to an invalid pattern.
+     *
+     * @return the miss count, not negative
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the total number of requests.
+     *
+     * @return the request count, not negative
+     */
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * Gets the ratio of hits to requests.
+     *
+     * @return the hit rate, from 0 to 1, 1 if there have been no requests
+     */
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return (requests == 0 ? 1d : ((double) hitCount) / requests);
+    }
+
+    /**
+     * Gets the approximate number of formatters held in the cache.
+     *
+     * @return the size, not negative
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the maximum number of formatters held in the cache.
+     *
+     * @return the maximum size, zero if the cache is disabled
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Outputs the statistics as a {@code String}.
+     *
+     * @return a description of the statistics, not null
+     */
+    @Override
+    public String toString() {
+        return "PatternCacheStatistics[hits=" + hitCount + ", misses=" + missCount +
+                ", size=" + size + ", maximumSize=" + maximumSize + "]";
+    }
+
+}
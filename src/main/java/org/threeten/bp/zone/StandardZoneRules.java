@@ -39,8 +39,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.threeten.bp.Duration;
 import org.threeten.bp.Instant;
@@ -68,6 +67,28 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
      * The last year to have its transitions cached.
      */
     private static final int LAST_CACHED_YEAR = 2100;
+    /**
+     * The size of the cache of years outside the year-indexed cache, a power of two.
+     */
+    private static final int FAR_YEARS_CACHE_SIZE = 16;
+    /**
+     * The maximum number of distinct offsets with a cached single offset list.
+     */
+    private static final int VALID_OFFSETS_CACHE_SIZE = 8;
+    /**
+     * Seconds per day.
+     */
+    private static final long SECONDS_PER_DAY = 86400;
+    /**
+     * The first year covered by the offset table.
+     * Set by the system property {@code org.threeten.bp.zone.StandardZoneRules.offsetTableStartYear}.
+     */
+    private static final int OFFSET_TABLE_START_YEAR = yearProperty("offsetTableStartYear", 1970);
+    /**
+     * The last year covered by the offset table, the table is disabled if before the start year.
+     * Set by the system property {@code org.threeten.bp.zone.StandardZoneRules.offsetTableEndYear}.
+     */
+    private static final int OFFSET_TABLE_END_YEAR = yearProperty("offsetTableEndYear", 2100);
 
     /**
      * The transitions between standard offsets (epoch seconds), sorted.
@@ -82,11 +103,11 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
      */
     private final long[] savingsInstantTransitions;
     /**
-     * The transitions between local date-times, sorted.
+     * The transitions between local date-times (local epoch seconds), sorted.
      * This is a paired array, where the first entry is the start of the transition
      * and the second entry is the end of the transition.
      */
-    private final LocalDateTime[] savingsLocalTransitions;
+    private final long[] savingsLocalTransitions;
     /**
      * The wall offsets.
      */
@@ -96,10 +117,46 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
      */
     private final ZoneOffsetTransitionRule[] lastRules;
     /**
-     * The map of recent transitions.
+     * The first year in the cache of recent transitions.
+     */
+    private final int lastRulesCacheStartYear;
+    /**
+     * The cache of recent transitions, indexed by year from the start year to {@code LAST_CACHED_YEAR}.
+     */
+    private final AtomicReferenceArray<ZoneOffsetTransition[]> lastRulesCache;
+    /**
+     * The cache of transitions for years outside the year-indexed cache.
+     * This is direct-mapped by year, so an entry is replaced by a later year that maps to the same slot.
+     */
+    private final AtomicReferenceArray<YearTransitions> farYearsCache;
+    /**
+     * The cache of lists holding a single valid offset, as returned by {@link #getValidOffsets}.
+     */
+    private final AtomicReferenceArray<List<ZoneOffset>> validOffsetsCache =
+                new AtomicReferenceArray<List<ZoneOffset>>(VALID_OFFSETS_CACHE_SIZE);
+    /**
+     * The table used to speed up offset lookup by instant, null until first used.
+     */
+    private transient volatile OffsetTable offsetTable;
+
+    /**
+     * Reads a year from a system property.
+     *
+     * @param name  the property name, excluding the class name prefix, not null
+     * @param defaultYear  the year to use if the property is not set or invalid
+     * @return the year
      */
-    private final ConcurrentMap<Integer, ZoneOffsetTransition[]> lastRulesCache =
-                new ConcurrentHashMap<Integer, ZoneOffsetTransition[]>();
+    private static int yearProperty(String name, int defaultYear) {
+        try {
+            Integer year = Integer.getInteger("org.threeten.bp.zone.StandardZoneRules." + name);
+            if (year != null && year >= Year.MIN_VALUE && year <= Year.MAX_VALUE) {
+                return year;
+            }
+        } catch (SecurityException ex) {
+            // use default
+        }
+        return defaultYear;
+    }
 
     /**
      * Creates an instance.
@@ -141,7 +198,7 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
             }
             localTransitionOffsetList.add(trans.getOffsetAfter());
         }
-        this.savingsLocalTransitions = localTransitionList.toArray(new LocalDateTime[localTransitionList.size()]);
+        this.savingsLocalTransitions = toLocalSeconds(localTransitionList);
         this.wallOffsets = localTransitionOffsetList.toArray(new ZoneOffset[localTransitionOffsetList.size()]);
 
         // convert savings transitions to instants
@@ -155,6 +212,9 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
             throw new IllegalArgumentException("Too many transition rules");
         }
         this.lastRules = lastRules.toArray(new ZoneOffsetTransitionRule[lastRules.size()]);
+        this.lastRulesCacheStartYear = lastRulesCacheStartYear();
+        this.lastRulesCache = new AtomicReferenceArray<ZoneOffsetTransition[]>(lastRulesCacheSize());
+        this.farYearsCache = new AtomicReferenceArray<YearTransitions>(this.lastRules.length > 0 ? FAR_YEARS_CACHE_SIZE : 0);
     }
 
     /**
@@ -194,7 +254,47 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
                 localTransitionList.add(trans.getDateTimeBefore());
             }
         }
-        this.savingsLocalTransitions = localTransitionList.toArray(new LocalDateTime[localTransitionList.size()]);
+        this.savingsLocalTransitions = toLocalSeconds(localTransitionList);
+        this.lastRulesCacheStartYear = lastRulesCacheStartYear();
+        this.lastRulesCache = new AtomicReferenceArray<ZoneOffsetTransition[]>(lastRulesCacheSize());
+        this.farYearsCache = new AtomicReferenceArray<YearTransitions>(lastRules.length > 0 ? FAR_YEARS_CACHE_SIZE : 0);
+    }
+
+    /**
+     * Converts local date-times to local epoch seconds.
+     *
+     * @param localTransitionList  the local date-times, not null
+     * @return the local epoch seconds, not null
+     */
+    private static long[] toLocalSeconds(List<LocalDateTime> localTransitionList) {
+        long[] localSeconds = new long[localTransitionList.size()];
+        for (int i = 0; i < localSeconds.length; i++) {
+            localSeconds[i] = localTransitionList.get(i).toEpochSecond(ZoneOffset.UTC);
+        }
+        return localSeconds;
+    }
+
+    /**
+     * Calculates the first year in the cache of recent transitions.
+     * The last rules are only used from the year of the last historic transition.
+     *
+     * @return the start year
+     */
+    private int lastRulesCacheStartYear() {
+        if (lastRules.length == 0 || savingsInstantTransitions.length == 0) {
+            return LAST_CACHED_YEAR;
+        }
+        long lastHistoric = savingsInstantTransitions[savingsInstantTransitions.length - 1];
+        return Math.min(findYear(lastHistoric, wallOffsets[wallOffsets.length - 1]) - 1, LAST_CACHED_YEAR);
+    }
+
+    /**
+     * Calculates the size of the cache of recent transitions.
+     *
+     * @return the size
+     */
+    private int lastRulesCacheSize() {
+        return (lastRules.length > 0 ? LAST_CACHED_YEAR - lastRulesCacheStartYear : 0);
     }
 
     //-----------------------------------------------------------------------
@@ -277,8 +377,65 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
     //-----------------------------------------------------------------------
     @Override
     public ZoneOffset getOffset(Instant instant) {
-        long epochSec = instant.getEpochSecond();
+        return getOffset(instant.getEpochSecond());
+    }
 
+    @Override
+    public ZoneOffset getOffset(long epochSec) {
+        // check the precomputed table
+        OffsetTable table = offsetTable;
+        if (table == null) {
+            table = buildOffsetTable();
+        }
+        if (epochSec >= table.startEpochSecond && epochSec < table.endEpochSecond) {
+            return table.getOffset(epochSec);
+        }
+        return getOffset0(epochSec);
+    }
+
+    @Override
+    public void getOffsets(long[] epochSeconds, int epochSecondsIndex, int[] offsetSeconds, int offsetSecondsIndex, int length) {
+        checkOffsetsRange(epochSeconds, epochSecondsIndex, offsetSeconds, offsetSecondsIndex, length);
+        OffsetTable table = offsetTable;
+        if (table == null) {
+            table = buildOffsetTable();
+        }
+        // the offset applies from lower inclusive to upper exclusive
+        // sorted input stays within the range or walks forward to the next one
+        long lower = Long.MAX_VALUE;
+        long upper = Long.MIN_VALUE;
+        int index = -1;
+        int offset = 0;
+        for (int i = 0; i < length; i++) {
+            long epochSec = epochSeconds[epochSecondsIndex + i];
+            if (epochSec < lower || epochSec >= upper) {
+                if (epochSec >= table.startEpochSecond && epochSec < table.endEpochSecond) {
+                    if (index >= 0 && epochSec >= upper && epochSec < table.upperBound(index + 1)) {
+                        index++;
+                    } else {
+                        index = table.indexOf(epochSec);
+                    }
+                    lower = table.lowerBound(index);
+                    upper = table.upperBound(index);
+                    offset = table.getOffsetSeconds(index);
+                } else {
+                    index = -1;
+                    lower = Long.MAX_VALUE;
+                    upper = Long.MIN_VALUE;
+                    offset = getOffset0(epochSec).getTotalSeconds();
+                }
+            }
+            offsetSeconds[offsetSecondsIndex + i] = offset;
+        }
+    }
+
+    /**
+     * Gets the offset by searching the transitions and last rules.
+     *
+     * @param epochSec  the epoch second to find the offset for
+     * @return the offset, not null
+     */
+    private ZoneOffset getOffset0(long epochSec) {
         // check if using last rules
         if (lastRules.length > 0 &&
                 epochSec > savingsInstantTransitions[savingsInstantTransitions.length - 1]) {
@@ -306,100 +463,161 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
     //-----------------------------------------------------------------------
     @Override
     public ZoneOffset getOffset(LocalDateTime localDateTime) {
-        Object info = getOffsetInfo(localDateTime);
-        if (info instanceof ZoneOffsetTransition) {
-            return ((ZoneOffsetTransition) info).getOffsetBefore();
+        long localSecond = localDateTime.toEpochSecond(ZoneOffset.UTC);
+        int nano = localDateTime.getNano();
+        if (isUsingLastRules(localSecond, nano)) {
+            Object info = getLastRulesOffsetInfo(localDateTime.getYear(), localSecond);
+            if (info instanceof ZoneOffsetTransition) {
+                return ((ZoneOffsetTransition) info).getOffsetBefore();
+            }
+            return (ZoneOffset) info;
         }
-        return (ZoneOffset) info;
+        // the offset before a gap or overlap is at the same index as the offset of a normal period
+        return wallOffsets[(findLocalIndex(localSecond, nano) + 1) >> 1];
     }
 
     @Override
     public List<ZoneOffset> getValidOffsets(LocalDateTime localDateTime) {
-        // should probably be optimized
-        Object info = getOffsetInfo(localDateTime);
-        if (info instanceof ZoneOffsetTransition) {
-            return ((ZoneOffsetTransition) info).getValidOffsets();
+        long localSecond = localDateTime.toEpochSecond(ZoneOffset.UTC);
+        int nano = localDateTime.getNano();
+        if (isUsingLastRules(localSecond, nano)) {
+            Object info = getLastRulesOffsetInfo(localDateTime.getYear(), localSecond);
+            if (info instanceof ZoneOffsetTransition) {
+                return ((ZoneOffsetTransition) info).getValidOffsets();
+            }
+            return singletonOffsetList((ZoneOffset) info);
         }
-        return Collections.singletonList((ZoneOffset) info);
+        int index = findLocalIndex(localSecond, nano);
+        if (index >= 0 && (index & 1) == 0) {
+            ZoneOffset offsetBefore = wallOffsets[index / 2];
+            ZoneOffset offsetAfter = wallOffsets[index / 2 + 1];
+            if (offsetAfter.getTotalSeconds() > offsetBefore.getTotalSeconds()) {
+                return Collections.emptyList();
+            }
+            return Arrays.asList(offsetBefore, offsetAfter);
+        }
+        return singletonOffsetList(wallOffsets[(index + 1) >> 1]);
     }
 
     @Override
     public ZoneOffsetTransition getTransition(LocalDateTime localDateTime) {
-        Object info = getOffsetInfo(localDateTime);
-        return (info instanceof ZoneOffsetTransition ? (ZoneOffsetTransition) info : null);
-    }
-
-    private Object getOffsetInfo(LocalDateTime dt) {
-        // check if using last rules
-        if (lastRules.length > 0 &&
-                dt.isAfter(savingsLocalTransitions[savingsLocalTransitions.length - 1])) {
-            ZoneOffsetTransition[] transArray = findTransitionArray(dt.getYear());
-            Object info = null;
-            for (ZoneOffsetTransition trans : transArray) {
-                info = findOffsetInfo(dt, trans);
-                if (info instanceof ZoneOffsetTransition || info.equals(trans.getOffsetBefore())) {
-                    return info;
-                }
-            }
-            return info;
-        }
-
-        // using historic rules
-        int index  = Arrays.binarySearch(savingsLocalTransitions, dt);
-        if (index == -1) {
-            // before first transition
-            return wallOffsets[0];
-        }
-        if (index < 0) {
-            // switch negative insert position to start of matched range
-            index = -index - 2;
-        } else if (index < savingsLocalTransitions.length - 1 &&
-                savingsLocalTransitions[index].equals(savingsLocalTransitions[index + 1])) {
-            // handle overlap immediately following gap
-            index++;
+        long localSecond = localDateTime.toEpochSecond(ZoneOffset.UTC);
+        int nano = localDateTime.getNano();
+        if (isUsingLastRules(localSecond, nano)) {
+            Object info = getLastRulesOffsetInfo(localDateTime.getYear(), localSecond);
+            return (info instanceof ZoneOffsetTransition ? (ZoneOffsetTransition) info : null);
         }
-        if ((index & 1) == 0) {
+        int index = findLocalIndex(localSecond, nano);
+        if (index >= 0 && (index & 1) == 0) {
             // gap or overlap
-            LocalDateTime dtBefore = savingsLocalTransitions[index];
-            LocalDateTime dtAfter = savingsLocalTransitions[index + 1];
             ZoneOffset offsetBefore = wallOffsets[index / 2];
             ZoneOffset offsetAfter = wallOffsets[index / 2 + 1];
             if (offsetAfter.getTotalSeconds() > offsetBefore.getTotalSeconds()) {
                 // gap
-                return new ZoneOffsetTransition(dtBefore, offsetBefore, offsetAfter);
+                return new ZoneOffsetTransition(toLocalDateTime(savingsLocalTransitions[index]), offsetBefore, offsetAfter);
             } else {
                 // overlap
-                return new ZoneOffsetTransition(dtAfter, offsetBefore, offsetAfter);
+                return new ZoneOffsetTransition(toLocalDateTime(savingsLocalTransitions[index + 1]), offsetBefore, offsetAfter);
             }
-        } else {
-            // normal (neither gap or overlap)
-            return wallOffsets[index / 2 + 1];
         }
+        // normal (neither gap or overlap)
+        return null;
+    }
+
+    /**
+     * Checks if the local date-time is after the last historic transition and the last rules apply.
+     *
+     * @param localSecond  the local epoch second
+     * @param nano  the nano-of-second
+     * @return true if using the last rules
+     */
+    private boolean isUsingLastRules(long localSecond, int nano) {
+        if (lastRules.length == 0) {
+            return false;
+        }
+        long last = savingsLocalTransitions[savingsLocalTransitions.length - 1];
+        return localSecond > last || (localSecond == last && nano > 0);
+    }
+
+    /**
+     * Finds the index of the local transition at or before the local date-time.
+     * <p>
+     * This matches a binary search of the equivalent {@code LocalDateTime} array.
+     * An even index is the start of a gap or overlap, an odd index is the start of a normal period.
+     * If an overlap immediately follows a gap, the index of the overlap is returned.
+     *
+     * @param localSecond  the local epoch second
+     * @param nano  the nano-of-second
+     * @return the index, -1 if before the first transition
+     */
+    private int findLocalIndex(long localSecond, int nano) {
+        long[] array = savingsLocalTransitions;
+        int low = 0;
+        int high = array.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midVal = array[mid];
+            if (midVal < localSecond || (midVal == localSecond && nano > 0)) {
+                low = mid + 1;
+            } else if (midVal > localSecond) {
+                high = mid - 1;
+            } else {
+                if (mid < array.length - 1 && array[mid] == array[mid + 1]) {
+                    // handle overlap immediately following gap
+                    return mid + 1;
+                }
+                return mid;
+            }
+        }
+        // switch insert position to start of matched range
+        return low - 1;
+    }
+
+    /**
+     * Finds the offset info using the last rules.
+     *
+     * @param year  the year of the local date-time
+     * @param localSecond  the local epoch second
+     * @return the offset, or the transition if in a gap or overlap, not null
+     */
+    private Object getLastRulesOffsetInfo(int year, long localSecond) {
+        ZoneOffsetTransition[] transArray = findTransitionArray(year);
+        Object info = null;
+        for (ZoneOffsetTransition trans : transArray) {
+            info = findOffsetInfo(localSecond, trans);
+            if (info instanceof ZoneOffsetTransition || info.equals(trans.getOffsetBefore())) {
+                return info;
+            }
+        }
+        return info;
     }
 
     /**
      * Finds the offset info for a local date-time and transition.
+     * <p>
+     * The nano-of-second is not needed as transitions occur on whole seconds.
      *
-     * @param dt  the date-time, not null
+     * @param localSecond  the local epoch second
      * @param trans  the transition, not null
      * @return the offset info, not null
      */
-    private Object findOffsetInfo(LocalDateTime dt, ZoneOffsetTransition trans) {
-        LocalDateTime localTransition = trans.getDateTimeBefore();
+    private Object findOffsetInfo(long localSecond, ZoneOffsetTransition trans) {
+        long localBefore = trans.getDateTimeBefore().toEpochSecond(ZoneOffset.UTC);
+        long localAfter = localBefore + trans.getOffsetAfter().getTotalSeconds() - trans.getOffsetBefore().getTotalSeconds();
         if (trans.isGap()) {
-            if (dt.isBefore(localTransition)) {
+            if (localSecond < localBefore) {
                 return trans.getOffsetBefore();
             }
-            if (dt.isBefore(trans.getDateTimeAfter())) {
+            if (localSecond < localAfter) {
                 return trans;
             } else {
                 return trans.getOffsetAfter();
             }
         } else {
-            if (dt.isBefore(localTransition) == false) {
+            if (localSecond >= localBefore) {
                 return trans.getOffsetAfter();
             }
-            if (dt.isBefore(trans.getDateTimeAfter())) {
+            if (localSecond < localAfter) {
                 return trans.getOffsetBefore();
             } else {
                 return trans;
@@ -407,6 +625,40 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
         }
     }
 
+    /**
+     * Converts a local epoch second to a local date-time.
+     *
+     * @param localSecond  the local epoch second
+     * @return the local date-time, not null
+     */
+    private static LocalDateTime toLocalDateTime(long localSecond) {
+        return LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Obtains an immutable list containing the single offset, which is cached.
+     *
+     * @param offset  the offset, not null
+     * @return the list, not null
+     */
+    private List<ZoneOffset> singletonOffsetList(ZoneOffset offset) {
+        AtomicReferenceArray<List<ZoneOffset>> cache = validOffsetsCache;
+        for (int i = 0; i < VALID_OFFSETS_CACHE_SIZE; i++) {
+            List<ZoneOffset> list = cache.get(i);
+            if (list == null) {
+                list = Collections.singletonList(offset);
+                if (cache.compareAndSet(i, null, list)) {
+                    return list;
+                }
+                list = cache.get(i);
+            }
+            if (list.get(0).equals(offset)) {
+                return list;
+            }
+        }
+        return Collections.singletonList(offset);
+    }
+
     @Override
     public boolean isValidOffset(LocalDateTime localDateTime, ZoneOffset offset) {
         return getValidOffsets(localDateTime).contains(offset);
@@ -420,19 +672,39 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
      * @return the transition array, not null
      */
     private ZoneOffsetTransition[] findTransitionArray(int year) {
-        Integer yearObj = year;  // should use Year class, but this saves a class load
-        ZoneOffsetTransition[] transArray = lastRulesCache.get(yearObj);
-        if (transArray != null) {
+        int index = year - lastRulesCacheStartYear;
+        if (index >= 0 && index < lastRulesCache.length()) {
+            ZoneOffsetTransition[] transArray = lastRulesCache.get(index);
+            if (transArray == null) {
+                transArray = createTransitionArray(year);
+                if (lastRulesCache.compareAndSet(index, null, transArray) == false) {
+                    transArray = lastRulesCache.get(index);
+                }
+            }
             return transArray;
         }
+        int slot = year & (FAR_YEARS_CACHE_SIZE - 1);
+        YearTransitions cached = farYearsCache.get(slot);
+        if (cached != null && cached.year == year) {
+            return cached.transitions;
+        }
+        ZoneOffsetTransition[] transArray = createTransitionArray(year);
+        farYearsCache.set(slot, new YearTransitions(year, transArray));
+        return transArray;
+    }
+
+    /**
+     * Creates the transition array for the given year from the last rules.
+     *
+     * @param year  the year
+     * @return the transition array, not null
+     */
+    private ZoneOffsetTransition[] createTransitionArray(int year) {
         ZoneOffsetTransitionRule[] ruleArray = lastRules;
-        transArray  = new ZoneOffsetTransition[ruleArray.length];
+        ZoneOffsetTransition[] transArray = new ZoneOffsetTransition[ruleArray.length];
         for (int i = 0; i < ruleArray.length; i++) {
             transArray[i] = ruleArray[i].createTransition(year);
         }
-        if (year < LAST_CACHED_YEAR) {
-            lastRulesCache.putIfAbsent(yearObj, transArray);
-        }
         return transArray;
     }
 
@@ -543,6 +815,38 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
         return new ZoneOffsetTransition(savingsInstantTransitions[index - 1], wallOffsets[index - 1], wallOffsets[index]);
     }
 
+    /**
+     * Builds the offset table, which covers the configured years.
+     * <p>
+     * The table is built from {@link #nextTransition(Instant)}, thus always matches
+     * the result of a search. Building concurrently is harmless.
+     *
+     * @return the offset table, not null
+     */
+    private OffsetTable buildOffsetTable() {
+        OffsetTable table = OffsetTable.NONE;
+        if (savingsInstantTransitions.length > 0 && OFFSET_TABLE_START_YEAR <= OFFSET_TABLE_END_YEAR) {
+            long start = LocalDate.of(OFFSET_TABLE_START_YEAR, 1, 1).toEpochDay() * SECONDS_PER_DAY;
+            long end = LocalDate.of(OFFSET_TABLE_END_YEAR, 12, 31).toEpochDay() * SECONDS_PER_DAY + SECONDS_PER_DAY;
+            List<ZoneOffsetTransition> transitions = new ArrayList<ZoneOffsetTransition>();
+            ZoneOffsetTransition trans = nextTransition(Instant.ofEpochSecond(start - 1));
+            while (trans != null && trans.toEpochSecond() < end) {
+                transitions.add(trans);
+                trans = nextTransition(trans.getInstant());
+            }
+            long[] transitionArray = new long[transitions.size()];
+            ZoneOffset[] offsetArray = new ZoneOffset[transitions.size() + 1];
+            offsetArray[0] = (transitions.isEmpty() ? getOffset0(start) : transitions.get(0).getOffsetBefore());
+            for (int i = 0; i < transitionArray.length; i++) {
+                transitionArray[i] = transitions.get(i).toEpochSecond();
+                offsetArray[i + 1] = transitions.get(i).getOffsetAfter();
+            }
+            table = new OffsetTable(start, end, transitionArray, offsetArray);
+        }
+        offsetTable = table;
+        return table;
+    }
+
     private int findYear(long epochSecond, ZoneOffset offset) {
         // inline for performance
         long localSecond = epochSecond + offset.getTotalSeconds();
@@ -605,4 +909,131 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
         return "StandardZoneRules[currentStandardOffset=" + standardOffsets[standardOffsets.length - 1] + "]";
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * The transitions of a single year, as held in the cache of far years.
+     */
+    static final class YearTransitions {
+        final int year;
+        final ZoneOffsetTransition[] transitions;
+
+        YearTransitions(int year, ZoneOffsetTransition[] transitions) {
+            this.year = year;
+            this.transitions = transitions;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Precomputed offsets for a range of instants.
+     * <p>
+     * The range is divided into buckets of equal size, with each bucket storing the
+     * number of transitions before its start. A lookup reads the bucket and then
+     * steps over the few transitions within the bucket, avoiding a binary search.
+     */
+    static final class OffsetTable {
+        /**
+         * The table used when there are no transitions or the table is disabled.
+         */
+        static final OffsetTable NONE = new OffsetTable(0, 0, new long[0], new ZoneOffset[] {ZoneOffset.UTC});
+        /**
+         * The bucket size as a power of two, 2^22 seconds is about 48 days.
+         */
+        private static final int BUCKET_SHIFT = 22;
+
+        /**
+         * The first epoch second covered, inclusive.
+         */
+        final long startEpochSecond;
+        /**
+         * The last epoch second covered, exclusive.
+         */
+        final long endEpochSecond;
+        /**
+         * The transitions within the range (epoch seconds), sorted.
+         */
+        private final long[] transitions;
+        /**
+         * The offsets, where the offset at index i applies after i transitions.
+         */
+        private final ZoneOffset[] offsets;
+        /**
+         * The number of transitions at or before the start of each bucket.
+         */
+        private final int[] buckets;
+
+        OffsetTable(long startEpochSecond, long endEpochSecond, long[] transitions, ZoneOffset[] offsets) {
+            this.startEpochSecond = startEpochSecond;
+            this.endEpochSecond = endEpochSecond;
+            this.transitions = transitions;
+            this.offsets = offsets;
+            int bucketCount = (int) ((endEpochSecond - startEpochSecond + (1L << BUCKET_SHIFT) - 1) >>> BUCKET_SHIFT);
+            this.buckets = new int[bucketCount];
+            int index = 0;
+            for (int i = 0; i < bucketCount; i++) {
+                long bucketStart = startEpochSecond + ((long) i << BUCKET_SHIFT);
+                while (index < transitions.length && transitions[index] <= bucketStart) {
+                    index++;
+                }
+                buckets[i] = index;
+            }
+        }
+
+        /**
+         * Gets the offset, which must be within the range of the table.
+         *
+         * @param epochSec  the epoch second to find the offset for
+         * @return the offset, not null
+         */
+        ZoneOffset getOffset(long epochSec) {
+            return offsets[indexOf(epochSec)];
+        }
+
+        /**
+         * Gets the number of transitions at or before the epoch second,
+         * which must be within the range of the table.
+         *
+         * @param epochSec  the epoch second to find the index for
+         * @return the index of the applicable offset
+         */
+        int indexOf(long epochSec) {
+            int index = buckets[(int) ((epochSec - startEpochSecond) >>> BUCKET_SHIFT)];
+            long[] trans = transitions;
+            while (index < trans.length && epochSec >= trans[index]) {
+                index++;
+            }
+            return index;
+        }
+
+        /**
+         * Gets the first epoch second where the offset at the index applies, inclusive.
+         *
+         * @param index  the index of the offset
+         * @return the epoch second
+         */
+        long lowerBound(int index) {
+            return (index == 0 ? startEpochSecond : transitions[index - 1]);
+        }
+
+        /**
+         * Gets the last epoch second where the offset at the index applies, exclusive.
+         *
+         * @param index  the index of the offset
+         * @return the epoch second
+         */
+        long upperBound(int index) {
+            return (index == transitions.length ? endEpochSecond : transitions[index]);
+        }
+
+        /**
+         * Gets the total offset seconds at the index.
+         *
+         * @param index  the index of the offset
+         * @return the total offset in seconds
+         */
+        int getOffsetSeconds(int index) {
+            return offsets[index].getTotalSeconds();
+        }
+    }
+
 }
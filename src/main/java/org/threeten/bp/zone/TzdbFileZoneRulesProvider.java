@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.zone;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.threeten.bp.jdk8.Jdk8Methods;
+import org.threeten.bp.zone.TzdbZoneRulesProvider.Version;
+
+/**
+ * Loads time-zone rules for 'TZDB' from an external file, with support for refresh.
+ * <p>
+ * The file must be in the same format as the {@code TZDB.dat} file bundled in the jar,
+ * as produced by {@code TzdbZoneRulesCompiler}.
+ * The file is memory-mapped and the rules for each zone are decoded from the mapped
+ * data when first requested, thus only the header is read when the provider is created.
+ * <p>
+ * When {@link ZoneRulesProvider#refresh()} is called, the file is checked to see if its
+ * size or last modified time has changed. If it has, the file is mapped again and any
+ * newly added versions become available. Versions that were previously loaded remain
+ * available, as required by {@link ZoneRulesProvider}.
+ * To ensure that previously loaded versions remain valid, the file must be replaced
+ * atomically, typically by writing a new file and renaming it over the old one.
+ * <p>
+ * This provider is not registered by the service loader, and supplies the same zone IDs
+ * as the default 'TZDB' provider. It is intended to be used with the no-tzdb jar file,
+ * or registered in place of the default provider using {@link ZoneRulesInitializer}.
+ * A {@code ZoneId} caches the rules that were current when it was created,
+ * thus zone IDs must be obtained again after a refresh to see the updated rules.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is thread-safe.
+ */
+public final class TzdbFileZoneRulesProvider extends ZoneRulesProvider {
+
+    /**
+     * The file to load.
+     */
+    private final File file;
+    /**
+     * All the versions that are available.
+     */
+    private final ConcurrentNavigableMap<String, Version> versions = new ConcurrentSkipListMap<String, Version>();
+    /**
+     * All the regions that are available.
+     */
+    private volatile Set<String> regionIds = new HashSet<String>();
+    /**
+     * The last modified time of the file when last loaded.
+     */
+    private long lastModified;
+    /**
+     * The length of the file when last loaded.
+     */
+    private long length;
+
+    /**
+     * Creates an instance and loads the specified file.
+     *
+     * @param file  the file to load, not null
+     * @throws ZoneRulesException if unable to load
+     */
+    public TzdbFileZoneRulesProvider(File file) {
+        super();
+        Jdk8Methods.requireNonNull(file, "file");
+        this.file = file;
+        synchronized (this) {
+            if (load() == false) {
+                throw new ZoneRulesException("No time-zone rules found: " + file);
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Set<String> provideZoneIds() {
+        return new HashSet<String>(regionIds);
+    }
+
+    @Override
+    protected ZoneRules provideRules(String zoneId, boolean forCaching) {
+        Jdk8Methods.requireNonNull(zoneId, "zoneId");
+        ZoneRules rules = versions.lastEntry().getValue().getRules(zoneId);
+        if (rules == null) {
+            throw new ZoneRulesException("Unknown time-zone ID: " + zoneId);
+        }
+        return rules;
+    }
+
+    @Override
+    protected NavigableMap<String, ZoneRules> provideVersions(String zoneId) {
+        TreeMap<String, ZoneRules> map = new TreeMap<String, ZoneRules>();
+        for (Version version : versions.values()) {
+            ZoneRules rules = version.getRules(zoneId);
+            if (rules != null) {
+                map.put(version.toString(), rules);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Reloads the file if its size or last modified time has changed.
+     * <p>
+     * No refresh occurs if the file does not currently exist, as it may be in the process of being replaced.
+     *
+     * @return true if a new version of the rules was loaded
+     * @throws ZoneRulesException if the file has changed and cannot be loaded
+     */
+    @Override
+    protected synchronized boolean provideRefresh() {
+        if (file.exists() == false || (file.lastModified() == lastModified && file.length() == length)) {
+            return false;
+        }
+        return load();
+    }
+
+    //-------------------------------------------------------------------------
+    /**
+     * Loads the rules from the file, which must be called while synchronized.
+     *
+     * @return true if a new version was added
+     * @throws ZoneRulesException if unable to load
+     */
+    private boolean load() {
+        long newLastModified = file.lastModified();
+        Set<Version> loadedVersions;
+        try {
+            ByteBuffer buffer = TzdbZoneRulesProvider.RuleSource.map(file);
+            loadedVersions = TzdbZoneRulesProvider.loadData(new ByteBufferInputStream(buffer.duplicate()), null, buffer);
+        } catch (Exception ex) {
+            throw new ZoneRulesException("Unable to load TZDB time-zone rules: " + file, ex);
+        }
+        boolean updated = false;
+        for (Version loadedVersion : loadedVersions) {
+            if (versions.putIfAbsent(loadedVersion.toString(), loadedVersion) == null) {
+                updated = true;
+            }
+        }
+        if (updated) {
+            Set<String> newRegionIds = new HashSet<String>(regionIds);
+            newRegionIds.addAll(TzdbZoneRulesProvider.regionIds(loadedVersions));
+            regionIds = newRegionIds;
+        }
+        lastModified = newLastModified;
+        length = file.length();
+        return updated;
+    }
+
+    @Override
+    public String toString() {
+        return "TZDB[" + file + "]";
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Input stream that reads from a buffer.
+     */
+    static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (buffer.hasRemaining() == false) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(buf, off, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+}
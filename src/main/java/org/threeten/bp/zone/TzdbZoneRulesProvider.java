@@ -33,14 +33,19 @@ package org.threeten.bp.zone;
 
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.io.StreamCorruptedException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.HashSet;
-import java.util.List;
 import java.util.NavigableMap;
 import java.util.Set;
 import java.util.TreeMap;
@@ -55,6 +60,14 @@ import org.threeten.bp.jdk8.Jdk8Methods;
  * Loads time-zone rules for 'TZDB'.
  * <p>
  * This class is public for the service loader to access.
+ * <p>
+ * By default, the bytes of every rule are read into memory when the provider is created.
+ * In lazy mode, only the header and an index of the rule positions are read,
+ * and the bytes of each rule are read from the original resource when first requested.
+ * If the resource is a file, it is memory-mapped rather than re-read.
+ * Lazy mode reduces startup time and retained memory when only a few zones are used.
+ * It is enabled for the service loader instance by setting the system property
+ * {@code org.threeten.bp.zone.TzdbZoneRulesProvider.lazy} to {@code true}.
  *
  * <h3>Specification for implementors</h3>
  * This class is immutable and thread-safe.
@@ -63,10 +76,19 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
     // TODO: can this be private/hidden in any way?
     // service loader seems to need it to be public
 
+    /**
+     * The system property used to enable lazy loading for the service loader instance.
+     */
+    private static final String LAZY_PROPERTY = "org.threeten.bp.zone.TzdbZoneRulesProvider.lazy";
+
+    /**
+     * Whether rule data is read on first request.
+     */
+    private final boolean lazy;
     /**
      * All the regions that are available.
      */
-    private List<String> regionIds;
+    private Set<String> regionIds;
     /**
      * All the versions that are available.
      */
@@ -85,6 +107,7 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
      */
     public TzdbZoneRulesProvider() {
         super();
+        this.lazy = isLazyByDefault();
         if (load(ZoneRulesProvider.class.getClassLoader()) == false) {
             throw new ZoneRulesException("No time-zone rules found for 'TZDB'");
         }
@@ -99,7 +122,22 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
      * @throws ZoneRulesException if unable to load
      */
     public TzdbZoneRulesProvider(URL url) {
+        this(url, false);
+    }
+
+    /**
+     * Creates an instance and loads the specified URL, optionally in lazy mode.
+     * <p>
+     * In lazy mode, the bytes of each rule are read from the URL when first requested,
+     * thus the URL must remain readable for the lifetime of the provider.
+     *
+     * @param url  the URL to load, not null
+     * @param lazy  true to read the rule data on first request
+     * @throws ZoneRulesException if unable to load
+     */
+    public TzdbZoneRulesProvider(URL url, boolean lazy) {
         super();
+        this.lazy = lazy;
         try {
             if (load(url) == false) {
                 throw new ZoneRulesException("No time-zone rules found: " + url);
@@ -119,6 +157,7 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
      */
     public TzdbZoneRulesProvider(InputStream stream) {
         super();
+        this.lazy = false;
         try {
             load(stream);
         } catch (Exception ex) {
@@ -155,6 +194,19 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
     }
 
     //-------------------------------------------------------------------------
+    /**
+     * Checks the system property to see if lazy mode is enabled by default.
+     *
+     * @return true if lazy
+     */
+    private static boolean isLazyByDefault() {
+        try {
+            return Boolean.getBoolean(LAZY_PROPERTY);
+        } catch (SecurityException ex) {
+            return false;
+        }
+    }
+
     /**
      * Loads the rules.
      *
@@ -192,7 +244,7 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
             InputStream in = null;
             try {
                 in = url.openStream();
-                updated |= load(in);
+                updated |= load(in, lazy ? url : null);
             } finally {
                 if (in != null) {
                     in.close();
@@ -209,8 +261,20 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
      * @throws Exception if an error occurs
      */
     private boolean load(InputStream in) throws IOException, StreamCorruptedException {
+        return load(in, null);
+    }
+
+    /**
+     * Loads the rules from an input stream.
+     *
+     * @param in  the stream to load, not null, not closed after use
+     * @param lazyUrl  the URL to read rule data from on first request, null to read eagerly
+     * @throws Exception if an error occurs
+     */
+    private boolean load(InputStream in, URL lazyUrl) throws IOException, StreamCorruptedException {
         boolean updated = false;
-        Iterable<Version> loadedVersions = loadData(in);
+        Set<Version> loadedVersions = loadData(in, lazyUrl, null);
+        regionIds = regionIds(loadedVersions);
         for (Version loadedVersion : loadedVersions) {
             // see https://github.com/ThreeTen/threetenbp/pull/28 for issue wrt
             // multiple versions of lib on classpath
@@ -225,12 +289,19 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
 
     /**
      * Loads the rules from an input stream.
+     * <p>
+     * If both the lazy URL and buffer are null, the rule data is read eagerly.
      *
      * @param in  the stream to load, not null, not closed after use
+     * @param lazyUrl  the URL to read rule data from on first request, null if not reading lazily from a URL
+     * @param lazyBuffer  the buffer holding the same data as the stream to read rule data
+     *  from on first request, null if not reading lazily from a buffer
+     * @return the loaded versions, not null
      * @throws Exception if an error occurs
      */
-    private Iterable<Version> loadData(InputStream in) throws IOException, StreamCorruptedException {
-        DataInputStream dis = new DataInputStream(in);
+    static Set<Version> loadData(InputStream in, URL lazyUrl, ByteBuffer lazyBuffer) throws IOException, StreamCorruptedException {
+        CountingInputStream counter = new CountingInputStream(in);
+        DataInputStream dis = new DataInputStream(counter);
         if (dis.readByte() != 1) {
             throw new StreamCorruptedException("File format not recognised");
         }
@@ -251,14 +322,29 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
         for (int i = 0; i < regionCount; i++) {
             regionArray[i] = dis.readUTF();
         }
-        regionIds = Arrays.asList(regionArray);
         // rules
         int ruleCount = dis.readShort();
         Object[] ruleArray = new Object[ruleCount];
-        for (int i = 0; i < ruleCount; i++) {
-            byte[] bytes = new byte[dis.readShort()];
-            dis.readFully(bytes);
-            ruleArray[i] = bytes;
+        RuleSource ruleSource = null;
+        if (lazyUrl == null && lazyBuffer == null) {
+            for (int i = 0; i < ruleCount; i++) {
+                byte[] bytes = new byte[dis.readShort()];
+                dis.readFully(bytes);
+                ruleArray[i] = bytes;
+            }
+        } else {
+            int[] offsets = new int[ruleCount];
+            int[] lengths = new int[ruleCount];
+            for (int i = 0; i < ruleCount; i++) {
+                lengths[i] = dis.readShort();
+                offsets[i] = (int) counter.position;
+                skipFully(dis, lengths[i]);
+            }
+            if (lazyBuffer != null) {
+                ruleSource = new MappedRuleSource(lazyBuffer, offsets, lengths);
+            } else {
+                ruleSource = RuleSource.of(lazyUrl, offsets, lengths);
+            }
         }
         AtomicReferenceArray<Object> ruleData = new AtomicReferenceArray<Object>(ruleArray);
         // link version-region-rules
@@ -271,11 +357,46 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
                 versionRegionArray[j] = regionArray[dis.readShort()];
                 versionRulesArray[j] = dis.readShort();
             }
-            versionSet.add(new Version(versionArray[i], versionRegionArray, versionRulesArray, ruleData));
+            versionSet.add(new Version(versionArray[i], versionRegionArray, versionRulesArray, ruleData, ruleSource));
         }
         return versionSet;
     }
 
+    /**
+     * Extracts the region IDs from a set of versions.
+     *
+     * @param versions  the versions, not null
+     * @return the modifiable set of region IDs, not null
+     */
+    static Set<String> regionIds(Iterable<Version> versions) {
+        Set<String> regionIds = new HashSet<String>();
+        for (Version version : versions) {
+            regionIds.addAll(Arrays.asList(version.regionArray));
+        }
+        return regionIds;
+    }
+
+    /**
+     * Skips the specified number of bytes.
+     *
+     * @param dis  the stream to skip, not null
+     * @param length  the number of bytes to skip
+     * @throws IOException if an IO error occurs
+     */
+    private static void skipFully(DataInputStream dis, int length) throws IOException {
+        int remaining = length;
+        while (remaining > 0) {
+            int skipped = dis.skipBytes(remaining);
+            if (skipped <= 0) {
+                if (dis.read() < 0) {
+                    throw new EOFException();
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+
     @Override
     public String toString() {
         return "TZDB";
@@ -290,9 +411,15 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
         private final String[] regionArray;
         private final short[] ruleIndices;
         private final AtomicReferenceArray<Object> ruleData;
+        private final RuleSource ruleSource;
 
         Version(String versionId, String[] regionIds, short[] ruleIndices, AtomicReferenceArray<Object> ruleData) {
+            this(versionId, regionIds, ruleIndices, ruleData, null);
+        }
+
+        Version(String versionId, String[] regionIds, short[] ruleIndices, AtomicReferenceArray<Object> ruleData, RuleSource ruleSource) {
             this.ruleData = ruleData;
+            this.ruleSource = ruleSource;
             this.versionId = versionId;
             this.regionArray = regionIds;
             this.ruleIndices = ruleIndices;
@@ -312,6 +439,9 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
 
         ZoneRules createRule(short index) throws Exception {
             Object obj = ruleData.get(index);
+            if (obj == null && ruleSource != null) {
+                obj = ruleSource.read(index);
+            }
             if (obj instanceof byte[]) {
                 byte[] bytes = (byte[]) obj;
                 DataInputStream dis = new DataInputStream(new ByteArrayInputStream(bytes));
@@ -327,4 +457,165 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
         }
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Input stream that tracks the number of bytes read.
+     */
+    static final class CountingInputStream extends FilterInputStream {
+        long position;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int result = super.read();
+            if (result >= 0) {
+                position++;
+            }
+            return result;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            int result = super.read(buf, off, len);
+            if (result > 0) {
+                position += result;
+            }
+            return result;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long result = super.skip(n);
+            position += result;
+            return result;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The source of the bytes of each rule when loading lazily.
+     */
+    abstract static class RuleSource {
+        private final int[] offsets;
+        private final int[] lengths;
+
+        /**
+         * Obtains a source for the URL, memory-mapping it if it is a file.
+         *
+         * @param url  the URL of the data, not null
+         * @param offsets  the offset of each rule, not null
+         * @param lengths  the length of each rule, not null
+         * @return the source, not null
+         * @throws IOException if an IO error occurs
+         */
+        static RuleSource of(URL url, int[] offsets, int[] lengths) throws IOException {
+            if ("file".equals(url.getProtocol())) {
+                File file;
+                try {
+                    file = new File(url.toURI());
+                } catch (Exception ex) {
+                    file = new File(url.getPath());
+                }
+                return new MappedRuleSource(map(file), offsets, lengths);
+            }
+            return new UrlRuleSource(url, offsets, lengths);
+        }
+
+        /**
+         * Memory-maps the whole of a file for reading.
+         * The mapping remains valid after the file is closed.
+         *
+         * @param file  the file to map, not null
+         * @return the read-only buffer, not null
+         * @throws IOException if an IO error occurs
+         */
+        static ByteBuffer map(File file) throws IOException {
+            RandomAccessFile raf = new RandomAccessFile(file, "r");
+            try {
+                FileChannel channel = raf.getChannel();
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } finally {
+                raf.close();
+            }
+        }
+
+        RuleSource(int[] offsets, int[] lengths) {
+            this.offsets = offsets;
+            this.lengths = lengths;
+        }
+
+        /**
+         * Reads the bytes of a rule.
+         *
+         * @param index  the rule index
+         * @return the bytes, not null
+         * @throws IOException if an IO error occurs
+         */
+        byte[] read(int index) throws IOException {
+            byte[] bytes = new byte[lengths[index]];
+            read(offsets[index], bytes);
+            return bytes;
+        }
+
+        /**
+         * Reads bytes from the underlying data.
+         *
+         * @param offset  the offset to read from
+         * @param bytes  the array to fill, not null
+         * @throws IOException if an IO error occurs
+         */
+        abstract void read(int offset, byte[] bytes) throws IOException;
+    }
+
+    /**
+     * Rule source that re-opens the URL.
+     */
+    static final class UrlRuleSource extends RuleSource {
+        private final URL url;
+
+        UrlRuleSource(URL url, int[] offsets, int[] lengths) {
+            super(offsets, lengths);
+            this.url = url;
+        }
+
+        @Override
+        void read(int offset, byte[] bytes) throws IOException {
+            InputStream in = url.openStream();
+            try {
+                DataInputStream dis = new DataInputStream(in);
+                skipFully(dis, offset);
+                dis.readFully(bytes);
+            } finally {
+                in.close();
+            }
+        }
+    }
+
+    /**
+     * Rule source that reads from a memory-mapped buffer.
+     */
+    static final class MappedRuleSource extends RuleSource {
+        private final ByteBuffer buffer;
+
+        MappedRuleSource(ByteBuffer buffer, int[] offsets, int[] lengths) {
+            super(offsets, lengths);
+            this.buffer = buffer;
+        }
+
+        @Override
+        void read(int offset, byte[] bytes) {
+            ByteBuffer view = buffer.duplicate();
+            view.position(offset);
+            view.get(bytes);
+        }
+    }
+
 }
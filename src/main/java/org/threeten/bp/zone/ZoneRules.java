@@ -32,6 +32,7 @@
 package org.threeten.bp.zone;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -132,6 +133,84 @@ public abstract class ZoneRules {
      */
     public abstract ZoneOffset getOffset(Instant instant);
 
+    /**
+     * Gets the offset applicable at the specified epoch second in these rules.
+     * <p>
+     * This is equivalent to calling {@link #getOffset(Instant)} with the instant
+     * at the start of the epoch second, but avoids creating the {@code Instant}.
+     * As transitions occur on whole seconds, the offset applies to the whole second.
+     *
+     * @param epochSecond  the epoch second to find the offset for, within the range of {@code Instant}
+     * @return the offset, not null
+     */
+    public ZoneOffset getOffset(long epochSecond) {
+        return getOffset(Instant.ofEpochSecond(epochSecond));
+    }
+
+    /**
+     * Gets the offsets applicable at each of the specified epoch seconds in these rules.
+     * <p>
+     * This is equivalent to calling {@link #getOffset(Instant)} for each element of
+     * {@code epochSeconds} and storing the total seconds of the offset at the same
+     * index of {@code offsetSeconds}, but avoids creating an {@code Instant} per element.
+     * Implementations are optimized for input sorted in ascending order,
+     * but any order is permitted.
+     *
+     * @param epochSeconds  the epoch seconds to find the offsets for, not null
+     * @param offsetSeconds  the array to store the total offset seconds in,
+     *  at least as long as {@code epochSeconds}, not null
+     * @throws IndexOutOfBoundsException if {@code offsetSeconds} is too short
+     */
+    public void getOffsets(long[] epochSeconds, int[] offsetSeconds) {
+        Jdk8Methods.requireNonNull(epochSeconds, "epochSeconds");
+        getOffsets(epochSeconds, 0, offsetSeconds, 0, epochSeconds.length);
+    }
+
+    /**
+     * Gets the offsets applicable at a range of the specified epoch seconds in these rules.
+     * <p>
+     * This is equivalent to calling {@link #getOffset(Instant)} for each of the {@code length}
+     * elements of {@code epochSeconds} starting at {@code epochSecondsIndex}, storing the total
+     * seconds of each offset in {@code offsetSeconds} starting at {@code offsetSecondsIndex}.
+     * Implementations are optimized for input sorted in ascending order,
+     * but any order is permitted.
+     *
+     * @param epochSeconds  the epoch seconds to find the offsets for, not null
+     * @param epochSecondsIndex  the index of the first epoch second to read
+     * @param offsetSeconds  the array to store the total offset seconds in, not null
+     * @param offsetSecondsIndex  the index of the first offset to store
+     * @param length  the number of elements to process
+     * @throws IndexOutOfBoundsException if either range is outside its array
+     */
+    public void getOffsets(long[] epochSeconds, int epochSecondsIndex, int[] offsetSeconds, int offsetSecondsIndex, int length) {
+        checkOffsetsRange(epochSeconds, epochSecondsIndex, offsetSeconds, offsetSecondsIndex, length);
+        for (int i = 0; i < length; i++) {
+            Instant instant = Instant.ofEpochSecond(epochSeconds[epochSecondsIndex + i]);
+            offsetSeconds[offsetSecondsIndex + i] = getOffset(instant).getTotalSeconds();
+        }
+    }
+
+    /**
+     * Validates the arguments of {@link #getOffsets(long[], int, int[], int, int)}.
+     *
+     * @param epochSeconds  the epoch seconds, not null
+     * @param epochSecondsIndex  the index of the first epoch second
+     * @param offsetSeconds  the offset seconds, not null
+     * @param offsetSecondsIndex  the index of the first offset
+     * @param length  the number of elements
+     * @throws IndexOutOfBoundsException if either range is outside its array
+     */
+    static void checkOffsetsRange(long[] epochSeconds, int epochSecondsIndex, int[] offsetSeconds, int offsetSecondsIndex, int length) {
+        Jdk8Methods.requireNonNull(epochSeconds, "epochSeconds");
+        Jdk8Methods.requireNonNull(offsetSeconds, "offsetSeconds");
+        if (length < 0 || epochSecondsIndex < 0 || offsetSecondsIndex < 0 ||
+                epochSecondsIndex > epochSeconds.length - length ||
+                offsetSecondsIndex > offsetSeconds.length - length) {
+            throw new IndexOutOfBoundsException("Invalid range: epochSecondsIndex=" + epochSecondsIndex +
+                    ", offsetSecondsIndex=" + offsetSecondsIndex + ", length=" + length);
+        }
+    }
+
     /**
      * Gets a suitable offset for the specified local date-time in these rules.
      * <p>
@@ -425,6 +504,17 @@ public abstract class ZoneRules {
             return offset;
         }
 
+        @Override
+        public ZoneOffset getOffset(long epochSecond) {
+            return offset;
+        }
+
+        @Override
+        public void getOffsets(long[] epochSeconds, int epochSecondsIndex, int[] offsetSeconds, int offsetSecondsIndex, int length) {
+            checkOffsetsRange(epochSeconds, epochSecondsIndex, offsetSeconds, offsetSecondsIndex, length);
+            Arrays.fill(offsetSeconds, offsetSecondsIndex, offsetSecondsIndex + length, offset.getTotalSeconds());
+        }
+
         @Override
         public ZoneOffset getOffset(LocalDateTime localDateTime) {
             return offset;
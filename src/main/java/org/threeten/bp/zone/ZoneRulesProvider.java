@@ -187,7 +187,7 @@ public abstract class ZoneRulesProvider {
      */
     public static void registerProvider(ZoneRulesProvider provider) {
         Jdk8Methods.requireNonNull(provider, "provider");
-        registerProvider0(provider);
+        registerProvider0(provider, false);
         PROVIDERS.add(provider);
     }
 
@@ -195,13 +195,14 @@ public abstract class ZoneRulesProvider {
      * Registers the provider.
      *
      * @param provider  the provider to register, not null
+     * @param refreshing  true if the provider is already registered and is adding zone IDs
      * @throws ZoneRulesException if unable to complete the registration
      */
-    private static void registerProvider0(ZoneRulesProvider provider) {
+    private static void registerProvider0(ZoneRulesProvider provider, boolean refreshing) {
         for (String zoneId : provider.provideZoneIds()) {
             Jdk8Methods.requireNonNull(zoneId, "zoneId");
             ZoneRulesProvider old = ZONES.putIfAbsent(zoneId, provider);
-            if (old != null) {
+            if (old != null && (refreshing == false || old != provider)) {
                 throw new ZoneRulesException(
                     "Unable to register zone as one already registered with that ID: " + zoneId +
                     ", currently loading from provider: " + provider);
@@ -220,6 +221,8 @@ public abstract class ZoneRulesProvider {
      * <p>
      * Dynamic behavior is entirely optional and most providers, including the
      * default provider, do not support it.
+     * <p>
+     * Any zone IDs added by a provider during the refresh are registered.
      *
      * @return true if the rules were updated
      * @throws ZoneRulesException if an error occurs during the refresh
@@ -227,7 +230,10 @@ public abstract class ZoneRulesProvider {
     public static boolean refresh() {
         boolean changed = false;
         for (ZoneRulesProvider provider : PROVIDERS) {
-            changed |= provider.provideRefresh();
+            if (provider.provideRefresh()) {
+                registerProvider0(provider, true);
+                changed = true;
+            }
         }
         return changed;
     }
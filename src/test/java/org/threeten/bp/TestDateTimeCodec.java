@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test.
+ */
+@Test
+public class TestDateTimeCodec {
+
+    private static int signum(int value) {
+        return value < 0 ? -1 : (value > 0 ? 1 : 0);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_date_roundTrip() {
+        LocalDate[] dates = {LocalDate.of(-5000, 1, 1), LocalDate.of(1969, 12, 31), LocalDate.of(1970, 1, 1), LocalDate.of(2000, 2, 29)};
+        for (LocalDate date : dates) {
+            int encoded = DateTimeCodec.encodeDate(date);
+            assertEquals(encoded, date.toEpochDay());
+            assertEquals(DateTimeCodec.decodeDate(encoded), date);
+        }
+        assertEquals(DateTimeCodec.decodeDate(Integer.MIN_VALUE), LocalDate.ofEpochDay(Integer.MIN_VALUE));
+        assertEquals(DateTimeCodec.decodeDate(Integer.MAX_VALUE), LocalDate.ofEpochDay(Integer.MAX_VALUE));
+    }
+
+    @Test(expectedExceptions=ArithmeticException.class)
+    public void test_encodeDate_tooLarge() {
+        DateTimeCodec.encodeDate(LocalDate.MAX);
+    }
+
+    @DataProvider(name="dates")
+    Object[][] data_dates() {
+        return new Object[][] {
+            {LocalDate.ofEpochDay(Integer.MIN_VALUE)},
+            {LocalDate.of(-5000, 1, 1)},
+            {LocalDate.of(-1, 12, 31)},
+            {LocalDate.of(0, 1, 1)},
+            {LocalDate.of(1900, 2, 28)},
+            {LocalDate.of(1900, 3, 1)},
+            {LocalDate.of(1969, 12, 31)},
+            {LocalDate.of(1970, 1, 1)},
+            {LocalDate.of(2000, 2, 29)},
+            {LocalDate.of(2012, 1, 31)},
+            {LocalDate.of(2012, 2, 1)},
+            {LocalDate.of(2012, 12, 31)},
+            {LocalDate.ofEpochDay(Integer.MAX_VALUE)},
+        };
+    }
+
+    @Test(dataProvider="dates")
+    public void test_date_order(LocalDate date) {
+        int encoded = DateTimeCodec.encodeDate(date);
+        for (Object[] row : data_dates()) {
+            LocalDate other = (LocalDate) row[0];
+            assertEquals(signum(DateTimeCodec.compare(encoded, DateTimeCodec.encodeDate(other))),
+                    signum(date.compareTo(other)), date + " vs " + other);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_time_roundTrip() {
+        LocalTime[] times = {LocalTime.MIN, LocalTime.of(12, 30, 40, 987654321), LocalTime.MAX};
+        for (LocalTime time : times) {
+            long encoded = DateTimeCodec.encodeTime(time);
+            assertEquals(encoded, time.toNanoOfDay());
+            assertEquals(DateTimeCodec.decodeTime(encoded), time);
+        }
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_decodeTime_invalid() {
+        DateTimeCodec.decodeTime(-1);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_dateTime_roundTrip() {
+        LocalDateTime[] dateTimes = {
+            LocalDateTime.of(1970, 1, 1, 0, 0),
+            LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999999000),
+            LocalDateTime.of(-2000, 6, 15, 1, 2, 3, 4000),
+            LocalDateTime.of(2012, 2, 29, 12, 30, 45, 123456000),
+        };
+        for (LocalDateTime dateTime : dateTimes) {
+            assertEquals(DateTimeCodec.decodeDateTime(DateTimeCodec.encodeDateTime(dateTime)), dateTime);
+        }
+        assertEquals(DateTimeCodec.encodeDateTime(LocalDateTime.of(1970, 1, 1, 0, 0, 1)), 1000000L);
+        assertEquals(DateTimeCodec.encodeDateTime(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999999000)), -1L);
+    }
+
+    public void test_encodeDateTime_truncates() {
+        LocalDateTime dateTime = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999999999);
+        assertEquals(DateTimeCodec.encodeDateTime(dateTime), -1L);
+        assertEquals(DateTimeCodec.decodeDateTime(-1L), dateTime.withNano(999999000));
+    }
+
+    public void test_dateTime_limits() {
+        LocalDateTime max = DateTimeCodec.decodeDateTime(Long.MAX_VALUE);
+        LocalDateTime min = DateTimeCodec.decodeDateTime(Long.MIN_VALUE);
+        assertEquals(DateTimeCodec.encodeDateTime(max), Long.MAX_VALUE);
+        assertEquals(DateTimeCodec.encodeDateTime(min), Long.MIN_VALUE);
+    }
+
+    @Test(expectedExceptions=ArithmeticException.class)
+    public void test_encodeDateTime_tooLarge() {
+        DateTimeCodec.encodeDateTime(DateTimeCodec.decodeDateTime(Long.MAX_VALUE).plusNanos(1000));
+    }
+
+    @Test(expectedExceptions=ArithmeticException.class)
+    public void test_encodeDateTime_tooSmall() {
+        DateTimeCodec.encodeDateTime(DateTimeCodec.decodeDateTime(Long.MIN_VALUE).minusNanos(1000));
+    }
+
+    @DataProvider(name="dateTimes")
+    Object[][] data_dateTimes() {
+        return new Object[][] {
+            {DateTimeCodec.decodeDateTime(Long.MIN_VALUE)},
+            {LocalDateTime.of(-2000, 6, 15, 1, 2, 3, 4000)},
+            {LocalDateTime.of(0, 2, 29, 23, 59, 59, 999999000)},
+            {LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999998000)},
+            {LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999999000)},
+            {LocalDateTime.of(1970, 1, 1, 0, 0)},
+            {LocalDateTime.of(1970, 1, 1, 0, 0, 0, 1000)},
+            {LocalDateTime.of(2012, 2, 29, 12, 30, 45, 123456000)},
+            {LocalDateTime.of(2012, 3, 1, 0, 0)},
+            {LocalDateTime.of(2012, 12, 31, 23, 59, 59)},
+            {DateTimeCodec.decodeDateTime(Long.MAX_VALUE)},
+        };
+    }
+
+    @Test(dataProvider="dateTimes")
+    public void test_dateTime_order(LocalDateTime dateTime) {
+        long encoded = DateTimeCodec.encodeDateTime(dateTime);
+        assertEquals(DateTimeCodec.decodeDateTime(encoded), dateTime);
+        for (Object[] row : data_dateTimes()) {
+            LocalDateTime other = (LocalDateTime) row[0];
+            assertEquals(signum(DateTimeCodec.compare(encoded, DateTimeCodec.encodeDateTime(other))),
+                    signum(dateTime.compareTo(other)), dateTime + " vs " + other);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_instant_roundTrip() {
+        Instant[] instants = {
+            Instant.EPOCH,
+            Instant.ofEpochSecond(-1, 999999000),
+            Instant.ofEpochSecond(1325376000L, 123456000),
+            Instant.ofEpochSecond(-62135596800L, 1000),
+        };
+        for (Instant instant : instants) {
+            assertEquals(DateTimeCodec.decodeInstant(DateTimeCodec.encodeInstant(instant)), instant);
+        }
+        assertEquals(DateTimeCodec.encodeInstant(Instant.ofEpochSecond(-1, 999999999)), -1L);
+        assertEquals(DateTimeCodec.encodeInstant(Instant.ofEpochMilli(1234)), 1234000L);
+    }
+
+    public void test_instant_limits() {
+        assertEquals(DateTimeCodec.encodeInstant(DateTimeCodec.decodeInstant(Long.MAX_VALUE)), Long.MAX_VALUE);
+        assertEquals(DateTimeCodec.encodeInstant(DateTimeCodec.decodeInstant(Long.MIN_VALUE)), Long.MIN_VALUE);
+    }
+
+    @Test(expectedExceptions=ArithmeticException.class)
+    public void test_encodeInstant_tooLarge() {
+        DateTimeCodec.encodeInstant(Instant.MAX);
+    }
+
+    @Test(expectedExceptions=ArithmeticException.class)
+    public void test_encodeInstant_tooSmall() {
+        DateTimeCodec.encodeInstant(DateTimeCodec.decodeInstant(Long.MIN_VALUE).minusNanos(1000));
+    }
+
+    public void test_instant_pair() {
+        Instant instant = Instant.ofEpochSecond(-5, 700);
+        assertEquals(DateTimeCodec.decodeInstant(instant.getEpochSecond(), instant.getNano()), instant);
+        assertTrue(DateTimeCodec.compare(-5L, 700, -5L, 699) > 0);
+        assertTrue(DateTimeCodec.compare(-5L, 700, -4L, 0) < 0);
+        assertEquals(DateTimeCodec.compare(-5L, 700, -5L, 700), 0);
+    }
+
+    @DataProvider(name="instants")
+    Object[][] data_instants() {
+        return new Object[][] {
+            {DateTimeCodec.decodeInstant(Long.MIN_VALUE)},
+            {Instant.ofEpochSecond(-62135596800L, 1000)},
+            {Instant.ofEpochSecond(-1, 999999000)},
+            {Instant.ofEpochSecond(-1, 999999500)},
+            {Instant.ofEpochSecond(-1, 999999999)},
+            {Instant.EPOCH},
+            {Instant.ofEpochSecond(0, 1)},
+            {Instant.ofEpochSecond(0, 999)},
+            {Instant.ofEpochSecond(0, 1000)},
+            {Instant.parse("2012-03-25T01:00:00Z")},
+            {Instant.parse("2012-10-28T01:00:00Z")},
+            {DateTimeCodec.decodeInstant(Long.MAX_VALUE)},
+        };
+    }
+
+    @Test(dataProvider="instants")
+    public void test_instant_order(Instant instant) {
+        for (Object[] row : data_instants()) {
+            Instant other = (Instant) row[0];
+            int expected = signum(instant.compareTo(other));
+            assertEquals(signum(DateTimeCodec.compare(instant.getEpochSecond(), instant.getNano(), other.getEpochSecond(), other.getNano())),
+                    expected, instant + " vs " + other);
+            // instants within the same microsecond encode equal
+            int micros = signum(DateTimeCodec.compare(DateTimeCodec.encodeInstant(instant), DateTimeCodec.encodeInstant(other)));
+            assertTrue(micros == expected || micros == 0, instant + " vs " + other);
+        }
+    }
+
+}
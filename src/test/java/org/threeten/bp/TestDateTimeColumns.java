@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test.
+ */
+@Test
+public class TestDateTimeColumns {
+
+    private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+
+    @DataProvider(name="dates")
+    Object[][] data_dates() {
+        return new Object[][] {
+            {LocalDate.MIN},
+            {LocalDate.MAX},
+            {LocalDate.of(-1, 12, 31)},
+            {LocalDate.of(0, 1, 1)},
+            {LocalDate.of(0, 2, 29)},
+            {LocalDate.of(1900, 2, 28)},
+            {LocalDate.of(1900, 3, 1)},
+            {LocalDate.of(1969, 12, 31)},
+            {LocalDate.of(1970, 1, 1)},
+            {LocalDate.of(2000, 2, 29)},
+            {LocalDate.of(2000, 3, 1)},
+            {LocalDate.of(2011, 2, 28)},
+            {LocalDate.of(2012, 1, 31)},
+            {LocalDate.of(2012, 2, 29)},
+            {LocalDate.of(2012, 4, 30)},
+            {LocalDate.of(2012, 12, 31)},
+            {LocalDate.of(2100, 3, 1)},
+        };
+    }
+
+    @DataProvider(name="instants")
+    Object[][] data_instants() {
+        return new Object[][] {
+            {Instant.parse("1843-03-22T09:46:40Z")},
+            {Instant.parse("1900-01-01T00:00:00Z")},
+            {Instant.parse("1969-12-31T23:59:59Z")},
+            {Instant.parse("1970-01-01T00:00:00Z")},
+            {Instant.parse("2000-02-29T23:30:00Z")},
+            // Paris gap, 02:00 to 03:00 local
+            {Instant.parse("2012-03-25T00:59:59Z")},
+            {Instant.parse("2012-03-25T01:00:00Z")},
+            // Paris overlap, 02:00 to 03:00 local
+            {Instant.parse("2012-10-28T00:30:00Z")},
+            {Instant.parse("2012-10-28T01:00:00Z")},
+            {Instant.parse("2012-10-28T01:30:00Z")},
+            {Instant.parse("2012-12-31T23:00:00Z")},
+            {Instant.parse("2096-10-02T07:06:40Z")},
+        };
+    }
+
+    private static long[] epochDays(Object[][] data) {
+        long[] epochDays = new long[data.length];
+        for (int i = 0; i < data.length; i++) {
+            epochDays[i] = ((LocalDate) data[i][0]).toEpochDay();
+        }
+        return epochDays;
+    }
+
+    //-----------------------------------------------------------------------
+    @Test(dataProvider="dates")
+    public void test_toDateFields_roundTrip(LocalDate date) {
+        int[] years = new int[1];
+        int[] months = new int[1];
+        int[] days = new int[1];
+        DateTimeColumns.toDateFields(new long[] {date.toEpochDay()}, years, months, days);
+        assertEquals(years[0], date.getYear());
+        assertEquals(months[0], date.getMonthValue());
+        assertEquals(days[0], date.getDayOfMonth());
+        long[] result = new long[1];
+        DateTimeColumns.toEpochDays(years, months, days, result);
+        assertEquals(result[0], date.toEpochDay());
+    }
+
+    public void test_toDateFields_column() {
+        long[] epochDays = epochDays(data_dates());
+        int[] years = new int[epochDays.length];
+        int[] months = new int[epochDays.length];
+        int[] days = new int[epochDays.length];
+        DateTimeColumns.toDateFields(epochDays, years, months, days);
+        long[] result = new long[epochDays.length];
+        DateTimeColumns.toEpochDays(years, months, days, result);
+        for (int i = 0; i < epochDays.length; i++) {
+            LocalDate expected = LocalDate.ofEpochDay(epochDays[i]);
+            assertEquals(LocalDate.of(years[i], months[i], days[i]), expected);
+            assertEquals(result[i], epochDays[i]);
+        }
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_toDateFields_outOfRange() {
+        DateTimeColumns.toDateFields(new long[] {LocalDate.MAX.toEpochDay() + 1}, new int[1], new int[1], new int[1]);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_toDateFields_outputTooShort() {
+        DateTimeColumns.toDateFields(new long[2], new int[2], new int[1], new int[2]);
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_toEpochDays_notLeapYear() {
+        DateTimeColumns.toEpochDays(new int[] {2001}, new int[] {2}, new int[] {29}, new long[1]);
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_toEpochDays_invalidMonth() {
+        DateTimeColumns.toEpochDays(new int[] {2001}, new int[] {13}, new int[] {1}, new long[1]);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_toTimeFields_roundTrip() {
+        long[] nanosOfDay = {0, 1, 999999999L, 3723000000004L, LocalTime.MAX.toNanoOfDay()};
+        int[] hours = new int[5];
+        int[] minutes = new int[5];
+        int[] seconds = new int[5];
+        int[] nanos = new int[5];
+        DateTimeColumns.toTimeFields(nanosOfDay, hours, minutes, seconds, nanos);
+        for (int i = 0; i < nanosOfDay.length; i++) {
+            LocalTime expected = LocalTime.ofNanoOfDay(nanosOfDay[i]);
+            assertEquals(hours[i], expected.getHour());
+            assertEquals(minutes[i], expected.getMinute());
+            assertEquals(seconds[i], expected.getSecond());
+            assertEquals(nanos[i], expected.getNano());
+        }
+        long[] result = new long[5];
+        DateTimeColumns.toNanosOfDay(hours, minutes, seconds, nanos, result);
+        for (int i = 0; i < nanosOfDay.length; i++) {
+            assertEquals(result[i], nanosOfDay[i]);
+        }
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_toTimeFields_invalid() {
+        DateTimeColumns.toTimeFields(new long[] {-1}, new int[1], new int[1], new int[1], new int[1]);
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_toNanosOfDay_invalid() {
+        DateTimeColumns.toNanosOfDay(new int[] {24}, new int[1], new int[1], new int[1], new long[1]);
+    }
+
+    //-----------------------------------------------------------------------
+    @Test(dataProvider="instants")
+    public void test_toDateTimeFields_zone(Instant instant) {
+        long[] epochSeconds = {instant.getEpochSecond()};
+        int[] years = new int[1];
+        int[] months = new int[1];
+        int[] days = new int[1];
+        int[] secondsOfDay = new int[1];
+        long[] localEpochSeconds = new long[1];
+        DateTimeColumns.toDateTimeFields(epochSeconds, PARIS, years, months, days, secondsOfDay);
+        DateTimeColumns.toLocalEpochSeconds(epochSeconds, PARIS, localEpochSeconds);
+        LocalDateTime expected = LocalDateTime.ofInstant(instant, PARIS);
+        assertEquals(years[0], expected.getYear());
+        assertEquals(months[0], expected.getMonthValue());
+        assertEquals(days[0], expected.getDayOfMonth());
+        assertEquals(secondsOfDay[0], expected.toLocalTime().toSecondOfDay());
+        assertEquals(localEpochSeconds[0], expected.toEpochSecond(ZoneOffset.UTC));
+        int[] years2 = new int[1];
+        int[] months2 = new int[1];
+        int[] days2 = new int[1];
+        int[] secondsOfDay2 = new int[1];
+        DateTimeColumns.toDateTimeFields(localEpochSeconds, years2, months2, days2, secondsOfDay2);
+        assertEquals(years2[0], years[0]);
+        assertEquals(months2[0], months[0]);
+        assertEquals(days2[0], days[0]);
+        assertEquals(secondsOfDay2[0], secondsOfDay[0]);
+    }
+
+    public void test_toDateTimeFields_zone_column() {
+        Object[][] data = data_instants();
+        long[] epochSeconds = new long[data.length];
+        for (int i = 0; i < data.length; i++) {
+            epochSeconds[i] = ((Instant) data[i][0]).getEpochSecond();
+        }
+        int[] years = new int[data.length];
+        int[] months = new int[data.length];
+        int[] days = new int[data.length];
+        int[] secondsOfDay = new int[data.length];
+        DateTimeColumns.toDateTimeFields(epochSeconds, PARIS, years, months, days, secondsOfDay);
+        for (int i = 0; i < data.length; i++) {
+            LocalDateTime expected = LocalDateTime.ofInstant((Instant) data[i][0], PARIS);
+            assertEquals(LocalDate.of(years[i], months[i], days[i]), expected.toLocalDate());
+            assertEquals(secondsOfDay[i], expected.toLocalTime().toSecondOfDay());
+        }
+    }
+
+    public void test_toDateTimeFields_offset() {
+        long[] epochSeconds = {-1, 0, 86399};
+        int[] years = new int[3];
+        int[] months = new int[3];
+        int[] days = new int[3];
+        int[] secondsOfDay = new int[3];
+        DateTimeColumns.toDateTimeFields(epochSeconds, ZoneOffset.ofHours(-1), years, months, days, secondsOfDay);
+        assertEquals(days[0], 31);
+        assertEquals(secondsOfDay[0], 86400 - 3601);
+        assertEquals(days[1], 31);
+        assertEquals(secondsOfDay[1], 86400 - 3600);
+        assertEquals(days[2], 1);
+        assertEquals(secondsOfDay[2], 86399 - 3600);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_toDateTimeFields_nullZone() {
+        DateTimeColumns.toDateTimeFields(new long[1], null, new int[1], new int[1], new int[1], new int[1]);
+    }
+
+}
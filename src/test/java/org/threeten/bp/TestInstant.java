@@ -1663,4 +1663,16 @@ public class TestInstant extends AbstractDateTimeTest {
         assertEquals(Instant.parse(text.toLowerCase(Locale.ENGLISH)), instant);
     }
 
+    @Test(dataProvider="toStringParse")
+    public void test_parseOrNull(Instant instant, String text) {
+        assertEquals(Instant.parseOrNull(text), instant);
+    }
+
+    @Test
+    public void test_parseOrNull_invalid() {
+        assertEquals(Instant.parseOrNull("2012-06-30T11:30:00"), null);
+        assertEquals(Instant.parseOrNull("2012-06-31T11:30:00Z"), null);
+        assertEquals(Instant.parseOrNull(""), null);
+    }
+
 }
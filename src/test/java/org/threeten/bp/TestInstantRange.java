@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.InvalidObjectException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.threeten.bp.temporal.ChronoUnit;
+import org.threeten.bp.temporal.UnsupportedTemporalTypeException;
+
+/**
+ * Test.
+ */
+@Test
+public class TestInstantRange extends AbstractTest {
+
+    private static final Instant T1 = Instant.parse("2012-01-15T10:00:00Z");
+    private static final Instant T2 = Instant.parse("2012-01-15T12:30:00Z");
+    private static final Instant T3 = Instant.parse("2012-01-16T00:00:00Z");
+    private static final Instant T4 = Instant.parse("2012-01-17T03:00:00Z");
+
+    /**
+     * The expected partitions, generated using truncation.
+     */
+    private static List<InstantRange> expected(InstantRange range, ChronoUnit unit) {
+        List<InstantRange> list = new ArrayList<InstantRange>();
+        Instant partitionStart = range.getStart();
+        Instant boundary = range.getStart().truncatedTo(unit).plus(1, unit);
+        while (boundary.isBefore(range.getEnd())) {
+            list.add(InstantRange.of(partitionStart, boundary));
+            partitionStart = boundary;
+            boundary = boundary.plus(1, unit);
+        }
+        if (range.isEmpty() == false) {
+            list.add(InstantRange.of(partitionStart, range.getEnd()));
+        }
+        return list;
+    }
+
+    @DataProvider(name = "partitions")
+    Object[][] data_partitions() {
+        return new Object[][] {
+            {InstantRange.of(T1, T1), ChronoUnit.HOURS},
+            {InstantRange.of(T1, T2), ChronoUnit.HOURS},
+            {InstantRange.of(T1, T4), ChronoUnit.HOURS},
+            {InstantRange.of(T1, T4), ChronoUnit.HALF_DAYS},
+            {InstantRange.of(T1, T4), ChronoUnit.DAYS},
+            {InstantRange.of(T3, T4), ChronoUnit.DAYS},
+            {InstantRange.of(T1, T2), ChronoUnit.MINUTES},
+            {InstantRange.of(T1.minusNanos(1), T1.plusSeconds(7).plusNanos(1)), ChronoUnit.SECONDS},
+            {InstantRange.of(T1.minusNanos(1), T1.plusMillis(20).plusNanos(1)), ChronoUnit.MILLIS},
+            {InstantRange.of(Instant.ofEpochSecond(-1, 999990), Instant.ofEpochSecond(0, 10)), ChronoUnit.MICROS},
+            {InstantRange.of(Instant.ofEpochSecond(-1, 999999995), Instant.ofEpochSecond(0, 10)), ChronoUnit.NANOS},
+            {InstantRange.of(Instant.parse("1969-12-30T23:00:00Z"), Instant.parse("1970-01-02T01:00:00Z")), ChronoUnit.DAYS},
+        };
+    }
+
+    @Test(dataProvider = "partitions")
+    public void test_split(InstantRange range, ChronoUnit unit) {
+        List<InstantRange> expected = expected(range, unit);
+        assertEquals(range.split(unit), expected);
+        assertEquals(range.size(unit), expected.size());
+    }
+
+    @Test(dataProvider = "partitions")
+    public void test_bisect(InstantRange range, ChronoUnit unit) {
+        long size = range.size(unit);
+        List<InstantRange> halves = range.bisect(unit);
+        if (size < 2) {
+            assertEquals(halves.size(), 1);
+            assertEquals(halves.get(0), range);
+        } else {
+            assertEquals(halves.size(), 2);
+            assertEquals(halves.get(0).getStart(), range.getStart());
+            assertEquals(halves.get(0).getEnd(), halves.get(1).getStart());
+            assertEquals(halves.get(1).getEnd(), range.getEnd());
+            assertEquals(halves.get(0).size(unit), size / 2);
+            assertEquals(halves.get(1).size(unit), size - size / 2);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_size_extremes() {
+        InstantRange range = InstantRange.of(Instant.MIN, Instant.MAX);
+        assertEquals(range.size(ChronoUnit.SECONDS), Instant.MAX.getEpochSecond() - Instant.MIN.getEpochSecond() + 1);
+        assertEquals(range.bisect(ChronoUnit.DAYS).size(), 2);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void test_size_overflow() {
+        InstantRange.of(Instant.MIN, Instant.MAX).size(ChronoUnit.NANOS);
+    }
+
+    @Test(expectedExceptions = UnsupportedTemporalTypeException.class)
+    public void test_size_unsupportedUnit() {
+        InstantRange.of(T1, T2).size(ChronoUnit.WEEKS);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_of() {
+        InstantRange test = InstantRange.of(T1, T2);
+        assertEquals(test.getStart(), T1);
+        assertEquals(test.getEnd(), T2);
+        assertFalse(test.isEmpty());
+        assertEquals(test.toDuration(), Duration.ofMinutes(150));
+        assertEquals(InstantRange.of(T1, Duration.ofMinutes(150)), test);
+        assertEquals(test.toString(), "2012-01-15T10:00:00Z/2012-01-15T12:30:00Z");
+        assertTrue(InstantRange.of(T1, T1).isEmpty());
+    }
+
+    @Test(expectedExceptions = DateTimeException.class)
+    public void test_of_endBeforeStart() {
+        InstantRange.of(T2, T1);
+    }
+
+    public void test_contains() {
+        InstantRange test = InstantRange.of(T1, T2);
+        assertFalse(test.contains(T1.minusNanos(1)));
+        assertTrue(test.contains(T1));
+        assertTrue(test.contains(T2.minusNanos(1)));
+        assertFalse(test.contains(T2));
+    }
+
+    public void test_overlaps_intersection() {
+        InstantRange test = InstantRange.of(T1, T3);
+        assertTrue(test.overlaps(InstantRange.of(T2, T4)));
+        assertEquals(test.intersection(InstantRange.of(T2, T4)), InstantRange.of(T2, T3));
+        assertFalse(test.overlaps(InstantRange.of(T3, T4)));
+        assertTrue(test.isConnected(InstantRange.of(T3, T4)));
+        assertEquals(test.intersection(InstantRange.of(T3, T4)), InstantRange.of(T3, T3));
+        assertFalse(InstantRange.of(T1, T2).isConnected(InstantRange.of(T3, T4)));
+    }
+
+    @Test(expectedExceptions = DateTimeException.class)
+    public void test_intersection_notConnected() {
+        InstantRange.of(T1, T2).intersection(InstantRange.of(T3, T4));
+    }
+
+    public void test_equals_hashCode() {
+        InstantRange a = InstantRange.of(T1, T2);
+        InstantRange b = InstantRange.of(T1, T2);
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertFalse(a.equals(InstantRange.of(T1, T3)));
+        assertFalse(a.equals(null));
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_serialization() throws Exception {
+        assertSerializable(InstantRange.of(T1, T2));
+        assertSerializable(InstantRange.of(T1, T1));
+    }
+
+    @Test(expectedExceptions = InvalidObjectException.class)
+    public void test_serialization_endBeforeStart() throws Exception {
+        InstantRange test = InstantRange.of(T2, T2);
+        Field end = InstantRange.class.getDeclaredField("end");
+        end.setAccessible(true);
+        end.set(test, T1);
+        writeThenRead(test);
+    }
+
+    @Test(expectedExceptions = InvalidObjectException.class)
+    public void test_serialization_nullEnd() throws Exception {
+        InstantRange test = InstantRange.of(T1, T2);
+        Field end = InstantRange.class.getDeclaredField("end");
+        end.setAccessible(true);
+        end.set(test, null);
+        writeThenRead(test);
+    }
+
+}
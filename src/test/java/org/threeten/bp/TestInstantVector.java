@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.threeten.bp.temporal.ChronoField;
+import org.threeten.bp.temporal.ChronoUnit;
+import org.threeten.bp.temporal.TemporalUnit;
+import org.threeten.bp.temporal.UnsupportedTemporalTypeException;
+
+/**
+ * Test.
+ */
+@Test
+public class TestInstantVector {
+
+    @DataProvider(name="instants")
+    Object[][] data_instants() {
+        return new Object[][] {
+            {Instant.MIN},
+            {Instant.parse("0001-01-01T00:00:00Z")},
+            {Instant.parse("1900-01-01T00:00:00.000001Z")},
+            {Instant.parse("1969-12-31T12:00:00Z")},
+            {Instant.ofEpochSecond(-1, 999999999)},
+            {Instant.EPOCH},
+            {Instant.ofEpochSecond(0, 1)},
+            {Instant.parse("2000-02-29T23:59:59.999999999Z")},
+            // Paris DST gap and overlap
+            {Instant.parse("2012-03-25T01:00:00Z")},
+            {Instant.parse("2012-10-28T01:00:00Z")},
+            {Instant.parse("2012-06-30T23:59:59.500Z")},
+            {Instant.MAX},
+        };
+    }
+
+    /**
+     * A vector of every instant of the data provider, in the order listed.
+     */
+    private InstantVector instantsVector() {
+        Object[][] data = data_instants();
+        InstantVector vector = InstantVector.allocate(data.length);
+        for (int i = 0; i < data.length; i++) {
+            vector.set(i, (Instant) data[i][0]);
+        }
+        return vector;
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_allocate() {
+        InstantVector test = InstantVector.allocate(2);
+        assertEquals(test.size(), 2);
+        assertEquals(test.get(1), Instant.EPOCH);
+        test.set(0, Instant.ofEpochSecond(-5, 20));
+        assertEquals(test.get(0), Instant.ofEpochSecond(-5, 20));
+        assertEquals(test.getEpochSecond(0), -5);
+        assertEquals(test.getNano(0), 20);
+    }
+
+    public void test_allocateDirect() {
+        InstantVector test = InstantVector.allocateDirect(2);
+        test.set(1, Instant.ofEpochSecond(1234567890L, 5));
+        assertEquals(test.get(1), Instant.ofEpochSecond(1234567890L, 5));
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_wrap_differentLengths() {
+        InstantVector.wrap(new long[2], new int[1]);
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_get_invalidNano() {
+        InstantVector.wrap(new long[1], new int[] {-1}).get(0);
+    }
+
+    //-----------------------------------------------------------------------
+    @DataProvider(name="plus")
+    Object[][] data_plus() {
+        return new Object[][] {
+            {123456789123L, ChronoUnit.NANOS},
+            {-123456789123L, ChronoUnit.NANOS},
+            {-1234567, ChronoUnit.MICROS},
+            {1234567, ChronoUnit.MILLIS},
+            {-7, ChronoUnit.SECONDS},
+            {90, ChronoUnit.MINUTES},
+            {-30, ChronoUnit.HOURS},
+            {3, ChronoUnit.HALF_DAYS},
+            {-400, ChronoUnit.DAYS},
+        };
+    }
+
+    @Test(dataProvider="plus")
+    public void test_plus(long amount, TemporalUnit unit) {
+        for (Object[] row : data_instants()) {
+            Instant instant = (Instant) row[0];
+            InstantVector test = InstantVector.allocate(1);
+            test.set(0, instant);
+            try {
+                Instant expected = instant.plus(amount, unit);
+                assertEquals(test.plus(amount, unit, InstantVector.allocate(1)).get(0), expected, instant.toString());
+            } catch (DateTimeException ex) {
+                try {
+                    test.plus(amount, unit, InstantVector.allocate(1));
+                    fail("Expected DateTimeException for " + instant);
+                } catch (DateTimeException ex2) {
+                    // expected
+                }
+            }
+        }
+    }
+
+    @Test(expectedExceptions=UnsupportedTemporalTypeException.class)
+    public void test_plus_unsupportedUnit() {
+        InstantVector test = InstantVector.allocate(1);
+        test.plus(1, ChronoUnit.MONTHS, test);
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_plus_overflow() {
+        InstantVector test = InstantVector.allocate(1);
+        test.set(0, Instant.MAX);
+        test.plus(1, ChronoUnit.NANOS, test);
+    }
+
+    @DataProvider(name="truncate")
+    Object[][] data_truncate() {
+        return new Object[][] {
+            {ChronoUnit.NANOS},
+            {ChronoUnit.MICROS},
+            {ChronoUnit.MILLIS},
+            {ChronoUnit.SECONDS},
+            {ChronoUnit.MINUTES},
+            {ChronoUnit.HOURS},
+            {ChronoUnit.HALF_DAYS},
+            {ChronoUnit.DAYS},
+        };
+    }
+
+    @Test(dataProvider="truncate")
+    public void test_truncatedTo(TemporalUnit unit) {
+        InstantVector test = instantsVector();
+        InstantVector result = test.truncatedTo(unit, InstantVector.allocate(test.size()));
+        for (int i = 0; i < test.size(); i++) {
+            assertEquals(result.get(i), test.get(i).truncatedTo(unit), test.get(i).toString());
+        }
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_truncatedTo_invalidUnit() {
+        InstantVector test = InstantVector.allocate(1);
+        test.truncatedTo(ChronoUnit.WEEKS, test);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_getField() {
+        InstantVector test = instantsVector();
+        int[] values = new int[test.size()];
+        ChronoField[] fields = {ChronoField.NANO_OF_SECOND, ChronoField.MICRO_OF_SECOND, ChronoField.MILLI_OF_SECOND};
+        for (ChronoField field : fields) {
+            test.get(field, values);
+            for (int i = 0; i < test.size(); i++) {
+                assertEquals(values[i], test.get(i).get(field));
+            }
+        }
+    }
+
+    @Test(expectedExceptions=UnsupportedTemporalTypeException.class)
+    public void test_getField_unsupported() {
+        InstantVector.allocate(1).get(ChronoField.HOUR_OF_DAY, new int[1]);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_compare() {
+        InstantVector test = instantsVector();
+        for (int i = 0; i < test.size(); i++) {
+            for (Object[] row : data_instants()) {
+                Instant other = (Instant) row[0];
+                int expected = test.get(i).compareTo(other);
+                assertEquals(Integer.signum(test.compare(i, other)), Integer.signum(expected), test.get(i) + " vs " + other);
+            }
+        }
+    }
+
+    public void test_indicesInRange() {
+        InstantVector test = instantsVector();
+        Instant start = Instant.ofEpochSecond(-1, 999999999);
+        Instant end = Instant.parse("2012-10-28T01:00:00Z");
+        int[] indices = new int[test.size()];
+        int count = test.indicesInRange(start, end, indices);
+        int expectedIndex = 0;
+        for (int i = 0; i < test.size(); i++) {
+            Instant instant = test.get(i);
+            if (instant.isBefore(start) == false && instant.isBefore(end)) {
+                assertEquals(indices[expectedIndex++], i);
+            }
+        }
+        assertEquals(count, expectedIndex);
+        assertEquals(count, 6);
+    }
+
+}
@@ -548,6 +548,42 @@ public class TestLocalDate extends AbstractDateTimeTest {
         LocalDate.parse((String) null);
     }
 
+    //-----------------------------------------------------------------------
+    // parseOrNull()
+    //-----------------------------------------------------------------------
+    @Test(dataProvider="sampleToString")
+    public void factory_parseOrNull_validText(int y, int m, int d, String parsable) {
+        assertEquals(LocalDate.parseOrNull(parsable), LocalDate.of(y, m, d));
+    }
+
+    @Test(dataProvider="sampleBadParse")
+    public void factory_parseOrNull_invalidText(String unparsable) {
+        assertEquals(LocalDate.parseOrNull(unparsable), null);
+    }
+
+    @Test
+    public void factory_parseOrNull_invalidValue() {
+        assertEquals(LocalDate.parseOrNull("2008-06-32"), null);
+        assertEquals(LocalDate.parseOrNull("2008-06-31"), null);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void factory_parseOrNull_nullText() {
+        LocalDate.parseOrNull((String) null);
+    }
+
+    @Test
+    public void factory_parseOrNull_formatter() {
+        DateTimeFormatter f = DateTimeFormatter.ofPattern("u M d");
+        assertEquals(LocalDate.parseOrNull("2010 12 3", f), LocalDate.of(2010, 12, 3));
+        assertEquals(LocalDate.parseOrNull("2010 12 X", f), null);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void factory_parseOrNull_formatter_nullFormatter() {
+        LocalDate.parseOrNull("ANY", null);
+    }
+
     //-----------------------------------------------------------------------
     // parse(DateTimeFormatter)
     //-----------------------------------------------------------------------
@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.InvalidObjectException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.threeten.bp.temporal.ChronoUnit;
+import org.threeten.bp.temporal.TemporalAdjusters;
+import org.threeten.bp.temporal.UnsupportedTemporalTypeException;
+import org.threeten.bp.temporal.WeekFields;
+
+/**
+ * Test.
+ */
+@Test
+public class TestLocalDateRange extends AbstractTest {
+
+    private static final LocalDate JAN15 = LocalDate.of(2012, 1, 15);
+    private static final LocalDate FEB01 = LocalDate.of(2012, 2, 1);
+    private static final LocalDate MAR01 = LocalDate.of(2012, 3, 1);
+    private static final LocalDate MAR10 = LocalDate.of(2012, 3, 10);
+
+    /**
+     * The expected partitions, generated by stepping one day at a time.
+     */
+    private static List<LocalDateRange> expected(LocalDateRange range, ChronoUnit unit, DayOfWeek firstDayOfWeek) {
+        List<LocalDateRange> list = new ArrayList<LocalDateRange>();
+        LocalDate partitionStart = range.getStart();
+        for (LocalDate date = range.getStart(); date.isBefore(range.getEnd()); date = date.plusDays(1)) {
+            LocalDate aligned;
+            switch (unit) {
+                case DAYS:
+                    aligned = date;
+                    break;
+                case WEEKS:
+                    aligned = date.with(TemporalAdjusters.previousOrSame(firstDayOfWeek));
+                    break;
+                case MONTHS:
+                    aligned = date.withDayOfMonth(1);
+                    break;
+                default:
+                    aligned = date.withDayOfYear(1);
+                    break;
+            }
+            if (aligned.equals(date) && date.equals(partitionStart) == false) {
+                list.add(LocalDateRange.of(partitionStart, date));
+                partitionStart = date;
+            }
+        }
+        if (range.isEmpty() == false) {
+            list.add(LocalDateRange.of(partitionStart, range.getEnd()));
+        }
+        return list;
+    }
+
+    @DataProvider(name = "partitions")
+    Object[][] data_partitions() {
+        return new Object[][] {
+            {LocalDateRange.of(JAN15, JAN15)},
+            {LocalDateRange.of(JAN15, JAN15.plusDays(1))},
+            {LocalDateRange.of(JAN15, MAR10)},
+            {LocalDateRange.of(FEB01, MAR01)},
+            {LocalDateRange.of(LocalDate.of(2011, 12, 26), LocalDate.of(2013, 1, 7))},
+            {LocalDateRange.of(LocalDate.of(-2, 11, 3), LocalDate.of(3, 2, 1))},
+            {LocalDateRange.of(LocalDate.of(1969, 12, 1), LocalDate.of(1970, 2, 1))},
+        };
+    }
+
+    @Test(dataProvider = "partitions")
+    public void test_split(LocalDateRange range) {
+        for (ChronoUnit unit : new ChronoUnit[] {ChronoUnit.DAYS, ChronoUnit.WEEKS, ChronoUnit.MONTHS, ChronoUnit.YEARS}) {
+            List<LocalDateRange> expected = expected(range, unit, DayOfWeek.MONDAY);
+            assertEquals(range.split(unit), expected, unit.toString());
+            assertEquals(range.size(unit), expected.size(), unit.toString());
+        }
+        assertEquals(range.size(ChronoUnit.DAYS), range.lengthInDays());
+    }
+
+    @Test(dataProvider = "partitions")
+    public void test_split_weekFields(LocalDateRange range) {
+        for (DayOfWeek dow : DayOfWeek.values()) {
+            WeekFields weekFields = WeekFields.of(dow, 1);
+            List<LocalDateRange> expected = expected(range, ChronoUnit.WEEKS, dow);
+            assertEquals(range.split(weekFields), expected, dow.toString());
+            assertEquals(range.size(weekFields), expected.size(), dow.toString());
+        }
+    }
+
+    @Test(dataProvider = "partitions")
+    public void test_bisect(LocalDateRange range) {
+        for (ChronoUnit unit : new ChronoUnit[] {ChronoUnit.DAYS, ChronoUnit.WEEKS, ChronoUnit.MONTHS, ChronoUnit.YEARS}) {
+            long size = range.size(unit);
+            List<LocalDateRange> halves = range.bisect(unit);
+            if (size < 2) {
+                assertEquals(halves.size(), 1);
+                assertEquals(halves.get(0), range);
+            } else {
+                assertEquals(halves.size(), 2);
+                assertEquals(halves.get(0).getStart(), range.getStart());
+                assertEquals(halves.get(0).getEnd(), halves.get(1).getStart());
+                assertEquals(halves.get(1).getEnd(), range.getEnd());
+                assertEquals(halves.get(0).size(unit), size / 2);
+                assertEquals(halves.get(1).size(unit), size - size / 2);
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_split_months() {
+        List<LocalDateRange> test = LocalDateRange.of(JAN15, MAR10).split(ChronoUnit.MONTHS);
+        assertEquals(test.size(), 3);
+        assertEquals(test.get(0), LocalDateRange.of(JAN15, FEB01));
+        assertEquals(test.get(1), LocalDateRange.of(FEB01, MAR01));
+        assertEquals(test.get(2), LocalDateRange.of(MAR01, MAR10));
+    }
+
+    public void test_bisect_weeks_sunday() {
+        LocalDateRange range = LocalDateRange.of(LocalDate.of(2012, 1, 1), LocalDate.of(2012, 1, 29));
+        assertEquals(range.size(ChronoUnit.WEEKS), 5);
+        assertEquals(range.size(WeekFields.SUNDAY_START), 4);
+        List<LocalDateRange> halves = range.bisect(WeekFields.SUNDAY_START);
+        assertEquals(halves.get(0), LocalDateRange.of(LocalDate.of(2012, 1, 1), LocalDate.of(2012, 1, 15)));
+        assertEquals(halves.get(1), LocalDateRange.of(LocalDate.of(2012, 1, 15), LocalDate.of(2012, 1, 29)));
+    }
+
+    public void test_size_extremes() {
+        LocalDateRange range = LocalDateRange.of(LocalDate.MIN, LocalDate.MAX);
+        assertEquals(range.size(ChronoUnit.DAYS), LocalDate.MAX.toEpochDay() - LocalDate.MIN.toEpochDay());
+        assertEquals(range.size(ChronoUnit.YEARS), (long) Year.MAX_VALUE - Year.MIN_VALUE + 1);
+        assertEquals(range.bisect(ChronoUnit.YEARS).get(1).getStart(), LocalDate.of(0, 1, 1));
+    }
+
+    @Test(expectedExceptions = UnsupportedTemporalTypeException.class)
+    public void test_size_unsupportedUnit() {
+        LocalDateRange.of(JAN15, MAR10).size(ChronoUnit.HOURS);
+    }
+
+    @Test(expectedExceptions = UnsupportedTemporalTypeException.class)
+    public void test_split_unsupportedUnit() {
+        LocalDateRange.of(JAN15, JAN15).split(ChronoUnit.DECADES);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_of() {
+        LocalDateRange test = LocalDateRange.of(JAN15, MAR10);
+        assertEquals(test.getStart(), JAN15);
+        assertEquals(test.getEnd(), MAR10);
+        assertFalse(test.isEmpty());
+        assertEquals(test.lengthInDays(), 55);
+        assertEquals(test.toPeriod(), Period.of(0, 1, 24));
+        assertEquals(test.toString(), "2012-01-15/2012-03-10");
+        assertEquals(LocalDateRange.of(JAN15, Period.of(0, 1, 24)), test);
+        assertTrue(LocalDateRange.of(JAN15, JAN15).isEmpty());
+        assertEquals(JAN15.until(MAR10, ChronoUnit.DAYS), test.lengthInDays());
+        assertEquals(test.size(ChronoUnit.MONTHS), 3);
+    }
+
+    @Test(expectedExceptions = DateTimeException.class)
+    public void test_of_endBeforeStart() {
+        LocalDateRange.of(MAR10, JAN15);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_of_null() {
+        LocalDateRange.of(JAN15, (LocalDate) null);
+    }
+
+    public void test_contains() {
+        LocalDateRange test = LocalDateRange.of(JAN15, MAR10);
+        assertFalse(test.contains(JAN15.minusDays(1)));
+        assertTrue(test.contains(JAN15));
+        assertTrue(test.contains(MAR10.minusDays(1)));
+        assertFalse(test.contains(MAR10));
+        assertFalse(LocalDateRange.of(JAN15, JAN15).contains(JAN15));
+    }
+
+    public void test_overlaps_isConnected() {
+        LocalDateRange test = LocalDateRange.of(JAN15, MAR01);
+        assertTrue(test.overlaps(LocalDateRange.of(FEB01, MAR10)));
+        assertTrue(test.isConnected(LocalDateRange.of(FEB01, MAR10)));
+        assertFalse(test.overlaps(LocalDateRange.of(MAR01, MAR10)));
+        assertTrue(test.isConnected(LocalDateRange.of(MAR01, MAR10)));
+        assertFalse(test.overlaps(LocalDateRange.of(MAR10, MAR10)));
+        assertFalse(test.isConnected(LocalDateRange.of(MAR10, MAR10)));
+        assertTrue(LocalDateRange.of(JAN15, JAN15).overlaps(LocalDateRange.of(JAN15, JAN15)));
+    }
+
+    public void test_intersection() {
+        LocalDateRange test = LocalDateRange.of(JAN15, MAR01);
+        assertEquals(test.intersection(LocalDateRange.of(FEB01, MAR10)), LocalDateRange.of(FEB01, MAR01));
+        assertEquals(test.intersection(LocalDateRange.of(FEB01, FEB01.plusDays(3))), LocalDateRange.of(FEB01, FEB01.plusDays(3)));
+        assertEquals(test.intersection(LocalDateRange.of(MAR01, MAR10)), LocalDateRange.of(MAR01, MAR01));
+    }
+
+    @Test(expectedExceptions = DateTimeException.class)
+    public void test_intersection_notConnected() {
+        LocalDateRange.of(JAN15, FEB01).intersection(LocalDateRange.of(MAR01, MAR10));
+    }
+
+    public void test_equals_hashCode() {
+        LocalDateRange a = LocalDateRange.of(JAN15, MAR10);
+        LocalDateRange b = LocalDateRange.of(JAN15, MAR10);
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertFalse(a.equals(LocalDateRange.of(JAN15, MAR01)));
+        assertFalse(a.equals(null));
+        assertFalse(a.equals(""));
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_serialization() throws Exception {
+        assertSerializable(LocalDateRange.of(JAN15, MAR10));
+        assertSerializable(LocalDateRange.of(JAN15, JAN15));
+    }
+
+    @Test(expectedExceptions = InvalidObjectException.class)
+    public void test_serialization_endBeforeStart() throws Exception {
+        LocalDateRange test = LocalDateRange.of(MAR10, MAR10);
+        Field end = LocalDateRange.class.getDeclaredField("end");
+        end.setAccessible(true);
+        end.set(test, JAN15);
+        writeThenRead(test);
+    }
+
+    @Test(expectedExceptions = InvalidObjectException.class)
+    public void test_serialization_nullEnd() throws Exception {
+        LocalDateRange test = LocalDateRange.of(JAN15, MAR10);
+        Field end = LocalDateRange.class.getDeclaredField("end");
+        end.setAccessible(true);
+        end.set(test, null);
+        writeThenRead(test);
+    }
+
+}
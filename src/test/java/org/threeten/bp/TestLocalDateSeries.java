@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test.
+ */
+@Test
+public class TestLocalDateSeries {
+
+    /**
+     * The expected elements, generated without the series.
+     */
+    private static List<LocalDate> expected(LocalDate start, LocalDate end, Period step) {
+        List<LocalDate> list = new ArrayList<LocalDate>();
+        boolean forward = step.toTotalMonths() > 0 || step.getDays() > 0;
+        for (int n = 0; ; n++) {
+            LocalDate date = start.plusMonths(step.toTotalMonths() * n).plusDays((long) step.getDays() * n);
+            if (forward ? date.isBefore(end) == false : date.isAfter(end) == false) {
+                return list;
+            }
+            list.add(date);
+        }
+    }
+
+    @DataProvider(name = "series")
+    Object[][] data_series() {
+        return new Object[][] {
+            {LocalDate.of(2012, 1, 1), LocalDate.of(2012, 1, 1), Period.ofDays(1)},
+            {LocalDate.of(2012, 1, 1), LocalDate.of(2013, 1, 1), Period.ofDays(1)},
+            {LocalDate.of(2012, 1, 1), LocalDate.of(2013, 1, 1), Period.ofDays(7)},
+            {LocalDate.of(2012, 1, 1), LocalDate.of(2012, 1, 8), Period.ofDays(7)},
+            {LocalDate.of(2012, 1, 1), LocalDate.of(2012, 1, 9), Period.ofDays(7)},
+            {LocalDate.of(2012, 12, 31), LocalDate.of(2011, 12, 31), Period.ofDays(-1)},
+            {LocalDate.of(2012, 12, 31), LocalDate.of(2010, 2, 3), Period.ofDays(-13)},
+            {LocalDate.of(2000, 1, 1), LocalDate.of(2400, 1, 1), Period.ofDays(29)},
+            {LocalDate.of(2000, 1, 1), LocalDate.of(2400, 1, 1), Period.ofDays(400)},
+            {LocalDate.of(2012, 1, 31), LocalDate.of(2013, 1, 1), Period.ofMonths(1)},
+            {LocalDate.of(2012, 1, 31), LocalDate.of(2012, 12, 31), Period.ofMonths(1)},
+            {LocalDate.of(2012, 12, 31), LocalDate.of(2011, 1, 31), Period.ofMonths(-1)},
+            {LocalDate.of(2012, 2, 29), LocalDate.of(2100, 3, 1), Period.ofYears(1)},
+            {LocalDate.of(2012, 2, 29), LocalDate.of(1900, 1, 1), Period.ofYears(-4)},
+            {LocalDate.of(2012, 1, 31), LocalDate.of(2020, 1, 1), Period.of(0, 1, 1)},
+            {LocalDate.of(2012, 1, 31), LocalDate.of(2020, 1, 1), Period.of(1, 2, 30)},
+            {LocalDate.of(2012, 1, 31), LocalDate.of(2000, 1, 1), Period.of(0, -1, -1)},
+            {LocalDate.of(-4, 3, 1), LocalDate.of(4, 3, 1), Period.ofMonths(5)},
+        };
+    }
+
+    @Test(dataProvider = "series")
+    public void test_iterator(LocalDate start, LocalDate end, Period step) {
+        List<LocalDate> expected = expected(start, end, step);
+        LocalDateSeries test = start.datesUntil(end, step);
+        assertEquals(test.size(), expected.size());
+        List<LocalDate> actual = new ArrayList<LocalDate>();
+        for (LocalDate date : test) {
+            actual.add(date);
+        }
+        assertEquals(actual, expected);
+    }
+
+    @Test(dataProvider = "series")
+    public void test_epochDayIterator(LocalDate start, LocalDate end, Period step) {
+        List<LocalDate> expected = expected(start, end, step);
+        LocalDateSeries.EpochDayIterator it = start.datesUntil(end, step).epochDayIterator();
+        for (LocalDate date : expected) {
+            assertEquals(it.next(), date.toEpochDay());
+        }
+        assertFalse(it.hasNext());
+    }
+
+    @Test(dataProvider = "series")
+    public void test_get(LocalDate start, LocalDate end, Period step) {
+        List<LocalDate> expected = expected(start, end, step);
+        LocalDateSeries test = start.datesUntil(end, step);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(test.get(i), expected.get(i));
+        }
+    }
+
+    @Test(dataProvider = "series")
+    public void test_toVector(LocalDate start, LocalDate end, Period step) {
+        List<LocalDate> expected = expected(start, end, step);
+        LocalDateVector test = start.datesUntil(end, step).toVector();
+        assertEquals(test.size(), expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(test.get(i), expected.get(i));
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_datesUntil_oneDay() {
+        LocalDateSeries test = LocalDate.of(2012, 2, 27).datesUntil(LocalDate.of(2012, 3, 2));
+        assertEquals(test.getStart(), LocalDate.of(2012, 2, 27));
+        assertEquals(test.getEndExclusive(), LocalDate.of(2012, 3, 2));
+        assertEquals(test.getStep(), Period.ofDays(1));
+        assertEquals(test.size(), 4);
+        Iterator<LocalDate> it = test.iterator();
+        assertEquals(it.next(), LocalDate.of(2012, 2, 27));
+        assertEquals(it.next(), LocalDate.of(2012, 2, 28));
+        assertEquals(it.next(), LocalDate.of(2012, 2, 29));
+        assertEquals(it.next(), LocalDate.of(2012, 3, 1));
+        assertFalse(it.hasNext());
+        assertEquals(test.toString(), "2012-02-27/2012-03-02/P1D");
+    }
+
+    public void test_datesUntil_nearMax() {
+        LocalDateSeries test = LocalDate.MAX.minusMonths(3).datesUntil(LocalDate.MAX, Period.ofMonths(1));
+        assertEquals(test.size(), 4);
+        assertEquals(test.get(3), LocalDate.of(Year.MAX_VALUE, 12, 30));
+        test = LocalDate.MAX.minusDays(3).datesUntil(LocalDate.MAX);
+        List<LocalDate> actual = new ArrayList<LocalDate>();
+        for (LocalDate date : test) {
+            actual.add(date);
+        }
+        assertEquals(actual.get(2), LocalDate.MAX.minusDays(1));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_datesUntil_endBefore() {
+        LocalDate.of(2012, 1, 2).datesUntil(LocalDate.of(2012, 1, 1));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_datesUntil_wrongDirection() {
+        LocalDate.of(2012, 1, 1).datesUntil(LocalDate.of(2013, 1, 1), Period.ofMonths(-1));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_datesUntil_zeroStep() {
+        LocalDate.of(2012, 1, 1).datesUntil(LocalDate.of(2013, 1, 1), Period.ZERO);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_datesUntil_mixedSigns() {
+        LocalDate.of(2012, 1, 1).datesUntil(LocalDate.of(2013, 1, 1), Period.of(0, 1, -1));
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_datesUntil_nullStep() {
+        LocalDate.of(2012, 1, 1).datesUntil(LocalDate.of(2013, 1, 1), null);
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void test_get_outOfBounds() {
+        LocalDate.of(2012, 1, 1).datesUntil(LocalDate.of(2012, 1, 3)).get(2);
+    }
+
+    @Test(expectedExceptions = NoSuchElementException.class)
+    public void test_iterator_exhausted() {
+        Iterator<LocalDate> it = LocalDate.of(2012, 1, 1).datesUntil(LocalDate.of(2012, 1, 2)).iterator();
+        it.next();
+        it.next();
+    }
+
+    @Test(expectedExceptions = NoSuchElementException.class)
+    public void test_epochDayIterator_exhausted() {
+        LocalDate.of(2012, 1, 1).datesUntil(LocalDate.of(2012, 1, 1)).epochDayIterator().next();
+    }
+
+}
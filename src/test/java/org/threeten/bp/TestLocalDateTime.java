@@ -859,6 +859,39 @@ public class TestLocalDateTime extends AbstractDateTimeTest {
         LocalDateTime.parse((String) null);
     }
 
+    //-----------------------------------------------------------------------
+    // parseOrNull()
+    //-----------------------------------------------------------------------
+    @Test(dataProvider="sampleToString")
+    public void test_parseOrNull(int y, int month, int d, int h, int m, int s, int n, String text) {
+        assertEquals(LocalDateTime.parseOrNull(text), LocalDateTime.of(y, month, d, h, m, s, n));
+    }
+
+    @Test
+    public void factory_parseOrNull_invalid() {
+        assertEquals(LocalDateTime.parseOrNull("2008-06-32T11:15"), null);
+        assertEquals(LocalDateTime.parseOrNull("2008-06-31T11:15"), null);
+        assertEquals(LocalDateTime.parseOrNull("2008-06-30T11:1"), null);
+        assertEquals(LocalDateTime.parseOrNull("2008-06-30"), null);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void factory_parseOrNull_nullText() {
+        LocalDateTime.parseOrNull((String) null);
+    }
+
+    @Test
+    public void factory_parseOrNull_formatter() {
+        DateTimeFormatter f = DateTimeFormatter.ofPattern("u M d H m s");
+        assertEquals(LocalDateTime.parseOrNull("2010 12 3 11 30 45", f), LocalDateTime.of(2010, 12, 3, 11, 30, 45));
+        assertEquals(LocalDateTime.parseOrNull("2010 12 3 11 30", f), null);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void factory_parseOrNull_formatter_nullFormatter() {
+        LocalDateTime.parseOrNull("ANY", null);
+    }
+
     //-----------------------------------------------------------------------
     // parse(DateTimeFormatter)
     //-----------------------------------------------------------------------
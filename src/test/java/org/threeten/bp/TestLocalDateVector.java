@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.threeten.bp.temporal.ChronoField;
+import org.threeten.bp.temporal.UnsupportedTemporalTypeException;
+
+/**
+ * Test.
+ */
+@Test
+public class TestLocalDateVector {
+
+    @DataProvider(name="dates")
+    Object[][] data_dates() {
+        return new Object[][] {
+            {LocalDate.MIN},
+            {LocalDate.MAX},
+            {LocalDate.of(-1, 12, 31)},
+            {LocalDate.of(0, 1, 1)},
+            {LocalDate.of(0, 2, 29)},
+            {LocalDate.of(1900, 2, 28)},
+            {LocalDate.of(1900, 3, 1)},
+            {LocalDate.of(1969, 12, 31)},
+            {LocalDate.of(1970, 1, 1)},
+            {LocalDate.of(2000, 2, 29)},
+            {LocalDate.of(2011, 1, 31)},
+            {LocalDate.of(2012, 1, 31)},
+            {LocalDate.of(2012, 2, 29)},
+            {LocalDate.of(2012, 4, 30)},
+            {LocalDate.of(2012, 12, 31)},
+            {LocalDate.of(2100, 2, 28)},
+        };
+    }
+
+    /**
+     * A vector of every date of the data provider, in the order listed.
+     */
+    private LocalDateVector datesVector() {
+        Object[][] data = data_dates();
+        LocalDateVector vector = LocalDateVector.allocate(data.length);
+        for (int i = 0; i < data.length; i++) {
+            vector.set(i, (LocalDate) data[i][0]);
+        }
+        return vector;
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_allocate() {
+        LocalDateVector test = LocalDateVector.allocate(3);
+        assertEquals(test.size(), 3);
+        assertEquals(test.get(2), LocalDate.of(1970, 1, 1));
+        test.set(1, LocalDate.of(2012, 6, 30));
+        assertEquals(test.get(1), LocalDate.of(2012, 6, 30));
+        assertEquals(test.getEpochDay(1), LocalDate.of(2012, 6, 30).toEpochDay());
+    }
+
+    public void test_allocateDirect() {
+        LocalDateVector test = LocalDateVector.allocateDirect(3);
+        test.setEpochDay(2, 15000);
+        assertEquals(test.get(2), LocalDate.ofEpochDay(15000));
+        assertEquals(test.get(0), LocalDate.of(1970, 1, 1));
+    }
+
+    public void test_wrap_array() {
+        long[] epochDays = {1, 2};
+        LocalDateVector test = LocalDateVector.wrap(epochDays);
+        test.set(0, LocalDate.of(1970, 1, 10));
+        assertEquals(epochDays[0], 9);
+        epochDays[1] = 20;
+        assertEquals(test.get(1), LocalDate.of(1970, 1, 21));
+    }
+
+    public void test_wrap_buffer() {
+        LongBuffer buffer = ByteBuffer.allocateDirect(32).asLongBuffer();
+        buffer.put(2, 31);
+        buffer.position(1);
+        LocalDateVector test = LocalDateVector.wrap(buffer);
+        assertEquals(test.size(), 3);
+        assertEquals(test.get(1), LocalDate.of(1970, 2, 1));
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_allocate_negative() {
+        LocalDateVector.allocate(-1);
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_setEpochDay_invalid() {
+        LocalDateVector.allocate(1).setEpochDay(0, LocalDate.MAX.toEpochDay() + 1);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_get_invalidIndex() {
+        LocalDateVector.allocate(1).get(1);
+    }
+
+    //-----------------------------------------------------------------------
+    @Test(dataProvider="dates")
+    public void test_plusDays(LocalDate date) {
+        for (long days : new long[] {-400, -1, 1, 400}) {
+            LocalDateVector test = LocalDateVector.wrap(new long[] {date.toEpochDay()});
+            try {
+                LocalDate expected = date.plusDays(days);
+                assertEquals(test.plusDays(days, LocalDateVector.allocate(1)).get(0), expected, date + " plus " + days);
+            } catch (DateTimeException ex) {
+                assertThrowsDateTimeException(test, days, true);
+            }
+        }
+    }
+
+    @Test(dataProvider="dates")
+    public void test_plusMonths(LocalDate date) {
+        for (long months : new long[] {-25, -1, 1, 13}) {
+            LocalDateVector test = LocalDateVector.wrap(new long[] {date.toEpochDay()});
+            try {
+                LocalDate expected = date.plusMonths(months);
+                assertEquals(test.plusMonths(months, LocalDateVector.allocate(1)).get(0), expected, date + " plus " + months);
+            } catch (DateTimeException ex) {
+                assertThrowsDateTimeException(test, months, false);
+            }
+        }
+    }
+
+    private static void assertThrowsDateTimeException(LocalDateVector test, long amount, boolean days) {
+        try {
+            if (days) {
+                test.plusDays(amount, LocalDateVector.allocate(1));
+            } else {
+                test.plusMonths(amount, LocalDateVector.allocate(1));
+            }
+            fail("Expected DateTimeException for " + test.get(0) + " plus " + amount);
+        } catch (DateTimeException ex) {
+            // expected
+        }
+    }
+
+    public void test_plusMonths_monthEnds() {
+        LocalDateVector test = LocalDateVector.allocate(2);
+        test.set(0, LocalDate.of(2012, 1, 31));
+        test.set(1, LocalDate.of(2012, 2, 29));
+        LocalDateVector result = test.plusMonths(13, LocalDateVector.allocate(2));
+        assertEquals(result.get(0), LocalDate.of(2013, 2, 28));
+        assertEquals(result.get(1), LocalDate.of(2013, 3, 29));
+    }
+
+    public void test_plusMonths_inPlace() {
+        LocalDateVector test = datesVector();
+        test.set(0, LocalDate.MIN.plusYears(3));
+        test.set(1, LocalDate.MAX.minusYears(3));
+        LocalDate[] expected = new LocalDate[test.size()];
+        for (int i = 0; i < test.size(); i++) {
+            expected[i] = test.get(i).plusMonths(-25);
+        }
+        assertTrue(test.plusMonths(-25, test) == test);
+        for (int i = 0; i < test.size(); i++) {
+            assertEquals(test.get(i), expected[i]);
+        }
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_plusDays_overflow() {
+        LocalDateVector test = LocalDateVector.allocate(1);
+        test.set(0, LocalDate.MAX);
+        test.plusDays(1, test);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_plusDays_resultTooSmall() {
+        LocalDateVector.allocate(2).plusDays(1, LocalDateVector.allocate(1));
+    }
+
+    //-----------------------------------------------------------------------
+    @DataProvider(name="fields")
+    Object[][] data_fields() {
+        return new Object[][] {
+            {ChronoField.YEAR},
+            {ChronoField.MONTH_OF_YEAR},
+            {ChronoField.DAY_OF_MONTH},
+            {ChronoField.DAY_OF_WEEK},
+            {ChronoField.DAY_OF_YEAR},
+            {ChronoField.ALIGNED_WEEK_OF_YEAR},
+            {ChronoField.YEAR_OF_ERA},
+            {ChronoField.ERA},
+        };
+    }
+
+    @Test(dataProvider="fields")
+    public void test_getField(ChronoField field) {
+        LocalDateVector test = datesVector();
+        int[] values = new int[test.size()];
+        test.get(field, values);
+        for (int i = 0; i < test.size(); i++) {
+            assertEquals(values[i], test.get(i).get(field), test.get(i).toString());
+        }
+    }
+
+    @Test(expectedExceptions=UnsupportedTemporalTypeException.class)
+    public void test_getField_timeField() {
+        LocalDateVector.allocate(1).get(ChronoField.HOUR_OF_DAY, new int[1]);
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_getField_tooLarge() {
+        LocalDateVector.allocate(1).get(ChronoField.PROLEPTIC_MONTH, new int[1]);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_compare() {
+        LocalDateVector test = LocalDateVector.wrap(new long[] {100});
+        assertTrue(test.compare(0, LocalDate.ofEpochDay(99)) > 0);
+        assertEquals(test.compare(0, LocalDate.ofEpochDay(100)), 0);
+        assertTrue(test.compare(0, LocalDate.ofEpochDay(101)) < 0);
+    }
+
+    public void test_indicesInRange() {
+        LocalDateVector test = datesVector();
+        LocalDate start = LocalDate.of(1900, 3, 1);
+        LocalDate end = LocalDate.of(2012, 2, 29);
+        int[] indices = new int[test.size()];
+        int count = test.indicesInRange(start, end, indices);
+        int expectedIndex = 0;
+        for (int i = 0; i < test.size(); i++) {
+            LocalDate date = test.get(i);
+            if (date.isBefore(start) == false && date.isBefore(end)) {
+                assertEquals(indices[expectedIndex++], i);
+            }
+        }
+        assertEquals(count, expectedIndex);
+        assertEquals(count, 6);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_indicesInRange_tooShort() {
+        LocalDateVector.allocate(2).indicesInRange(LocalDate.MIN, LocalDate.MAX, new int[1]);
+    }
+
+}
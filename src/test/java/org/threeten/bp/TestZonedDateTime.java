@@ -1495,6 +1495,36 @@ public class TestZonedDateTime extends AbstractDateTimeTest {
         assertEquals(base.plusHours(amount), expected);
     }
 
+    @Test
+    public void test_plusHours_series() {
+        ZonedDateTime base = ZonedDateTime.of(2008, 1, 1, 0, 30, 0, 0, ZONE_PARIS);
+        ZonedDateTime test = base;
+        for (int i = 1; i < 24 * 366; i++) {
+            test = test.plusHours(1);
+            assertEquals(test, ZonedDateTime.ofInstant(base.toInstant().plusSeconds(i * 3600L), ZONE_PARIS));
+        }
+    }
+
+    @Test
+    public void test_plusDays_series() {
+        ZonedDateTime test = ZonedDateTime.of(2008, 1, 1, 2, 30, 0, 0, ZONE_PARIS);
+        for (int i = 1; i < 366 * 3; i++) {
+            ZonedDateTime expected = ZonedDateTime.ofLocal(test.toLocalDateTime().plusDays(1), ZONE_PARIS, test.getOffset());
+            test = test.plusDays(1);
+            assertEquals(test, expected);
+        }
+        assertEquals(test.getHour(), 3);
+    }
+
+    @Test
+    public void test_plus_fixedRegion_correctsLenientOffset() {
+        ZoneId zone = ZoneId.of("UTC+02:00");
+        ZonedDateTime base = ZonedDateTime.ofLenient(LocalDateTime.of(2008, 6, 30, 12, 0), OFFSET_0100, zone);
+        assertEquals(base.plusHours(1), ZonedDateTime.of(2008, 6, 30, 14, 0, 0, 0, zone));
+        assertEquals(base.plusDays(1), ZonedDateTime.of(2008, 7, 1, 12, 0, 0, 0, zone));
+        assertEquals(base.plusDays(1).getOffset(), ZoneOffset.ofHours(2));
+    }
+
     //-----------------------------------------------------------------------
     // plusMinutes()
     //-----------------------------------------------------------------------
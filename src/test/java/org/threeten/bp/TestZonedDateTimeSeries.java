@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.threeten.bp.temporal.TemporalAmount;
+
+/**
+ * Test.
+ */
+@Test
+public class TestZonedDateTimeSeries {
+
+    private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+    private static final ZoneId SYDNEY = ZoneId.of("Australia/Sydney");
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    /**
+     * The expected elements, generated without the series.
+     */
+    private static List<ZonedDateTime> expected(ZonedDateTime start, TemporalAmount step, int count) {
+        List<ZonedDateTime> list = new ArrayList<ZonedDateTime>();
+        for (int n = 0; n < count; n++) {
+            if (step instanceof Duration) {
+                list.add(start.plus(((Duration) step).multipliedBy(n)));
+            } else {
+                LocalDateTime ldt = start.toLocalDateTime().plus(((Period) step).multipliedBy(n));
+                list.add(ZonedDateTime.ofLocal(ldt, start.getZone(), start.getOffset()));
+            }
+        }
+        return list;
+    }
+
+    private static ZonedDateTimeSeries series(ZonedDateTime start, TemporalAmount step, int count) {
+        if (step instanceof Duration) {
+            return start.series((Duration) step, count);
+        }
+        return start.series((Period) step, count);
+    }
+
+    @DataProvider(name = "series")
+    Object[][] data_series() {
+        ZonedDateTime paris = ZonedDateTime.of(2012, 3, 24, 23, 30, 0, 0, PARIS);
+        ZonedDateTime parisAutumn = ZonedDateTime.of(2012, 10, 28, 1, 30, 0, 0, PARIS);
+        ZonedDateTime sydney = ZonedDateTime.of(2012, 3, 31, 2, 30, 0, 500, SYDNEY);
+        ZonedDateTime newYork = ZonedDateTime.of(2012, 1, 31, 2, 30, 0, 0, NEW_YORK);
+        ZonedDateTime fixed = ZonedDateTime.of(2012, 1, 31, 2, 30, 0, 0, ZoneOffset.ofHours(2));
+        return new Object[][] {
+            {paris, Duration.ofMinutes(15), 0},
+            {paris, Duration.ofMinutes(15), 1},
+            {paris, Duration.ofMinutes(15), 400},
+            {paris, Duration.ofMinutes(-15), 400},
+            {paris, Duration.ofHours(1), 24 * 400},
+            {paris, Duration.ofHours(-1), 24 * 400},
+            {paris, Duration.ofNanos(333333333), 50000},
+            {paris, Duration.ofDays(1), 800},
+            {parisAutumn, Duration.ofMinutes(20), 20},
+            {parisAutumn, Duration.ofMinutes(-20), 20},
+            {sydney, Duration.ofMillis(1500), 10000},
+            {newYork, Duration.ofDays(7), 2000},
+            {fixed, Duration.ofHours(7), 100},
+            {paris, Duration.ZERO, 3},
+            {paris, Period.ofDays(1), 800},
+            {paris, Period.ofDays(-1), 800},
+            {paris.withHour(2), Period.ofDays(1), 800},
+            {parisAutumn.withHour(2), Period.ofDays(-1), 800},
+            {sydney, Period.ofDays(1), 800},
+            {newYork, Period.ofMonths(1), 200},
+            {newYork, Period.ofMonths(-1), 200},
+            {newYork, Period.of(1, 1, 1), 100},
+            {newYork, Period.of(0, 1, -1), 100},
+            {fixed, Period.ofWeeks(1), 100},
+        };
+    }
+
+    @Test(dataProvider = "series")
+    public void test_iterator(ZonedDateTime start, TemporalAmount step, int count) {
+        List<ZonedDateTime> expected = expected(start, step, count);
+        ZonedDateTimeSeries test = series(start, step, count);
+        assertEquals(test.size(), count);
+        List<ZonedDateTime> actual = new ArrayList<ZonedDateTime>();
+        for (ZonedDateTime dateTime : test) {
+            actual.add(dateTime);
+        }
+        assertEquals(actual, expected);
+    }
+
+    @Test(dataProvider = "series")
+    public void test_epochSecondIterator(ZonedDateTime start, TemporalAmount step, int count) {
+        List<ZonedDateTime> expected = expected(start, step, count);
+        ZonedDateTimeSeries.EpochSecondIterator it = series(start, step, count).epochSecondIterator();
+        for (ZonedDateTime dateTime : expected) {
+            assertEquals(it.next(), dateTime.toEpochSecond());
+            assertEquals(it.getNano(), dateTime.getNano());
+            assertEquals(it.getOffset(), dateTime.getOffset());
+        }
+        assertFalse(it.hasNext());
+    }
+
+    @Test(dataProvider = "series")
+    public void test_get(ZonedDateTime start, TemporalAmount step, int count) {
+        List<ZonedDateTime> expected = expected(start, step, count);
+        ZonedDateTimeSeries test = series(start, step, count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(test.get(i), expected.get(i));
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_series_duration_overlap() {
+        ZonedDateTime start = ZonedDateTime.of(2012, 10, 28, 1, 30, 0, 0, PARIS);
+        Iterator<ZonedDateTime> it = start.series(Duration.ofHours(1), 3).iterator();
+        assertEquals(it.next().toString(), "2012-10-28T01:30+02:00[Europe/Paris]");
+        assertEquals(it.next().toString(), "2012-10-28T02:30+02:00[Europe/Paris]");
+        assertEquals(it.next().toString(), "2012-10-28T02:30+01:00[Europe/Paris]");
+        assertFalse(it.hasNext());
+    }
+
+    public void test_series_period_gap() {
+        ZonedDateTime start = ZonedDateTime.of(2012, 3, 24, 2, 30, 0, 0, PARIS);
+        ZonedDateTimeSeries test = start.series(Period.ofDays(1), 3);
+        assertEquals(test.getStart(), start);
+        assertEquals(test.getStep(), Period.ofDays(1));
+        Iterator<ZonedDateTime> it = test.iterator();
+        assertEquals(it.next().toString(), "2012-03-24T02:30+01:00[Europe/Paris]");
+        assertEquals(it.next().toString(), "2012-03-25T03:30+02:00[Europe/Paris]");
+        assertEquals(it.next().toString(), "2012-03-26T02:30+02:00[Europe/Paris]");
+        assertEquals(test.toString(), "2012-03-24T02:30+01:00[Europe/Paris]/P1D/#3");
+    }
+
+    //-----------------------------------------------------------------------
+    @DataProvider(name = "limits")
+    Object[][] data_limits() {
+        ZonedDateTime utcMax = ZonedDateTime.of(LocalDateTime.MAX.minusHours(2), ZoneOffset.UTC);
+        ZonedDateTime utcMin = ZonedDateTime.of(LocalDateTime.MIN.plusHours(2), ZoneOffset.UTC);
+        ZonedDateTime parisMax = ZonedDateTime.of(LocalDateTime.MAX.minusDays(2).withHour(12), PARIS);
+        ZonedDateTime parisMin = ZonedDateTime.of(LocalDateTime.MIN.plusDays(2).withHour(12), PARIS);
+        return new Object[][] {
+            {utcMax, Duration.ofHours(1), 3},
+            {utcMin, Duration.ofHours(-1), 3},
+            {parisMax, Duration.ofHours(12), 5},
+            {parisMin, Duration.ofHours(-12), 6},
+            {parisMax, Period.ofDays(1), 3},
+            {parisMin, Period.ofDays(-1), 3},
+            {parisMax, Period.ofMonths(1), 1},
+        };
+    }
+
+    @Test(dataProvider = "limits")
+    public void test_iterator_limits(ZonedDateTime start, TemporalAmount step, int valid) {
+        Iterator<ZonedDateTime> it = series(start, step, valid + 2).iterator();
+        for (int i = 0; i < valid; i++) {
+            it.next();
+        }
+        try {
+            it.next();
+            fail();
+        } catch (DateTimeException ex) {
+            // expected
+        }
+    }
+
+    @Test(dataProvider = "limits")
+    public void test_epochSecondIterator_limits(ZonedDateTime start, TemporalAmount step, int valid) {
+        ZonedDateTimeSeries test = series(start, step, valid + 2);
+        ZonedDateTimeSeries.EpochSecondIterator it = test.epochSecondIterator();
+        for (int i = 0; i < valid; i++) {
+            ZonedDateTime expected = test.get(i);
+            assertEquals(it.next(), expected.toEpochSecond());
+            assertEquals(it.getNano(), expected.getNano());
+            assertEquals(it.getOffset(), expected.getOffset());
+        }
+        try {
+            it.next();
+            fail();
+        } catch (DateTimeException ex) {
+            // expected
+        }
+    }
+
+    @Test(dataProvider = "limits", expectedExceptions = DateTimeException.class)
+    public void test_get_limits(ZonedDateTime start, TemporalAmount step, int valid) {
+        series(start, step, valid + 2).get(valid);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_series_negativeCount() {
+        ZonedDateTime.of(2012, 1, 1, 0, 0, 0, 0, PARIS).series(Duration.ofHours(1), -1);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_series_nullDuration() {
+        ZonedDateTime.of(2012, 1, 1, 0, 0, 0, 0, PARIS).series((Duration) null, 1);
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void test_get_outOfBounds() {
+        ZonedDateTime.of(2012, 1, 1, 0, 0, 0, 0, PARIS).series(Period.ofDays(1), 2).get(2);
+    }
+
+    @Test(expectedExceptions = NoSuchElementException.class)
+    public void test_iterator_exhausted() {
+        ZonedDateTime.of(2012, 1, 1, 0, 0, 0, 0, PARIS).series(Duration.ofHours(1), 0).iterator().next();
+    }
+
+    @Test(expectedExceptions = NoSuchElementException.class)
+    public void test_epochSecondIterator_exhausted() {
+        ZonedDateTime.of(2012, 1, 1, 0, 0, 0, 0, PARIS).series(Period.ofDays(1), 0).epochSecondIterator().next();
+    }
+
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.threeten.bp.temporal.ChronoField;
+import org.threeten.bp.temporal.ChronoUnit;
+import org.threeten.bp.temporal.TemporalUnit;
+
+/**
+ * Test.
+ */
+@Test
+public class TestZonedDateTimeVector {
+
+    private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+    private static final ZoneId LORD_HOWE = ZoneId.of("Australia/Lord_Howe");
+    private static final ZoneId OFFSET = ZoneOffset.ofHoursMinutes(5, 30);
+    private static final List<ZoneId> ZONES = Arrays.asList(PARIS, NEW_YORK, LORD_HOWE, OFFSET);
+
+    @DataProvider(name="dateTimes")
+    Object[][] data_dateTimes() {
+        return new Object[][] {
+            // the day before the Paris gap, the day before and after the overlap
+            {ZonedDateTime.of(2012, 3, 24, 2, 30, 0, 123, PARIS)},
+            {ZonedDateTime.of(2012, 10, 27, 2, 30, 0, 0, PARIS)},
+            {ZonedDateTime.of(2012, 10, 29, 2, 30, 0, 0, PARIS)},
+            {ZonedDateTime.of(2012, 1, 31, 23, 59, 59, 999999999, NEW_YORK)},
+            // the Paris overlap with the earlier and the later offset, and the end of the gap
+            {ZonedDateTime.ofLocal(LocalDateTime.of(2012, 10, 28, 2, 30), PARIS, ZoneOffset.ofHours(2))},
+            {ZonedDateTime.ofLocal(LocalDateTime.of(2012, 10, 28, 2, 30), PARIS, ZoneOffset.ofHours(1))},
+            {ZonedDateTime.of(2012, 3, 25, 3, 0, 0, 0, PARIS)},
+            {ZonedDateTime.of(2012, 2, 29, 12, 0, 0, 0, NEW_YORK)},
+            {ZonedDateTime.of(2011, 3, 12, 2, 30, 0, 0, NEW_YORK)},
+            // the day before the half-hour Lord Howe gap and overlap
+            {ZonedDateTime.of(2012, 10, 6, 2, 15, 0, 0, LORD_HOWE)},
+            {ZonedDateTime.of(2012, 3, 31, 1, 45, 0, 0, LORD_HOWE)},
+            {ZonedDateTime.of(1969, 12, 31, 23, 59, 59, 0, PARIS)},
+            {ZonedDateTime.of(1900, 1, 1, 0, 0, 0, 0, PARIS)},
+            {ZonedDateTime.of(1800, 7, 1, 12, 0, 0, 0, LORD_HOWE)},
+            {ZonedDateTime.of(LocalDateTime.MIN, OFFSET)},
+            {ZonedDateTime.of(LocalDateTime.MAX, OFFSET)},
+        };
+    }
+
+    /**
+     * A vector of the date-times of the data provider, in the order listed.
+     *
+     * @param limits  true to include the last two rows, which are at the limits of the range
+     */
+    private ZonedDateTimeVector dateTimesVector(boolean limits) {
+        Object[][] data = data_dateTimes();
+        int size = (limits ? data.length : data.length - 2);
+        ZonedDateTimeVector vector = ZonedDateTimeVector.allocate(size, PARIS);
+        for (int i = 0; i < size; i++) {
+            vector.set(i, (ZonedDateTime) data[i][0]);
+        }
+        return vector;
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_allocate() {
+        ZonedDateTimeVector test = ZonedDateTimeVector.allocate(2, NEW_YORK);
+        assertEquals(test.size(), 2);
+        assertEquals(test.get(0), ZonedDateTime.ofInstant(Instant.EPOCH, NEW_YORK));
+        assertEquals(test.getZones(), Arrays.asList(NEW_YORK));
+        ZonedDateTime dateTime = ZonedDateTime.of(2012, 7, 1, 12, 0, 0, 5, PARIS);
+        test.set(1, dateTime);
+        assertEquals(test.get(1), dateTime);
+        assertEquals(test.getZone(1), PARIS);
+        assertEquals(test.getEpochSecond(1), dateTime.toEpochSecond());
+        assertEquals(test.getNano(1), 5);
+        assertEquals(test.getZones(), Arrays.asList(NEW_YORK, PARIS));
+    }
+
+    public void test_allocateDirect() {
+        ZonedDateTimeVector test = ZonedDateTimeVector.allocateDirect(2, OFFSET);
+        ZonedDateTime dateTime = ZonedDateTime.of(1800, 7, 1, 12, 0, 0, 0, LORD_HOWE);
+        test.set(0, dateTime);
+        assertEquals(test.get(0), dateTime);
+        assertEquals(test.get(1), ZonedDateTime.ofInstant(Instant.EPOCH, OFFSET));
+    }
+
+    public void test_wrap() {
+        long[] seconds = {0, 86400};
+        int[] nanos = {0, 1};
+        int[] zoneIndexes = {1, 0};
+        ZonedDateTimeVector test = ZonedDateTimeVector.wrap(seconds, nanos, zoneIndexes, Arrays.asList(PARIS, NEW_YORK));
+        assertEquals(test.get(0), ZonedDateTime.ofInstant(Instant.EPOCH, NEW_YORK));
+        assertEquals(test.get(1), ZonedDateTime.ofInstant(Instant.ofEpochSecond(86400, 1), PARIS));
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_wrap_duplicateZones() {
+        ZonedDateTimeVector.wrap(new long[1], new int[1], new int[1], Arrays.asList(PARIS, PARIS));
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_wrap_differentLengths() {
+        ZonedDateTimeVector.wrap(new long[1], new int[1], new int[2], ZONES);
+    }
+
+    @Test(expectedExceptions=UnsupportedOperationException.class)
+    public void test_getZones_unmodifiable() {
+        ZonedDateTimeVector.allocate(1, PARIS).getZones().clear();
+    }
+
+    //-----------------------------------------------------------------------
+    @DataProvider(name="days")
+    Object[][] data_days() {
+        return new Object[][] {{1}, {-1}, {400}, {-1000}};
+    }
+
+    @Test(dataProvider="days")
+    public void test_plusDays(long days) {
+        for (Object[] row : data_dateTimes()) {
+            ZonedDateTime dateTime = (ZonedDateTime) row[0];
+            ZonedDateTimeVector test = ZonedDateTimeVector.allocate(1, dateTime.getZone());
+            test.set(0, dateTime);
+            try {
+                ZonedDateTime expected = dateTime.plusDays(days);
+                assertEquals(test.plusDays(days, ZonedDateTimeVector.allocate(1, OFFSET)).get(0), expected, dateTime.toString());
+            } catch (DateTimeException ex) {
+                try {
+                    test.plusDays(days, ZonedDateTimeVector.allocate(1, OFFSET));
+                    fail("Expected DateTimeException for " + dateTime);
+                } catch (DateTimeException ex2) {
+                    // expected
+                }
+            }
+        }
+    }
+
+    @Test(dataProvider="days")
+    public void test_plusMonths(long months) {
+        for (Object[] row : data_dateTimes()) {
+            ZonedDateTime dateTime = (ZonedDateTime) row[0];
+            ZonedDateTimeVector test = ZonedDateTimeVector.allocate(1, dateTime.getZone());
+            test.set(0, dateTime);
+            try {
+                ZonedDateTime expected = dateTime.plusMonths(months);
+                assertEquals(test.plusMonths(months, ZonedDateTimeVector.allocate(1, LORD_HOWE)).get(0), expected, dateTime.toString());
+            } catch (DateTimeException ex) {
+                try {
+                    test.plusMonths(months, ZonedDateTimeVector.allocate(1, LORD_HOWE));
+                    fail("Expected DateTimeException for " + dateTime);
+                } catch (DateTimeException ex2) {
+                    // expected
+                }
+            }
+        }
+    }
+
+    public void test_plusDays_inPlace() {
+        ZonedDateTimeVector test = dateTimesVector(false);
+        ZonedDateTime[] expected = new ZonedDateTime[test.size()];
+        for (int i = 0; i < test.size(); i++) {
+            expected[i] = test.get(i).plusDays(1);
+        }
+        assertTrue(test.plusDays(1, test) == test);
+        for (int i = 0; i < test.size(); i++) {
+            assertEquals(test.get(i), expected[i]);
+        }
+        assertEquals(test.get(0).getHour(), 3);
+        assertEquals(test.get(1).getOffset(), ZoneOffset.ofHours(2));
+    }
+
+    @DataProvider(name="truncate")
+    Object[][] data_truncate() {
+        return new Object[][] {
+            {ChronoUnit.NANOS},
+            {ChronoUnit.MILLIS},
+            {ChronoUnit.SECONDS},
+            {ChronoUnit.MINUTES},
+            {ChronoUnit.HOURS},
+            {ChronoUnit.DAYS},
+        };
+    }
+
+    @Test(dataProvider="truncate")
+    public void test_truncatedTo(TemporalUnit unit) {
+        ZonedDateTimeVector test = dateTimesVector(true);
+        ZonedDateTimeVector result = test.truncatedTo(unit, ZonedDateTimeVector.allocate(test.size(), PARIS));
+        for (int i = 0; i < test.size(); i++) {
+            assertEquals(result.get(i), test.get(i).truncatedTo(unit), test.get(i).toString());
+        }
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_truncatedTo_invalidUnit() {
+        ZonedDateTimeVector test = ZonedDateTimeVector.allocate(1, PARIS);
+        test.truncatedTo(ChronoUnit.MONTHS, test);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_plusDays_resultTooSmall() {
+        ZonedDateTimeVector.allocate(2, PARIS).plusDays(1, ZonedDateTimeVector.allocate(1, PARIS));
+    }
+
+    //-----------------------------------------------------------------------
+    @DataProvider(name="fields")
+    Object[][] data_fields() {
+        return new Object[][] {
+            {ChronoField.YEAR},
+            {ChronoField.MONTH_OF_YEAR},
+            {ChronoField.DAY_OF_MONTH},
+            {ChronoField.DAY_OF_WEEK},
+            {ChronoField.DAY_OF_YEAR},
+            {ChronoField.ALIGNED_DAY_OF_WEEK_IN_MONTH},
+            {ChronoField.HOUR_OF_DAY},
+            {ChronoField.MINUTE_OF_HOUR},
+            {ChronoField.MINUTE_OF_DAY},
+            {ChronoField.SECOND_OF_MINUTE},
+            {ChronoField.SECOND_OF_DAY},
+            {ChronoField.MILLI_OF_SECOND},
+            {ChronoField.MICRO_OF_SECOND},
+            {ChronoField.NANO_OF_SECOND},
+            {ChronoField.AMPM_OF_DAY},
+            {ChronoField.OFFSET_SECONDS},
+        };
+    }
+
+    @Test(dataProvider="fields")
+    public void test_getField(ChronoField field) {
+        ZonedDateTimeVector test = dateTimesVector(true);
+        int[] values = new int[test.size()];
+        test.get(field, values);
+        for (int i = 0; i < test.size(); i++) {
+            assertEquals(values[i], test.get(i).get(field), test.get(i).toString());
+        }
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_getField_instantSeconds() {
+        ZonedDateTimeVector.allocate(1, PARIS).get(ChronoField.INSTANT_SECONDS, new int[1]);
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_getField_tooLarge() {
+        ZonedDateTimeVector.allocate(1, PARIS).get(ChronoField.EPOCH_DAY, new int[1]);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_compare() {
+        ZonedDateTimeVector test = ZonedDateTimeVector.allocate(1, PARIS);
+        ZonedDateTime dateTime = ZonedDateTime.of(2012, 7, 1, 12, 0, 0, 0, PARIS);
+        test.set(0, dateTime);
+        assertEquals(test.compare(0, dateTime.withZoneSameInstant(NEW_YORK)), 0);
+        assertTrue(test.compare(0, dateTime.plusNanos(1)) < 0);
+        assertTrue(test.compare(0, dateTime.minusNanos(1)) > 0);
+    }
+
+    public void test_indicesInRange() {
+        ZonedDateTimeVector test = dateTimesVector(true);
+        Instant start = Instant.parse("1969-01-01T00:00:00Z");
+        Instant end = Instant.parse("2012-10-28T01:00:00Z");
+        int[] indices = new int[test.size()];
+        int count = test.indicesInRange(start, end, indices);
+        int expectedIndex = 0;
+        for (int i = 0; i < test.size(); i++) {
+            Instant instant = test.get(i).toInstant();
+            if (instant.isBefore(start) == false && instant.isBefore(end)) {
+                assertEquals(indices[expectedIndex++], i);
+            }
+        }
+        assertEquals(count, expectedIndex);
+        assertEquals(count, 10);
+    }
+
+}
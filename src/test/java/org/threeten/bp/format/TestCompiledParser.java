@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.util.Locale;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.LocalTime;
+import org.threeten.bp.OffsetDateTime;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZoneOffset;
+import org.threeten.bp.ZonedDateTime;
+import org.threeten.bp.format.DateTimeFormatterBuilder.CompiledParser;
+import org.threeten.bp.temporal.ChronoField;
+import org.threeten.bp.temporal.TemporalQuery;
+
+/**
+ * Test CompiledParser and parsing a region of text.
+ */
+@Test
+public class TestCompiledParser {
+
+    private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+    private static final DateTimeFormatter PATTERN = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    private static final DateTimeFormatter OPTIONAL = DateTimeFormatter.ofPattern("yyyy-MM-dd[ HH:mm[:ss]]");
+
+    @DataProvider(name="parsed")
+    Object[][] data_parsed() {
+        return new Object[][] {
+            {DateTimeFormatter.ISO_LOCAL_DATE, "2012-06-30", LocalDate.FROM, LocalDate.of(2012, 6, 30)},
+            {DateTimeFormatter.ISO_LOCAL_DATE, "0000-02-29", LocalDate.FROM, LocalDate.of(0, 2, 29)},
+            {DateTimeFormatter.ISO_LOCAL_TIME, "09:05", LocalTime.FROM, LocalTime.of(9, 5)},
+            {DateTimeFormatter.ISO_LOCAL_TIME, "09:05:07.12", LocalTime.FROM, LocalTime.of(9, 5, 7, 120000000)},
+            {DateTimeFormatter.ISO_LOCAL_TIME, "09:05:07.", LocalTime.FROM, LocalTime.of(9, 5, 7)},
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME, "2012-06-30T09:05:07", LocalDateTime.FROM, LocalDateTime.of(2012, 6, 30, 9, 5, 7)},
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME, "2012-06-30t09:05", LocalDate.FROM, LocalDate.of(2012, 6, 30)},
+            {DateTimeFormatter.ISO_OFFSET_DATE_TIME, "2012-06-30T09:05:07.123456789-02:30", OffsetDateTime.FROM,
+                OffsetDateTime.of(2012, 6, 30, 9, 5, 7, 123456789, ZoneOffset.ofHoursMinutes(-2, -30))},
+            {DateTimeFormatter.ISO_OFFSET_DATE_TIME, "2012-06-30T09:05z", Instant.FROM, Instant.parse("2012-06-30T09:05:00Z")},
+            {DateTimeFormatter.ISO_DATE, "2012-06-30", LocalDate.FROM, LocalDate.of(2012, 6, 30)},
+            {DateTimeFormatter.ISO_DATE, "2012-06-30+01:00", LocalDate.FROM, LocalDate.of(2012, 6, 30)},
+            {DateTimeFormatter.ISO_ZONED_DATE_TIME, "2012-06-30T09:05+02:00[Europe/Paris]", ZonedDateTime.FROM,
+                ZonedDateTime.of(2012, 6, 30, 9, 5, 0, 0, PARIS)},
+            {DateTimeFormatter.ISO_ZONED_DATE_TIME, "2012-06-30T09:05+01:00[Europe/Paris]", ZonedDateTime.FROM,
+                ZonedDateTime.of(2012, 6, 30, 10, 5, 0, 0, PARIS)},
+            {DateTimeFormatter.ISO_ZONED_DATE_TIME, "2012-06-30T09:05+01:00[Europe/Paris]", OffsetDateTime.FROM,
+                OffsetDateTime.of(2012, 6, 30, 9, 5, 0, 0, ZoneOffset.ofHours(1))},
+            {DateTimeFormatter.ISO_ZONED_DATE_TIME, "2012-06-30T09:05Z", ZonedDateTime.FROM,
+                ZonedDateTime.of(2012, 6, 30, 9, 5, 0, 0, ZoneOffset.UTC)},
+            {DateTimeFormatter.ISO_DATE_TIME, "2012-06-30T09:05", LocalDateTime.FROM, LocalDateTime.of(2012, 6, 30, 9, 5)},
+            {DateTimeFormatter.ISO_DATE_TIME, "2012-06-30T09:05-04:00[America/New_York]", ZonedDateTime.FROM,
+                ZonedDateTime.of(2012, 6, 30, 9, 5, 0, 0, ZoneId.of("America/New_York"))},
+            {DateTimeFormatter.ISO_INSTANT, "2012-06-30T09:05:07.5Z", Instant.FROM, Instant.ofEpochSecond(1341047107L, 500000000)},
+            {DateTimeFormatter.ISO_INSTANT, "0000-01-01T00:00:00Z", Instant.FROM, Instant.ofEpochSecond(-62167219200L)},
+            {DateTimeFormatter.BASIC_ISO_DATE, "20120630+0100", LocalDate.FROM, LocalDate.of(2012, 6, 30)},
+            {PATTERN, "2012-06-30 09:05:07.120", LocalDateTime.FROM, LocalDateTime.of(2012, 6, 30, 9, 5, 7, 120000000)},
+            {OPTIONAL, "2012-06-30", LocalDate.FROM, LocalDate.of(2012, 6, 30)},
+            {OPTIONAL, "2012-06-30 09:05", LocalDateTime.FROM, LocalDateTime.of(2012, 6, 30, 9, 5)},
+            {DateTimeFormatter.ofPattern("yyyyMMddHHmmss"), "20120630090507", LocalDateTime.FROM, LocalDateTime.of(2012, 6, 30, 9, 5, 7)},
+            {DateTimeFormatter.ofPattern("d/M/y H:m"), "1/2/3 4:5", LocalDateTime.FROM, LocalDateTime.of(3, 2, 1, 4, 5)},
+            {DateTimeFormatter.ofPattern("d/M/y H:m").withResolverStyle(ResolverStyle.LENIENT), "30/6/2012 9:5",
+                LocalDateTime.FROM, LocalDateTime.of(2012, 6, 30, 9, 5)},
+        };
+    }
+
+    @DataProvider(name="declined")
+    Object[][] data_declined() {
+        return new Object[][] {
+            {DateTimeFormatter.ISO_LOCAL_DATE, "+12012-06-30", LocalDate.FROM, LocalDate.of(12012, 6, 30)},
+            {DateTimeFormatter.ISO_LOCAL_DATE, "2012-02-30", LocalDate.FROM, null},
+            {DateTimeFormatter.ISO_LOCAL_DATE.withResolverStyle(ResolverStyle.SMART), "2012-02-30", LocalDate.FROM, LocalDate.of(2012, 2, 29)},
+            {DateTimeFormatter.ISO_LOCAL_DATE.withResolverStyle(ResolverStyle.LENIENT), "2012-13-01", LocalDate.FROM, LocalDate.of(2013, 1, 1)},
+            {DateTimeFormatter.ISO_LOCAL_DATE, "2012-06-3", LocalDate.FROM, null},
+            {DateTimeFormatter.ISO_LOCAL_DATE, "2012-06-30X", LocalDate.FROM, null},
+            {DateTimeFormatter.ISO_LOCAL_DATE, "2012-06-30", LocalTime.FROM, null},
+            {DateTimeFormatter.ISO_LOCAL_DATE, "2012-06-30", ZonedDateTime.FROM, null},
+            {DateTimeFormatter.ISO_LOCAL_TIME.withResolverStyle(ResolverStyle.SMART), "24:00", LocalTime.FROM, LocalTime.MIDNIGHT},
+            {DateTimeFormatter.ISO_LOCAL_TIME, "09:05:60", LocalTime.FROM, null},
+            {DateTimeFormatter.ISO_INSTANT, "2012-06-30T23:59:60Z", Instant.FROM, Instant.parse("2012-06-30T23:59:59Z")},
+            {DateTimeFormatter.ISO_INSTANT, "2012-06-30T09:05Z", Instant.FROM, null},
+            {DateTimeFormatter.ISO_OFFSET_DATE_TIME, "2012-06-30T09:05+19:00", OffsetDateTime.FROM, null},
+            {OPTIONAL, "2012-06-30 09", LocalDate.FROM, null},
+            {DateTimeFormatter.ISO_ZONED_DATE_TIME, "2012-06-30T09:05+01:00[europe/paris]", ZonedDateTime.FROM, null},
+            {DateTimeFormatter.ISO_ZONED_DATE_TIME, "2012-06-30T09:05+01:00[Europe/Bogus]", ZonedDateTime.FROM, null},
+            {DateTimeFormatter.ISO_ZONED_DATE_TIME, "2012-06-30T09:05+01:00[Europe/Paris", ZonedDateTime.FROM, null},
+            {DateTimeFormatter.ISO_ZONED_DATE_TIME, "2012-06-30T09:05+01:00[+02:00]", ZonedDateTime.FROM,
+                ZonedDateTime.of(2012, 6, 30, 10, 5, 0, 0, ZoneOffset.ofHours(2))},
+            {DateTimeFormatter.ISO_ZONED_DATE_TIME, "2012-06-30T09:05+01:00[UTC]", ZonedDateTime.FROM,
+                ZonedDateTime.of(2012, 6, 30, 8, 5, 0, 0, ZoneId.of("UTC"))},
+            {DateTimeFormatter.ISO_DATE_TIME, "2012-06-30T09:05+01:00[Z]", ZonedDateTime.FROM,
+                ZonedDateTime.of(2012, 6, 30, 8, 5, 0, 0, ZoneOffset.UTC)},
+        };
+    }
+
+    //-----------------------------------------------------------------------
+    @Test(dataProvider="parsed")
+    public void test_parse(DateTimeFormatter formatter, String text, TemporalQuery<?> query, Object expected) {
+        CompiledParser parser = compile(formatter);
+        assertNotNull(parser);
+        assertEquals(parser.parse(text, 0, text.length(), query), expected);
+        assertEquals(formatter.parse(text, query), expected);
+    }
+
+    @Test(dataProvider="declined")
+    public void test_parse_declined(DateTimeFormatter formatter, String text, TemporalQuery<?> query, Object expected) {
+        assertNull(compile(formatter).parse(text, 0, text.length(), query));
+        try {
+            assertEquals(formatter.parse(text, query), expected);
+        } catch (DateTimeParseException ex) {
+            assertNull(expected, ex.getMessage());
+        }
+    }
+
+    public void test_parse_errorIndex() {
+        try {
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.parse("2012-06-30T09-05", LocalDateTime.FROM);
+            fail();
+        } catch (DateTimeParseException ex) {
+            assertEquals(ex.getErrorIndex(), 13);
+            assertEquals(ex.getParsedString(), "2012-06-30T09-05");
+        }
+    }
+
+    public void test_compile_instant() {
+        DateTimeFormatter formatter = new DateTimeFormatterBuilder().appendInstant(3).toFormatter();
+        CompiledParser parser = compile(formatter);
+        assertNotNull(parser);
+        assertNull(parser.parse("-10000-01-01T00:00:00.250Z", 0, 26, Instant.FROM));
+        assertEquals(parser.parse("2012-06-30T09:05:07.500Z", 0, 24, Instant.FROM),
+                Instant.ofEpochSecond(1341047107L, 500000000));
+    }
+
+    public void test_compile_unsupported() {
+        assertNull(compile(new DateTimeFormatterBuilder().appendPattern("HH[ 'x'").parseCaseInsensitive()
+                .appendPattern("]mm").toFormatter()));
+        assertNull(compile(DateTimeFormatter.ISO_WEEK_DATE));
+        assertNull(compile(DateTimeFormatter.ISO_ORDINAL_DATE));
+        assertNull(compile(DateTimeFormatter.ofPattern("dd MMM yyyy")));
+        assertNull(compile(DateTimeFormatter.ofPattern("yy-MM-dd")));
+        assertNull(compile(DateTimeFormatter.ofPattern("yyyy-MM-dd").withResolverStyle(ResolverStyle.STRICT)));
+        assertNull(compile(new DateTimeFormatterBuilder().appendPattern("HH:mm")
+                .parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0).toFormatter()));
+        assertNull(CompiledParser.compile(DateTimeFormatter.ISO_LOCAL_DATE.toPrinterParser(true), ResolverStyle.STRICT));
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_parse_charArray() {
+        char[] chars = "xx2012-06-30T09:05yy".toCharArray();
+        assertEquals(DateTimeFormatter.ISO_LOCAL_DATE_TIME.parse(chars, 2, 16, LocalDateTime.FROM),
+                LocalDateTime.of(2012, 6, 30, 9, 5));
+        assertEquals(DateTimeFormatter.ISO_LOCAL_DATE.parse(chars, 2, 10, LocalDate.FROM), LocalDate.of(2012, 6, 30));
+    }
+
+    public void test_parse_charArray_errorIndexRelativeToOffset() {
+        char[] chars = "xx2012-06-30T09-05yy".toCharArray();
+        try {
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.parse(chars, 2, 16, LocalDateTime.FROM);
+            fail();
+        } catch (DateTimeParseException ex) {
+            assertEquals(ex.getErrorIndex(), 13);
+            assertEquals(ex.getParsedString(), "2012-06-30T09-05");
+        }
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_parse_charArray_badRegion() {
+        DateTimeFormatter.ISO_LOCAL_DATE.parse(new char[10], 1, 10, LocalDate.FROM);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_parse_charArray_null() {
+        DateTimeFormatter.ISO_LOCAL_DATE.parse((char[]) null, 0, 0, LocalDate.FROM);
+    }
+
+    public void test_parse_charBuffer() {
+        CharBuffer buf = CharBuffer.wrap("xx2012-06-30yy");
+        buf.position(2).limit(12);
+        assertEquals(DateTimeFormatter.ISO_LOCAL_DATE.parse(buf, LocalDate.FROM), LocalDate.of(2012, 6, 30));
+        assertEquals(buf.position(), 2);
+    }
+
+    public void test_parseAscii_byteArray() {
+        byte[] bytes = "xx2012-06-30T09:05:07.5Zyy".getBytes(Charset.forName("US-ASCII"));
+        assertEquals(DateTimeFormatter.ISO_INSTANT.parseAscii(bytes, 2, 22, Instant.FROM),
+                Instant.ofEpochSecond(1341047107L, 500000000));
+        assertEquals(DateTimeFormatter.ISO_OFFSET_DATE_TIME.parseAscii(bytes, 2, 22, OffsetDateTime.FROM),
+                OffsetDateTime.of(2012, 6, 30, 9, 5, 7, 500000000, ZoneOffset.UTC));
+    }
+
+    public void test_parseAscii_byteArray_printerParser() {
+        byte[] bytes = "30 Jun 2012".getBytes(Charset.forName("US-ASCII"));
+        assertEquals(DateTimeFormatter.ofPattern("dd MMM yyyy", Locale.ENGLISH).parseAscii(bytes, 0, bytes.length, LocalDate.FROM),
+                LocalDate.of(2012, 6, 30));
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_parseAscii_byteArray_badRegion() {
+        DateTimeFormatter.ISO_LOCAL_DATE.parseAscii(new byte[10], -1, 5, LocalDate.FROM);
+    }
+
+    public void test_parseAscii_byteBuffer() {
+        ByteBuffer buf = ByteBuffer.allocateDirect(20);
+        buf.put("xx2012-06-30yy".getBytes(Charset.forName("US-ASCII")));
+        buf.position(2).limit(12);
+        assertEquals(DateTimeFormatter.ISO_LOCAL_DATE.parseAscii(buf, LocalDate.FROM), LocalDate.of(2012, 6, 30));
+        assertEquals(buf.position(), 2);
+    }
+
+    @Test(expectedExceptions=DateTimeParseException.class)
+    public void test_parseAscii_byteBuffer_invalid() {
+        ByteBuffer buf = ByteBuffer.wrap(new byte[] {'2', '0', '1', '2', (byte) 0xE9});
+        DateTimeFormatter.ISO_LOCAL_DATE.parseAscii(buf, LocalDate.FROM);
+    }
+
+    //-----------------------------------------------------------------------
+    private static CompiledParser compile(DateTimeFormatter formatter) {
+        return CompiledParser.compile(formatter.toPrinterParser(false), formatter.getResolverStyle());
+    }
+
+}
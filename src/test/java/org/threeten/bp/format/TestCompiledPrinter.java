@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.threeten.bp.temporal.ChronoField.NANO_OF_SECOND;
+import static org.threeten.bp.temporal.ChronoField.YEAR;
+
+import java.util.Locale;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.threeten.bp.DateTimeException;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalTime;
+import org.threeten.bp.OffsetDateTime;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZoneOffset;
+import org.threeten.bp.ZonedDateTime;
+import org.threeten.bp.chrono.ThaiBuddhistChronology;
+import org.threeten.bp.format.DateTimeFormatterBuilder.CompiledPrinter;
+import org.threeten.bp.temporal.TemporalAccessor;
+
+/**
+ * Test CompiledPrinter.
+ */
+@Test
+public class TestCompiledPrinter {
+
+    private static final ZonedDateTime ZDT = ZonedDateTime.of(2012, 6, 30, 9, 5, 7, 120000000, ZoneId.of("America/St_Johns"));
+
+    @DataProvider(name="formatters")
+    Object[][] data_formatters() {
+        return new Object[][] {
+            {DateTimeFormatter.ISO_LOCAL_DATE},
+            {DateTimeFormatter.ISO_LOCAL_TIME},
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME},
+            {DateTimeFormatter.ISO_OFFSET_DATE_TIME},
+            {DateTimeFormatter.ISO_DATE},
+            {DateTimeFormatter.ISO_ORDINAL_DATE},
+            {DateTimeFormatter.ISO_INSTANT},
+            {DateTimeFormatter.BASIC_ISO_DATE},
+            {DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")},
+            {DateTimeFormatter.ofPattern("uuuuMMddHHmmssSSSSSSxx")},
+            {DateTimeFormatter.ofPattern("y/M/d H[:m[:s]]")},
+            {new DateTimeFormatterBuilder().appendInstant(-1).toFormatter()},
+            {new DateTimeFormatterBuilder().appendValue(YEAR, 2, 6, SignStyle.ALWAYS)
+                    .appendFraction(NANO_OF_SECOND, 0, 4, true).appendOffset("+HHmm", "Z").toFormatter()},
+        };
+    }
+
+    @DataProvider(name="temporals")
+    Object[][] data_temporals() {
+        return new Object[][] {
+            {ZDT},
+            {ZDT.withNano(0)},
+            {ZDT.withNano(7)},
+            {ZDT.withYear(-20)},
+            {ZDT.withYear(10000)},
+            {ZDT.withYear(999999)},
+            {ZDT.withZoneSameLocal(ZoneOffset.UTC)},
+            {ZDT.toOffsetDateTime()},
+            {ZDT.toLocalDateTime()},
+            {ZDT.toLocalDate()},
+            {ZDT.toLocalTime()},
+            {ZDT.toInstant()},
+            {Instant.ofEpochSecond(-62167219201L)},
+            {Instant.MAX},
+        };
+    }
+
+    //-----------------------------------------------------------------------
+    @Test(dataProvider="formatters")
+    public void test_compile(DateTimeFormatter formatter) {
+        assertNotNull(CompiledPrinter.compile(formatter.toPrinterParser(false)));
+    }
+
+    @Test(dataProvider="formatters")
+    public void test_format_matchesPrinterParser(DateTimeFormatter formatter) {
+        for (Object[] data : data_temporals()) {
+            TemporalAccessor temporal = (TemporalAccessor) data[0];
+            assertEquals(format(formatter, temporal), printerParserFormat(formatter, temporal), temporal.toString());
+        }
+    }
+
+    public void test_format_appendable() {
+        StringBuilder buf = new StringBuilder("EXISTING ");
+        DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(ZDT, buf);
+        assertEquals(buf.toString(), "EXISTING 2012-06-30T09:05:07.12");
+    }
+
+    public void test_print_charArray() {
+        CompiledPrinter printer = CompiledPrinter.compile(DateTimeFormatter.ISO_OFFSET_DATE_TIME.toPrinterParser(false));
+        char[] buf = new char[printer.maxLength() + 2];
+        int end = printer.print(ZDT, buf, 2);
+        assertEquals(new String(buf, 2, end - 2), "2012-06-30T09:05:07.12-02:30");
+        assertEquals(printer.print(LocalTime.NOON, buf, 0), -1);
+        assertEquals(printer.print(null, buf, 0), -1);
+    }
+
+    public void test_compile_unsupported() {
+        assertNull(CompiledPrinter.compile(DateTimeFormatter.ISO_ZONED_DATE_TIME.toPrinterParser(false)));
+        assertNull(CompiledPrinter.compile(DateTimeFormatter.ISO_WEEK_DATE.toPrinterParser(false)));
+        assertNull(CompiledPrinter.compile(DateTimeFormatter.ofPattern("dd MMM yyyy").toPrinterParser(false)));
+        assertNull(CompiledPrinter.compile(DateTimeFormatter.ofPattern("yy-MM-dd").toPrinterParser(false)));
+        assertNull(CompiledPrinter.compile(DateTimeFormatter.ISO_LOCAL_DATE.toPrinterParser(true)));
+    }
+
+    public void test_format_overridesUsePrinterParser() {
+        DateTimeFormatter base = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm", Locale.ENGLISH);
+        assertEquals(base.withZone(ZoneOffset.UTC).format(ZDT), "2012-06-30 11:35");
+        assertEquals(base.withChronology(ThaiBuddhistChronology.INSTANCE).format(ZDT), "2555-06-30 09:05");
+        assertEquals(base.withDecimalStyle(DecimalStyle.STANDARD.withZeroDigit('A')).format(ZDT), "CABC-AG-DA AJ:AF");
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_format_missingField() {
+        DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(LocalDate.of(2012, 6, 30));
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_format_negativeNotAllowed() {
+        new DateTimeFormatterBuilder().appendValue(YEAR, 4, 4, SignStyle.NOT_NEGATIVE).toFormatter().format(LocalDate.of(-1, 1, 1));
+    }
+
+    //-----------------------------------------------------------------------
+    private static String format(DateTimeFormatter formatter, TemporalAccessor temporal) {
+        try {
+            return formatter.format(temporal);
+        } catch (DateTimeException ex) {
+            return ex.getClass().getName() + ": " + ex.getMessage();
+        }
+    }
+
+    private static String printerParserFormat(DateTimeFormatter formatter, TemporalAccessor temporal) {
+        try {
+            StringBuilder buf = new StringBuilder();
+            formatter.toPrinterParser(false).print(new DateTimePrintContext(temporal, formatter), buf);
+            return buf.toString();
+        } catch (DateTimeException ex) {
+            return ex.getClass().getName() + ": " + ex.getMessage();
+        }
+    }
+
+}
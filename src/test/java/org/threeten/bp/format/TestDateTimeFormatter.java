@@ -34,18 +34,28 @@ package org.threeten.bp.format;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 import static org.threeten.bp.temporal.ChronoField.DAY_OF_MONTH;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.text.Format;
 import java.text.ParseException;
 import java.text.ParsePosition;
+import java.util.Arrays;
 import java.util.Locale;
 
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import org.threeten.bp.DateTimeException;
 import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
 import org.threeten.bp.LocalTime;
 import org.threeten.bp.YearMonth;
 import org.threeten.bp.ZoneId;
@@ -147,6 +157,175 @@ public class TestDateTimeFormatter {
         }
     }
 
+    //-----------------------------------------------------------------------
+    @DataProvider(name="directWrite")
+    Object[][] data_directWrite() {
+        return new Object[][] {
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME, LocalDateTime.of(2008, 6, 30, 11, 30, 40, 123000000)},
+            {DateTimeFormatter.ISO_OFFSET_DATE_TIME, ZonedDateTime.of(2008, 6, 30, 11, 30, 0, 0, ZoneId.of("Europe/Paris"))},
+            {DateTimeFormatter.ISO_ZONED_DATE_TIME, ZonedDateTime.of(2008, 6, 30, 11, 30, 0, 0, ZoneId.of("Europe/Paris"))},
+            {DateTimeFormatter.ofPattern("EEE d MMM uuuu", Locale.ENGLISH), LocalDate.of(2008, 6, 30)},
+            {DateTimeFormatter.ISO_LOCAL_DATE, LocalDate.of(-12345, 6, 30)},
+        };
+    }
+
+    @Test(dataProvider="directWrite")
+    public void test_formatTo_Writer(DateTimeFormatter formatter, TemporalAccessor temporal) {
+        StringWriter writer = new StringWriter();
+        writer.write("X");
+        formatter.formatTo(temporal, writer);
+        assertEquals(writer.toString(), "X" + formatter.format(temporal));
+    }
+
+    @Test(dataProvider="directWrite")
+    public void test_formatTo_CharBuffer(DateTimeFormatter formatter, TemporalAccessor temporal) {
+        String expected = formatter.format(temporal);
+        CharBuffer large = CharBuffer.allocate(100);
+        large.put('X');
+        formatter.formatTo(temporal, large);
+        large.flip();
+        assertEquals(large.toString(), "X" + expected);
+        CharBuffer exact = CharBuffer.allocate(expected.length() + 1);
+        exact.put('X');
+        formatter.formatTo(temporal, exact);
+        exact.flip();
+        assertEquals(exact.toString(), "X" + expected);
+    }
+
+    @Test(expectedExceptions=BufferOverflowException.class)
+    public void test_formatTo_CharBuffer_overflow() {
+        DateTimeFormatter.ISO_LOCAL_DATE.formatTo(LocalDate.of(2008, 6, 30), CharBuffer.allocate(9));
+    }
+
+    public void test_formatTo_CharBuffer_error() {
+        CharBuffer buf = CharBuffer.allocate(100);
+        try {
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(LocalDate.of(2008, 6, 30), buf);
+            fail();
+        } catch (DateTimeException ex) {
+            assertEquals(buf.position(), 0);
+        }
+    }
+
+    @Test(dataProvider="directWrite")
+    public void test_formatAscii_array(DateTimeFormatter formatter, TemporalAccessor temporal) throws Exception {
+        byte[] expected = formatter.format(temporal).getBytes("US-ASCII");
+        byte[] buf = new byte[expected.length + 2];
+        assertEquals(formatter.formatAscii(temporal, buf, 1), expected.length + 1);
+        assertEquals(Arrays.copyOfRange(buf, 1, expected.length + 1), expected);
+        assertEquals(buf[0], 0);
+        assertEquals(buf[expected.length + 1], 0);
+    }
+
+    @Test(dataProvider="directWrite")
+    public void test_formatAscii_ByteBuffer(DateTimeFormatter formatter, TemporalAccessor temporal) throws Exception {
+        byte[] expected = formatter.format(temporal).getBytes("US-ASCII");
+        ByteBuffer[] buffers = {ByteBuffer.allocate(50), ByteBuffer.allocateDirect(50)};
+        for (ByteBuffer buf : buffers) {
+            buf.put((byte) 'X');
+            formatter.formatAscii(temporal, buf);
+            assertEquals(buf.position(), expected.length + 1);
+            byte[] written = new byte[expected.length];
+            buf.flip();
+            buf.get();
+            buf.get(written);
+            assertEquals(written, expected);
+        }
+    }
+
+    @Test(dataProvider="directWrite")
+    public void test_formatAscii_OutputStream(DateTimeFormatter formatter, TemporalAccessor temporal) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        formatter.formatAscii(temporal, out);
+        assertEquals(out.toByteArray(), formatter.format(temporal).getBytes("US-ASCII"));
+    }
+
+    public void test_formatAscii_noSpace() {
+        byte[] buf = new byte[12];
+        try {
+            DateTimeFormatter.ISO_LOCAL_DATE.formatAscii(LocalDate.of(2008, 6, 30), buf, 3);
+            fail();
+        } catch (IndexOutOfBoundsException ex) {
+            assertEquals(buf, new byte[12]);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(9);
+        try {
+            DateTimeFormatter.ISO_LOCAL_DATE.formatAscii(LocalDate.of(2008, 6, 30), buffer);
+            fail();
+        } catch (BufferOverflowException ex) {
+            assertEquals(buffer.position(), 0);
+        }
+    }
+
+    public void test_formatAscii_error() {
+        ByteBuffer buf = ByteBuffer.allocate(50);
+        try {
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatAscii(LocalDate.of(2008, 6, 30), buf);
+            fail();
+        } catch (DateTimeException ex) {
+            assertEquals(buf.position(), 0);
+        }
+    }
+
+    @DataProvider(name="notAscii")
+    Object[][] data_notAscii() {
+        return new Object[][] {
+            {DateTimeFormatter.ofPattern("uuuu'\u20ac'")},
+            {DateTimeFormatter.ofPattern("uuuu'\u00e9'")},
+            {DateTimeFormatter.ofPattern("uuuu'\u0080'")},
+            {DateTimeFormatter.ofPattern("d MMM uuuu", Locale.FRENCH)},
+        };
+    }
+
+    @Test(dataProvider="notAscii")
+    public void test_formatAscii_notAscii(DateTimeFormatter formatter) {
+        LocalDate date = LocalDate.of(2012, 2, 1);
+        byte[] array = new byte[20];
+        try {
+            formatter.formatAscii(date, array, 0);
+            fail();
+        } catch (DateTimeException ex) {
+            assertEquals(array, new byte[20]);
+        }
+        ByteBuffer[] buffers = {ByteBuffer.allocate(20), ByteBuffer.allocateDirect(20)};
+        for (ByteBuffer buf : buffers) {
+            try {
+                formatter.formatAscii(date, buf);
+                fail();
+            } catch (DateTimeException ex) {
+                assertEquals(buf.position(), 0);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            formatter.formatAscii(date, out);
+            fail();
+        } catch (DateTimeException ex) {
+            assertEquals(out.size(), 0);
+        }
+    }
+
+    public void test_formatAscii_highestAscii() {
+        byte[] buf = new byte[10];
+        assertEquals(DateTimeFormatter.ofPattern("uuuu'\u007f'").formatAscii(LocalDate.of(2008, 6, 30), buf, 0), 5);
+        assertEquals(buf[4], (byte) 0x7F);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_formatAscii_invalidOffset() {
+        DateTimeFormatter.ISO_LOCAL_DATE.formatAscii(LocalDate.of(2008, 6, 30), new byte[20], 21);
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_formatAscii_ioError() {
+        DateTimeFormatter.ISO_LOCAL_DATE.formatAscii(LocalDate.of(2008, 6, 30), new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException();
+            }
+        });
+    }
+
     //-----------------------------------------------------------------------
     // parse(Class)
     //-----------------------------------------------------------------------
@@ -212,6 +391,88 @@ public class TestDateTimeFormatter {
         test.parse("30", (TemporalQuery<?>) null);
     }
 
+    //-----------------------------------------------------------------------
+    // parseOrNull(CharSequence,TemporalQuery)
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_parseOrNull_Class_String() throws Exception {
+        LocalDate result = DATE_FORMATTER.parseOrNull("ONE2012 07 27", LocalDate.FROM);
+        assertEquals(result, LocalDate.of(2012, 7, 27));
+    }
+
+    @Test
+    public void test_parseOrNull_Class_String_parseError() throws Exception {
+        assertEquals(DATE_FORMATTER.parseOrNull("ONE2012 07 XX", LocalDate.FROM), null);
+        assertEquals(DATE_FORMATTER.parseOrNull("ONE2012 07 27SomethingElse", LocalDate.FROM), null);
+        assertEquals(DATE_FORMATTER.parseOrNull("", LocalDate.FROM), null);
+    }
+
+    @Test
+    public void test_parseOrNull_Class_String_invalidValue() throws Exception {
+        assertEquals(DATE_FORMATTER.parseOrNull("ONE2012 13 27", LocalDate.FROM), null);
+        assertEquals(DATE_FORMATTER.parseOrNull("ONE2012 07 27", LocalTime.FROM), null);
+    }
+
+    @Test
+    public void test_parseOrNull_compiled() throws Exception {
+        assertEquals(DateTimeFormatter.ISO_LOCAL_DATE.parseOrNull("2012-07-27", LocalDate.FROM), LocalDate.of(2012, 7, 27));
+        assertEquals(DateTimeFormatter.ISO_LOCAL_DATE.parseOrNull("2012-07-2X", LocalDate.FROM), null);
+        assertEquals(DateTimeFormatter.ISO_LOCAL_DATE.parseOrNull("2012-02-30", LocalDate.FROM), null);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_parseOrNull_Class_String_nullText() throws Exception {
+        DATE_FORMATTER.parseOrNull((String) null, LocalDate.FROM);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_parseOrNull_Class_String_nullRule() throws Exception {
+        DATE_FORMATTER.parseOrNull("ONE2012 07 27", (TemporalQuery<?>) null);
+    }
+
+    //-----------------------------------------------------------------------
+    // parseOrNull(CharSequence,TemporalQuery,ParsePosition)
+    //-----------------------------------------------------------------------
+    @DataProvider(name="parseOrNullPosition")
+    Object[][] data_parseOrNullPosition() {
+        return new Object[][] {
+            {"ONE2012 07 27", 0, LocalDate.of(2012, 7, 27), 13, -1},
+            {"XXONE2012 07 27", 2, LocalDate.of(2012, 7, 27), 15, -1},
+            {"XXONE2012 07 XX", 2, null, 2, 13},
+            {"ONE2012 07 27SomethingElse", 0, null, 13, 13},
+            {"ONE2012 13 27", 0, null, 13, 0},
+            {"XXONE2012 13 27", 2, null, 15, 2},
+            {"XX", 2, null, 2, 2},
+        };
+    }
+
+    @Test(dataProvider="parseOrNullPosition")
+    public void test_parseOrNull_Class_String_ParsePosition(String text, int start, LocalDate expected, int index, int errorIndex) {
+        ParsePosition pos = new ParsePosition(start);
+        assertEquals(DATE_FORMATTER.parseOrNull(text, LocalDate.FROM, pos), expected);
+        assertEquals(pos.getErrorIndex(), errorIndex);
+        if (errorIndex < 0) {
+            assertEquals(pos.getIndex(), index);
+        } else {
+            try {
+                DATE_FORMATTER.parse(text.substring(start), LocalDate.FROM);
+                fail();
+            } catch (DateTimeParseException ex) {
+                assertEquals(ex.getErrorIndex() + start, Math.max(errorIndex, start));
+            }
+        }
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_parseOrNull_Class_String_ParsePosition_invalidPosition() throws Exception {
+        DATE_FORMATTER.parseOrNull("ONE2012 07 27", LocalDate.FROM, new ParsePosition(14));
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_parseOrNull_Class_String_ParsePosition_nullPosition() throws Exception {
+        DATE_FORMATTER.parseOrNull("ONE2012 07 27", LocalDate.FROM, null);
+    }
+
     //-----------------------------------------------------------------------
     @Test
     public void test_parseBest_firstOption() throws Exception {
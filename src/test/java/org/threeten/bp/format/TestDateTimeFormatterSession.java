@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.threeten.bp.DateTimeException;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.LocalTime;
+import org.threeten.bp.OffsetDateTime;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+import org.threeten.bp.temporal.ChronoField;
+import org.threeten.bp.temporal.TemporalQueries;
+
+/**
+ * Test DateTimeFormatterSession.
+ */
+@Test
+public class TestDateTimeFormatterSession {
+
+    private static final ZonedDateTime ZDT = ZonedDateTime.of(2012, 6, 30, 11, 30, 40, 123000000, ZoneId.of("Europe/Paris"));
+
+    @DataProvider(name="formatters")
+    Object[][] data_formatters() {
+        return new Object[][] {
+            {DateTimeFormatter.ISO_LOCAL_DATE},
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME},
+            {DateTimeFormatter.ISO_OFFSET_DATE_TIME},
+            {DateTimeFormatter.ISO_ZONED_DATE_TIME},
+            {DateTimeFormatter.ISO_INSTANT},
+            {DateTimeFormatter.RFC_1123_DATE_TIME},
+            {DateTimeFormatter.ofPattern("EEEE d MMMM uuuu HH:mm VV", Locale.ENGLISH)},
+        };
+    }
+
+    //-----------------------------------------------------------------------
+    @Test(dataProvider="formatters")
+    public void test_format_repeated(DateTimeFormatter formatter) {
+        DateTimeFormatterSession session = formatter.newSession();
+        for (int i = 0; i < 40; i++) {
+            ZonedDateTime zdt = ZDT.plusDays(i * 37).plusMinutes(i * 71);
+            assertEquals(session.format(zdt), formatter.format(zdt));
+        }
+    }
+
+    @Test(dataProvider="formatters")
+    public void test_formatTo_appends(DateTimeFormatter formatter) {
+        DateTimeFormatterSession session = formatter.newSession();
+        StringBuilder buf = new StringBuilder("EXISTING");
+        session.formatTo(ZDT, buf);
+        session.formatTo(ZDT, buf);
+        String expected = formatter.format(ZDT);
+        assertEquals(buf.toString(), "EXISTING" + expected + expected);
+    }
+
+    public void test_formatTo_error_appendsNothing() {
+        DateTimeFormatterSession session = DateTimeFormatter.ISO_LOCAL_DATE_TIME.newSession();
+        StringBuilder buf = new StringBuilder("EXISTING");
+        try {
+            session.formatTo(LocalDate.of(2012, 6, 30), buf);
+            fail();
+        } catch (DateTimeException ex) {
+            assertEquals(buf.toString(), "EXISTING");
+        }
+        assertEquals(session.format(ZDT), "2012-06-30T11:30:40.123");
+    }
+
+    @Test(dataProvider="formatters")
+    public void test_formatAscii(DateTimeFormatter formatter) throws Exception {
+        DateTimeFormatterSession session = formatter.newSession();
+        byte[] expected = formatter.format(ZDT).getBytes("US-ASCII");
+        byte[] array = new byte[expected.length + 1];
+        assertEquals(session.formatAscii(ZDT, array, 1), expected.length + 1);
+        assertEquals(Arrays.copyOfRange(array, 1, array.length), expected);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(100);
+        session.formatAscii(ZDT, buffer);
+        session.formatAscii(ZDT, buffer);
+        assertEquals(buffer.position(), expected.length * 2);
+    }
+
+    public void test_formatAscii_error_writesNothing() {
+        DateTimeFormatterSession session = DateTimeFormatter.ISO_LOCAL_DATE_TIME.newSession();
+        ByteBuffer buffer = ByteBuffer.allocate(100);
+        try {
+            session.formatAscii(LocalDate.of(2012, 6, 30), buffer);
+            fail();
+        } catch (DateTimeException ex) {
+            assertEquals(buffer.position(), 0);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    @Test(dataProvider="formatters")
+    public void test_parse_repeated(DateTimeFormatter formatter) {
+        DateTimeFormatterSession session = formatter.newSession();
+        for (int i = 0; i < 40; i++) {
+            ZonedDateTime zdt = ZDT.plusDays(i * 37).plusMinutes(i * 71);
+            String text = formatter.format(zdt);
+            session.parse(text);
+            assertEquals(session.query(TemporalQueries.localDate()), formatter.parse(text).query(TemporalQueries.localDate()));
+            assertEquals(session.query(TemporalQueries.localTime()), formatter.parse(text).query(TemporalQueries.localTime()));
+            assertEquals(session.query(TemporalQueries.zone()), formatter.parse(text).query(TemporalQueries.zone()));
+        }
+    }
+
+    public void test_parse_typedGetters() {
+        DateTimeFormatterSession session = DateTimeFormatter.ISO_ZONED_DATE_TIME.newSession();
+        assertTrue(session.parse(ZDT.toString()) == session);
+        assertEquals(session.getLocalDate(), ZDT.toLocalDate());
+        assertEquals(session.getLocalTime(), ZDT.toLocalTime());
+        assertEquals(session.getLocalDateTime(), ZDT.toLocalDateTime());
+        assertEquals(session.getOffsetDateTime(), ZDT.toOffsetDateTime());
+        assertEquals(session.getZonedDateTime(), ZDT);
+        assertEquals(session.getInstant(), ZDT.toInstant());
+        assertEquals(session.getZone(), ZDT.getZone());
+        assertEquals(session.get(ChronoField.MONTH_OF_YEAR), 6);
+        assertTrue(session.isSupported(ChronoField.DAY_OF_MONTH));
+        assertFalse(session.isSupported(null));
+    }
+
+    public void test_parse_typedGetter_notAvailable() {
+        DateTimeFormatterSession session = DateTimeFormatter.ISO_LOCAL_DATE.newSession();
+        session.parse("2012-06-30");
+        assertFalse(session.isSupported(ChronoField.HOUR_OF_DAY));
+        try {
+            session.getLocalTime();
+            fail();
+        } catch (DateTimeException ex) {
+            // expected
+        }
+        assertEquals(session.getLocalDate(), LocalDate.of(2012, 6, 30));
+    }
+
+    public void test_parse_replacesPreviousResult() {
+        DateTimeFormatterSession session = DateTimeFormatter.ISO_DATE_TIME.newSession();
+        session.parse("2012-06-30T11:30+02:00[Europe/Paris]");
+        session.parse("2013-01-02T03:04");
+        assertEquals(session.getLocalDateTime(), LocalDateTime.of(2013, 1, 2, 3, 4));
+        assertEquals(session.query(TemporalQueries.zone()), null);
+        assertFalse(session.isSupported(ChronoField.OFFSET_SECONDS));
+    }
+
+    public void test_parse_error_clearsResult() {
+        DateTimeFormatterSession session = DateTimeFormatter.ISO_LOCAL_DATE.newSession();
+        session.parse("2012-06-30");
+        try {
+            session.parse("2012-06-3X");
+            fail();
+        } catch (DateTimeParseException ex) {
+            assertEquals(ex.getErrorIndex(), 8);
+        }
+        assertFalse(session.isSupported(ChronoField.YEAR));
+        try {
+            session.getLocalDate();
+            fail();
+        } catch (DateTimeException ex) {
+            // expected
+        }
+        assertEquals(session.parse("2012-07-01").getLocalDate(), LocalDate.of(2012, 7, 1));
+    }
+
+    public void test_parse_resolveError() {
+        DateTimeFormatterSession session = DateTimeFormatter.ISO_LOCAL_DATE.newSession();
+        try {
+            session.parse("2012-02-30");
+            fail();
+        } catch (DateTimeParseException ex) {
+            // expected
+        }
+        assertEquals(session.parse("2012-02-29").getLocalDate(), LocalDate.of(2012, 2, 29));
+    }
+
+    public void test_parse_settingsReset() {
+        DateTimeFormatter formatter = new DateTimeFormatterBuilder()
+                .appendLiteral('a').parseCaseInsensitive().appendLiteral('b').toFormatter();
+        DateTimeFormatterSession session = formatter.newSession();
+        session.parse("aB");
+        try {
+            session.parse("AB");
+            fail();
+        } catch (DateTimeParseException ex) {
+            assertEquals(ex.getErrorIndex(), 0);
+        }
+    }
+
+    public void test_noResult() {
+        DateTimeFormatterSession session = DateTimeFormatter.ISO_LOCAL_DATE.newSession();
+        assertFalse(session.isSupported(ChronoField.YEAR));
+        try {
+            session.getLong(ChronoField.YEAR);
+            fail();
+        } catch (DateTimeException ex) {
+            // expected
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    @Test(dataProvider="formatters")
+    public void test_parse_query(DateTimeFormatter formatter) {
+        DateTimeFormatterSession session = formatter.newSession();
+        String text = formatter.format(ZDT);
+        assertEquals(session.parse(text, TemporalQueries.localDate()), formatter.parse(text, TemporalQueries.localDate()));
+        assertFalse(session.isSupported(ChronoField.DAY_OF_MONTH));
+    }
+
+    public void test_parse_query_notAvailable() {
+        DateTimeFormatterSession session = DateTimeFormatter.ofPattern("uuuu-MM-dd").newSession();
+        try {
+            session.parse("2012-06-30", OffsetDateTime.FROM);
+            fail();
+        } catch (DateTimeParseException ex) {
+            // expected
+        }
+        assertEquals(session.parse("2012-06-30", LocalDate.FROM), LocalDate.of(2012, 6, 30));
+        assertEquals(session.parse("2012-06-30").getLocalDate(), LocalDate.of(2012, 6, 30));
+    }
+
+    public void test_getFormatter() {
+        DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_TIME;
+        assertTrue(formatter.newSession().getFormatter() == formatter);
+        assertEquals(formatter.newSession().parse("11:30").getLocalTime(), LocalTime.of(11, 30));
+    }
+
+}
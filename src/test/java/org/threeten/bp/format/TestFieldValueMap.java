@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.threeten.bp.temporal.ChronoField.DAY_OF_MONTH;
+import static org.threeten.bp.temporal.ChronoField.MONTH_OF_YEAR;
+import static org.threeten.bp.temporal.ChronoField.NANO_OF_SECOND;
+import static org.threeten.bp.temporal.ChronoField.YEAR;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.temporal.IsoFields;
+import org.threeten.bp.temporal.TemporalField;
+
+/**
+ * Test FieldValueMap.
+ */
+@Test
+public class TestFieldValueMap {
+
+    public void test_empty() {
+        FieldValueMap test = new FieldValueMap();
+        assertEquals(test.size(), 0);
+        assertTrue(test.isEmpty());
+        assertFalse(test.contains(YEAR));
+        assertFalse(test.contains(IsoFields.QUARTER_OF_YEAR));
+        assertFalse(test.hasOtherFields());
+        assertNull(test.get(YEAR));
+        assertNull(test.get(null));
+        assertNull(test.remove(YEAR));
+        assertEquals(test.entrySet().iterator().hasNext(), false);
+    }
+
+    public void test_putLong_getLong() {
+        FieldValueMap test = new FieldValueMap();
+        assertFalse(test.putLong(YEAR, 2012));
+        assertFalse(test.putLong(IsoFields.QUARTER_OF_YEAR, 2));
+        assertTrue(test.contains(YEAR));
+        assertTrue(test.contains(IsoFields.QUARTER_OF_YEAR));
+        assertTrue(test.hasOtherFields());
+        assertEquals(test.getLong(YEAR), 2012);
+        assertEquals(test.getLong(IsoFields.QUARTER_OF_YEAR), 2);
+        assertEquals(test.get(YEAR), Long.valueOf(2012));
+        assertEquals(test.size(), 2);
+    }
+
+    public void test_putLong_conflict() {
+        FieldValueMap test = new FieldValueMap();
+        test.putLong(YEAR, 2012);
+        test.putLong(IsoFields.QUARTER_OF_YEAR, 2);
+        assertFalse(test.putLong(YEAR, 2012));
+        assertFalse(test.putLong(IsoFields.QUARTER_OF_YEAR, 2));
+        assertTrue(test.putLong(YEAR, 2013));
+        assertTrue(test.putLong(IsoFields.QUARTER_OF_YEAR, 3));
+        assertEquals(test.getLong(YEAR), 2013);
+        assertEquals(test.getLong(IsoFields.QUARTER_OF_YEAR), 3);
+    }
+
+    public void test_put_remove() {
+        FieldValueMap test = new FieldValueMap();
+        assertNull(test.put(YEAR, 2012L));
+        assertEquals(test.put(YEAR, -5L), Long.valueOf(2012));
+        assertEquals(test.remove(YEAR), Long.valueOf(-5));
+        assertFalse(test.containsKey(YEAR));
+        test.putLong(NANO_OF_SECOND, 123456789);
+        assertEquals(test.removeLong(NANO_OF_SECOND), 123456789);
+        assertTrue(test.isEmpty());
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_put_nullValue() {
+        new FieldValueMap().put(YEAR, null);
+    }
+
+    public void test_iteration_chronoFieldsInOrderThenOthers() {
+        FieldValueMap test = new FieldValueMap();
+        test.putLong(IsoFields.QUARTER_OF_YEAR, 2);
+        test.putLong(YEAR, 2012);
+        test.putLong(DAY_OF_MONTH, 30);
+        test.putLong(MONTH_OF_YEAR, 6);
+        List<TemporalField> fields = new ArrayList<TemporalField>(test.keySet());
+        assertEquals(fields, Arrays.<TemporalField>asList(DAY_OF_MONTH, MONTH_OF_YEAR, YEAR, IsoFields.QUARTER_OF_YEAR));
+        assertEquals(test.toString(), "{DayOfMonth=30, MonthOfYear=6, Year=2012, QuarterOfYear=2}");
+    }
+
+    public void test_iterator_remove() {
+        FieldValueMap test = new FieldValueMap();
+        test.putLong(YEAR, 2012);
+        test.putLong(MONTH_OF_YEAR, 6);
+        test.putLong(IsoFields.QUARTER_OF_YEAR, 2);
+        Iterator<Entry<TemporalField, Long>> it = test.entrySet().iterator();
+        while (it.hasNext()) {
+            Entry<TemporalField, Long> entry = it.next();
+            if (entry.getKey() != MONTH_OF_YEAR) {
+                it.remove();
+            }
+        }
+        assertEquals(test, Collections.singletonMap(MONTH_OF_YEAR, 6L));
+    }
+
+    public void test_keySet_retainAll() {
+        FieldValueMap test = new FieldValueMap();
+        test.putLong(YEAR, 2012);
+        test.putLong(MONTH_OF_YEAR, 6);
+        test.putLong(IsoFields.QUARTER_OF_YEAR, 2);
+        test.keySet().retainAll(Arrays.asList(YEAR, IsoFields.QUARTER_OF_YEAR));
+        assertEquals(test.size(), 2);
+        assertTrue(test.contains(YEAR));
+        assertTrue(test.contains(IsoFields.QUARTER_OF_YEAR));
+    }
+
+    public void test_entry_setValue() {
+        FieldValueMap test = new FieldValueMap();
+        test.putLong(YEAR, 2012);
+        Entry<TemporalField, Long> entry = test.entrySet().iterator().next();
+        assertEquals(entry.setValue(2013L), Long.valueOf(2012));
+        assertEquals(test.getLong(YEAR), 2013);
+    }
+
+    public void test_putAll_equalsHashMap() {
+        FieldValueMap base = new FieldValueMap();
+        base.putLong(YEAR, 2012);
+        base.putLong(IsoFields.QUARTER_OF_YEAR, 2);
+        FieldValueMap test = new FieldValueMap();
+        test.putLong(MONTH_OF_YEAR, 6);
+        test.putAll(base);
+        Map<TemporalField, Long> expected = new HashMap<TemporalField, Long>();
+        expected.put(YEAR, 2012L);
+        expected.put(MONTH_OF_YEAR, 6L);
+        expected.put(IsoFields.QUARTER_OF_YEAR, 2L);
+        assertEquals(test, expected);
+        assertEquals(expected, test);
+        assertEquals(test.hashCode(), expected.hashCode());
+    }
+
+}
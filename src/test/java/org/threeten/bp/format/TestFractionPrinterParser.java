@@ -33,16 +33,27 @@ package org.threeten.bp.format;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.fail;
+import static org.threeten.bp.temporal.ChronoField.HOUR_OF_AMPM;
+import static org.threeten.bp.temporal.ChronoField.MICRO_OF_SECOND;
+import static org.threeten.bp.temporal.ChronoField.MILLI_OF_SECOND;
+import static org.threeten.bp.temporal.ChronoField.MINUTE_OF_DAY;
+import static org.threeten.bp.temporal.ChronoField.NANO_OF_DAY;
 import static org.threeten.bp.temporal.ChronoField.NANO_OF_SECOND;
 import static org.threeten.bp.temporal.ChronoField.SECOND_OF_MINUTE;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import org.threeten.bp.DateTimeException;
 import org.threeten.bp.LocalTime;
+import org.threeten.bp.chrono.IsoChronology;
 import org.threeten.bp.format.DateTimeFormatterBuilder.FractionPrinterParser;
 import org.threeten.bp.temporal.MockFieldValue;
 import org.threeten.bp.temporal.TemporalField;
+import org.threeten.bp.temporal.ValueRange;
 
 /**
  * Test FractionPrinterParser.
@@ -305,6 +316,81 @@ public class TestFractionPrinterParser extends AbstractTestPrinterParser {
         assertEquals(parseContext.getParsed(NANO_OF_SECOND), null);
     }
 
+    //-----------------------------------------------------------------------
+    @DataProvider(name="Fields")
+    Object[][] provider_fields() {
+        return new Object[][] {
+            {NANO_OF_SECOND},
+            {MICRO_OF_SECOND},
+            {MILLI_OF_SECOND},
+            {SECOND_OF_MINUTE},
+            {MINUTE_OF_DAY},
+            {HOUR_OF_AMPM},
+            {NANO_OF_DAY},
+        };
+    }
+
+    @Test(dataProvider="Fields")
+    public void test_print_matchesBigDecimal(TemporalField field) throws Exception {
+        ValueRange range = field.range();
+        long step = Math.max((range.getMaximum() - range.getMinimum()) / 997, 1);
+        for (int minWidth = 0; minWidth <= 9; minWidth += 3) {
+            for (int maxWidth = Math.max(minWidth, 1); maxWidth <= 9; maxWidth += 2) {
+                FractionPrinterParser pp = new FractionPrinterParser(field, minWidth, maxWidth, true);
+                for (long value = range.getMinimum(); value <= range.getMaximum(); value += step) {
+                    printContext.setDateTime(new MockFieldValue(field, value));
+                    buf.setLength(0);
+                    pp.print(printContext, buf);
+                    assertEquals(buf.toString(), printBigDecimal(field, minWidth, maxWidth, value), field + " " + value);
+                }
+            }
+        }
+    }
+
+    @Test(dataProvider="Fields")
+    public void test_parse_matchesBigDecimal(TemporalField field) throws Exception {
+        FractionPrinterParser pp = new FractionPrinterParser(field, 0, 9, false);
+        String[] texts = {"0", "5", "05", "999", "123456789", "000000001", "5000", "999999999", "25", "75"};
+        for (String text : texts) {
+            DateTimeParseContext context = new DateTimeParseContext(Locale.ENGLISH, DecimalStyle.STANDARD, IsoChronology.INSTANCE);
+            assertEquals(pp.parse(context, text, 0), text.length());
+            ValueRange range = field.range();
+            BigDecimal minBD = BigDecimal.valueOf(range.getMinimum());
+            BigDecimal rangeBD = BigDecimal.valueOf(range.getMaximum()).subtract(minBD).add(BigDecimal.ONE);
+            BigDecimal fraction = new BigDecimal(Integer.parseInt(text)).movePointLeft(text.length());
+            long expected = fraction.multiply(rangeBD).setScale(0, RoundingMode.FLOOR).add(minBD).longValueExact();
+            assertEquals(context.getParsed(field), Long.valueOf(expected), field + " " + text);
+        }
+    }
+
+    public void test_print_zeroDigit() throws Exception {
+        DateTimePrintContext context = new DateTimePrintContext(
+                LocalTime.of(12, 30, 40, 5000000), Locale.ENGLISH, DecimalStyle.STANDARD.withZeroDigit('A'));
+        new FractionPrinterParser(NANO_OF_SECOND, 3, 9, true).print(context, buf);
+        assertEquals(buf.toString(), ".AAF");
+    }
+
+    private static String printBigDecimal(TemporalField field, int minWidth, int maxWidth, long value) {
+        ValueRange range = field.range();
+        BigDecimal minBD = BigDecimal.valueOf(range.getMinimum());
+        BigDecimal rangeBD = BigDecimal.valueOf(range.getMaximum()).subtract(minBD).add(BigDecimal.ONE);
+        BigDecimal fraction = BigDecimal.valueOf(value).subtract(minBD).divide(rangeBD, 9, RoundingMode.FLOOR);
+        fraction = (fraction.compareTo(BigDecimal.ZERO) == 0 ? BigDecimal.ZERO : fraction.stripTrailingZeros());
+        StringBuilder buf = new StringBuilder();
+        if (fraction.scale() == 0) {
+            if (minWidth > 0) {
+                buf.append('.');
+                for (int i = 0; i < minWidth; i++) {
+                    buf.append('0');
+                }
+            }
+        } else {
+            int outputScale = Math.min(Math.max(fraction.scale(), minWidth), maxWidth);
+            buf.append('.').append(fraction.setScale(outputScale, RoundingMode.FLOOR).toPlainString().substring(2));
+        }
+        return buf.toString();
+    }
+
     //-----------------------------------------------------------------------
     public void test_toString() throws Exception {
         FractionPrinterParser pp = new FractionPrinterParser(NANO_OF_SECOND, 3, 6, true);
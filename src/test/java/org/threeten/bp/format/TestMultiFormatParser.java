@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.format.DateTimeFormatterBuilder.ParseShape;
+
+/**
+ * Test MultiFormatParser.
+ */
+@Test
+public class TestMultiFormatParser {
+
+    private static final DateTimeFormatter SLASHED = DateTimeFormatter.ofPattern("dd/MM/uuuu");
+
+    private static MultiFormatParser dates() {
+        return MultiFormatParser.of(DateTimeFormatter.ISO_LOCAL_DATE, SLASHED, DateTimeFormatter.BASIC_ISO_DATE);
+    }
+
+    //-----------------------------------------------------------------------
+    @DataProvider(name="parse")
+    Object[][] data_parse() {
+        return new Object[][] {
+            {"2012-06-30", LocalDate.of(2012, 6, 30)},
+            {"30/06/2012", LocalDate.of(2012, 6, 30)},
+            {"20120630", LocalDate.of(2012, 6, 30)},
+            {"20120630+0100", LocalDate.of(2012, 6, 30)},
+            {"+12345-06-30", LocalDate.of(12345, 6, 30)},
+            {"01/01/0001", LocalDate.of(1, 1, 1)},
+        };
+    }
+
+    @Test(dataProvider="parse")
+    public void test_parse(String text, LocalDate expected) {
+        assertEquals(dates().parse(text, LocalDate.FROM), expected);
+    }
+
+    @Test(dataProvider="parse")
+    public void test_parse_repeated(String text, LocalDate expected) {
+        MultiFormatParser parser = dates();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(parser.parse(text, LocalDate.FROM), expected);
+            assertEquals(parser.parse("2000-01-01", LocalDate.FROM), LocalDate.of(2000, 1, 1));
+        }
+    }
+
+    public void test_parse_ambiguous_listOrder() {
+        DateTimeFormatter dayFirst = DateTimeFormatter.ofPattern("dd/MM/uuuu");
+        DateTimeFormatter monthFirst = DateTimeFormatter.ofPattern("MM/dd/uuuu");
+        MultiFormatParser parser = MultiFormatParser.of(dayFirst, monthFirst);
+        assertEquals(parser.parse("01/02/2012", LocalDate.FROM), LocalDate.of(2012, 2, 1));
+        assertEquals(parser.parse("12/31/2012", LocalDate.FROM), LocalDate.of(2012, 12, 31));
+        assertEquals(parser.parse("01/02/2012", LocalDate.FROM), LocalDate.of(2012, 2, 1));
+        assertEquals(parser.parseOrNull("12/13/2012", LocalDate.FROM), LocalDate.of(2012, 12, 13));
+        assertEquals(parser.parseOrNull("01/02/2012", LocalDate.FROM), LocalDate.of(2012, 2, 1));
+        assertEquals(parser.parse("13/12/2012", LocalDate.FROM), LocalDate.of(2012, 12, 13));
+        assertEquals(parser.parse("01/02/2012", LocalDate.FROM), LocalDate.of(2012, 2, 1));
+    }
+
+    public void test_parse_ambiguous_listOrder_reversed() {
+        DateTimeFormatter dayFirst = DateTimeFormatter.ofPattern("dd/MM/uuuu");
+        DateTimeFormatter monthFirst = DateTimeFormatter.ofPattern("MM/dd/uuuu");
+        MultiFormatParser parser = MultiFormatParser.of(monthFirst, dayFirst);
+        assertEquals(parser.parse("01/02/2012", LocalDate.FROM), LocalDate.of(2012, 1, 2));
+        assertEquals(parser.parse("31/12/2012", LocalDate.FROM), LocalDate.of(2012, 12, 31));
+        assertEquals(parser.parse("01/02/2012", LocalDate.FROM), LocalDate.of(2012, 1, 2));
+    }
+
+    public void test_parse_queryNotAvailable_triesNext() {
+        MultiFormatParser parser = MultiFormatParser.of(DateTimeFormatter.ISO_LOCAL_DATE, DateTimeFormatter.ISO_DATE_TIME);
+        assertEquals(parser.parse("2012-06-30T11:30", LocalDateTime.FROM), LocalDateTime.of(2012, 6, 30, 11, 30));
+    }
+
+    //-----------------------------------------------------------------------
+    @DataProvider(name="invalid")
+    Object[][] data_invalid() {
+        return new Object[][] {
+            {"", 0},
+            {"x", 0},
+            {"2012-06-3x", 8},
+            {"30/06/20x2", 6},
+            {"2012-02-30", 4},
+            {"2012-06-30extra", 10},
+        };
+    }
+
+    @Test(dataProvider="invalid")
+    public void test_parse_invalid(String text, int errorIndex) {
+        try {
+            dates().parse(text, LocalDate.FROM);
+            fail();
+        } catch (DateTimeParseException ex) {
+            assertEquals(ex.getMessage(), "Text '" + text + "' could not be parsed by any of 3 formatters");
+            assertEquals(ex.getParsedString(), text);
+            assertEquals(ex.getErrorIndex(), errorIndex);
+        }
+    }
+
+    public void test_parse_invalid_longText() {
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            buf.append("0123456789");
+        }
+        try {
+            dates().parse(buf, LocalDate.FROM);
+            fail();
+        } catch (DateTimeParseException ex) {
+            assertEquals(ex.getMessage(), "Text '" + buf.substring(0, 64) + "...' could not be parsed by any of 3 formatters");
+            assertEquals(ex.getParsedString(), buf.toString());
+        }
+    }
+
+    @Test(dataProvider="parse")
+    public void test_parseOrNull(String text, LocalDate expected) {
+        assertEquals(dates().parseOrNull(text, LocalDate.FROM), expected);
+    }
+
+    @Test(dataProvider="invalid")
+    public void test_parseOrNull_invalid(String text, int errorIndex) {
+        assertEquals(dates().parseOrNull(text, LocalDate.FROM), null);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_parseOrNull_nullText() {
+        dates().parseOrNull((CharSequence) null, LocalDate.FROM);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_parse_nullText() {
+        dates().parse((CharSequence) null, LocalDate.FROM);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_parse_nullQuery() {
+        dates().parse("2012-06-30", null);
+    }
+
+    //-----------------------------------------------------------------------
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_of_empty() {
+        MultiFormatParser.of();
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_of_emptyList() {
+        MultiFormatParser.of(new ArrayList<DateTimeFormatter>());
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_of_nullArray() {
+        MultiFormatParser.of((DateTimeFormatter[]) null);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_of_nullList() {
+        MultiFormatParser.of((List<DateTimeFormatter>) null);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_of_nullFormatter() {
+        MultiFormatParser.of(DateTimeFormatter.ISO_LOCAL_DATE, null);
+    }
+
+    public void test_getFormatters() {
+        List<DateTimeFormatter> formatters = dates().getFormatters();
+        assertEquals(formatters.size(), 3);
+        assertEquals(formatters.get(0), DateTimeFormatter.ISO_LOCAL_DATE);
+        assertEquals(formatters.get(1), SLASHED);
+        assertEquals(formatters.get(2), DateTimeFormatter.BASIC_ISO_DATE);
+    }
+
+    @Test(expectedExceptions=UnsupportedOperationException.class)
+    public void test_getFormatters_unmodifiable() {
+        dates().getFormatters().clear();
+    }
+
+    public void test_toString() {
+        assertEquals(MultiFormatParser.of(SLASHED).toString(), "MultiFormatParser[" + SLASHED + "]");
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_shape_isoLocalDate() {
+        ParseShape shape = ParseShape.of(DateTimeFormatter.ISO_LOCAL_DATE);
+        assertEquals(shape.minLength, 10);
+        assertEquals(shape.maxLength, 19);
+        assertTrue(shape.matches("2012-06-30"));
+        assertTrue(shape.matches("+2012-06-30"));
+        assertTrue(shape.matches("-2012-06-30"));
+        assertFalse(shape.matches("x012-06-30"));
+        assertFalse(shape.matches("2012-06-3"));
+        assertFalse(shape.matches("+12345678901234-06-30"));
+    }
+
+    public void test_shape_literalFirst() {
+        ParseShape shape = ParseShape.of(DateTimeFormatter.ofPattern("'T'HH:mm"));
+        assertEquals(shape.minLength, 6);
+        assertEquals(shape.maxLength, 8);
+        assertTrue(shape.matches("T11:30"));
+        assertFalse(shape.matches("t11:30"));
+        assertFalse(shape.matches("11:30a"));
+    }
+
+    public void test_shape_caseInsensitiveLiteral() {
+        DateTimeFormatter formatter = new DateTimeFormatterBuilder()
+                .parseCaseInsensitive().appendLiteral('T').appendPattern("HH").toFormatter();
+        ParseShape shape = ParseShape.of(formatter);
+        assertTrue(shape.matches("T11"));
+        assertTrue(shape.matches("t11"));
+        assertFalse(shape.matches("x11"));
+    }
+
+    public void test_shape_text_unbounded() {
+        ParseShape shape = ParseShape.of(DateTimeFormatter.RFC_1123_DATE_TIME);
+        assertTrue(shape.matches("Sat, 30 Jun 2012 11:30:00 GMT"));
+        assertTrue(shape.matches("30 Jun 2012 11:30:00 GMT"));
+        assertFalse(shape.matches("Sat"));
+    }
+
+}
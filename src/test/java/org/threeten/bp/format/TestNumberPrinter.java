@@ -36,6 +36,8 @@ import static org.testng.Assert.fail;
 import static org.threeten.bp.temporal.ChronoField.DAY_OF_MONTH;
 import static org.threeten.bp.temporal.ChronoField.HOUR_OF_DAY;
 
+import java.util.Locale;
+
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import org.threeten.bp.DateTimeException;
@@ -250,6 +252,56 @@ public class TestNumberPrinter extends AbstractTestPrinterParser {
         }
     }
 
+    //-----------------------------------------------------------------------
+    @DataProvider(name="Long")
+    Object[][] provider_long() {
+        return new Object[][] {
+            {1, 19, 0L, "0"},
+            {19, 19, 5L, "0000000000000000005"},
+            {1, 19, 999999999L, "999999999"},
+            {1, 19, 1000000000L, "1000000000"},
+            {1, 19, 9999999999L, "9999999999"},
+            {1, 19, 10000000000L, "10000000000"},
+            {1, 19, 123456789012345678L, "123456789012345678"},
+            {1, 19, 999999999999999999L, "999999999999999999"},
+            {1, 19, 1000000000000000000L, "1000000000000000000"},
+            {1, 19, Long.MAX_VALUE, "9223372036854775807"},
+            {1, 19, -Long.MAX_VALUE, "-9223372036854775807"},
+            {1, 19, Long.MIN_VALUE, "-9223372036854775808"},
+            {1, 18, Long.MIN_VALUE, null},
+            {1, 18, 1000000000000000000L, null},
+        };
+    }
+
+    @Test(dataProvider="Long")
+    public void test_print_long(int minPad, int maxPad, long value, String result) throws Exception {
+        printContext.setDateTime(new MockFieldValue(DAY_OF_MONTH, value));
+        NumberPrinterParser pp = new NumberPrinterParser(DAY_OF_MONTH, minPad, maxPad, SignStyle.NORMAL);
+        try {
+            pp.print(printContext, buf);
+            if (result == null) {
+                fail("Expected exception");
+            }
+            assertEquals(buf.toString(), result);
+        } catch (DateTimeException ex) {
+            if (result != null) {
+                throw ex;
+            }
+            assertEquals(ex.getMessage().contains(DAY_OF_MONTH.toString()), true);
+        }
+    }
+
+    public void test_print_zeroDigit() throws Exception {
+        DecimalStyle style = DecimalStyle.STANDARD.withZeroDigit('\u0660');
+        DateTimePrintContext context = new DateTimePrintContext(new MockFieldValue(DAY_OF_MONTH, -1029), Locale.ENGLISH, style);
+        new NumberPrinterParser(DAY_OF_MONTH, 6, 10, SignStyle.NORMAL).print(context, buf);
+        assertEquals(buf.toString(), "-\u0660\u0660\u0661\u0660\u0662\u0669");
+        buf.setLength(0);
+        context = new DateTimePrintContext(new MockFieldValue(DAY_OF_MONTH, Long.MIN_VALUE), Locale.ENGLISH, style);
+        new NumberPrinterParser(DAY_OF_MONTH, 1, 19, SignStyle.NORMAL).print(context, buf);
+        assertEquals(buf.toString(), "-" + style.convertNumberToI18N("9223372036854775808"));
+    }
+
     //-----------------------------------------------------------------------
     public void test_toString1() throws Exception {
         NumberPrinterParser pp = new NumberPrinterParser(HOUR_OF_DAY, 1, 19, SignStyle.NORMAL);
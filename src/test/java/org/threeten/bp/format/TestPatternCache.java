@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Locale;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.LocalDate;
+
+/**
+ * Test PatternCache.
+ */
+@Test
+public class TestPatternCache {
+
+    private static final LocalDate DATE = LocalDate.of(2012, 6, 30);
+
+    //-----------------------------------------------------------------------
+    public void test_get_cached() {
+        PatternCache cache = new PatternCache(16);
+        DateTimeFormatter first = cache.get("d MMM uuuu", Locale.ENGLISH);
+        assertSame(cache.get("d MMM uuuu", Locale.ENGLISH), first);
+        assertEquals(first.format(DATE), "30 Jun 2012");
+        assertEquals(first.getLocale(), Locale.ENGLISH);
+        PatternCacheStatistics stats = cache.statistics();
+        assertEquals(stats.getHitCount(), 1);
+        assertEquals(stats.getMissCount(), 1);
+        assertEquals(stats.getRequestCount(), 2);
+        assertEquals(stats.getHitRate(), 0.5d);
+        assertEquals(stats.getSize(), 1);
+        assertEquals(stats.getMaximumSize(), 16);
+    }
+
+    public void test_get_keyedByLocale() {
+        PatternCache cache = new PatternCache(16);
+        DateTimeFormatter english = cache.get("d MMMM uuuu", Locale.ENGLISH);
+        DateTimeFormatter french = cache.get("d MMMM uuuu", Locale.FRENCH);
+        assertNotSame(english, french);
+        assertEquals(english.format(DATE), "30 June 2012");
+        assertEquals(french.format(DATE), "30 juin 2012");
+        assertSame(cache.get("d MMMM uuuu", Locale.FRENCH), french);
+        assertEquals(cache.statistics().getMissCount(), 2);
+    }
+
+    public void test_get_bounded() {
+        PatternCache cache = new PatternCache(8);
+        for (int i = 0; i < 100; i++) {
+            cache.get("'" + i + "'uuuu", Locale.ENGLISH);
+            assertTrue(cache.statistics().getSize() <= 8);
+        }
+        assertEquals(cache.statistics().getMissCount(), 100);
+        assertEquals(cache.get("'99'uuuu", Locale.ENGLISH).format(DATE), "992012");
+        assertEquals(cache.statistics().getHitCount(), 1);
+    }
+
+    public void test_get_retainsActiveEntries() {
+        PatternCache cache = new PatternCache(8);
+        DateTimeFormatter active = cache.get("uuuu-MM-dd", Locale.ENGLISH);
+        for (int i = 0; i < 100; i++) {
+            cache.get("'" + i + "'uuuu", Locale.ENGLISH);
+            assertSame(cache.get("uuuu-MM-dd", Locale.ENGLISH), active);
+        }
+        assertEquals(cache.statistics().getHitCount(), 100);
+    }
+
+    public void test_statistics_sizeAfterRotation() {
+        PatternCache cache = new PatternCache(8);
+        for (int i = 0; i < 4; i++) {
+            cache.get("'" + i + "'uuuu", Locale.ENGLISH);
+        }
+        assertEquals(cache.statistics().getSize(), 4);
+        // the fourth entry filled the generation, so these are copied forward from the previous one
+        cache.get("'0'uuuu", Locale.ENGLISH);
+        cache.get("'1'uuuu", Locale.ENGLISH);
+        assertEquals(cache.statistics().getHitCount(), 2);
+        assertEquals(cache.statistics().getSize(), 4);
+        cache.get("'4'uuuu", Locale.ENGLISH);
+        assertEquals(cache.statistics().getSize(), 5);
+    }
+
+    public void test_get_disabled() {
+        PatternCache cache = new PatternCache(0);
+        DateTimeFormatter first = cache.get("uuuu", Locale.ENGLISH);
+        assertNotSame(cache.get("uuuu", Locale.ENGLISH), first);
+        assertEquals(first.format(DATE), "2012");
+        PatternCacheStatistics stats = cache.statistics();
+        assertEquals(stats.getHitCount(), 0);
+        assertEquals(stats.getMissCount(), 2);
+        assertEquals(stats.getSize(), 0);
+        assertEquals(stats.getMaximumSize(), 0);
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_get_invalidPattern() {
+        new PatternCache(16).get("uuuu{", Locale.ENGLISH);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_get_nullPattern() {
+        new PatternCache(16).get(null, Locale.ENGLISH);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_get_nullLocale() {
+        new PatternCache(16).get("uuuu", null);
+    }
+
+    public void test_clear() {
+        PatternCache cache = new PatternCache(16);
+        DateTimeFormatter first = cache.get("uuuu", Locale.ENGLISH);
+        cache.get("uuuu", Locale.ENGLISH);
+        cache.clear();
+        assertEquals(cache.statistics().getRequestCount(), 0);
+        assertEquals(cache.statistics().getHitRate(), 1d);
+        assertEquals(cache.statistics().getSize(), 0);
+        assertNotSame(cache.get("uuuu", Locale.ENGLISH), first);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_ofPattern_cached() {
+        DateTimeFormatter first = DateTimeFormatter.ofPattern("uuuu/MM/dd HH", Locale.ENGLISH);
+        long hits = DateTimeFormatter.getPatternCacheStatistics().getHitCount();
+        assertSame(DateTimeFormatter.ofPattern("uuuu/MM/dd HH", Locale.ENGLISH), first);
+        assertTrue(DateTimeFormatter.getPatternCacheStatistics().getHitCount() > hits);
+    }
+
+    public void test_ofPattern_defaultLocale() {
+        Locale saved = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.ENGLISH);
+            DateTimeFormatter english = DateTimeFormatter.ofPattern("MMMM");
+            Locale.setDefault(Locale.FRENCH);
+            DateTimeFormatter french = DateTimeFormatter.ofPattern("MMMM");
+            assertEquals(english.getLocale(), Locale.ENGLISH);
+            assertEquals(french.getLocale(), Locale.FRENCH);
+            assertEquals(french.format(DATE), "juin");
+        } finally {
+            Locale.setDefault(saved);
+        }
+    }
+
+    public void test_statistics_toString() {
+        assertEquals(new PatternCacheStatistics(3, 2, 1, 8).toString(),
+                "PatternCacheStatistics[hits=3, misses=2, size=1, maximumSize=8]");
+    }
+
+}
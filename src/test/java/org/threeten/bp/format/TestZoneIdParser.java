@@ -34,6 +34,7 @@ package org.threeten.bp.format;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
+import java.util.Locale;
 import java.util.Set;
 
 import org.testng.annotations.DataProvider;
@@ -138,6 +139,29 @@ public class TestZoneIdParser extends AbstractTestPrinterParser {
         assertParsed(ZoneId.of("Europe/London"));
     }
 
+    @Test(dataProvider="zones")
+    public void test_parse_exactMatch_caseInsensitive(String parse, ZoneId expected) throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(TemporalQueries.zoneId(), null);
+        parseContext.setCaseSensitive(false);
+        int result = pp.parse(parseContext, parse.toUpperCase(Locale.ENGLISH), 0);
+        assertEquals(result, parse.length());
+        assertParsed(expected);
+    }
+
+    public void test_parse_longestMatch_shorterId() throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(TemporalQueries.zoneId(), null);
+        int result = pp.parse(parseContext, "Etc/GMT+X", 0);
+        assertEquals(result, 7);
+        assertParsed(ZoneId.of("Etc/GMT"));
+    }
+
+    public void test_parse_longestMatch_longerId() throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(TemporalQueries.zoneId(), null);
+        int result = pp.parse(parseContext, "Etc/GMT+10X", 0);
+        assertEquals(result, 10);
+        assertParsed(ZoneId.of("Etc/GMT+10"));
+    }
+
     //-----------------------------------------------------------------------
     public void test_parse_endStringMatch_utc() throws Exception {
         ZoneIdPrinterParser pp = new ZoneIdPrinterParser(TemporalQueries.zoneId(), null);
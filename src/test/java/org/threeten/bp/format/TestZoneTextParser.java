@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.Locale;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.threeten.bp.Instant;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+import org.threeten.bp.format.DateTimeFormatterBuilder.ZoneTextPrinterParser;
+import org.threeten.bp.temporal.TemporalQueries;
+
+/**
+ * Test ZoneTextPrinterParser.
+ */
+@Test
+public class TestZoneTextParser extends AbstractTestPrinterParser {
+
+    private static final Instant INSTANT = Instant.ofEpochSecond(1325419200L);
+
+    //-----------------------------------------------------------------------
+    @DataProvider(name="names")
+    Object[][] data_names() {
+        return new Object[][] {
+            {TextStyle.FULL, "Pacific Standard Time", "America/Los_Angeles"},
+            {TextStyle.FULL, "Pacific Daylight Time", "America/Los_Angeles"},
+            {TextStyle.FULL, "Central European Time", "Europe/Paris"},
+            {TextStyle.SHORT, "PST", "America/Los_Angeles"},
+            {TextStyle.SHORT, "PDT", "America/Los_Angeles"},
+        };
+    }
+
+    @Test(dataProvider="names")
+    public void test_parse_name(TextStyle style, String text, String expectedRegion) {
+        ZoneTextPrinterParser pp = new ZoneTextPrinterParser(style);
+        int result = pp.parse(parseContext, text + "X", 0);
+        assertEquals(result, text.length());
+        ZoneId zone = parseContext.toParsed().query(TemporalQueries.zoneId());
+        assertEquals(zone.getRules().getStandardOffset(INSTANT), ZoneId.of(expectedRegion).getRules().getStandardOffset(INSTANT));
+    }
+
+    @Test(dataProvider="names")
+    public void test_parse_name_midText(TextStyle style, String text, String expectedRegion) {
+        ZoneTextPrinterParser pp = new ZoneTextPrinterParser(style);
+        assertEquals(pp.parse(parseContext, "X" + text, 1), text.length() + 1);
+    }
+
+    @Test(dataProvider="names")
+    public void test_parse_name_caseInsensitive(TextStyle style, String text, String expectedRegion) {
+        ZoneTextPrinterParser pp = new ZoneTextPrinterParser(style);
+        parseContext.setCaseSensitive(false);
+        assertEquals(pp.parse(parseContext, text.toLowerCase(Locale.ENGLISH), 0), text.length());
+        assertEquals(pp.parse(parseContext, text.toUpperCase(Locale.ENGLISH), 0), text.length());
+    }
+
+    @Test(dataProvider="names")
+    public void test_parse_name_caseSensitive_noMatch(TextStyle style, String text, String expectedRegion) {
+        ZoneTextPrinterParser pp = new ZoneTextPrinterParser(style);
+        assertEquals(pp.parse(parseContext, text.toLowerCase(Locale.ENGLISH), 0), ~0);
+    }
+
+    public void test_parse_noMatch() {
+        ZoneTextPrinterParser pp = new ZoneTextPrinterParser(TextStyle.FULL);
+        assertEquals(pp.parse(parseContext, "Not A Zone Name", 0), ~0);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_print_parse_roundTrip() {
+        DateTimeFormatter f = DateTimeFormatter.ofPattern("zzzz", Locale.ENGLISH);
+        for (String id : new String[] {"America/New_York", "Europe/London", "Asia/Tokyo"}) {
+            ZonedDateTime zdt = ZonedDateTime.of(2012, 1, 1, 12, 0, 0, 0, ZoneId.of(id));
+            String text = f.format(zdt);
+            // repeat to exercise the cached names and index
+            for (int i = 0; i < 3; i++) {
+                ZoneId parsed = f.parse(text, TemporalQueries.zoneId());
+                assertEquals(f.format(zdt.withZoneSameLocal(parsed)), text);
+            }
+        }
+    }
+
+}
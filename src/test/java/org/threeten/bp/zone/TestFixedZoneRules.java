@@ -116,6 +116,22 @@ public class TestFixedZoneRules {
         assertEquals(test.getOffset((Instant) null), expectedOffset);
     }
 
+    @Test(dataProvider="rules")
+    public void test_getOffset_epochSecond(ZoneRules test, ZoneOffset expectedOffset) {
+        assertEquals(test.getOffset(INSTANT.getEpochSecond()), expectedOffset);
+        assertEquals(test.getOffset(Long.MAX_VALUE), expectedOffset);
+    }
+
+    @Test(dataProvider="rules")
+    public void test_getOffsets(ZoneRules test, ZoneOffset expectedOffset) {
+        int[] offsetSeconds = {-1, -1, -1, -1};
+        test.getOffsets(new long[] {Long.MIN_VALUE, 0, Long.MAX_VALUE}, 0, offsetSeconds, 1, 3);
+        assertEquals(offsetSeconds[0], -1);
+        assertEquals(offsetSeconds[1], expectedOffset.getTotalSeconds());
+        assertEquals(offsetSeconds[2], expectedOffset.getTotalSeconds());
+        assertEquals(offsetSeconds[3], expectedOffset.getTotalSeconds());
+    }
+
     @Test(dataProvider="rules")
     public void test_getOffset_LocalDateTime(ZoneRules test, ZoneOffset expectedOffset) {
         assertEquals(test.getOffset(LDT), expectedOffset);
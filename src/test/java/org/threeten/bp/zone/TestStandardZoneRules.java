@@ -36,11 +36,14 @@ import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -59,6 +62,7 @@ import org.threeten.bp.ZonedDateTime;
 import org.threeten.bp.format.DateTimeFormatter;
 import org.threeten.bp.format.DateTimeFormatterBuilder;
 import org.threeten.bp.format.TextStyle;
+import org.threeten.bp.temporal.TemporalAdjusters;
 import org.threeten.bp.zone.ZoneOffsetTransitionRule.TimeDefinition;
 
 /**
@@ -1090,6 +1094,178 @@ public class TestStandardZoneRules {
         assertEquals(test.nextTransition(last.getInstant()), null);
     }
 
+    //-----------------------------------------------------------------------
+    // getOffset(Instant) using the offset table
+    //-----------------------------------------------------------------------
+    public void test_getOffset_Instant_aroundTransitions() {
+        for (String zoneId : new String[] {"Europe/London", "America/New_York", "Australia/Lord_Howe", "Asia/Kathmandu", "America/Sao_Paulo"}) {
+            ZoneRules test = ZoneId.of(zoneId).getRules();
+            Instant end = Instant.ofEpochSecond(LocalDate.of(2102, 1, 1).toEpochDay() * 86400);
+            ZoneOffsetTransition trans = test.nextTransition(Instant.ofEpochSecond(LocalDate.of(1968, 1, 1).toEpochDay() * 86400));
+            while (trans != null && trans.getInstant().isBefore(end)) {
+                assertEquals(test.getOffset(trans.getInstant().minusSeconds(1)), trans.getOffsetBefore(), zoneId + " " + trans);
+                assertEquals(test.getOffset(trans.getInstant().minusNanos(1)), trans.getOffsetBefore(), zoneId + " " + trans);
+                assertEquals(test.getOffset(trans.getInstant()), trans.getOffsetAfter(), zoneId + " " + trans);
+                assertEquals(test.getOffset(trans.getInstant().plusSeconds(1)), trans.getOffsetAfter(), zoneId + " " + trans);
+                trans = test.nextTransition(trans.getInstant());
+            }
+        }
+    }
+
+    public void test_getOffset_Instant_tableBoundaries() {
+        ZoneRules test = europeLondon();
+        assertEquals(test.getOffset(createInstant(1969, 12, 31, 23, 59, 59, 0, ZoneOffset.UTC)), OFFSET_PONE);
+        assertEquals(test.getOffset(createInstant(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC)), OFFSET_PONE);
+        assertEquals(test.getOffset(createInstant(2100, 12, 31, 23, 59, 59, 0, ZoneOffset.UTC)), OFFSET_ZERO);
+        assertEquals(test.getOffset(createInstant(2101, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC)), OFFSET_ZERO);
+        assertEquals(test.getOffset(createInstant(2101, 7, 1, 0, 0, 0, 0, ZoneOffset.UTC)), OFFSET_PONE);
+    }
+
+    //-----------------------------------------------------------------------
+    // getOffset(LocalDateTime) at the edges of gaps and overlaps
+    //-----------------------------------------------------------------------
+    public void test_London_getOffsetInfo_gapEdges_nanos() {
+        ZoneRules test = europeLondon();
+        for (int year : new int[] {1990, 2050}) {
+            LocalDateTime gapStart = LocalDateTime.of(year, 3, 1, 1, 0).with(TemporalAdjusters.lastInMonth(DayOfWeek.SUNDAY));
+            assertEquals(test.getValidOffsets(gapStart.minusNanos(1)), Collections.singletonList(OFFSET_ZERO));
+            assertEquals(test.getValidOffsets(gapStart).size(), 0);
+            assertEquals(test.getOffset(gapStart), OFFSET_ZERO);
+            assertEquals(test.getValidOffsets(gapStart.plusHours(1).minusNanos(1)).size(), 0);
+            assertEquals(test.getValidOffsets(gapStart.plusHours(1)), Collections.singletonList(OFFSET_PONE));
+            assertEquals(test.getTransition(gapStart.plusHours(1).minusNanos(1)).getDateTimeBefore(), gapStart);
+            assertNull(test.getTransition(gapStart.plusHours(1)));
+        }
+    }
+
+    public void test_London_getOffsetInfo_overlapEdges_nanos() {
+        ZoneRules test = europeLondon();
+        for (int year : new int[] {1990, 2050}) {
+            LocalDateTime overlapStart = LocalDateTime.of(year, 10, 1, 1, 0).with(TemporalAdjusters.lastInMonth(DayOfWeek.SUNDAY));
+            assertEquals(test.getValidOffsets(overlapStart.minusNanos(1)), Collections.singletonList(OFFSET_PONE));
+            assertEquals(test.getValidOffsets(overlapStart).size(), 2);
+            assertEquals(test.getOffset(overlapStart), OFFSET_PONE);
+            assertEquals(test.getValidOffsets(overlapStart.plusHours(1).minusNanos(1)).size(), 2);
+            assertEquals(test.getValidOffsets(overlapStart.plusHours(1)), Collections.singletonList(OFFSET_ZERO));
+            assertEquals(test.getTransition(overlapStart.plusNanos(1)).getDateTimeAfter(), overlapStart);
+            assertNull(test.getTransition(overlapStart.plusHours(1)));
+        }
+    }
+
+    public void test_getValidOffsets_singleOffsetImmutable() {
+        ZoneRules test = europeLondon();
+        List<ZoneOffset> offsets = test.getValidOffsets(createLDT(2008, 6, 30));
+        assertEquals(offsets, Collections.singletonList(OFFSET_PONE));
+        try {
+            offsets.clear();
+            fail();
+        } catch (UnsupportedOperationException ex) {
+            // expected
+        }
+        assertEquals(test.getValidOffsets(createLDT(2008, 6, 30)), Collections.singletonList(OFFSET_PONE));
+    }
+
+    //-----------------------------------------------------------------------
+    // transitions from the last rules, cached by year
+    //-----------------------------------------------------------------------
+    public void test_London_getOffset_farFuture() {
+        ZoneRules test = europeLondon();
+        // years 2500 and 2516 share a slot in the cache of far years
+        for (int i = 0; i < 3; i++) {
+            for (int year : new int[] {2500, 2516, 2099, 2100, 2101}) {
+                assertEquals(test.getOffset(createLDT(year, 1, 1)), OFFSET_ZERO);
+                assertEquals(test.getOffset(createLDT(year, 7, 1)), OFFSET_PONE);
+                assertEquals(test.getOffset(createInstant(year, 7, 1, ZoneOffset.UTC)), OFFSET_PONE);
+                ZoneOffsetTransition trans = test.getTransition(LocalDateTime.of(year, 3, 1, 1, 30).with(TemporalAdjusters.lastInMonth(DayOfWeek.SUNDAY)));
+                assertNotNull(trans);
+                assertEquals(trans.isGap(), true);
+                assertEquals(test.nextTransition(createInstant(year, 1, 1, ZoneOffset.UTC)), trans);
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    // getOffset(long)
+    //-----------------------------------------------------------------------
+    public void test_getOffset_epochSecond_transitionEdges() {
+        ZoneRules test = europeParis();
+        for (ZoneOffsetTransition trans : test.getTransitions()) {
+            assertEquals(test.getOffset(trans.toEpochSecond() - 1), trans.getOffsetBefore());
+            assertEquals(test.getOffset(trans.toEpochSecond()), trans.getOffsetAfter());
+        }
+        ZoneOffsetTransition trans = test.nextTransition(createInstant(2600, 1, 1, ZoneOffset.UTC));
+        assertEquals(test.getOffset(trans.toEpochSecond() - 1), trans.getOffsetBefore());
+        assertEquals(test.getOffset(trans.toEpochSecond()), trans.getOffsetAfter());
+    }
+
+    //-----------------------------------------------------------------------
+    // getOffsets(long[], int[])
+    //-----------------------------------------------------------------------
+    public void test_getOffsets_sorted() {
+        ZoneRules test = europeLondon();
+        long start = createInstant(1800, 1, 1, ZoneOffset.UTC).getEpochSecond();
+        long[] epochSeconds = new long[20000];
+        for (int i = 0; i < epochSeconds.length; i++) {
+            epochSeconds[i] = start + i * 987654L;
+        }
+        int[] offsetSeconds = new int[epochSeconds.length];
+        test.getOffsets(epochSeconds, offsetSeconds);
+        for (int i = 0; i < epochSeconds.length; i++) {
+            assertEquals(offsetSeconds[i], test.getOffset(Instant.ofEpochSecond(epochSeconds[i])).getTotalSeconds());
+        }
+    }
+
+    public void test_getOffsets_unsortedAndTransitionEdges() {
+        ZoneRules test = europeParis();
+        List<Long> list = new ArrayList<Long>();
+        for (ZoneOffsetTransition trans : test.getTransitions()) {
+            list.add(trans.toEpochSecond() + 1);
+            list.add(trans.toEpochSecond());
+            list.add(trans.toEpochSecond() - 1);
+        }
+        list.add(createInstant(2500, 7, 1, ZoneOffset.UTC).getEpochSecond());
+        list.add(createInstant(1971, 1, 1, ZoneOffset.UTC).getEpochSecond());
+        long[] epochSeconds = new long[list.size()];
+        for (int i = 0; i < epochSeconds.length; i++) {
+            epochSeconds[i] = list.get(i);
+        }
+        int[] offsetSeconds = new int[epochSeconds.length];
+        test.getOffsets(epochSeconds, offsetSeconds);
+        for (int i = 0; i < epochSeconds.length; i++) {
+            assertEquals(offsetSeconds[i], test.getOffset(Instant.ofEpochSecond(epochSeconds[i])).getTotalSeconds());
+        }
+    }
+
+    public void test_getOffsets_range() {
+        ZoneRules test = europeLondon();
+        long[] epochSeconds = {
+            createInstant(2008, 1, 1, ZoneOffset.UTC).getEpochSecond(),
+            createInstant(2008, 7, 1, ZoneOffset.UTC).getEpochSecond(),
+            createInstant(2008, 12, 1, ZoneOffset.UTC).getEpochSecond(),
+        };
+        int[] offsetSeconds = {-1, -1, -1, -1};
+        test.getOffsets(epochSeconds, 1, offsetSeconds, 2, 2);
+        assertEquals(offsetSeconds[0], -1);
+        assertEquals(offsetSeconds[1], -1);
+        assertEquals(offsetSeconds[2], 3600);
+        assertEquals(offsetSeconds[3], 0);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_getOffsets_outputTooShort() {
+        europeLondon().getOffsets(new long[2], new int[1]);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_getOffsets_negativeLength() {
+        europeLondon().getOffsets(new long[2], 0, new int[2], 0, -1);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_getOffsets_null() {
+        europeLondon().getOffsets(null, new int[1]);
+    }
+
     //-------------------------------------------------------------------------
     @Test(expectedExceptions=UnsupportedOperationException.class)
     public void test_getTransitions_immutable() {
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.zone;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZoneOffset;
+
+/**
+ * Test TzdbFileZoneRulesProvider.
+ */
+@Test
+public class TestTzdbFileZoneRulesProvider {
+
+    private static final ZoneRules RULES_A = fixed(ZoneOffset.ofHours(1));
+    private static final ZoneRules RULES_B = fixed(ZoneOffset.ofHours(2));
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_bundledData() throws IOException {
+        File file = File.createTempFile("tzdb", ".dat");
+        try {
+            InputStream in = TzdbZoneRulesProvider.class.getClassLoader().getResourceAsStream("org/threeten/bp/TZDB.dat");
+            OutputStream out = new FileOutputStream(file);
+            try {
+                byte[] buf = new byte[8192];
+                int len;
+                while ((len = in.read(buf)) > 0) {
+                    out.write(buf, 0, len);
+                }
+            } finally {
+                in.close();
+                out.close();
+            }
+            TzdbFileZoneRulesProvider test = new TzdbFileZoneRulesProvider(file);
+            assertTrue(test.provideZoneIds().contains("Europe/London"));
+            assertEquals(test.provideRules("Europe/London", true), ZoneId.of("Europe/London").getRules());
+            assertEquals(test.provideRules("Asia/Tokyo", true), ZoneId.of("Asia/Tokyo").getRules());
+            assertEquals(test.provideRefresh(), false);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void test_refresh() throws IOException {
+        File file = File.createTempFile("tzdb", ".dat");
+        try {
+            writeFile(file, "2000a", new String[] {"FileTest/A"}, new ZoneRules[] {RULES_A});
+            TzdbFileZoneRulesProvider test = new TzdbFileZoneRulesProvider(file);
+            ZoneRulesProvider.registerProvider(test);
+            assertEquals(test.provideZoneIds().contains("FileTest/B"), false);
+            assertEquals(ZoneRulesProvider.getRules("FileTest/A", false), RULES_A);
+
+            File newFile = File.createTempFile("tzdb", ".dat");
+            writeFile(newFile, "2000b", new String[] {"FileTest/A", "FileTest/B"}, new ZoneRules[] {RULES_B, RULES_B});
+            assertTrue(file.delete());
+            assertTrue(newFile.renameTo(file));
+            file.setLastModified(file.lastModified() + 2000);
+
+            assertEquals(ZoneRulesProvider.refresh(), true);
+            assertTrue(ZoneRulesProvider.getAvailableZoneIds().contains("FileTest/B"));
+            assertEquals(ZoneRulesProvider.getRules("FileTest/A", false), RULES_B);
+            assertEquals(ZoneRulesProvider.getRules("FileTest/B", false), RULES_B);
+            NavigableMap<String, ZoneRules> versions = ZoneRulesProvider.getVersions("FileTest/A");
+            assertEquals(versions.size(), 2);
+            assertEquals(versions.get("2000a"), RULES_A);
+            assertEquals(versions.get("2000b"), RULES_B);
+            assertEquals(test.provideRefresh(), false);
+        } finally {
+            file.delete();
+        }
+        // the provider is registered, so a missing file must not break other refreshes
+        assertEquals(ZoneRulesProvider.refresh(), false);
+    }
+
+    @Test(expectedExceptions = ZoneRulesException.class)
+    public void test_missingFile() {
+        new TzdbFileZoneRulesProvider(new File("/does/not/exist/TZDB.dat"));
+    }
+
+    //-----------------------------------------------------------------------
+    private static ZoneRules fixed(ZoneOffset offset) {
+        List<ZoneOffsetTransition> transitions = Collections.emptyList();
+        List<ZoneOffsetTransitionRule> lastRules = Collections.emptyList();
+        return new StandardZoneRules(offset, offset, transitions, transitions, lastRules);
+    }
+
+    private static void writeFile(File file, String version, String[] regionIds, ZoneRules[] rules) throws IOException {
+        DataOutputStream out = new DataOutputStream(new FileOutputStream(file));
+        try {
+            out.writeByte(1);
+            out.writeUTF("TZDB");
+            out.writeShort(1);
+            out.writeUTF(version);
+            out.writeShort(regionIds.length);
+            for (String regionId : regionIds) {
+                out.writeUTF(regionId);
+            }
+            out.writeShort(rules.length);
+            for (ZoneRules rule : rules) {
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                DataOutputStream dataos = new DataOutputStream(baos);
+                Ser.write(rule, dataos);
+                dataos.close();
+                out.writeShort(baos.size());
+                out.write(baos.toByteArray());
+            }
+            out.writeShort(regionIds.length);
+            for (int i = 0; i < regionIds.length; i++) {
+                out.writeShort(i);
+                out.writeShort(i);
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.zone;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.net.URL;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.ZoneId;
+
+/**
+ * Test TzdbZoneRulesProvider.
+ */
+@Test
+public class TestTzdbZoneRulesProvider {
+
+    private static final URL TZDB = TzdbZoneRulesProvider.class.getClassLoader().getResource("org/threeten/bp/TZDB.dat");
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_lazy_matchesEager() {
+        TzdbZoneRulesProvider eager = new TzdbZoneRulesProvider(TZDB);
+        TzdbZoneRulesProvider lazy = new TzdbZoneRulesProvider(TZDB, true);
+        Set<String> zoneIds = eager.provideZoneIds();
+        assertEquals(lazy.provideZoneIds(), zoneIds);
+        for (String zoneId : zoneIds) {
+            assertEquals(lazy.provideRules(zoneId, true), eager.provideRules(zoneId, true), zoneId);
+        }
+        assertEquals(lazy.provideVersions("Europe/London"), eager.provideVersions("Europe/London"));
+    }
+
+    @Test
+    public void test_lazy_cachesRules() {
+        TzdbZoneRulesProvider lazy = new TzdbZoneRulesProvider(TZDB, true);
+        ZoneRules rules = lazy.provideRules("Europe/Paris", true);
+        assertTrue(lazy.provideRules("Europe/Paris", true) == rules);
+        assertEquals(rules, ZoneId.of("Europe/Paris").getRules());
+    }
+
+    @Test(expectedExceptions = ZoneRulesException.class)
+    public void test_lazy_unknownId() {
+        new TzdbZoneRulesProvider(TZDB, true).provideRules("Europe/Lon", true);
+    }
+
+    @Test
+    public void test_urlRuleSource_matchesMapped() throws Exception {
+        TzdbZoneRulesProvider.RuleSource mapped = TzdbZoneRulesProvider.RuleSource.of(TZDB, new int[] {0}, new int[] {16});
+        TzdbZoneRulesProvider.RuleSource url = new TzdbZoneRulesProvider.UrlRuleSource(TZDB, new int[] {0}, new int[] {16});
+        assertEquals(url.read(0), mapped.read(0));
+    }
+
+}